@@ -0,0 +1,41 @@
+package io.github.atengk.milvus.config;
+
+import cn.hutool.core.util.StrUtil;
+import io.github.atengk.milvus.service.EmbeddingService;
+import io.github.atengk.milvus.service.impl.CachingEmbeddingService;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Paths;
+
+@Configuration
+public class EmbeddingCacheConfig {
+
+    /**
+     * 带缓存的 OpenAI EmbeddingService
+     * <p>
+     * 未启用缓存时直接返回原始实现
+     */
+    @Bean
+    public EmbeddingService cachedOpenAiEmbeddingService(
+            @Qualifier("openAiEmbeddingService") EmbeddingService embeddingService,
+            MilvusProperties props,
+            @Value("${spring.ai.openai.embedding.options.model:text-embedding-ada-002}") String model
+    ) {
+        MilvusProperties.EmbeddingCache cache = props.getEmbeddingCache();
+        if (!cache.isEnabled()) {
+            return embeddingService;
+        }
+
+        return new CachingEmbeddingService(
+                embeddingService,
+                model,
+                cache.getHeapMaxEntries(),
+                StrUtil.isBlank(cache.getDiskPath()) ? null : Paths.get(cache.getDiskPath()),
+                cache.getDiskMaxBytes()
+        );
+    }
+
+}
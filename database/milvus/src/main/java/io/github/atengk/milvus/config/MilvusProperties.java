@@ -4,6 +4,9 @@ import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 
+import java.util.HashMap;
+import java.util.Map;
+
 @Configuration
 @ConfigurationProperties(prefix = "milvus")
 @Data
@@ -14,4 +17,109 @@ public class MilvusProperties {
     private String database;
     private String username;
     private String password;
+
+    /**
+     * 文件写入流水线配置
+     */
+    private Ingest ingest = new Ingest();
+
+    /**
+     * Embedding 缓存配置
+     */
+    private EmbeddingCache embeddingCache = new EmbeddingCache();
+
+    /**
+     * 向量检索配置
+     */
+    private Search search = new Search();
+
+    @Data
+    public static class Ingest {
+
+        /**
+         * 每次 embedding 请求的文本块数量
+         */
+        private int embedBatchSize = 32;
+
+        /**
+         * embedding 并发请求数（所有文件共享）
+         */
+        private int embedConcurrency = 4;
+
+        /**
+         * 每次写入 Milvus 的文档数量
+         */
+        private int insertBatchSize = 256;
+
+        /**
+         * 同时处理的文件数上限
+         */
+        private int maxInFlightFiles = 4;
+
+        /**
+         * 单个文件在途的 embedding 批次上限，决定解析与写入之间最多缓冲的 chunk 数
+         */
+        private int maxInFlightBatches = 8;
+    }
+
+    @Data
+    public static class EmbeddingCache {
+
+        /**
+         * 是否启用缓存
+         */
+        private boolean enabled = true;
+
+        /**
+         * 堆内最大缓存条数（1536 维约 6KB/条）
+         */
+        private int heapMaxEntries = 10_000;
+
+        /**
+         * 磁盘缓存目录，为空时不启用磁盘缓存
+         */
+        private String diskPath;
+
+        /**
+         * 磁盘缓存最大字节数
+         */
+        private long diskMaxBytes = 1024L * 1024 * 1024;
+    }
+
+    @Data
+    public static class Search {
+
+        /**
+         * 默认检索参数（JSON），与默认 IVF_FLAT 索引对应
+         */
+        private String defaultParams = "{\"nprobe\":10}";
+
+        /**
+         * 按 collection 覆盖检索参数，key 为 collection 名称，value 为参数 JSON
+         */
+        private Map<String, String> collectionParams = new HashMap<>();
+
+        /**
+         * 单次请求携带的最大查询向量数，超出时拆分为多次请求
+         */
+        private int maxQueriesPerRequest = 256;
+
+        /**
+         * 检索结果缓存有效期（毫秒），&lt;= 0 时不启用缓存
+         */
+        private long cacheTtlMillis = 30_000;
+
+        /**
+         * 检索结果缓存最大条数（按查询计）
+         */
+        private int cacheMaxEntries = 1000;
+
+        /**
+         * 写入或删除后不缓存检索结果的时长（毫秒）
+         * <p>
+         * Bounded 一致性下新写入的数据需要一段时间才能被检索到，
+         * 该窗口内的检索结果可能不包含最新数据，不应放入缓存，默认与 Milvus 的 5 秒容忍时间一致。
+         */
+        private long cacheWriteQuietMillis = 5_000;
+    }
 }
@@ -0,0 +1,45 @@
+package io.github.atengk.milvus.entity;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class BatchSimilaritySearchRequest {
+
+    /**
+     * collection 名称
+     */
+    private String collectionName;
+
+    /**
+     * 查询向量列表，结果按相同顺序返回
+     */
+    private List<float[]> vectors;
+
+    /**
+     * 每个查询返回的相似结果数量
+     */
+    private int topK = 5;
+
+    /**
+     * Milvus expr，对所有查询生效
+     */
+    private String expr;
+
+    /**
+     * 是否返回向量本身（默认不返回）
+     */
+    private boolean includeEmbedding = false;
+
+    /**
+     * 检索参数（JSON），为空时使用 collection 配置或默认配置
+     */
+    private String searchParams;
+
+    /**
+     * 是否使用结果缓存
+     */
+    private boolean useCache = true;
+
+}
@@ -0,0 +1,34 @@
+package io.github.atengk.milvus.entity;
+
+import lombok.Data;
+
+/**
+ * Embedding 缓存统计
+ */
+@Data
+public class EmbeddingCacheStats {
+
+    private int heapSize;
+
+    private int heapMaxEntries;
+
+    private int diskSize;
+
+    private int diskCapacity;
+
+    private long heapHits;
+
+    private long diskHits;
+
+    private long misses;
+
+    private long heapEvictions;
+
+    private long diskEvictions;
+
+    /**
+     * 命中率（堆内 + 磁盘）
+     */
+    private double hitRate;
+
+}
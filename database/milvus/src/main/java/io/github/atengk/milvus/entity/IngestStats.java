@@ -0,0 +1,61 @@
+package io.github.atengk.milvus.entity;
+
+import lombok.Data;
+
+/**
+ * 文件写入流水线各阶段统计
+ * <p>
+ * 耗时为各阶段累计处理时间（多线程阶段为各线程耗时之和），吞吐 = 处理量 / 累计耗时
+ */
+@Data
+public class IngestStats {
+
+    /* ---------- file ---------- */
+
+    private long filesCompleted;
+
+    private long filesSkipped;
+
+    private long filesFailed;
+
+    private int filesInFlight;
+
+    /* ---------- read + hash ---------- */
+
+    private long bytesRead;
+
+    private long readMillis;
+
+    private double readMbPerSecond;
+
+    /* ---------- parse + chunk ---------- */
+
+    private long charsParsed;
+
+    private long chunksProduced;
+
+    private long parseMillis;
+
+    private double parseChunksPerSecond;
+
+    /* ---------- embedding ---------- */
+
+    private long embedBatches;
+
+    private long chunksEmbedded;
+
+    private long embedMillis;
+
+    private double embedChunksPerSecond;
+
+    /* ---------- milvus insert ---------- */
+
+    private long insertBatches;
+
+    private long documentsInserted;
+
+    private long insertMillis;
+
+    private double insertDocumentsPerSecond;
+
+}
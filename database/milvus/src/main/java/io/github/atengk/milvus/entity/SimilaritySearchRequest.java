@@ -17,6 +17,11 @@ public class SimilaritySearchRequest {
      */
     private List<Float> embedding;
 
+    /**
+     * 查询向量（float[]），设置后优先于 embedding 使用
+     */
+    private float[] vector;
+
     /**
      * 返回的相似结果数量
      */
@@ -32,4 +37,14 @@ public class SimilaritySearchRequest {
      */
     private boolean includeEmbedding = false;
 
+    /**
+     * 检索参数（JSON），为空时使用 collection 配置或默认配置
+     */
+    private String searchParams;
+
+    /**
+     * 是否使用结果缓存（默认不使用，重复查询较多时显式开启）
+     */
+    private boolean useCache = false;
+
 }
@@ -14,7 +14,11 @@ public class VectorDocument {
 
     private List<Float> embedding;
 
+    /**
+     * 向量（float[]），设置后优先于 embedding 使用，批量写入时推荐
+     */
+    private float[] vector;
+
     private JsonObject metadata;
 
 }
-
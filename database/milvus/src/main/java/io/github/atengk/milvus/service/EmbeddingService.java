@@ -1,5 +1,7 @@
 package io.github.atengk.milvus.service;
 
+import io.github.atengk.milvus.util.FloatVectors;
+
 import java.util.List;
 
 public interface EmbeddingService {
@@ -14,9 +16,22 @@ public interface EmbeddingService {
      */
     List<List<Float>> embedBatch(List<String> texts);
 
+    /**
+     * 单条文本 embedding（float[]，推荐用于批量写入等大数据量场景）
+     */
+    default float[] embedArray(String text) {
+        return FloatVectors.toArray(embed(text));
+    }
+
+    /**
+     * 批量 embedding（float[]，推荐用于批量写入等大数据量场景）
+     */
+    default List<float[]> embedBatchArray(List<String> texts) {
+        return FloatVectors.toArrays(embedBatch(texts));
+    }
+
     /**
      * 返回 embedding 维度
      */
     int dimension();
 }
-
@@ -1,7 +1,10 @@
 package io.github.atengk.milvus.service;
 
+import io.github.atengk.milvus.entity.IngestStats;
+
 import java.io.InputStream;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 public interface FileVectorService {
 
@@ -19,4 +22,25 @@ public interface FileVectorService {
             InputStream inputStream,
             Map<String, Object> metadata
     );
+
+    /**
+     * 异步写入文件，多个文件并发处理（受同时处理文件数上限约束）
+     *
+     * @param collectionName Milvus collection
+     * @param fileName 文件名（用于 metadata）
+     * @param inputStream 文件流（由调用方在 future 完成后关闭）
+     * @param metadata 额外元数据（如 source、bizId）
+     * @return 写入完成的 future
+     */
+    CompletableFuture<Void> ingestAsync(
+            String collectionName,
+            String fileName,
+            InputStream inputStream,
+            Map<String, Object> metadata
+    );
+
+    /**
+     * 获取写入流水线各阶段统计
+     */
+    IngestStats getIngestStats();
 }
@@ -1,5 +1,6 @@
 package io.github.atengk.milvus.service;
 
+import com.google.gson.JsonObject;
 import io.github.atengk.milvus.entity.*;
 import jakarta.servlet.Filter;
 
@@ -66,9 +67,28 @@ public interface MilvusService {
 
     /**
      * 新增文档（不允许覆盖）
+     * <p>
+     * 文档向量优先取 {@link VectorDocument#getVector()}，为空时取 embedding
      */
     void add(String collectionName, List<VectorDocument> documents);
 
+    /**
+     * 新增文档（列式 float[] 向量，不允许覆盖）
+     *
+     * @param collectionName collection 名称
+     * @param ids 文档 ID
+     * @param contents 文本内容
+     * @param metadata 元数据
+     * @param vectors 向量，与 ids 一一对应
+     */
+    void add(
+            String collectionName,
+            List<String> ids,
+            List<String> contents,
+            List<JsonObject> metadata,
+            List<float[]> vectors
+    );
+
     /**
      * 根据 ID 查询
      */
@@ -122,6 +142,49 @@ public interface MilvusService {
      */
     List<SimilaritySearchResult> similaritySearch(SimilaritySearchRequest request);
 
+    /**
+     * 相似度检索（float[] 查询向量）
+     */
+    default List<SimilaritySearchResult> similaritySearch(
+            String collectionName,
+            float[] vector,
+            int topK,
+            String expr
+    ) {
+        SimilaritySearchRequest request = new SimilaritySearchRequest();
+        request.setCollectionName(collectionName);
+        request.setVector(vector);
+        request.setTopK(topK);
+        request.setExpr(expr);
+        return similaritySearch(request);
+    }
+
+    /**
+     * 批量相似度检索：多个查询向量合并为一次请求发送
+     * <p>
+     * 命中结果缓存的查询不再发送，缓存的结果文档为共享对象，调用方不得修改
+     *
+     * @return 检索结果，与 {@link BatchSimilaritySearchRequest#getVectors()} 一一对应
+     */
+    List<List<SimilaritySearchResult>> batchSimilaritySearch(BatchSimilaritySearchRequest request);
+
+    /**
+     * 批量相似度检索（float[] 查询向量）
+     */
+    default List<List<SimilaritySearchResult>> batchSimilaritySearch(
+            String collectionName,
+            List<float[]> vectors,
+            int topK,
+            String expr
+    ) {
+        BatchSimilaritySearchRequest request = new BatchSimilaritySearchRequest();
+        request.setCollectionName(collectionName);
+        request.setVectors(vectors);
+        request.setTopK(topK);
+        request.setExpr(expr);
+        return batchSimilaritySearch(request);
+    }
+
 
     /* ========================= admin / maintenance ========================= */
 
@@ -0,0 +1,302 @@
+package io.github.atengk.milvus.service.impl;
+
+import io.github.atengk.milvus.entity.EmbeddingCacheStats;
+import io.github.atengk.milvus.service.EmbeddingService;
+import io.github.atengk.milvus.util.FloatVectors;
+import io.github.atengk.milvus.util.MappedVectorStore;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 带内容寻址缓存的 EmbeddingService 装饰器
+ *
+ * <p>
+ * 说明：
+ * <ul>
+ *     <li>缓存 key 为 SHA-256(model + dimension + text)，模型或维度变化时自动失效</li>
+ *     <li>堆内一级缓存：LRU，向量以 float[] 保存（1536 维约 6KB，List&lt;Float&gt; 约 25KB）</li>
+ *     <li>磁盘二级缓存（可选）：内存映射文件，按最大字节数淘汰最旧数据，重启后仍可命中</li>
+ *     <li>embedBatch 只把未命中的文本（批内去重后）发送给底层模型</li>
+ * </ul>
+ * 返回的向量与缓存共享底层数组（List 接口为只读视图），调用方不得修改。
+ */
+@Slf4j
+public class CachingEmbeddingService implements EmbeddingService, AutoCloseable {
+
+    private final EmbeddingService delegate;
+    private final String model;
+    private final int heapMaxEntries;
+
+    /**
+     * 磁盘缓存目录，为 null 时不启用磁盘缓存
+     */
+    private final Path diskDirectory;
+    private final long diskMaxBytes;
+
+    /**
+     * 堆内 LRU 缓存（访问顺序）
+     */
+    private final LinkedHashMap<MappedVectorStore.Key, float[]> heapCache;
+
+    /**
+     * 磁盘缓存，维度确定后延迟创建
+     */
+    private volatile MappedVectorStore diskStore;
+
+    private volatile Integer dimensionCache;
+
+    private final LongAdder heapHits = new LongAdder();
+    private final LongAdder diskHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder heapEvictions = new LongAdder();
+
+    /**
+     * 仅启用堆内缓存
+     */
+    public CachingEmbeddingService(EmbeddingService delegate, String model, int heapMaxEntries) {
+        this(delegate, model, heapMaxEntries, null, 0);
+    }
+
+    /**
+     * 启用堆内 + 磁盘缓存
+     *
+     * @param delegate       底层 EmbeddingService
+     * @param model          模型名称（参与缓存 key）
+     * @param heapMaxEntries 堆内最大缓存条数
+     * @param diskDirectory  磁盘缓存目录，为 null 时不启用磁盘缓存
+     * @param diskMaxBytes   磁盘缓存最大字节数
+     */
+    public CachingEmbeddingService(
+            EmbeddingService delegate,
+            String model,
+            int heapMaxEntries,
+            Path diskDirectory,
+            long diskMaxBytes
+    ) {
+        this.delegate = Objects.requireNonNull(delegate, "delegate must not be null");
+        this.model = model == null ? "" : model;
+        this.heapMaxEntries = Math.max(1, heapMaxEntries);
+        this.diskDirectory = diskMaxBytes > 0 ? diskDirectory : null;
+        this.diskMaxBytes = diskMaxBytes;
+        this.heapCache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<MappedVectorStore.Key, float[]> eldest) {
+                if (size() > CachingEmbeddingService.this.heapMaxEntries) {
+                    heapEvictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * 单条文本 embedding
+     */
+    @Override
+    public List<Float> embed(String text) {
+        return FloatVectors.asList(embedArray(text));
+    }
+
+    /**
+     * 批量文本 embedding
+     */
+    @Override
+    public List<List<Float>> embedBatch(List<String> texts) {
+        return FloatVectors.asLists(embedBatchArray(texts));
+    }
+
+    /**
+     * 单条文本 embedding（float[]，与缓存共享，调用方不得修改）
+     */
+    @Override
+    public float[] embedArray(String text) {
+        return embedBatchArray(Collections.singletonList(text)).get(0);
+    }
+
+    /**
+     * 批量文本 embedding（float[]，与缓存共享，调用方不得修改），只对未命中的文本调用底层模型
+     */
+    @Override
+    public List<float[]> embedBatchArray(List<String> texts) {
+        if (texts == null || texts.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        int dimension = dimension();
+        MessageDigest digest = sha256();
+
+        float[][] vectors = new float[texts.size()][];
+        MappedVectorStore.Key[] keys = new MappedVectorStore.Key[texts.size()];
+
+        // 未命中 key -> 在 texts 中的位置（批内相同文本只请求一次）
+        Map<MappedVectorStore.Key, List<Integer>> missPositions = new LinkedHashMap<>();
+
+        for (int i = 0; i < texts.size(); i++) {
+            keys[i] = keyOf(digest, texts.get(i), dimension);
+            vectors[i] = lookup(keys[i]);
+            if (vectors[i] == null) {
+                missPositions.computeIfAbsent(keys[i], k -> new ArrayList<>(1)).add(i);
+            }
+        }
+
+        if (!missPositions.isEmpty()) {
+            List<String> missTexts = new ArrayList<>(missPositions.size());
+            for (List<Integer> positions : missPositions.values()) {
+                missTexts.add(texts.get(positions.get(0)));
+            }
+
+            List<float[]> computed = delegate.embedBatchArray(missTexts);
+            if (computed.size() != missTexts.size()) {
+                throw new IllegalStateException(
+                        "Embedding 结果数量不匹配: texts="
+                                + missTexts.size()
+                                + ", embeddings="
+                                + computed.size()
+                );
+            }
+            misses.add(missTexts.size());
+
+            int j = 0;
+            for (Map.Entry<MappedVectorStore.Key, List<Integer>> entry : missPositions.entrySet()) {
+                float[] vector = computed.get(j++);
+                store(entry.getKey(), vector);
+                for (int position : entry.getValue()) {
+                    vectors[position] = vector;
+                }
+            }
+        }
+
+        return Arrays.asList(vectors);
+    }
+
+    /**
+     * 返回 embedding 维度
+     */
+    @Override
+    public int dimension() {
+        if (dimensionCache == null) {
+            dimensionCache = delegate.dimension();
+        }
+        return dimensionCache;
+    }
+
+    /* ========================= cache ========================= */
+
+    private float[] lookup(MappedVectorStore.Key key) {
+        float[] vector;
+        synchronized (heapCache) {
+            vector = heapCache.get(key);
+        }
+        if (vector != null) {
+            heapHits.increment();
+            return vector;
+        }
+
+        MappedVectorStore store = diskStore();
+        if (store != null) {
+            vector = store.get(key);
+            if (vector != null) {
+                diskHits.increment();
+                synchronized (heapCache) {
+                    heapCache.put(key, vector);
+                }
+            }
+        }
+        return vector;
+    }
+
+    private void store(MappedVectorStore.Key key, float[] vector) {
+        synchronized (heapCache) {
+            heapCache.put(key, vector);
+        }
+
+        MappedVectorStore store = diskStore();
+        if (store != null && vector.length == dimension()) {
+            store.put(key, vector);
+        }
+    }
+
+    private MappedVectorStore diskStore() {
+        if (diskDirectory == null) {
+            return null;
+        }
+        MappedVectorStore store = diskStore;
+        if (store == null) {
+            synchronized (this) {
+                store = diskStore;
+                if (store == null) {
+                    // 不同维度的向量槽位大小不同，按维度分文件
+                    Path file = diskDirectory.resolve("embedding-cache-" + dimension() + ".bin");
+                    try {
+                        store = new MappedVectorStore(file, dimension(), diskMaxBytes);
+                    } catch (IOException e) {
+                        throw new IllegalStateException("Open embedding disk cache failed: " + file, e);
+                    }
+                    log.info("Embedding 磁盘缓存已打开: file={}, capacity={}, size={}", file, store.capacity(), store.size());
+                    diskStore = store;
+                }
+            }
+        }
+        return store;
+    }
+
+    private MappedVectorStore.Key keyOf(MessageDigest digest, String text, int dimension) {
+        digest.reset();
+        digest.update(model.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+        digest.update(Integer.toString(dimension).getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+        digest.update(Objects.toString(text, "").getBytes(StandardCharsets.UTF_8));
+        return MappedVectorStore.Key.of(digest.digest());
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /* ========================= stats ========================= */
+
+    public EmbeddingCacheStats getStats() {
+        EmbeddingCacheStats stats = new EmbeddingCacheStats();
+        synchronized (heapCache) {
+            stats.setHeapSize(heapCache.size());
+        }
+        stats.setHeapMaxEntries(heapMaxEntries);
+
+        MappedVectorStore store = diskStore;
+        if (store != null) {
+            stats.setDiskSize(store.size());
+            stats.setDiskCapacity(store.capacity());
+            stats.setDiskEvictions(store.evictions());
+        }
+
+        long hits = heapHits.sum() + diskHits.sum();
+        long total = hits + misses.sum();
+        stats.setHeapHits(heapHits.sum());
+        stats.setDiskHits(diskHits.sum());
+        stats.setMisses(misses.sum());
+        stats.setHeapEvictions(heapEvictions.sum());
+        stats.setHitRate(total == 0 ? 0 : (double) hits / total);
+        return stats;
+    }
+
+    @Override
+    public void close() throws IOException {
+        MappedVectorStore store = diskStore;
+        if (store != null) {
+            store.close();
+        }
+    }
+}
@@ -1,25 +1,71 @@
 package io.github.atengk.milvus.service.impl;
 
 import cn.hutool.core.util.StrUtil;
-import cn.hutool.crypto.digest.DigestUtil;
 import com.google.gson.JsonObject;
+import io.github.atengk.milvus.config.MilvusProperties;
+import io.github.atengk.milvus.entity.IngestStats;
 import io.github.atengk.milvus.entity.VectorDocument;
 import io.github.atengk.milvus.service.EmbeddingService;
 import io.github.atengk.milvus.service.FileVectorService;
 import io.github.atengk.milvus.service.MilvusService;
 import io.github.atengk.milvus.util.TextSplitter;
 import io.github.atengk.milvus.util.TikaUtil;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
-
-import java.io.ByteArrayInputStream;
+import org.xml.sax.SAXException;
+import org.xml.sax.helpers.DefaultHandler;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HexFormat;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
-
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BooleanSupplier;
+
+/**
+ * 文件写入 Milvus 的流水线实现
+ *
+ * <p>
+ * 单个文件的处理分为以下阶段：
+ * <ul>
+ *     <li>读取：边读边计算 SHA-256 并落到临时文件，不在堆中保留整个文件；随后异步执行去重查询</li>
+ *     <li>解析 + 切割：只解析一遍临时文件，chunk 的正文与 offset 顺序写入旁路文件，同时统计 chunkTotal、取得 Tika 元数据；
+ *     与去重查询并行，解析途中已确认重复时立即停止解析</li>
+ *     <li>去重：等待去重结果，重复文件不提交任何 embedding</li>
+ *     <li>embedding：顺序读取旁路文件，每攒满一批提交到所有文件共享的 embedding 线程池，
+ *     单个文件的在途批次数受 maxInFlightBatches 约束</li>
+ *     <li>写入：按顺序取回 embedding 结果分批写入，没有空闲许可时读取线程先写入最早的批次，
+ *     堆内只保留在途批次与一个未满的写入批次，与文件大小无关</li>
+ * </ul>
+ * 多个文件可并发写入，同时处理的文件数受 maxInFlightFiles 约束。
+ * </p>
+ */
 @Slf4j
 @Service
 public class FileVectorServiceImpl implements FileVectorService {
@@ -29,13 +75,62 @@ public class FileVectorServiceImpl implements FileVectorService {
 
     private final MilvusService milvusService;
     private final EmbeddingService embeddingService;
+    private final MilvusProperties.Ingest ingestProperties;
+
+    /**
+     * 同时处理的文件数上限
+     */
+    private final Semaphore inFlightFiles;
+
+    /**
+     * 异步写入文件使用的线程池
+     */
+    private final ExecutorService fileExecutor;
+
+    /**
+     * embedding 线程池（所有文件共享，线程数即并发请求数）
+     */
+    private final ExecutorService embedExecutor;
+
+    /**
+     * 去重查询等 IO 线程池
+     */
+    private final ExecutorService ioExecutor;
+
+    /* ========================= metrics ========================= */
+
+    private final LongAdder filesCompleted = new LongAdder();
+    private final LongAdder filesSkipped = new LongAdder();
+    private final LongAdder filesFailed = new LongAdder();
+    private final LongAdder bytesRead = new LongAdder();
+    private final LongAdder readNanos = new LongAdder();
+    private final LongAdder charsParsed = new LongAdder();
+    private final LongAdder chunksProduced = new LongAdder();
+    private final LongAdder parseNanos = new LongAdder();
+    private final LongAdder embedBatches = new LongAdder();
+    private final LongAdder chunksEmbedded = new LongAdder();
+    private final LongAdder embedNanos = new LongAdder();
+    private final LongAdder insertBatches = new LongAdder();
+    private final LongAdder documentsInserted = new LongAdder();
+    private final LongAdder insertNanos = new LongAdder();
 
     public FileVectorServiceImpl(
             MilvusService milvusService,
-            @Qualifier("openAiEmbeddingService") EmbeddingService embeddingService
+            @Qualifier("cachedOpenAiEmbeddingService") EmbeddingService embeddingService,
+            MilvusProperties milvusProperties
     ) {
         this.milvusService = milvusService;
         this.embeddingService = embeddingService;
+        this.ingestProperties = milvusProperties.getIngest();
+
+        int maxInFlightFiles = Math.max(1, ingestProperties.getMaxInFlightFiles());
+        this.inFlightFiles = new Semaphore(maxInFlightFiles);
+        this.fileExecutor = Executors.newFixedThreadPool(maxInFlightFiles, threadFactory("milvus-ingest-file-"));
+        this.embedExecutor = Executors.newFixedThreadPool(
+                Math.max(1, ingestProperties.getEmbedConcurrency()),
+                threadFactory("milvus-ingest-embed-")
+        );
+        this.ioExecutor = Executors.newCachedThreadPool(threadFactory("milvus-ingest-io-"));
     }
 
     @Override
@@ -45,142 +140,508 @@ public class FileVectorServiceImpl implements FileVectorService {
             InputStream inputStream,
             Map<String, Object> externalMetadata
     ) {
+        boolean acquired = false;
+        try {
+            inFlightFiles.acquire();
+            acquired = true;
+
+            if (ingestInternal(collectionName, fileName, inputStream, externalMetadata)) {
+                filesCompleted.increment();
+            } else {
+                filesSkipped.increment();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            filesFailed.increment();
+            throw new RuntimeException("写入 Milvus 被中断", e);
+        } catch (Exception e) {
+            filesFailed.increment();
+            log.error("写入 Milvus 失败: fileName={}", fileName, e);
+            throw new RuntimeException("写入 Milvus 失败", e);
+        } finally {
+            if (acquired) {
+                inFlightFiles.release();
+            }
+        }
+    }
+
+    @Override
+    public CompletableFuture<Void> ingestAsync(
+            String collectionName,
+            String fileName,
+            InputStream inputStream,
+            Map<String, Object> externalMetadata
+    ) {
+        return CompletableFuture.runAsync(
+                () -> ingest(collectionName, fileName, inputStream, externalMetadata),
+                fileExecutor
+        );
+    }
+
+    /**
+     * 单个文件的流水线处理
+     *
+     * @return true 表示已写入，false 表示重复或内容为空而跳过
+     */
+    private boolean ingestInternal(
+            String collectionName,
+            String fileName,
+            InputStream inputStream,
+            Map<String, Object> externalMetadata
+    ) throws Exception {
+
+        Path tempFile = Files.createTempFile("milvus-ingest-", ".tmp");
+        Path chunkFile = Files.createTempFile("milvus-ingest-", ".chunks");
+        String expr = null;
+        FileIngestion ingestion = null;
+
         try {
             /* ========================= file fingerprint ========================= */
 
-            byte[] fileBytes = inputStream.readAllBytes();
-            String documentId = DigestUtil.sha256Hex(fileBytes);
+            long readStart = System.nanoTime();
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            long fileBytes;
+            // 不关闭调用方传入的流
+            try (OutputStream out = Files.newOutputStream(tempFile)) {
+                fileBytes = new DigestInputStream(inputStream, digest).transferTo(out);
+            }
+            String documentId = HexFormat.of().formatHex(digest.digest());
+            bytesRead.add(fileBytes);
+            readNanos.add(System.nanoTime() - readStart);
 
-            String expr = String.format(
+            expr = String.format(
                     "metadata[\"documentId\"] == \"%s\"",
                     documentId
             );
 
-            if (milvusService.existsByExpr(collectionName, expr)) {
+            // 去重查询与解析并行
+            String existsExpr = expr;
+            CompletableFuture<Boolean> duplicate = CompletableFuture.supplyAsync(
+                    () -> milvusService.existsByExpr(collectionName, existsExpr),
+                    ioExecutor
+            );
+
+            /* ========================= parse + split ========================= */
+
+            long parseStart = System.nanoTime();
+            AtomicInteger counted = new AtomicInteger();
+            Map<String, String> tikaMetadata;
+
+            // chunkTotal 与 Tika 元数据要在解析结束后才能确定，chunk 先写入旁路文件，不在堆中保留
+            try (DataOutputStream chunkOut = new DataOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(chunkFile)));
+                 InputStream tikaInputStream = Files.newInputStream(tempFile)) {
+
+                TextSplitter.Chunker chunker = TextSplitter.chunker(CHUNK_SIZE, CHUNK_OVERLAP, true, chunk -> {
+                    if (!StrUtil.isBlank(chunk.getContent())) {
+                        writeChunk(chunkOut, chunk);
+                        counted.incrementAndGet();
+                    }
+                });
+                tikaMetadata = TikaUtil.parseStream(
+                        tikaInputStream,
+                        new ChunkingContentHandler(chunker, charsParsed, () -> isDuplicate(duplicate))
+                );
+                chunker.finish();
+            } catch (RuntimeException e) {
+                if (isDuplicate(duplicate)) {
+                    log.warn(
+                            "文件重复，跳过写入: fileName={}, documentId={}",
+                            fileName,
+                            documentId
+                    );
+                    return false;
+                }
+                throw e;
+            } finally {
+                parseNanos.add(System.nanoTime() - parseStart);
+            }
+
+            int chunkTotal = counted.get();
+            chunksProduced.add(chunkTotal);
+
+            if (chunkTotal == 0) {
+                log.warn("文件内容为空，跳过写入: fileName={}", fileName);
+                return false;
+            }
+
+            // 去重结果确定后才提交 embedding
+            if (duplicate.get()) {
                 log.warn(
                         "文件重复，跳过写入: fileName={}, documentId={}",
                         fileName,
                         documentId
                 );
-                return;
+                return false;
             }
 
-            /* ========================= tika parse ========================= */
-
-            InputStream tikaInputStream = new ByteArrayInputStream(fileBytes);
-            TikaUtil.TikaResult tikaResult = TikaUtil.parseAll(tikaInputStream, -1);
+            /* ========================= embed + write to milvus ========================= */
 
-            String content = tikaResult.getContent();
-            if (StrUtil.isBlank(content)) {
-                log.warn("文件内容为空，跳过写入: fileName={}", fileName);
-                return;
+            ingestion = new FileIngestion(
+                    collectionName, documentId, fileName, chunkTotal, tikaMetadata, externalMetadata
+            );
+            try (DataInputStream chunkIn = new DataInputStream(
+                    new BufferedInputStream(Files.newInputStream(chunkFile)))) {
+                for (int i = 0; i < chunkTotal; i++) {
+                    ingestion.accept(readChunk(chunkIn, i));
+                }
             }
+            int inserted = ingestion.finish();
 
-            /* ========================= text split ========================= */
-
-            List<String> chunks = TextSplitter.split(
-                    content,
-                    CHUNK_SIZE,
-                    CHUNK_OVERLAP
+            log.info(
+                    "文件写入 Milvus 完成: fileName={}, documentId={}, chunks={}",
+                    fileName,
+                    documentId,
+                    inserted
             );
+            return true;
 
-            if (chunks.isEmpty()) {
-                log.warn("文本切割结果为空，跳过写入: fileName={}", fileName);
-                return;
+        } catch (Exception e) {
+            // 已分批写入的部分回滚，避免残留不完整的文档
+            if (ingestion != null && ingestion.writeStarted && expr != null) {
+                try {
+                    milvusService.deleteByExpr(collectionName, expr);
+                } catch (Exception deleteException) {
+                    e.addSuppressed(deleteException);
+                }
             }
+            throw e;
+        } finally {
+            if (ingestion != null) {
+                ingestion.cancel();
+            }
+            Files.deleteIfExists(tempFile);
+            Files.deleteIfExists(chunkFile);
+        }
+    }
 
-            /* ========================= batch embedding ========================= */
+    /**
+     * 去重查询已返回且结果为重复
+     */
+    private static boolean isDuplicate(CompletableFuture<Boolean> duplicate) {
+        return duplicate.isDone() && !duplicate.isCompletedExceptionally() && duplicate.join();
+    }
 
-            List<String> chunkTexts = new ArrayList<>(chunks.size());
-            for (String chunk : chunks) {
-                if (StrUtil.isNotBlank(chunk)) {
-                    chunkTexts.add(chunk);
-                }
-            }
+    /**
+     * 旁路文件记录：startOffset、endOffset、正文（CHUNK_SIZE 远小于 writeUTF 的 64KB 上限）
+     */
+    private static void writeChunk(DataOutputStream out, TextSplitter.Chunk chunk) {
+        try {
+            out.writeInt(chunk.getStartOffset());
+            out.writeInt(chunk.getEndOffset());
+            out.writeUTF(chunk.getText());
+        } catch (IOException e) {
+            throw new UncheckedIOException("写入 chunk 旁路文件失败", e);
+        }
+    }
 
-            List<List<Float>> embeddings =
-                    embeddingService.embedBatch(chunkTexts);
+    private static TextSplitter.Chunk readChunk(DataInputStream in, int index) throws IOException {
+        int startOffset = in.readInt();
+        int endOffset = in.readInt();
+        return new TextSplitter.Chunk(index, in.readUTF(), startOffset, endOffset);
+    }
 
-            if (embeddings.size() != chunkTexts.size()) {
-                throw new IllegalStateException(
-                        "Embedding 结果数量不匹配: texts="
-                                + chunkTexts.size()
-                                + ", embeddings="
-                                + embeddings.size()
-                );
-            }
+    private Future<List<float[]>> submitEmbedding(List<TextSplitter.Chunk> batch) {
+        List<String> texts = batch.stream().map(TextSplitter.Chunk::getText).toList();
+        return embedExecutor.submit(() -> {
+            long start = System.nanoTime();
+            List<float[]> embeddings = embeddingService.embedBatchArray(texts);
+            embedNanos.add(System.nanoTime() - start);
+            embedBatches.increment();
+            chunksEmbedded.add(texts.size());
+            return embeddings;
+        });
+    }
 
-            /* ========================= build vector documents ========================= */
+    private int insert(String collectionName, List<VectorDocument> documents) {
+        long start = System.nanoTime();
+        milvusService.add(collectionName, documents);
+        insertNanos.add(System.nanoTime() - start);
+        insertBatches.increment();
+        documentsInserted.add(documents.size());
+        return documents.size();
+    }
 
-            int chunkTotal = chunkTexts.size();
-            List<VectorDocument> documents = new ArrayList<>(chunkTotal);
+    private VectorDocument buildDocument(
+            TextSplitter.Chunk chunk,
+            int chunkIndex,
+            int chunkTotal,
+            float[] vector,
+            String documentId,
+            String fileName,
+            Map<String, String> tikaMetadata,
+            Map<String, Object> externalMetadata
+    ) {
+        String chunkId = UUID.randomUUID().toString();
+
+        VectorDocument document = new VectorDocument();
+        document.setId(chunkId);
+        document.setContent(chunk.getText());
+        document.setVector(vector);
+
+        JsonObject metadata = new JsonObject();
+
+        /* ---------- document level ---------- */
+        metadata.addProperty("documentId", documentId);
+        metadata.addProperty("fileHash", documentId);
+        metadata.addProperty("fileName", fileName);
+
+        /* ---------- chunk level ---------- */
+        metadata.addProperty("chunkId", chunkId);
+        metadata.addProperty("chunkIndex", chunkIndex);
+        metadata.addProperty("chunkTotal", chunkTotal);
+        metadata.addProperty("startOffset", chunk.getStartOffset());
+        metadata.addProperty("endOffset", chunk.getEndOffset());
+        metadata.addProperty("chunkSize", CHUNK_SIZE);
+        metadata.addProperty("chunkOverlap", CHUNK_OVERLAP);
+
+        /* ---------- tika metadata ---------- */
+        if (tikaMetadata != null) {
+            tikaMetadata.forEach(metadata::addProperty);
+        }
 
-            int offsetCursor = 0;
+        /* ---------- external metadata ---------- */
+        if (externalMetadata != null) {
+            externalMetadata.forEach(
+                    (k, v) -> metadata.addProperty(k, String.valueOf(v))
+            );
+        }
 
-            for (int i = 0; i < chunkTotal; i++) {
+        document.setMetadata(metadata);
+        return document;
+    }
 
-                String chunk = chunkTexts.get(i);
-                List<Float> vector = embeddings.get(i);
+    /* ========================= metrics ========================= */
 
-                String chunkId = UUID.randomUUID().toString();
+    @Override
+    public IngestStats getIngestStats() {
+        IngestStats stats = new IngestStats();
+
+        stats.setFilesCompleted(filesCompleted.sum());
+        stats.setFilesSkipped(filesSkipped.sum());
+        stats.setFilesFailed(filesFailed.sum());
+        stats.setFilesInFlight(Math.max(1, ingestProperties.getMaxInFlightFiles()) - inFlightFiles.availablePermits());
+
+        stats.setBytesRead(bytesRead.sum());
+        stats.setReadMillis(TimeUnit.NANOSECONDS.toMillis(readNanos.sum()));
+        stats.setReadMbPerSecond(throughput(bytesRead.sum() / 1024.0 / 1024.0, readNanos.sum()));
+
+        stats.setCharsParsed(charsParsed.sum());
+        stats.setChunksProduced(chunksProduced.sum());
+        stats.setParseMillis(TimeUnit.NANOSECONDS.toMillis(parseNanos.sum()));
+        stats.setParseChunksPerSecond(throughput(chunksProduced.sum(), parseNanos.sum()));
+
+        stats.setEmbedBatches(embedBatches.sum());
+        stats.setChunksEmbedded(chunksEmbedded.sum());
+        stats.setEmbedMillis(TimeUnit.NANOSECONDS.toMillis(embedNanos.sum()));
+        stats.setEmbedChunksPerSecond(throughput(chunksEmbedded.sum(), embedNanos.sum()));
+
+        stats.setInsertBatches(insertBatches.sum());
+        stats.setDocumentsInserted(documentsInserted.sum());
+        stats.setInsertMillis(TimeUnit.NANOSECONDS.toMillis(insertNanos.sum()));
+        stats.setInsertDocumentsPerSecond(throughput(documentsInserted.sum(), insertNanos.sum()));
+
+        return stats;
+    }
 
-                int startOffset = offsetCursor;
-                int endOffset = startOffset + chunk.length();
-                offsetCursor = Math.max(endOffset - CHUNK_OVERLAP, startOffset);
+    private static double throughput(double amount, long nanos) {
+        return nanos == 0 ? 0 : amount * 1_000_000_000D / nanos;
+    }
 
-                VectorDocument document = new VectorDocument();
-                document.setId(chunkId);
-                document.setContent(chunk);
-                document.setEmbedding(vector);
+    /* ========================= lifecycle ========================= */
 
-                JsonObject metadata = new JsonObject();
+    @PreDestroy
+    public void shutdown() {
+        fileExecutor.shutdownNow();
+        embedExecutor.shutdownNow();
+        ioExecutor.shutdownNow();
+    }
 
-                /* ---------- document level ---------- */
-                metadata.addProperty("documentId", documentId);
-                metadata.addProperty("fileHash", documentId);
-                metadata.addProperty("fileName", fileName);
+    private static ThreadFactory threadFactory(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
 
-                /* ---------- chunk level ---------- */
-                metadata.addProperty("chunkId", chunkId);
-                metadata.addProperty("chunkIndex", i);
-                metadata.addProperty("chunkTotal", chunkTotal);
-                metadata.addProperty("startOffset", startOffset);
-                metadata.addProperty("endOffset", endOffset);
-                metadata.addProperty("chunkSize", CHUNK_SIZE);
-                metadata.addProperty("chunkOverlap", CHUNK_OVERLAP);
+    /* ========================= helper ========================= */
+
+    /**
+     * 单个文件读取旁路文件时的 embedding 与写入状态（只在读取线程中访问）
+     *
+     * <p>
+     * 每攒满一批提交 embedding 并占用一个许可，没有空闲许可时先按顺序取回最早的批次写入 Milvus，
+     * 写入后释放许可；读取线程因此被反压，共享 embedding 线程池的队列长度也随之有界。
+     * </p>
+     */
+    private final class FileIngestion {
+
+        private final String collectionName;
+        private final String documentId;
+        private final String fileName;
+        private final int chunkTotal;
+        private final Map<String, String> tikaMetadata;
+        private final Map<String, Object> externalMetadata;
+
+        private final int embedBatchSize = Math.max(1, ingestProperties.getEmbedBatchSize());
+        private final int insertBatchSize = Math.max(1, ingestProperties.getInsertBatchSize());
+        private final Semaphore inFlightBatches = new Semaphore(Math.max(1, ingestProperties.getMaxInFlightBatches()));
+        private final Deque<PendingBatch> pending = new ArrayDeque<>();
+
+        private List<TextSplitter.Chunk> batch;
+        private List<VectorDocument> documents;
+        private int chunkIndex;
+        private int inserted;
+        private boolean writeStarted;
+
+        FileIngestion(
+                String collectionName,
+                String documentId,
+                String fileName,
+                int chunkTotal,
+                Map<String, String> tikaMetadata,
+                Map<String, Object> externalMetadata
+        ) {
+            this.collectionName = collectionName;
+            this.documentId = documentId;
+            this.fileName = fileName;
+            this.chunkTotal = chunkTotal;
+            this.tikaMetadata = tikaMetadata;
+            this.externalMetadata = externalMetadata;
+            this.batch = new ArrayList<>(embedBatchSize);
+            this.documents = new ArrayList<>(insertBatchSize);
+        }
 
-                /* ---------- tika metadata ---------- */
-                if (tikaResult.getMetadata() != null) {
-                    tikaResult.getMetadata().forEach(metadata::addProperty);
-                }
+        void accept(TextSplitter.Chunk chunk) {
+            if (StrUtil.isBlank(chunk.getContent())) {
+                return;
+            }
+            batch.add(chunk);
+            if (batch.size() >= embedBatchSize) {
+                submitBatch();
+            }
+        }
+
+        /**
+         * 解析结束后提交最后一批并写完所有在途批次
+         *
+         * @return 写入的文档数
+         */
+        int finish() {
+            // 最后一批不足 embedBatchSize
+            if (!batch.isEmpty()) {
+                submitBatch();
+            }
+            while (!pending.isEmpty()) {
+                writeOldest();
+            }
+            if (!documents.isEmpty()) {
+                flushDocuments();
+            }
+            if (chunkIndex != chunkTotal) {
+                throw new IllegalStateException(
+                        "旁路文件的 chunk 数量不一致: expected=" + chunkTotal + ", actual=" + chunkIndex
+                );
+            }
+            return inserted;
+        }
 
-                /* ---------- external metadata ---------- */
-                if (externalMetadata != null) {
-                    externalMetadata.forEach(
-                            (k, v) -> metadata.addProperty(k, String.valueOf(v))
+        void cancel() {
+            for (PendingBatch pendingBatch : pending) {
+                pendingBatch.future().cancel(true);
+            }
+            pending.clear();
+        }
+
+        private void submitBatch() {
+            // 没有空闲许可时先写入最早的批次
+            while (!inFlightBatches.tryAcquire()) {
+                writeOldest();
+            }
+            pending.add(new PendingBatch(batch, submitEmbedding(batch)));
+            batch = new ArrayList<>(embedBatchSize);
+        }
+
+        private void writeOldest() {
+            PendingBatch oldest = pending.poll();
+            try {
+                List<float[]> embeddings = await(oldest.future());
+                if (embeddings.size() != oldest.chunks().size()) {
+                    throw new IllegalStateException(
+                            "Embedding 结果数量不匹配: texts="
+                                    + oldest.chunks().size()
+                                    + ", embeddings="
+                                    + embeddings.size()
                     );
                 }
 
-                document.setMetadata(metadata);
-                documents.add(document);
+                for (int i = 0; i < oldest.chunks().size(); i++) {
+                    documents.add(buildDocument(
+                            oldest.chunks().get(i), chunkIndex++, chunkTotal, embeddings.get(i),
+                            documentId, fileName, tikaMetadata, externalMetadata
+                    ));
+                    if (documents.size() >= insertBatchSize) {
+                        flushDocuments();
+                    }
+                }
+            } finally {
+                inFlightBatches.release();
             }
+        }
 
-            /* ========================= write to milvus ========================= */
+        private void flushDocuments() {
+            writeStarted = true;
+            inserted += insert(collectionName, documents);
+            documents = new ArrayList<>(insertBatchSize);
+        }
+    }
 
-            if (!documents.isEmpty()) {
-                milvusService.add(collectionName, documents);
-            }
+    /**
+     * 已提交 embedding 的批次
+     */
+    private record PendingBatch(List<TextSplitter.Chunk> chunks, Future<List<float[]>> future) {
+    }
 
-            log.info(
-                    "文件写入 Milvus 完成: fileName={}, documentId={}, chunks={}",
-                    fileName,
-                    documentId,
-                    documents.size()
-            );
+    private static <T> T await(Future<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("等待 embedding 结果被中断", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Embedding 失败", e.getCause());
+        }
+    }
 
-        } catch (Exception e) {
-            log.error("写入 Milvus 失败: fileName={}", fileName, e);
-            throw new RuntimeException("写入 Milvus 失败", e);
+    /**
+     * 将 Tika 输出的正文直接送入增量切割器，abort 返回 true 时中止解析
+     */
+    private static class ChunkingContentHandler extends DefaultHandler {
+
+        private final TextSplitter.Chunker chunker;
+        private final LongAdder charsParsed;
+        private final BooleanSupplier abort;
+
+        ChunkingContentHandler(TextSplitter.Chunker chunker, LongAdder charsParsed, BooleanSupplier abort) {
+            this.chunker = chunker;
+            this.charsParsed = charsParsed;
+            this.abort = abort;
+        }
+
+        @Override
+        public void characters(char[] ch, int start, int length) throws SAXException {
+            if (abort.getAsBoolean()) {
+                throw new SAXException("解析已中止");
+            }
+            chunker.append(ch, start, length);
+            charsParsed.add(length);
+        }
+
+        @Override
+        public void ignorableWhitespace(char[] ch, int start, int length) throws SAXException {
+            characters(ch, start, length);
         }
     }
 }
@@ -6,11 +6,15 @@ import com.google.gson.JsonSyntaxException;
 import com.google.gson.Strictness;
 import com.google.gson.stream.JsonReader;
 import com.google.protobuf.ByteString;
+import io.github.atengk.milvus.config.MilvusProperties;
+import io.github.atengk.milvus.entity.BatchSimilaritySearchRequest;
 import io.github.atengk.milvus.entity.CollectionSpec;
 import io.github.atengk.milvus.entity.SimilaritySearchRequest;
 import io.github.atengk.milvus.entity.SimilaritySearchResult;
 import io.github.atengk.milvus.entity.VectorDocument;
 import io.github.atengk.milvus.service.MilvusService;
+import io.github.atengk.milvus.util.FloatVectors;
+import io.github.atengk.milvus.util.TtlCache;
 import io.milvus.client.MilvusClient;
 import io.milvus.grpc.*;
 import io.milvus.param.IndexType;
@@ -30,6 +34,9 @@ import org.springframework.stereotype.Service;
 
 import java.io.StringReader;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -44,9 +51,29 @@ public class MilvusServiceImpl implements MilvusService {
     private static final MetricType METRIC_TYPE = MetricType.COSINE;
 
     private final MilvusClient milvusClient;
+    private final MilvusProperties.Search searchProperties;
 
-    public MilvusServiceImpl(MilvusClient milvusClient) {
+    /**
+     * 检索结果缓存，未启用时为 null
+     */
+    private final TtlCache<SearchCacheKey, List<SimilaritySearchResult>> searchCache;
+
+    /**
+     * 写入或删除数据时递增，检索期间发生过写入的结果不放入缓存
+     */
+    private final AtomicLong searchCacheGeneration = new AtomicLong();
+
+    /**
+     * 各 collection 最近一次写入或删除的时间（纳秒），静默窗口内的检索结果不放入缓存
+     */
+    private final Map<String, Long> lastWriteNanos = new ConcurrentHashMap<>();
+
+    public MilvusServiceImpl(MilvusClient milvusClient, MilvusProperties properties) {
         this.milvusClient = milvusClient;
+        this.searchProperties = properties.getSearch();
+        this.searchCache = searchProperties.getCacheTtlMillis() > 0 && searchProperties.getCacheMaxEntries() > 0
+                ? new TtlCache<>(searchProperties.getCacheTtlMillis(), searchProperties.getCacheMaxEntries())
+                : null;
     }
 
     /* ========================= health ========================= */
@@ -227,42 +254,62 @@ public class MilvusServiceImpl implements MilvusService {
                         .withCollectionName(collectionName)
                         .build()
         );
+        invalidateSearchCache(collectionName);
     }
 
     /* ========================= document ========================= */
 
     @Override
     public void add(String collectionName, List<VectorDocument> documents) {
-        insertInternal(collectionName, documents);
+
+        List<String> ids = new ArrayList<>(documents.size());
+        List<String> contents = new ArrayList<>(documents.size());
+        List<JsonObject> metadata = new ArrayList<>(documents.size());
+        List<List<Float>> vectors = new ArrayList<>(documents.size());
+
+        for (VectorDocument document : documents) {
+            ids.add(document.getId());
+            contents.add(document.getContent());
+            metadata.add(document.getMetadata());
+            vectors.add(document.getVector() != null
+                    ? FloatVectors.asList(document.getVector())
+                    : document.getEmbedding());
+        }
+
+        insertInternal(collectionName, ids, contents, metadata, vectors);
     }
 
-    private void insertInternal(String collectionName, List<VectorDocument> documents) {
+    @Override
+    public void add(
+            String collectionName,
+            List<String> ids,
+            List<String> contents,
+            List<JsonObject> metadata,
+            List<float[]> vectors
+    ) {
+        insertInternal(collectionName, ids, contents, metadata, FloatVectors.asLists(vectors));
+    }
+
+    /**
+     * 写入 Milvus
+     * <p>
+     * SDK 只接受 List&lt;List&lt;Float&gt;&gt;，float[] 在此处以只读视图传入，
+     * 由 SDK 在构建请求时逐个读取，不预先生成装箱副本
+     */
+    private void insertInternal(
+            String collectionName,
+            List<String> ids,
+            List<String> contents,
+            List<JsonObject> metadata,
+            List<List<Float>> vectors
+    ) {
 
         List<InsertParam.Field> fields = new ArrayList<>();
 
-        fields.add(new InsertParam.Field(
-                ID_FIELD,
-                documents.stream().map(VectorDocument::getId).collect(Collectors.toList())
-        ));
-
-        fields.add(new InsertParam.Field(
-                CONTENT_FIELD,
-                documents.stream().map(VectorDocument::getContent).collect(Collectors.toList())
-        ));
-
-        fields.add(new InsertParam.Field(
-                METADATA_FIELD,
-                documents.stream()
-                        .map(VectorDocument::getMetadata)
-                        .collect(Collectors.toList())
-        ));
-
-        fields.add(new InsertParam.Field(
-                VECTOR_FIELD,
-                documents.stream()
-                        .map(VectorDocument::getEmbedding)
-                        .collect(Collectors.toList())
-        ));
+        fields.add(new InsertParam.Field(ID_FIELD, ids));
+        fields.add(new InsertParam.Field(CONTENT_FIELD, contents));
+        fields.add(new InsertParam.Field(METADATA_FIELD, metadata));
+        fields.add(new InsertParam.Field(VECTOR_FIELD, vectors));
 
         milvusClient.insert(
                 InsertParam.newBuilder()
@@ -270,6 +317,7 @@ public class MilvusServiceImpl implements MilvusService {
                         .withFields(fields)
                         .build()
         );
+        invalidateSearchCache(collectionName);
     }
 
     @Override
@@ -305,6 +353,7 @@ public class MilvusServiceImpl implements MilvusService {
                         .withExpr(expr)
                         .build()
         );
+        invalidateSearchCache(collectionName);
     }
 
     @Override
@@ -315,6 +364,7 @@ public class MilvusServiceImpl implements MilvusService {
                         .withExpr(expr)
                         .build()
         );
+        invalidateSearchCache(collectionName);
     }
 
     @Override
@@ -348,36 +398,148 @@ public class MilvusServiceImpl implements MilvusService {
     @Override
     public List<SimilaritySearchResult> similaritySearch(SimilaritySearchRequest request) {
 
+        BatchSimilaritySearchRequest batch = new BatchSimilaritySearchRequest();
+        batch.setCollectionName(request.getCollectionName());
+        batch.setVectors(Collections.singletonList(queryVector(request)));
+        batch.setTopK(request.getTopK());
+        batch.setExpr(request.getExpr());
+        batch.setIncludeEmbedding(request.isIncludeEmbedding());
+        batch.setSearchParams(request.getSearchParams());
+        batch.setUseCache(request.isUseCache());
+
+        return batchSimilaritySearch(batch).get(0);
+    }
+
+    @Override
+    public List<List<SimilaritySearchResult>> batchSimilaritySearch(BatchSimilaritySearchRequest request) {
+
+        List<float[]> vectors = request.getVectors();
+        if (vectors == null || vectors.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        String collectionName = request.getCollectionName();
+        String params = searchParams(collectionName, request.getSearchParams());
+        boolean useCache = request.isUseCache() && searchCache != null;
+        long generation = searchCacheGeneration.get();
+
+        List<List<SimilaritySearchResult>> results = new ArrayList<>(Collections.nCopies(vectors.size(), null));
+        SearchCacheKey[] keys = new SearchCacheKey[vectors.size()];
+        List<Integer> missPositions = new ArrayList<>();
+
+        /* ---------- 命中缓存的查询不再发送 ---------- */
+
+        for (int i = 0; i < vectors.size(); i++) {
+            if (useCache) {
+                keys[i] = new SearchCacheKey(
+                        collectionName,
+                        vectors.get(i),
+                        request.getExpr(),
+                        request.getTopK(),
+                        params,
+                        request.isIncludeEmbedding()
+                );
+                List<SimilaritySearchResult> cached = searchCache.get(keys[i]);
+                if (cached != null) {
+                    results.set(i, copyResults(cached));
+                    continue;
+                }
+            }
+            missPositions.add(i);
+        }
+
+        /* ---------- 未命中的查询合并为一次请求（超过上限时拆分） ---------- */
+
+        int maxQueries = Math.max(1, searchProperties.getMaxQueriesPerRequest());
+        for (int from = 0; from < missPositions.size(); from += maxQueries) {
+            List<Integer> positions = missPositions.subList(from, Math.min(from + maxQueries, missPositions.size()));
+
+            List<List<Float>> queryVectors = new ArrayList<>(positions.size());
+            for (int position : positions) {
+                queryVectors.add(FloatVectors.asList(vectors.get(position)));
+            }
+
+            List<List<SimilaritySearchResult>> searched = searchInternal(
+                    collectionName,
+                    queryVectors,
+                    request.getTopK(),
+                    request.getExpr(),
+                    params,
+                    request.isIncludeEmbedding()
+            );
+
+            boolean cacheable = useCache
+                    && searchCacheGeneration.get() == generation
+                    && !recentlyWritten(collectionName);
+            for (int j = 0; j < positions.size(); j++) {
+                int position = positions.get(j);
+                results.set(position, searched.get(j));
+                if (cacheable) {
+                    // 缓存独立副本，调用方修改返回结果不影响缓存
+                    searchCache.put(keys[position].copy(), List.copyOf(copyResults(searched.get(j))));
+                }
+            }
+        }
+
+        return results;
+    }
+
+    /**
+     * 一次请求检索多个向量，结果按查询顺序返回
+     */
+    private List<List<SimilaritySearchResult>> searchInternal(
+            String collectionName,
+            List<List<Float>> vectors,
+            int topK,
+            String expr,
+            String params,
+            boolean includeEmbedding
+    ) {
+
         List<String> outFields = new ArrayList<>(
                 Arrays.asList(ID_FIELD, CONTENT_FIELD, METADATA_FIELD)
         );
 
-        if (request.isIncludeEmbedding()) {
+        if (includeEmbedding) {
             outFields.add(VECTOR_FIELD);
         }
 
         SearchParam param = SearchParam.newBuilder()
-                .withCollectionName(request.getCollectionName())
+                .withCollectionName(collectionName)
                 .withVectorFieldName(VECTOR_FIELD)
-                .withVectors(Collections.singletonList(request.getEmbedding()))
-                .withTopK(request.getTopK())
+                .withVectors(vectors)
+                .withTopK(topK)
                 .withMetricType(METRIC_TYPE)
-                .withParams("{\"nprobe\":10}")
+                .withParams(params)
                 .withOutFields(outFields)
-                .withExpr(request.getExpr())
+                .withExpr(expr)
                 .build();
 
-        SearchResultsWrapper wrapper =
-                new SearchResultsWrapper(
-                        milvusClient.search(param)
-                                .getData()
-                                .getResults()
-                );
+        R<SearchResults> response = milvusClient.search(param);
 
-        List<QueryResultsWrapper.RowRecord> rows = wrapper.getRowRecords(0);
-        List<SearchResultsWrapper.IDScore> scores = wrapper.getIDScore(0);
+        if (response.getStatus() != R.Status.Success.getCode()) {
+            throw new IllegalStateException("Search failed: " + response.getMessage());
+        }
+
+        SearchResultsWrapper wrapper = new SearchResultsWrapper(response.getData().getResults());
+
+        List<List<SimilaritySearchResult>> results = new ArrayList<>(vectors.size());
+        for (int i = 0; i < vectors.size(); i++) {
+            results.add(mapSearchResults(wrapper, i, includeEmbedding));
+        }
+        return results;
+    }
+
+    private List<SimilaritySearchResult> mapSearchResults(
+            SearchResultsWrapper wrapper,
+            int queryIndex,
+            boolean includeEmbedding
+    ) {
+
+        List<QueryResultsWrapper.RowRecord> rows = wrapper.getRowRecords(queryIndex);
+        List<SearchResultsWrapper.IDScore> scores = wrapper.getIDScore(queryIndex);
 
-        List<SimilaritySearchResult> results = new ArrayList<>();
+        List<SimilaritySearchResult> results = new ArrayList<>(rows.size());
 
         for (int i = 0; i < rows.size(); i++) {
             QueryResultsWrapper.RowRecord row = rows.get(i);
@@ -387,7 +549,7 @@ public class MilvusServiceImpl implements MilvusService {
             doc.setContent((String) row.get(CONTENT_FIELD));
             doc.setMetadata((JsonObject) row.get(METADATA_FIELD));
 
-            if (request.isIncludeEmbedding()) {
+            if (includeEmbedding) {
                 doc.setEmbedding((List<Float>) row.get(VECTOR_FIELD));
             }
 
@@ -401,6 +563,60 @@ public class MilvusServiceImpl implements MilvusService {
         return results;
     }
 
+    /**
+     * 检索参数优先级：请求参数 &gt; collection 配置 &gt; 默认配置
+     */
+    private String searchParams(String collectionName, String requestParams) {
+        if (requestParams != null && !requestParams.isBlank()) {
+            return requestParams;
+        }
+        String collectionParams = searchProperties.getCollectionParams().get(collectionName);
+        return collectionParams != null ? collectionParams : searchProperties.getDefaultParams();
+    }
+
+    private void invalidateSearchCache(String collectionName) {
+        if (searchCache == null) {
+            return;
+        }
+        searchCacheGeneration.incrementAndGet();
+        if (collectionName != null) {
+            lastWriteNanos.put(collectionName, System.nanoTime());
+        }
+        searchCache.removeIf(key -> Objects.equals(key.collectionName, collectionName));
+    }
+
+    /**
+     * 是否处于写入后的静默窗口内（新数据可能尚不可见）
+     */
+    private boolean recentlyWritten(String collectionName) {
+        Long writtenAt = collectionName == null ? null : lastWriteNanos.get(collectionName);
+        return writtenAt != null
+                && System.nanoTime() - writtenAt < TimeUnit.MILLISECONDS.toNanos(searchProperties.getCacheWriteQuietMillis());
+    }
+
+    /**
+     * 深拷贝检索结果，缓存与调用方互不共享可变对象
+     */
+    private static List<SimilaritySearchResult> copyResults(List<SimilaritySearchResult> results) {
+        List<SimilaritySearchResult> copies = new ArrayList<>(results.size());
+        for (SimilaritySearchResult result : results) {
+            SimilaritySearchResult copy = new SimilaritySearchResult();
+            copy.setScore(result.getScore());
+            VectorDocument document = result.getDocument();
+            if (document != null) {
+                VectorDocument documentCopy = new VectorDocument();
+                documentCopy.setId(document.getId());
+                documentCopy.setContent(document.getContent());
+                documentCopy.setEmbedding(document.getEmbedding() == null ? null : new ArrayList<>(document.getEmbedding()));
+                documentCopy.setVector(document.getVector() == null ? null : document.getVector().clone());
+                documentCopy.setMetadata(document.getMetadata() == null ? null : document.getMetadata().deepCopy());
+                copy.setDocument(documentCopy);
+            }
+            copies.add(copy);
+        }
+        return copies;
+    }
+
 
     /* ========================= admin ========================= */
 
@@ -415,6 +631,12 @@ public class MilvusServiceImpl implements MilvusService {
 
     /* ========================= helper ========================= */
 
+    private float[] queryVector(SimilaritySearchRequest request) {
+        return request.getVector() != null
+                ? request.getVector()
+                : FloatVectors.toArray(request.getEmbedding());
+    }
+
     private List<VectorDocument> mapQueryResults(QueryResults results) {
 
         if (results == null || results.getFieldsDataCount() == 0) {
@@ -490,4 +712,65 @@ public class MilvusServiceImpl implements MilvusService {
         }
     }
 
+
+    /**
+     * 检索结果缓存 key，向量按内容比较
+     */
+    private static final class SearchCacheKey {
+
+        private final String collectionName;
+        private final float[] vector;
+        private final String expr;
+        private final int topK;
+        private final String params;
+        private final boolean includeEmbedding;
+        private final int hash;
+
+        private SearchCacheKey(
+                String collectionName,
+                float[] vector,
+                String expr,
+                int topK,
+                String params,
+                boolean includeEmbedding
+        ) {
+            this.collectionName = collectionName;
+            this.vector = vector;
+            this.expr = expr;
+            this.topK = topK;
+            this.params = params;
+            this.includeEmbedding = includeEmbedding;
+            this.hash = 31 * Objects.hash(collectionName, expr, topK, params, includeEmbedding)
+                    + Arrays.hashCode(vector);
+        }
+
+        /**
+         * 复制向量，避免调用方修改数组后影响缓存
+         */
+        private SearchCacheKey copy() {
+            return new SearchCacheKey(collectionName, vector.clone(), expr, topK, params, includeEmbedding);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof SearchCacheKey other)) {
+                return false;
+            }
+            return hash == other.hash
+                    && topK == other.topK
+                    && includeEmbedding == other.includeEmbedding
+                    && Objects.equals(collectionName, other.collectionName)
+                    && Objects.equals(expr, other.expr)
+                    && Objects.equals(params, other.params)
+                    && Arrays.equals(vector, other.vector);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
 }
@@ -1,10 +1,10 @@
 package io.github.atengk.milvus.service.impl;
 
 import io.github.atengk.milvus.service.EmbeddingService;
+import io.github.atengk.milvus.util.FloatVectors;
 import org.springframework.context.annotation.Primary;
 import org.springframework.stereotype.Service;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Random;
 
@@ -16,18 +16,30 @@ public class MockEmbeddingServiceImpl implements EmbeddingService {
 
     @Override
     public List<Float> embed(String text) {
+        return FloatVectors.asList(embedArray(text));
+    }
+
+    @Override
+    public List<List<Float>> embedBatch(List<String> texts) {
+        return texts.stream()
+                .map(this::embed)
+                .toList();
+    }
+
+    @Override
+    public float[] embedArray(String text) {
         Random random = new Random(text.hashCode());
-        List<Float> vector = new ArrayList<>(DIMENSION);
+        float[] vector = new float[DIMENSION];
         for (int i = 0; i < DIMENSION; i++) {
-            vector.add(random.nextFloat());
+            vector[i] = random.nextFloat();
         }
         return vector;
     }
 
     @Override
-    public List<List<Float>> embedBatch(List<String> texts) {
+    public List<float[]> embedBatchArray(List<String> texts) {
         return texts.stream()
-                .map(this::embed)
+                .map(this::embedArray)
                 .toList();
     }
 
@@ -36,4 +48,3 @@ public class MockEmbeddingServiceImpl implements EmbeddingService {
         return DIMENSION;
     }
 }
-
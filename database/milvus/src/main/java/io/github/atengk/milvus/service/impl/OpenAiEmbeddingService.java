@@ -1,6 +1,7 @@
 package io.github.atengk.milvus.service.impl;
 
 import io.github.atengk.milvus.service.EmbeddingService;
+import io.github.atengk.milvus.util.FloatVectors;
 import org.springframework.ai.embedding.Embedding;
 import org.springframework.ai.embedding.EmbeddingModel;
 import org.springframework.ai.embedding.EmbeddingRequest;
@@ -8,7 +9,6 @@ import org.springframework.ai.embedding.EmbeddingResponse;
 import org.springframework.stereotype.Service;
 import org.springframework.util.ObjectUtils;
 
-import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
@@ -23,6 +23,7 @@ import java.util.stream.Collectors;
  *     <li>内部通过 Spring AI 的 EmbeddingModel 调用 OpenAI Embeddings API</li>
  *     <li>embed(text) 会自动委托到批量接口</li>
  *     <li>dimension 在首次调用后缓存</li>
+ *     <li>float[] 接口直接返回模型输出，List 接口为其只读视图</li>
  * </ul>
  */
 @Service
@@ -60,6 +61,27 @@ public class OpenAiEmbeddingService implements EmbeddingService {
      */
     @Override
     public List<List<Float>> embedBatch(List<String> texts) {
+        return FloatVectors.asLists(embedBatchArray(texts));
+    }
+
+    /**
+     * 单条文本 embedding（float[]）
+     */
+    @Override
+    public float[] embedArray(String text) {
+        if (ObjectUtils.isEmpty(text)) {
+            return new float[0];
+        }
+
+        List<float[]> result = embedBatchArray(Collections.singletonList(text));
+        return result.isEmpty() ? new float[0] : result.get(0);
+    }
+
+    /**
+     * 批量文本 embedding（float[]），直接使用 EmbeddingModel 返回的数组，不做装箱
+     */
+    @Override
+    public List<float[]> embedBatchArray(List<String> texts) {
         if (ObjectUtils.isEmpty(texts)) {
             return Collections.emptyList();
         }
@@ -73,10 +95,9 @@ public class OpenAiEmbeddingService implements EmbeddingService {
             return Collections.emptyList();
         }
 
-        List<List<Float>> vectors = embeddings.stream()
+        List<float[]> vectors = embeddings.stream()
                 .map(Embedding::getOutput)
                 .filter(Objects::nonNull)
-                .map(this::toFloatList)
                 .collect(Collectors.toList());
 
         cacheDimensionIfNecessary(vectors);
@@ -84,17 +105,6 @@ public class OpenAiEmbeddingService implements EmbeddingService {
         return vectors;
     }
 
-    /**
-     * 将 float[] 转换为 List<Float>
-     */
-    private List<Float> toFloatList(float[] vector) {
-        List<Float> result = new ArrayList<>(vector.length);
-        for (float v : vector) {
-            result.add(v);
-        }
-        return result;
-    }
-
     /**
      * 返回 embedding 向量维度
      */
@@ -104,19 +114,19 @@ public class OpenAiEmbeddingService implements EmbeddingService {
             return dimensionCache;
         }
 
-        List<Float> vector = embed("dimension_probe");
-        if (ObjectUtils.isEmpty(vector)) {
+        float[] vector = embedArray("dimension_probe");
+        if (vector.length == 0) {
             throw new IllegalStateException("Failed to determine embedding dimension");
         }
 
-        dimensionCache = vector.size();
+        dimensionCache = vector.length;
         return dimensionCache;
     }
 
     /**
      * 缓存 embedding 维度
      */
-    private void cacheDimensionIfNecessary(List<List<Float>> vectors) {
+    private void cacheDimensionIfNecessary(List<float[]> vectors) {
         if (dimensionCache != null) {
             return;
         }
@@ -125,9 +135,9 @@ public class OpenAiEmbeddingService implements EmbeddingService {
             return;
         }
 
-        List<Float> first = vectors.get(0);
-        if (!ObjectUtils.isEmpty(first)) {
-            dimensionCache = first.size();
+        float[] first = vectors.get(0);
+        if (first != null && first.length > 0) {
+            dimensionCache = first.length;
         }
     }
 }
@@ -0,0 +1,101 @@
+package io.github.atengk.milvus.util;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * float[] 向量工具类
+ * <p>
+ * 服务内部统一使用 float[] 传递向量（1536 维约 6KB），
+ * 只在与 Milvus SDK / 旧接口交互时转换为 List&lt;Float&gt;。
+ *
+ * @author Ateng
+ * @since 2026-02-09
+ */
+public final class FloatVectors {
+
+    private FloatVectors() {
+    }
+
+    /**
+     * 将 float[] 包装为只读 List 视图（不复制、不预先装箱）
+     *
+     * @param vector 向量
+     * @return 只读 List 视图，vector 为 null 时返回 null
+     */
+    public static List<Float> asList(float[] vector) {
+        return vector == null ? null : new FloatArrayList(vector);
+    }
+
+    /**
+     * 批量包装为只读 List 视图
+     *
+     * @param vectors 向量列表
+     * @return 只读 List 视图列表
+     */
+    public static List<List<Float>> asLists(List<float[]> vectors) {
+        List<List<Float>> result = new ArrayList<>(vectors.size());
+        for (float[] vector : vectors) {
+            result.add(asList(vector));
+        }
+        return result;
+    }
+
+    /**
+     * 将 List&lt;Float&gt; 转换为 float[]，若为 {@link #asList(float[])} 的视图则直接返回底层数组
+     *
+     * @param vector 向量
+     * @return float[]，vector 为 null 时返回 null
+     */
+    public static float[] toArray(List<Float> vector) {
+        if (vector == null) {
+            return null;
+        }
+        if (vector instanceof FloatArrayList view) {
+            return view.array;
+        }
+        float[] result = new float[vector.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = vector.get(i);
+        }
+        return result;
+    }
+
+    /**
+     * 批量转换为 float[]
+     *
+     * @param vectors 向量列表
+     * @return float[] 列表
+     */
+    public static List<float[]> toArrays(List<List<Float>> vectors) {
+        List<float[]> result = new ArrayList<>(vectors.size());
+        for (List<Float> vector : vectors) {
+            result.add(toArray(vector));
+        }
+        return result;
+    }
+
+    /**
+     * float[] 的只读 List 视图
+     */
+    private static final class FloatArrayList extends AbstractList<Float> implements RandomAccess {
+
+        private final float[] array;
+
+        private FloatArrayList(float[] array) {
+            this.array = array;
+        }
+
+        @Override
+        public Float get(int index) {
+            return array[index];
+        }
+
+        @Override
+        public int size() {
+            return array.length;
+        }
+    }
+}
@@ -0,0 +1,275 @@
+package io.github.atengk.milvus.util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.CRC32C;
+
+/**
+ * 基于内存映射文件的定长向量存储
+ * <p>
+ * 文件按槽位划分，每个槽位依次保存 CRC32C 校验和、写入序号、32 字节 key（SHA-256）与 dimension 个 float，
+ * 容量由最大字节数决定，写满后按写入顺序覆盖最旧的槽位。
+ * 向量数据位于堆外（由操作系统页缓存管理），堆内只保留 key 到槽位的索引。
+ * <p>
+ * 写入时先写向量，再写序号与 key，最后写覆盖这三者的校验和；
+ * 进程或系统崩溃导致的半写槽位校验失败，重启扫描时按空槽位处理。
+ * 重启后按序号最大的槽位恢复写入位置，继续按 FIFO 淘汰。
+ *
+ * @author Ateng
+ * @since 2026-02-09
+ */
+public final class MappedVectorStore implements Closeable {
+
+    /**
+     * key 字节数（SHA-256）
+     */
+    public static final int KEY_BYTES = 32;
+
+    /**
+     * 槽位头部：CRC32C（4 字节）+ 填充（4 字节）+ 写入序号（8 字节）+ key
+     */
+    private static final int CHECKSUM_OFFSET = 0;
+    private static final int SEQUENCE_OFFSET = 8;
+    private static final int KEY_OFFSET = 16;
+    private static final int HEADER_BYTES = KEY_OFFSET + KEY_BYTES;
+
+    /**
+     * 单个映射段的最大字节数（MappedByteBuffer 上限为 2GB）
+     */
+    private static final int SEGMENT_BYTES = 1 << 30;
+
+    private final int dimension;
+    private final int slotBytes;
+    private final int slotsPerSegment;
+    private final int capacity;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer[] segments;
+
+    private final Map<Key, Integer> index;
+    private final Key[] slotKeys;
+
+    private int cursor;
+    private long nextSequence = 1;
+    private long evictions;
+
+    /**
+     * 打开（或创建）向量存储
+     *
+     * @param file      存储文件
+     * @param dimension 向量维度
+     * @param maxBytes  文件最大字节数
+     * @throws IOException 文件打开或映射失败时抛出
+     */
+    public MappedVectorStore(Path file, int dimension, long maxBytes) throws IOException {
+        if (dimension <= 0) {
+            throw new IllegalArgumentException("dimension must be greater than 0");
+        }
+
+        this.dimension = dimension;
+        this.slotBytes = HEADER_BYTES + dimension * Float.BYTES;
+        this.slotsPerSegment = Math.max(1, SEGMENT_BYTES / slotBytes);
+        this.capacity = (int) Math.max(1, Math.min(Integer.MAX_VALUE, maxBytes / slotBytes));
+
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        this.channel = FileChannel.open(
+                file,
+                StandardOpenOption.CREATE,
+                StandardOpenOption.READ,
+                StandardOpenOption.WRITE
+        );
+
+        int segmentCount = (capacity + slotsPerSegment - 1) / slotsPerSegment;
+        this.segments = new MappedByteBuffer[segmentCount];
+        for (int i = 0; i < segmentCount; i++) {
+            int slots = Math.min(slotsPerSegment, capacity - i * slotsPerSegment);
+            segments[i] = channel.map(
+                    FileChannel.MapMode.READ_WRITE,
+                    (long) i * slotsPerSegment * slotBytes,
+                    (long) slots * slotBytes
+            );
+        }
+
+        this.index = new HashMap<>();
+        this.slotKeys = new Key[capacity];
+        rebuildIndex();
+    }
+
+    /**
+     * 读取向量
+     *
+     * @param key 向量 key
+     * @return 向量副本，不存在返回 null
+     */
+    public synchronized float[] get(Key key) {
+        Integer slot = index.get(key);
+        if (slot == null) {
+            return null;
+        }
+        float[] vector = new float[dimension];
+        segment(slot)
+                .slice(offset(slot) + HEADER_BYTES, dimension * Float.BYTES)
+                .asFloatBuffer()
+                .get(vector);
+        return vector;
+    }
+
+    /**
+     * 写入向量，容量已满时覆盖最旧的槽位
+     *
+     * @param key    向量 key
+     * @param vector 向量，长度必须等于 dimension
+     */
+    public synchronized void put(Key key, float[] vector) {
+        if (vector.length != dimension) {
+            throw new IllegalArgumentException(
+                    "vector length mismatch: expected=" + dimension + ", actual=" + vector.length
+            );
+        }
+        if (index.containsKey(key)) {
+            return;
+        }
+
+        int slot = cursor;
+        cursor = (cursor + 1) % capacity;
+
+        Key old = slotKeys[slot];
+        if (old != null) {
+            index.remove(old);
+            evictions++;
+        }
+
+        MappedByteBuffer segment = segment(slot);
+        int offset = offset(slot);
+
+        // 向量先于 key 写入，校验和最后写入作为提交标记
+        segment.slice(offset + HEADER_BYTES, dimension * Float.BYTES)
+                .asFloatBuffer()
+                .put(vector);
+        segment.putLong(offset + SEQUENCE_OFFSET, nextSequence++);
+        segment.putLong(offset + KEY_OFFSET, key.h0());
+        segment.putLong(offset + KEY_OFFSET + 8, key.h1());
+        segment.putLong(offset + KEY_OFFSET + 16, key.h2());
+        segment.putLong(offset + KEY_OFFSET + 24, key.h3());
+        segment.putInt(offset + CHECKSUM_OFFSET, checksum(segment, offset));
+
+        slotKeys[slot] = key;
+        index.put(key, slot);
+    }
+
+    public synchronized int size() {
+        return index.size();
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    public synchronized long evictions() {
+        return evictions;
+    }
+
+    @Override
+    public void close() throws IOException {
+        for (MappedByteBuffer segment : segments) {
+            segment.force();
+        }
+        channel.close();
+    }
+
+    /* ========================= helper ========================= */
+
+    /**
+     * 扫描所有槽位重建索引，并从序号最大的槽位之后继续写入
+     */
+    private void rebuildIndex() {
+        long[] sequences = new long[capacity];
+        long maxSequence = 0;
+        int lastSlot = -1;
+
+        for (int slot = 0; slot < capacity; slot++) {
+            MappedByteBuffer segment = segment(slot);
+            int offset = offset(slot);
+            Key key = new Key(
+                    segment.getLong(offset + KEY_OFFSET),
+                    segment.getLong(offset + KEY_OFFSET + 8),
+                    segment.getLong(offset + KEY_OFFSET + 16),
+                    segment.getLong(offset + KEY_OFFSET + 24)
+            );
+            long sequence = segment.getLong(offset + SEQUENCE_OFFSET);
+            // 空槽位或半写槽位（校验失败）
+            if (key.isEmpty() || sequence <= 0 || segment.getInt(offset + CHECKSUM_OFFSET) != checksum(segment, offset)) {
+                continue;
+            }
+
+            Integer previous = index.get(key);
+            if (previous != null) {
+                if (sequences[previous] > sequence) {
+                    continue;
+                }
+                slotKeys[previous] = null;
+            }
+            slotKeys[slot] = key;
+            sequences[slot] = sequence;
+            index.put(key, slot);
+
+            if (sequence > maxSequence) {
+                maxSequence = sequence;
+                lastSlot = slot;
+            }
+        }
+
+        cursor = (lastSlot + 1) % capacity;
+        nextSequence = maxSequence + 1;
+    }
+
+    /**
+     * 槽位校验和，覆盖序号、key 与向量
+     */
+    private int checksum(MappedByteBuffer segment, int offset) {
+        CRC32C crc = new CRC32C();
+        crc.update(segment.slice(offset + SEQUENCE_OFFSET, slotBytes - SEQUENCE_OFFSET));
+        return (int) crc.getValue();
+    }
+
+    private MappedByteBuffer segment(int slot) {
+        return segments[slot / slotsPerSegment];
+    }
+
+    private int offset(int slot) {
+        return (slot % slotsPerSegment) * slotBytes;
+    }
+
+    /* ========================= key ========================= */
+
+    /**
+     * 32 字节向量 key
+     */
+    public record Key(long h0, long h1, long h2, long h3) {
+
+        /**
+         * 由 32 字节摘要构造 key
+         */
+        public static Key of(byte[] digest) {
+            if (digest == null || digest.length != KEY_BYTES) {
+                throw new IllegalArgumentException("digest must be " + KEY_BYTES + " bytes");
+            }
+            ByteBuffer buffer = ByteBuffer.wrap(digest);
+            return new Key(buffer.getLong(), buffer.getLong(), buffer.getLong(), buffer.getLong());
+        }
+
+        boolean isEmpty() {
+            return h0 == 0 && h1 == 0 && h2 == 0 && h3 == 0;
+        }
+    }
+}
@@ -1,8 +1,11 @@
 package io.github.atengk.milvus.util;
 
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.CharBuffer;
+import java.util.*;
+import java.util.function.Consumer;
 
 /**
  * 文本切割工具类
@@ -19,6 +22,7 @@ import java.util.List;
  *     <li>RAG 文档切块</li>
  *     <li>Embedding 前文本预处理</li>
  * </ul>
+ * 大文本可使用 {@link #iterator(Reader, int, int, boolean)} 流式切割，内存占用与文本长度无关。
  * </p>
  */
 public class TextSplitter {
@@ -81,4 +85,531 @@ public class TextSplitter {
 
         return chunks;
     }
+
+    /* ========================= 流式切割 ========================= */
+
+    /**
+     * 边界感知时，chunk 长度不低于 chunkSize 的该比例，避免在过早的边界处切断
+     */
+    private static final int MIN_CHUNK_PERCENT = 50;
+
+    /**
+     * Reader 每次读取的字符数
+     */
+    private static final int READ_SIZE = 8192;
+
+    /**
+     * 流式切割 Reader 中的文本
+     * <p>
+     * 只保留当前 chunk 附近的文本，内存占用与文本总长度无关。
+     * chunk 内容为内部缓冲区的 {@link java.nio.CharBuffer} 只读视图，
+     * 仅在下一次调用 hasNext/next 之前有效，需要保留时请调用 {@link Chunk#getText()}。
+     * 读取失败时抛出 {@link UncheckedIOException}，Reader 由调用方关闭。
+     *
+     * @param reader        文本来源
+     * @param chunkSize     每个 chunk 的最大字符数，必须 &gt; 0
+     * @param overlap       相邻 chunk 之间的重叠字符数，必须 &gt;= 0 且 &lt; chunkSize
+     * @param boundaryAware 是否优先在段落、句子（含中文标点）边界处切割
+     * @return chunk 迭代器，按原文顺序惰性产生
+     */
+    public static Iterator<Chunk> iterator(Reader reader, int chunkSize, int overlap, boolean boundaryAware) {
+        if (reader == null) {
+            throw new IllegalArgumentException("reader must not be null");
+        }
+        return new ReaderChunkIterator(reader, new Cutter(chunkSize, overlap, boundaryAware));
+    }
+
+    /**
+     * 流式切割内存中的文本
+     * <p>
+     * chunk 内容为原文的 {@link java.nio.CharBuffer} 只读视图，不复制字符，可长期持有。
+     *
+     * @param text          原始文本
+     * @param chunkSize     每个 chunk 的最大字符数，必须 &gt; 0
+     * @param overlap       相邻 chunk 之间的重叠字符数，必须 &gt;= 0 且 &lt; chunkSize
+     * @param boundaryAware 是否优先在段落、句子（含中文标点）边界处切割
+     * @return chunk 迭代器，按原文顺序惰性产生
+     */
+    public static Iterator<Chunk> iterator(CharSequence text, int chunkSize, int overlap, boolean boundaryAware) {
+        Cutter cutter = new Cutter(chunkSize, overlap, boundaryAware);
+        if (text == null || text.isEmpty()) {
+            return Collections.emptyIterator();
+        }
+        return new CharSequenceChunkIterator(text, cutter);
+    }
+
+    /**
+     * 创建增量切割器（按固定长度切割）
+     *
+     * @see #chunker(int, int, boolean, Consumer)
+     */
+    public static Chunker chunker(int chunkSize, int overlap, Consumer<Chunk> consumer) {
+        return chunker(chunkSize, overlap, false, consumer);
+    }
+
+    /**
+     * 创建增量切割器
+     * <p>
+     * 适用于 SAX 等推送式文本来源：文本可分段追加，
+     * 内部只缓存尚未输出的不足一个 chunk 的文本。
+     * 与 {@link #split(String, int, int)} 不同，文本末尾完全落在上一个 chunk 重叠区内的片段不再单独输出。
+     *
+     * @param chunkSize     每个 chunk 的最大字符数，必须 &gt; 0
+     * @param overlap       相邻 chunk 之间的重叠字符数，必须 &gt;= 0 且 &lt; chunkSize
+     * @param boundaryAware 是否优先在段落、句子（含中文标点）边界处切割
+     * @param consumer      chunk 接收器，按原文顺序回调，chunk 文本为独立的 String
+     * @return 增量切割器
+     */
+    public static Chunker chunker(int chunkSize, int overlap, boolean boundaryAware, Consumer<Chunk> consumer) {
+        Cutter cutter = new Cutter(chunkSize, overlap, boundaryAware);
+
+        if (consumer == null) {
+            throw new IllegalArgumentException("consumer must not be null");
+        }
+
+        return new Chunker(cutter, consumer);
+    }
+
+    /**
+     * 增量切割器（非线程安全）
+     */
+    public static final class Chunker {
+
+        private final Cutter cutter;
+        private final Consumer<Chunk> consumer;
+        private final CharWindow window = new CharWindow();
+
+        /**
+         * 下一个 chunk 在原文中的起始位置
+         */
+        private int start;
+        private int index;
+        private boolean finished;
+
+        private Chunker(Cutter cutter, Consumer<Chunk> consumer) {
+            this.cutter = cutter;
+            this.consumer = consumer;
+        }
+
+        /**
+         * 追加文本片段
+         */
+        public void append(char[] ch, int start, int length) {
+            window.append(ch, start, length);
+            drain();
+        }
+
+        /**
+         * 追加文本片段
+         */
+        public void append(CharSequence text) {
+            window.append(text);
+            drain();
+        }
+
+        /**
+         * 文本结束，输出剩余 chunk
+         */
+        public void finish() {
+            while (!finished && start < window.end()) {
+                emit(true);
+            }
+            finished = true;
+        }
+
+        private void drain() {
+            while (cutter.ready(start, window.end())) {
+                emit(false);
+            }
+        }
+
+        private void emit(boolean eof) {
+            int limit = window.end();
+            int end = cutter.findEnd(window, start, limit, eof);
+            consumer.accept(new Chunk(index++, window.view(start, end).toString(), start, end));
+
+            if (eof && end == limit) {
+                finished = true;
+                return;
+            }
+            start = cutter.nextStart(window, start, end);
+            window.discardBefore(start);
+        }
+    }
+
+    /**
+     * 基于 Reader 的惰性 chunk 迭代器，使用滑动窗口缓存文本
+     */
+    private static final class ReaderChunkIterator implements Iterator<Chunk> {
+
+        private final Reader reader;
+        private final Cutter cutter;
+        private final CharWindow window = new CharWindow();
+
+        private int start;
+        private int index;
+        private boolean eof;
+        private boolean done;
+        private Chunk next;
+
+        private ReaderChunkIterator(Reader reader, Cutter cutter) {
+            this.reader = reader;
+            this.cutter = cutter;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (next == null && !done) {
+                next = advance();
+            }
+            return next != null;
+        }
+
+        @Override
+        public Chunk next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Chunk chunk = next;
+            next = null;
+            return chunk;
+        }
+
+        private Chunk advance() {
+            // 上一个 chunk 的视图在此之后失效
+            window.discardBefore(start);
+            while (!eof && !cutter.ready(start, window.end())) {
+                try {
+                    if (window.fill(reader, READ_SIZE) < 0) {
+                        eof = true;
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Read text failed", e);
+                }
+            }
+
+            int limit = window.end();
+            if (start >= limit) {
+                done = true;
+                return null;
+            }
+
+            int end = cutter.findEnd(window, start, limit, eof);
+            Chunk chunk = new Chunk(index++, window.view(start, end), start, end);
+            if (eof && end == limit) {
+                done = true;
+            } else {
+                start = cutter.nextStart(window, start, end);
+            }
+            return chunk;
+        }
+    }
+
+    /**
+     * 基于内存文本的惰性 chunk 迭代器
+     */
+    private static final class CharSequenceChunkIterator implements Iterator<Chunk> {
+
+        private final CharSequence text;
+        private final CharAccess access;
+        private final Cutter cutter;
+
+        private int start;
+        private int index;
+
+        private CharSequenceChunkIterator(CharSequence text, Cutter cutter) {
+            this.text = text;
+            this.access = text::charAt;
+            this.cutter = cutter;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return start < text.length();
+        }
+
+        @Override
+        public Chunk next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            int limit = text.length();
+            int end = cutter.findEnd(access, start, limit, true);
+            Chunk chunk = new Chunk(index++, CharBuffer.wrap(text, start, end), start, end);
+            start = end == limit ? limit : cutter.nextStart(access, start, end);
+            return chunk;
+        }
+    }
+
+    /**
+     * 按原文绝对位置读取字符
+     */
+    @FunctionalInterface
+    private interface CharAccess {
+        char charAt(int index);
+    }
+
+    /**
+     * 切割规则：确定 chunk 结束位置与下一个 chunk 的起始位置
+     */
+    private static final class Cutter {
+
+        /**
+         * 边界优先级：段落 &gt; 句子 &gt; 分句/空白
+         */
+        private static final int PARAGRAPH = 3;
+        private static final int SENTENCE = 2;
+        private static final int CLAUSE = 1;
+
+        private final int chunkSize;
+        private final int overlap;
+        private final boolean boundaryAware;
+        private final int minChunk;
+
+        private Cutter(int chunkSize, int overlap, boolean boundaryAware) {
+            if (chunkSize <= 0) {
+                throw new IllegalArgumentException("chunkSize must be greater than 0");
+            }
+
+            if (overlap < 0) {
+                throw new IllegalArgumentException("overlap must be greater than or equal to 0");
+            }
+
+            if (overlap >= chunkSize) {
+                throw new IllegalArgumentException(
+                        "overlap must be smaller than chunkSize"
+                );
+            }
+
+            this.chunkSize = chunkSize;
+            this.overlap = overlap;
+            this.boundaryAware = boundaryAware;
+            this.minChunk = Math.max(1, chunkSize * MIN_CHUNK_PERCENT / 100);
+        }
+
+        /**
+         * 未到文本末尾时，需多缓存 1 个字符用于判断边界
+         */
+        boolean ready(int start, int available) {
+            return available > start + chunkSize;
+        }
+
+        /**
+         * 在 [start, limit) 内确定 chunk 结束位置（不含）
+         *
+         * @param eof limit 是否为文本末尾
+         */
+        int findEnd(CharAccess text, int start, int limit, boolean eof) {
+            int hardEnd = Math.min(start + chunkSize, limit);
+            if (!boundaryAware || (eof && hardEnd == limit)) {
+                return hardEnd;
+            }
+
+            // 从后向前找，同级边界取最靠后的，高级边界优先
+            int best = hardEnd;
+            int bestRank = 0;
+            for (int i = hardEnd - 1; i >= start + minChunk - 1; i--) {
+                int rank = boundaryRank(text, i, start, limit, eof);
+                if (rank == PARAGRAPH) {
+                    return i + 1;
+                }
+                if (rank > bestRank) {
+                    bestRank = rank;
+                    best = i + 1;
+                }
+            }
+            return best;
+        }
+
+        /**
+         * 计算下一个 chunk 的起始位置，边界感知时重叠区尽量从句子开头开始
+         */
+        int nextStart(CharAccess text, int start, int end) {
+            if (overlap == 0) {
+                return end;
+            }
+            int next = Math.max(end - overlap, start + 1);
+            if (boundaryAware) {
+                for (int i = next; i < end; i++) {
+                    if (boundaryRank(text, i - 1, start, end, false) >= SENTENCE) {
+                        return i;
+                    }
+                }
+            }
+            return next;
+        }
+
+        /**
+         * 判断 index 处字符之后是否为切割边界，返回边界级别，0 表示不是边界
+         * <p>
+         * 只访问 [from, limit) 内的字符
+         */
+        private static int boundaryRank(CharAccess text, int index, int from, int limit, boolean eof) {
+            char c = text.charAt(index);
+            switch (c) {
+                case '\n':
+                    return index > from && text.charAt(index - 1) == '\n' ? PARAGRAPH : SENTENCE;
+                case '。':
+                case '！':
+                case '？':
+                case '；':
+                case '…':
+                    return SENTENCE;
+                case '.':
+                case '!':
+                case '?':
+                case ';':
+                    // 英文标点后需跟空白，避免在小数、缩写、网址中切断
+                    if (index + 1 < limit) {
+                        return Character.isWhitespace(text.charAt(index + 1)) ? SENTENCE : 0;
+                    }
+                    return eof ? SENTENCE : 0;
+                case '”':
+                case '’':
+                case '」':
+                case '』':
+                case '）':
+                case ')':
+                case '"':
+                    // 句末标点后的右引号、右括号
+                    return index > from && isSentenceEnd(text.charAt(index - 1)) ? SENTENCE : 0;
+                case '，':
+                case '、':
+                case '：':
+                case ',':
+                case ':':
+                    return CLAUSE;
+                default:
+                    return Character.isWhitespace(c) ? CLAUSE : 0;
+            }
+        }
+
+        private static boolean isSentenceEnd(char c) {
+            return c == '。' || c == '！' || c == '？' || c == '.' || c == '!' || c == '?';
+        }
+    }
+
+    /**
+     * 滑动字符窗口：buffer[0] 位于原文 bufferStart 处，输出过的文本及时丢弃
+     */
+    private static final class CharWindow implements CharAccess {
+
+        private char[] buffer = new char[READ_SIZE];
+        private int bufferStart;
+        private int length;
+
+        /**
+         * 已缓存文本在原文中的结束位置（不含）
+         */
+        int end() {
+            return bufferStart + length;
+        }
+
+        @Override
+        public char charAt(int index) {
+            return buffer[index - bufferStart];
+        }
+
+        void append(char[] ch, int start, int count) {
+            ensureFree(count);
+            System.arraycopy(ch, start, buffer, length, count);
+            length += count;
+        }
+
+        void append(CharSequence text) {
+            int count = text.length();
+            ensureFree(count);
+            if (text instanceof String s) {
+                s.getChars(0, count, buffer, length);
+            } else {
+                for (int i = 0; i < count; i++) {
+                    buffer[length + i] = text.charAt(i);
+                }
+            }
+            length += count;
+        }
+
+        int fill(Reader reader, int count) throws IOException {
+            ensureFree(count);
+            int read = reader.read(buffer, length, buffer.length - length);
+            if (read > 0) {
+                length += read;
+            }
+            return read;
+        }
+
+        /**
+         * 丢弃原文 position 之前的文本
+         */
+        void discardBefore(int position) {
+            int n = position - bufferStart;
+            if (n <= 0) {
+                return;
+            }
+            System.arraycopy(buffer, n, buffer, 0, length - n);
+            length -= n;
+            bufferStart = position;
+        }
+
+        /**
+         * 原文 [start, end) 的只读视图
+         */
+        CharSequence view(int start, int end) {
+            return CharBuffer.wrap(buffer, start - bufferStart, end - start).slice().asReadOnlyBuffer();
+        }
+
+        private void ensureFree(int count) {
+            if (buffer.length - length < count) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, length + count));
+            }
+        }
+    }
+
+    /**
+     * 文本块及其在原文中的位置
+     */
+    public static final class Chunk {
+
+        private final int index;
+        private final CharSequence content;
+        private String text;
+        private final int startOffset;
+        private final int endOffset;
+
+        public Chunk(int index, CharSequence content, int startOffset, int endOffset) {
+            this.index = index;
+            this.content = content;
+            this.startOffset = startOffset;
+            this.endOffset = endOffset;
+        }
+
+        public int getIndex() {
+            return index;
+        }
+
+        /**
+         * chunk 内容，可能是缓冲区视图，有效期见创建方说明
+         */
+        public CharSequence getContent() {
+            return content;
+        }
+
+        /**
+         * chunk 文本，首次调用时复制为 String
+         */
+        public String getText() {
+            if (text == null) {
+                text = content.toString();
+            }
+            return text;
+        }
+
+        public int getStartOffset() {
+            return startOffset;
+        }
+
+        public int getEndOffset() {
+            return endOffset;
+        }
+    }
 }
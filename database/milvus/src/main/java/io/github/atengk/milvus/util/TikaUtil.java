@@ -7,6 +7,7 @@ import org.apache.tika.parser.ParseContext;
 import org.apache.tika.sax.BodyContentHandler;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.xml.sax.ContentHandler;
 
 import java.io.ByteArrayInputStream;
 import java.io.File;
@@ -431,6 +432,33 @@ public final class TikaUtil {
         }
     }
 
+    /**
+     * 流式解析正文与元数据
+     * <p>
+     * 正文通过 handler 边解析边输出，不在内存中拼接完整文本，适用于大文件
+     *
+     * @param inputStream 输入流
+     * @param handler     正文接收器
+     * @return 元数据 Map
+     * @throws IllegalStateException 解析失败时抛出（handler 可能已收到部分正文）
+     */
+    public static Map<String, String> parseStream(InputStream inputStream, ContentHandler handler) {
+        if (inputStream == null || handler == null) {
+            throw new IllegalArgumentException("inputStream and handler must not be null");
+        }
+
+        try {
+            Metadata metadata = new Metadata();
+            ParseContext context = new ParseContext();
+
+            PARSER.parse(inputStream, new BodyContentHandler(handler), metadata, context);
+
+            return toMap(metadata);
+        } catch (Exception e) {
+            throw new IllegalStateException("Parse stream failed", e);
+        }
+    }
+
     /* ========================= helper ========================= */
 
     private static Map<String, String> toMap(Metadata metadata) {
@@ -0,0 +1,85 @@
+package io.github.atengk.milvus.util;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * 带过期时间的 LRU 缓存（线程安全）
+ *
+ * <p>
+ * 过期数据在读取时惰性删除，容量超出时淘汰最久未访问的数据。
+ * 适用于条目数较少（千级）的本地结果缓存。
+ * </p>
+ *
+ * @param <K> key 类型，需正确实现 equals/hashCode
+ * @param <V> value 类型
+ */
+public class TtlCache<K, V> {
+
+    private final long ttlNanos;
+    private final LinkedHashMap<K, Entry<V>> map;
+
+    /**
+     * @param ttlMillis  有效期（毫秒），必须 &gt; 0
+     * @param maxEntries 最大条数，必须 &gt; 0
+     */
+    public TtlCache(long ttlMillis, int maxEntries) {
+        if (ttlMillis <= 0) {
+            throw new IllegalArgumentException("ttlMillis must be greater than 0");
+        }
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("maxEntries must be greater than 0");
+        }
+        this.ttlNanos = ttlMillis * 1_000_000L;
+        this.map = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * 获取未过期的值，不存在或已过期时返回 null
+     */
+    public synchronized V get(K key) {
+        Entry<V> entry = map.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (System.nanoTime() - entry.createdNanos > ttlNanos) {
+            map.remove(key);
+            return null;
+        }
+        return entry.value;
+    }
+
+    public synchronized void put(K key, V value) {
+        map.put(key, new Entry<>(value, System.nanoTime()));
+    }
+
+    /**
+     * 删除满足条件的 key
+     */
+    public synchronized void removeIf(Predicate<K> predicate) {
+        Iterator<K> iterator = map.keySet().iterator();
+        while (iterator.hasNext()) {
+            if (predicate.test(iterator.next())) {
+                iterator.remove();
+            }
+        }
+    }
+
+    public synchronized void clear() {
+        map.clear();
+    }
+
+    public synchronized int size() {
+        return map.size();
+    }
+
+    private record Entry<V>(V value, long createdNanos) {
+    }
+}
@@ -0,0 +1,90 @@
+package io.github.atengk.milvus;
+
+import io.github.atengk.milvus.entity.EmbeddingCacheStats;
+import io.github.atengk.milvus.service.impl.CachingEmbeddingService;
+import io.github.atengk.milvus.service.impl.MockEmbeddingServiceImpl;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * CachingEmbeddingService 测试
+ * <p>
+ * 模拟修订后重新写入的文档（90% 段落不变），验证只有变化的段落会请求底层模型，
+ * 以及堆内缓存淘汰后可从磁盘缓存命中。
+ */
+public class CachingEmbeddingServiceTests {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void onlyMissesReachDelegate() throws Exception {
+        CountingEmbeddingService delegate = new CountingEmbeddingService();
+        try (CachingEmbeddingService cache = new CachingEmbeddingService(
+                delegate, "mock", 100, tempDir, 64L * 1024 * 1024)) {
+
+            List<String> original = paragraphs(1000, 0);
+            cache.embedBatch(original);
+            Assertions.assertEquals(1000, delegate.texts.get());
+
+            // 修订版：每 10 段修改 1 段，并包含批内重复文本
+            List<String> revised = paragraphs(1000, 10);
+            revised.add(revised.get(0));
+            List<List<Float>> vectors = cache.embedBatch(revised);
+
+            Assertions.assertEquals(1001, vectors.size());
+            Assertions.assertEquals(1100, delegate.texts.get());
+            Assertions.assertEquals(delegate.embed(revised.get(5)), vectors.get(5));
+
+            EmbeddingCacheStats stats = cache.getStats();
+            System.out.println(stats);
+            Assertions.assertEquals(100, stats.getHeapSize());
+            Assertions.assertTrue(stats.getDiskHits() > 0);
+        }
+
+        // 重启后磁盘缓存仍可命中
+        CountingEmbeddingService restarted = new CountingEmbeddingService();
+        try (CachingEmbeddingService cache = new CachingEmbeddingService(
+                restarted, "mock", 100, tempDir, 64L * 1024 * 1024)) {
+            cache.embedBatch(paragraphs(1000, 0));
+            Assertions.assertEquals(0, restarted.texts.get());
+        }
+    }
+
+    @Test
+    void modelIsPartOfKey() {
+        CountingEmbeddingService delegate = new CountingEmbeddingService();
+        CachingEmbeddingService a = new CachingEmbeddingService(delegate, "model-a", 100);
+        CachingEmbeddingService b = new CachingEmbeddingService(delegate, "model-b", 100);
+        a.embed("相同的问题");
+        a.embed("相同的问题");
+        b.embed("相同的问题");
+        Assertions.assertEquals(2, delegate.texts.get());
+    }
+
+    private static List<String> paragraphs(int count, int revisionEvery) {
+        List<String> result = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            boolean revised = revisionEvery > 0 && i % revisionEvery == 0;
+            result.add("第" + i + "段" + (revised ? "（修订）" : "") + "：Milvus 支持高维向量的存储与检索。");
+        }
+        return result;
+    }
+
+    private static class CountingEmbeddingService extends MockEmbeddingServiceImpl {
+
+        private final AtomicLong texts = new AtomicLong();
+
+        @Override
+        public List<float[]> embedBatchArray(List<String> batch) {
+            texts.addAndGet(batch.size());
+            return super.embedBatchArray(batch);
+        }
+    }
+}
@@ -0,0 +1,213 @@
+package io.github.atengk.milvus;
+
+import com.google.gson.JsonObject;
+import io.github.atengk.milvus.config.MilvusProperties;
+import io.github.atengk.milvus.entity.*;
+import io.github.atengk.milvus.service.MilvusService;
+import io.github.atengk.milvus.service.impl.FileVectorServiceImpl;
+import io.github.atengk.milvus.service.impl.MockEmbeddingServiceImpl;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 文件写入流水线基准测试
+ * <p>
+ * 使用 MockEmbeddingServiceImpl（附加模拟网络延迟）与内存版 MilvusService，
+ * 并发写入多个文本文件，打印各阶段吞吐。无需 Milvus 与 OpenAI 环境。
+ */
+public class FileVectorIngestBenchmarkTests {
+
+    private static final int FILE_COUNT = 8;
+    private static final int FILE_CHARS = 2_000_000;
+    private static final long EMBED_LATENCY_MILLIS = 20;
+    private static final long INSERT_LATENCY_MILLIS = 5;
+
+    @Test
+    void benchmark() {
+        MilvusProperties properties = new MilvusProperties();
+        properties.getIngest().setEmbedBatchSize(32);
+        properties.getIngest().setEmbedConcurrency(8);
+        properties.getIngest().setInsertBatchSize(256);
+        properties.getIngest().setMaxInFlightFiles(4);
+
+        InMemoryMilvusService milvusService = new InMemoryMilvusService();
+        FileVectorServiceImpl service = new FileVectorServiceImpl(
+                milvusService,
+                new SlowEmbeddingService(),
+                properties
+        );
+
+        long start = System.nanoTime();
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (int i = 0; i < FILE_COUNT; i++) {
+            byte[] content = generateText(i).getBytes(StandardCharsets.UTF_8);
+            futures.add(service.ingestAsync(
+                    "bench_collection",
+                    "bench-" + i + ".txt",
+                    new ByteArrayInputStream(content),
+                    Map.of("source", "benchmark")
+            ));
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        IngestStats stats = service.getIngestStats();
+        System.out.printf("files=%d, documents=%d, cost=%.2fs, %.0f chunks/s%n",
+                stats.getFilesCompleted(), stats.getDocumentsInserted(), seconds, stats.getDocumentsInserted() / seconds);
+        System.out.printf("read    : %.1f MB/s (%d ms)%n", stats.getReadMbPerSecond(), stats.getReadMillis());
+        System.out.printf("parse   : %.0f chunks/s (%d ms)%n", stats.getParseChunksPerSecond(), stats.getParseMillis());
+        System.out.printf("embed   : %.0f chunks/s per worker (%d ms)%n", stats.getEmbedChunksPerSecond(), stats.getEmbedMillis());
+        System.out.printf("insert  : %.0f docs/s (%d ms)%n", stats.getInsertDocumentsPerSecond(), stats.getInsertMillis());
+
+        Assertions.assertEquals(FILE_COUNT, stats.getFilesCompleted());
+        Assertions.assertEquals(stats.getChunksProduced(), stats.getDocumentsInserted());
+        Assertions.assertEquals(stats.getDocumentsInserted(), milvusService.count.get());
+
+        // 相同文件再次写入应被去重跳过
+        service.ingest("bench_collection", "bench-0.txt",
+                new ByteArrayInputStream(generateText(0).getBytes(StandardCharsets.UTF_8)), null);
+        Assertions.assertEquals(1, service.getIngestStats().getFilesSkipped());
+
+        service.shutdown();
+    }
+
+    private static String generateText(int seed) {
+        Random random = new Random(seed);
+        StringBuilder builder = new StringBuilder(FILE_CHARS);
+        while (builder.length() < FILE_CHARS) {
+            builder.append("第").append(random.nextInt(10_000)).append("段：向量数据库用于语义检索与 RAG 场景。");
+            if (random.nextInt(10) == 0) {
+                builder.append('\n');
+            }
+        }
+        return builder.toString();
+    }
+
+    /**
+     * 模拟远程 embedding 调用延迟
+     */
+    private static class SlowEmbeddingService extends MockEmbeddingServiceImpl {
+
+        @Override
+        public List<float[]> embedBatchArray(List<String> texts) {
+            sleep(EMBED_LATENCY_MILLIS);
+            return super.embedBatchArray(texts);
+        }
+    }
+
+    /**
+     * 内存版 MilvusService，只实现写入流水线用到的方法
+     */
+    private static class InMemoryMilvusService implements MilvusService {
+
+        private final Set<String> documentIds = ConcurrentHashMap.newKeySet();
+        private final AtomicLong count = new AtomicLong();
+
+        @Override
+        public void add(String collectionName, List<VectorDocument> documents) {
+            sleep(INSERT_LATENCY_MILLIS);
+            documents.forEach(doc -> documentIds.add(doc.getMetadata().get("documentId").getAsString()));
+            count.addAndGet(documents.size());
+        }
+
+        @Override
+        public void add(String collectionName, List<String> ids, List<String> contents,
+                        List<JsonObject> metadata, List<float[]> vectors) {
+            sleep(INSERT_LATENCY_MILLIS);
+            metadata.forEach(meta -> documentIds.add(meta.get("documentId").getAsString()));
+            count.addAndGet(ids.size());
+        }
+
+        @Override
+        public boolean existsByExpr(String collectionName, String expr) {
+            sleep(INSERT_LATENCY_MILLIS);
+            return documentIds.stream().anyMatch(expr::contains);
+        }
+
+        @Override
+        public void deleteByExpr(String collectionName, String expr) {
+        }
+
+        @Override
+        public boolean isHealthy() {
+            return true;
+        }
+
+        @Override
+        public void createDatabaseIfNotExists(String databaseName) {
+        }
+
+        @Override
+        public void dropDatabase(String databaseName) {
+        }
+
+        @Override
+        public void createCollection(CollectionSpec spec) {
+        }
+
+        @Override
+        public boolean collectionExists(String collectionName) {
+            return true;
+        }
+
+        @Override
+        public void loadCollection(String collectionName) {
+        }
+
+        @Override
+        public void releaseCollection(String collectionName) {
+        }
+
+        @Override
+        public Optional<CollectionSpec> getCollection(String collectionName) {
+            return Optional.empty();
+        }
+
+        @Override
+        public void dropCollection(String collectionName) {
+        }
+
+        @Override
+        public List<VectorDocument> getByIds(String collectionName, List<String> ids) {
+            return Collections.emptyList();
+        }
+
+        @Override
+        public void deleteByIds(String collectionName, List<String> ids) {
+        }
+
+        @Override
+        public List<VectorDocument> listByExpr(String collectionName, String expr, long limit) {
+            return Collections.emptyList();
+        }
+
+        @Override
+        public List<SimilaritySearchResult> similaritySearch(SimilaritySearchRequest request) {
+            return Collections.emptyList();
+        }
+
+        @Override
+        public List<List<SimilaritySearchResult>> batchSimilaritySearch(BatchSimilaritySearchRequest request) {
+            return Collections.nCopies(request.getVectors().size(), Collections.emptyList());
+        }
+
+        @Override
+        public void flush(String collectionName) {
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package io.github.atengk.milvus;
+
+import io.github.atengk.milvus.util.MappedVectorStore;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * MappedVectorStore 测试
+ * <p>
+ * 校验重启后按写入顺序继续淘汰，以及半写槽位在重启扫描时被丢弃。
+ */
+public class MappedVectorStoreTests {
+
+    private static final int DIMENSION = 8;
+    private static final int SLOT_BYTES = 48 + DIMENSION * Float.BYTES;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void fifoSurvivesReopen() throws Exception {
+        Path file = tempDir.resolve("fifo.bin");
+        try (MappedVectorStore store = new MappedVectorStore(file, DIMENSION, 4L * SLOT_BYTES)) {
+            for (int i = 0; i < 6; i++) {
+                store.put(key(i), vector(i));
+            }
+            // 4 个槽位，0、1 已被淘汰
+            Assertions.assertNull(store.get(key(1)));
+            Assertions.assertArrayEquals(vector(2), store.get(key(2)));
+        }
+
+        try (MappedVectorStore store = new MappedVectorStore(file, DIMENSION, 4L * SLOT_BYTES)) {
+            Assertions.assertEquals(4, store.size());
+            store.put(key(6), vector(6));
+
+            // 重启后应淘汰最旧的 2，而不是从槽位 0 重新开始覆盖 4
+            Assertions.assertNull(store.get(key(2)));
+            Assertions.assertArrayEquals(vector(4), store.get(key(4)));
+            Assertions.assertArrayEquals(vector(6), store.get(key(6)));
+        }
+    }
+
+    @Test
+    void tornSlotIsDropped() throws Exception {
+        Path file = tempDir.resolve("torn.bin");
+        try (MappedVectorStore store = new MappedVectorStore(file, DIMENSION, 4L * SLOT_BYTES)) {
+            store.put(key(1), vector(1));
+            store.put(key(2), vector(2));
+        }
+
+        // 模拟槽位 0 的向量只写了一半
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.allocate(8), 48);
+        }
+
+        try (MappedVectorStore store = new MappedVectorStore(file, DIMENSION, 4L * SLOT_BYTES)) {
+            Assertions.assertNull(store.get(key(1)));
+            Assertions.assertArrayEquals(vector(2), store.get(key(2)));
+            Assertions.assertEquals(1, store.size());
+        }
+    }
+
+    private static MappedVectorStore.Key key(int i) {
+        return new MappedVectorStore.Key(i + 1, 0, 0, 0);
+    }
+
+    private static float[] vector(int i) {
+        float[] vector = new float[DIMENSION];
+        for (int d = 0; d < DIMENSION; d++) {
+            vector[d] = i * 10 + d + 0.5f;
+        }
+        return vector;
+    }
+}
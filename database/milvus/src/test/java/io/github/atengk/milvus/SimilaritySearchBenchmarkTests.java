@@ -0,0 +1,214 @@
+package io.github.atengk.milvus;
+
+import com.google.gson.JsonObject;
+import io.github.atengk.milvus.entity.BatchSimilaritySearchRequest;
+import io.github.atengk.milvus.entity.CollectionSpec;
+import io.github.atengk.milvus.entity.SimilaritySearchResult;
+import io.github.atengk.milvus.service.MilvusService;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.*;
+
+/**
+ * 相似度检索延迟 / 召回率基准
+ * <p>
+ * 写入随机向量后以本地暴力检索结果为基准，对比：
+ * 逐条检索与批量检索的延迟、不同 nprobe 下的 recall@K、结果缓存命中时的延迟。
+ * 需要可用的 Milvus，运行结束后删除测试 collection。
+ */
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class SimilaritySearchBenchmarkTests {
+
+    private static final String COLLECTION = "bench_search_collection";
+    private static final int DIMENSION = 128;
+    private static final int DOC_COUNT = 20_000;
+    private static final int QUERY_COUNT = 64;
+    private static final int TOP_K = 10;
+    private static final int ROUNDS = 5;
+
+    @Autowired
+    private MilvusService milvusService;
+
+    private final Random random = new Random(42);
+    private float[][] documents;
+    private List<float[]> queries;
+    private List<Set<String>> groundTruth;
+
+    @BeforeAll
+    void setUp() throws InterruptedException {
+        if (milvusService.collectionExists(COLLECTION)) {
+            milvusService.dropCollection(COLLECTION);
+        }
+        CollectionSpec spec = new CollectionSpec();
+        spec.setCollectionName(COLLECTION);
+        spec.setDimension(DIMENSION);
+        spec.setAutoId(false);
+        milvusService.createCollection(spec);
+
+        documents = new float[DOC_COUNT][];
+        for (int from = 0; from < DOC_COUNT; from += 1000) {
+            List<String> ids = new ArrayList<>();
+            List<String> contents = new ArrayList<>();
+            List<JsonObject> metadata = new ArrayList<>();
+            List<float[]> vectors = new ArrayList<>();
+            for (int i = from; i < Math.min(from + 1000, DOC_COUNT); i++) {
+                documents[i] = randomUnitVector();
+                ids.add(String.valueOf(i));
+                contents.add("doc-" + i);
+                metadata.add(new JsonObject());
+                vectors.add(documents[i]);
+            }
+            milvusService.add(COLLECTION, ids, contents, metadata, vectors);
+        }
+        milvusService.flush(COLLECTION);
+        // 等待数据可见，并超过写入后的缓存静默窗口（cache-write-quiet-millis），否则 cachedBatch 不会写入缓存
+        Thread.sleep(6000);
+
+        // 查询向量为文档向量加噪声，基准结果为本地暴力检索
+        queries = new ArrayList<>(QUERY_COUNT);
+        groundTruth = new ArrayList<>(QUERY_COUNT);
+        for (int q = 0; q < QUERY_COUNT; q++) {
+            float[] base = documents[random.nextInt(DOC_COUNT)];
+            float[] query = new float[DIMENSION];
+            for (int d = 0; d < DIMENSION; d++) {
+                query[d] = base[d] + (float) random.nextGaussian() * 0.05f;
+            }
+            queries.add(normalize(query));
+            groundTruth.add(bruteForceTopK(queries.get(q)));
+        }
+    }
+
+    @AfterAll
+    void tearDown() {
+        milvusService.dropCollection(COLLECTION);
+    }
+
+    @Test
+    void sequentialVsBatch() {
+        long[] sequential = new long[ROUNDS];
+        long[] batch = new long[ROUNDS];
+        List<List<SimilaritySearchResult>> results = null;
+
+        for (int round = 0; round < ROUNDS; round++) {
+            long start = System.nanoTime();
+            results = new ArrayList<>(QUERY_COUNT);
+            for (float[] query : queries) {
+                results.addAll(search(Collections.singletonList(query), null, false));
+            }
+            sequential[round] = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            search(queries, null, false);
+            batch[round] = System.nanoTime() - start;
+        }
+
+        report("sequential", sequential, recall(results));
+        report("batch", batch, recall(search(queries, null, false)));
+    }
+
+    @Test
+    void recallByNprobe() {
+        for (int nprobe : new int[]{1, 4, 10, 32, 128}) {
+            String params = "{\"nprobe\":" + nprobe + "}";
+            long[] costs = new long[ROUNDS];
+            List<List<SimilaritySearchResult>> results = null;
+            for (int round = 0; round < ROUNDS; round++) {
+                long start = System.nanoTime();
+                results = search(queries, params, false);
+                costs[round] = System.nanoTime() - start;
+            }
+            report("nprobe=" + nprobe, costs, recall(results));
+        }
+    }
+
+    @Test
+    void cachedBatch() {
+        // 首次请求写入缓存
+        search(queries, null, true);
+
+        long[] costs = new long[ROUNDS];
+        List<List<SimilaritySearchResult>> results = null;
+        for (int round = 0; round < ROUNDS; round++) {
+            long start = System.nanoTime();
+            results = search(queries, null, true);
+            costs[round] = System.nanoTime() - start;
+        }
+        report("cached", costs, recall(results));
+    }
+
+    private List<List<SimilaritySearchResult>> search(List<float[]> vectors, String params, boolean useCache) {
+        BatchSimilaritySearchRequest request = new BatchSimilaritySearchRequest();
+        request.setCollectionName(COLLECTION);
+        request.setVectors(vectors);
+        request.setTopK(TOP_K);
+        request.setSearchParams(params);
+        request.setUseCache(useCache);
+        return milvusService.batchSimilaritySearch(request);
+    }
+
+    private double recall(List<List<SimilaritySearchResult>> results) {
+        long hits = 0;
+        for (int q = 0; q < QUERY_COUNT; q++) {
+            for (SimilaritySearchResult result : results.get(q)) {
+                if (groundTruth.get(q).contains(result.getDocument().getId())) {
+                    hits++;
+                }
+            }
+        }
+        return (double) hits / (QUERY_COUNT * TOP_K);
+    }
+
+    private static void report(String name, long[] costs, double recall) {
+        long[] sorted = costs.clone();
+        Arrays.sort(sorted);
+        double median = sorted[sorted.length / 2] / 1e6;
+        System.out.printf("%-12s queries=%d, median=%.1fms, max=%.1fms, %.2fms/查询, recall@%d=%.3f%n",
+                name, QUERY_COUNT, median, sorted[sorted.length - 1] / 1e6, median / QUERY_COUNT, TOP_K, recall);
+    }
+
+    private Set<String> bruteForceTopK(float[] query) {
+        PriorityQueue<int[]> heap = new PriorityQueue<>(Comparator.comparingDouble(e -> Float.intBitsToFloat(e[1])));
+        for (int i = 0; i < DOC_COUNT; i++) {
+            float score = dot(query, documents[i]);
+            heap.offer(new int[]{i, Float.floatToIntBits(score)});
+            if (heap.size() > TOP_K) {
+                heap.poll();
+            }
+        }
+        Set<String> ids = new HashSet<>();
+        for (int[] entry : heap) {
+            ids.add(String.valueOf(entry[0]));
+        }
+        return ids;
+    }
+
+    private float[] randomUnitVector() {
+        float[] vector = new float[DIMENSION];
+        for (int d = 0; d < DIMENSION; d++) {
+            vector[d] = (float) random.nextGaussian();
+        }
+        return normalize(vector);
+    }
+
+    private static float[] normalize(float[] vector) {
+        float norm = (float) Math.sqrt(dot(vector, vector));
+        for (int d = 0; d < vector.length; d++) {
+            vector[d] /= norm;
+        }
+        return vector;
+    }
+
+    private static float dot(float[] a, float[] b) {
+        float sum = 0;
+        for (int d = 0; d < a.length; d++) {
+            sum += a[d] * b[d];
+        }
+        return sum;
+    }
+}
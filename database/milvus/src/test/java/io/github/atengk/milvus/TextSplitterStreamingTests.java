@@ -0,0 +1,155 @@
+package io.github.atengk.milvus;
+
+import io.github.atengk.milvus.util.TextSplitter;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.Reader;
+import java.io.StringReader;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * TextSplitter 流式切割测试
+ * <p>
+ * 校验边界感知切割、offset 与原文一致，并对惰性生成的超大文本流式切割采样堆内存。
+ * 由 surefire 在独立 JVM 中以 -Xmx64m 运行：整篇读入 String 后 split 在该堆大小下会 OOM，流式切割不发生 OOM 即通过。
+ */
+public class TextSplitterStreamingTests {
+
+    private static final String SENTENCES = "向量数据库用于存储和检索 embedding。"
+            + "Milvus supports IVF and HNSW indexes. "
+            + "切块时应尽量保持句子完整！"
+            + "Version 2.5 is used here; numbers like 3.14 must not be split.\n\n";
+    private static final long HEAP_LIMIT = 64L * 1024 * 1024;
+
+    @Test
+    public void boundaryAware() {
+        String text = SENTENCES.repeat(50);
+        List<TextSplitter.Chunk> chunks = collect(TextSplitter.iterator(text, 200, 40, true));
+
+        Assertions.assertFalse(chunks.isEmpty());
+        for (int i = 0; i < chunks.size(); i++) {
+            TextSplitter.Chunk chunk = chunks.get(i);
+            Assertions.assertEquals(i, chunk.getIndex());
+            Assertions.assertTrue(chunk.getText().length() <= 200);
+            Assertions.assertEquals(text.substring(chunk.getStartOffset(), chunk.getEndOffset()), chunk.getText());
+
+            char last = text.charAt(chunk.getEndOffset() - 1);
+            Assertions.assertTrue("。！.;\n ".indexOf(last) >= 0, "chunk 应在边界处结束: " + last);
+        }
+        Assertions.assertEquals(text.length(), chunks.get(chunks.size() - 1).getEndOffset());
+
+        // Reader 与 CharSequence 结果一致，增量切割器结果一致
+        List<TextSplitter.Chunk> fromReader = collect(TextSplitter.iterator(new StringReader(text), 200, 40, true));
+        List<TextSplitter.Chunk> pushed = new ArrayList<>();
+        TextSplitter.Chunker chunker = TextSplitter.chunker(200, 40, true, pushed::add);
+        for (int i = 0; i < text.length(); i += 37) {
+            chunker.append(text.substring(i, Math.min(i + 37, text.length())));
+        }
+        chunker.finish();
+
+        Assertions.assertEquals(chunks.size(), fromReader.size());
+        Assertions.assertEquals(chunks.size(), pushed.size());
+        for (int i = 0; i < chunks.size(); i++) {
+            Assertions.assertEquals(chunks.get(i).getStartOffset(), fromReader.get(i).getStartOffset());
+            Assertions.assertEquals(chunks.get(i).getText(), fromReader.get(i).getText());
+            Assertions.assertEquals(chunks.get(i).getEndOffset(), pushed.get(i).getEndOffset());
+            Assertions.assertEquals(chunks.get(i).getText(), pushed.get(i).getText());
+        }
+    }
+
+    @Test
+    public void fixedSize() {
+        String text = "abcdefghij".repeat(10);
+        List<TextSplitter.Chunk> chunks = collect(TextSplitter.iterator(text, 30, 10, false));
+
+        Assertions.assertEquals(5, chunks.size());
+        Assertions.assertEquals(0, chunks.get(0).getStartOffset());
+        Assertions.assertEquals(20, chunks.get(1).getStartOffset());
+        Assertions.assertEquals(100, chunks.get(4).getEndOffset());
+    }
+
+    @Test
+    public void largeReader() throws Exception {
+        Assertions.assertTrue(Runtime.getRuntime().maxMemory() <= HEAP_LIMIT, "需以 -Xmx64m 运行");
+        long totalChars = 300L * 1024 * 1024;
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        System.gc();
+        long baseline = memory.getHeapMemoryUsage().getUsed();
+        AtomicLong peakHeap = new AtomicLong(baseline);
+        ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor();
+        sampler.scheduleAtFixedRate(() -> peakHeap.accumulateAndGet(memory.getHeapMemoryUsage().getUsed(), Math::max),
+                0, 20, TimeUnit.MILLISECONDS);
+
+        long start = System.nanoTime();
+        long count = 0;
+        long lastEnd = 0;
+        try (Reader reader = new RepeatingReader(SENTENCES, totalChars)) {
+            Iterator<TextSplitter.Chunk> iterator = TextSplitter.iterator(reader, 1000, 100, true);
+            while (iterator.hasNext()) {
+                TextSplitter.Chunk chunk = iterator.next();
+                Assertions.assertTrue(chunk.getContent().length() <= 1000);
+                lastEnd = chunk.getEndOffset();
+                count++;
+            }
+        } finally {
+            sampler.shutdownNow();
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        Assertions.assertEquals(totalChars, lastEnd);
+        System.out.printf("chars=%dMB, chunks=%d, cost=%.2fs, %.0f chunk/秒, heapGrowth=%dMB%n",
+                totalChars / 1024 / 1024, count, seconds, count / seconds, (peakHeap.get() - baseline) / 1024 / 1024);
+    }
+
+    private static List<TextSplitter.Chunk> collect(Iterator<TextSplitter.Chunk> iterator) {
+        List<TextSplitter.Chunk> chunks = new ArrayList<>();
+        while (iterator.hasNext()) {
+            TextSplitter.Chunk chunk = iterator.next();
+            // 视图在下一次 next 前有效，先复制
+            chunk.getText();
+            chunks.add(chunk);
+        }
+        return chunks;
+    }
+
+    /**
+     * 惰性重复输出样本文本，模拟 Tika 解析出的超大文本
+     */
+    private static final class RepeatingReader extends Reader {
+
+        private final String sample;
+        private final long total;
+        private long position;
+
+        private RepeatingReader(String sample, long total) {
+            this.sample = sample;
+            this.total = total;
+        }
+
+        @Override
+        public int read(char[] buffer, int offset, int length) {
+            if (position >= total) {
+                return -1;
+            }
+            int count = (int) Math.min(length, total - position);
+            for (int i = 0; i < count; i++) {
+                buffer[offset + i] = sample.charAt((int) ((position + i) % sample.length()));
+            }
+            position += count;
+            return count;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package io.github.atengk.milvus;
+
+import io.github.atengk.milvus.entity.VectorDocument;
+import io.github.atengk.milvus.service.impl.MockEmbeddingServiceImpl;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * List&lt;Float&gt; 与 float[] 向量路径的分配对比
+ * <p>
+ * 分别通过 embed / embedArray 生成 10 万个 1536 维向量并写入 VectorDocument，
+ * 统计当前线程的分配字节数；另保留 1 万个向量，对比 GC 后的堆占用。
+ */
+public class VectorAllocationBenchmarkTests {
+
+    private static final int VECTOR_COUNT = 100_000;
+    private static final int RETAINED_COUNT = 10_000;
+
+    private final MockEmbeddingServiceImpl embeddingService = new MockEmbeddingServiceImpl();
+
+    @Test
+    void allocation() {
+        // 预热
+        run(false, 1000);
+        run(true, 1000);
+
+        long boxed = allocatedBytes(() -> run(false, VECTOR_COUNT));
+        long primitive = allocatedBytes(() -> run(true, VECTOR_COUNT));
+
+        System.out.printf("List<Float> : %d MB allocated, %.1f KB/vector%n",
+                boxed / 1024 / 1024, boxed / 1024.0 / VECTOR_COUNT);
+        System.out.printf("float[]     : %d MB allocated, %.1f KB/vector%n",
+                primitive / 1024 / 1024, primitive / 1024.0 / VECTOR_COUNT);
+    }
+
+    @Test
+    void retained() {
+        System.out.printf("List<Float> : %.1f KB/vector retained%n", retainedBytes(false) / 1024.0 / RETAINED_COUNT);
+        System.out.printf("float[]     : %.1f KB/vector retained%n", retainedBytes(true) / 1024.0 / RETAINED_COUNT);
+    }
+
+    private long run(boolean primitive, int count) {
+        long checksum = 0;
+        for (int i = 0; i < count; i++) {
+            checksum += document(primitive, i).hashCode();
+        }
+        return checksum;
+    }
+
+    private VectorDocument document(boolean primitive, int i) {
+        String text = "chunk-" + i;
+        VectorDocument document = new VectorDocument();
+        document.setId(text);
+        if (primitive) {
+            document.setVector(embeddingService.embedArray(text));
+        } else {
+            // 旧路径：模型输出装箱为 List<Float>
+            document.setEmbedding(new ArrayList<>(embeddingService.embed(text)));
+        }
+        return document;
+    }
+
+    private long retainedBytes(boolean primitive) {
+        System.gc();
+        long before = usedHeap();
+        List<VectorDocument> documents = new ArrayList<>(RETAINED_COUNT);
+        for (int i = 0; i < RETAINED_COUNT; i++) {
+            documents.add(document(primitive, i));
+        }
+        System.gc();
+        long after = usedHeap();
+        System.out.println("retained documents = " + documents.size());
+        return after - before;
+    }
+
+    private static long usedHeap() {
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    private static long allocatedBytes(Runnable runnable) {
+        com.sun.management.ThreadMXBean threadMXBean =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        long before = threadMXBean.getThreadAllocatedBytes(threadId);
+        runnable.run();
+        return threadMXBean.getThreadAllocatedBytes(threadId) - before;
+    }
+}
@@ -6,23 +6,35 @@ import com.baomidou.mybatisplus.core.conditions.Wrapper;
 import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.baomidou.mybatisplus.core.toolkit.Constants;
 import local.ateng.java.mybatisjdk8.exception.DynamicSqlException;
+import org.apache.ibatis.cursor.Cursor;
+import org.apache.ibatis.executor.BatchResult;
 import org.apache.ibatis.executor.keygen.Jdbc3KeyGenerator;
 import org.apache.ibatis.executor.keygen.NoKeyGenerator;
 import org.apache.ibatis.mapping.MappedStatement;
 import org.apache.ibatis.mapping.ResultMap;
+import org.apache.ibatis.mapping.ResultSetType;
 import org.apache.ibatis.mapping.SqlCommandType;
 import org.apache.ibatis.mapping.SqlSource;
 import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.ExecutorType;
+import org.apache.ibatis.session.ResultHandler;
 import org.apache.ibatis.session.SqlSession;
 import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.type.TypeHandlerRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.lang.reflect.Field;
+import java.sql.Statement;
 import java.util.*;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * 动态 SQL 执行器
@@ -37,6 +49,9 @@ import java.util.stream.Collectors;
  *     <li>运行时注册 {@link MappedStatement}</li>
  *     <li>动态生成唯一的 statementId，避免冲突</li>
  *     <li>支持批量插入与主键自动回填</li>
+ *     <li>批量写入支持逐条、JDBC 批处理与多值 INSERT 三种模式</li>
+ *     <li>有界 LRU 语句缓存，冷门语句会从 Configuration 中移除</li>
+ *     <li>基于 Cursor / ResultHandler 的流式查询，内存占用与结果集大小无关</li>
  *     <li>通过 {@link SqlSession} 直接执行 SQL</li>
  * </ul>
  * </p>
@@ -53,10 +68,102 @@ public class DynamicSqlExecutor {
      */
     private static final String NAMESPACE = "local.ateng.java.injector.DynamicMapper";
 
+    /**
+     * 默认批次大小：JDBC 批处理每 N 条 flush 一次，多值 INSERT 每条语句 N 行
+     */
+    public static final int DEFAULT_BATCH_SIZE = 1000;
+
+    /**
+     * 多值 INSERT 改写：匹配 INSERT ... VALUES 到第一个值元组的左括号，
+     * 元组范围按括号配对确定，之后只允许结尾的分号
+     */
+    private static final Pattern INSERT_VALUES_PATTERN =
+            Pattern.compile("^(insert\\s+into\\s+.+?\\s+values)\\s*\\(", Pattern.DOTALL | Pattern.CASE_INSENSITIVE);
+
+    /**
+     * 值元组中的参数占位符 #{name...}
+     */
+    private static final Pattern PARAM_PLACEHOLDER_PATTERN = Pattern.compile("#\\{\\s*");
+
+    /**
+     * 批量写入模式
+     */
+    public enum BatchMode {
+        /**
+         * 逐条执行，每条一次数据库往返
+         */
+        SIMPLE,
+        /**
+         * JDBC 批处理（ExecutorType.BATCH），按批次 flush，支持主键回写
+         */
+        BATCH,
+        /**
+         * 改写为多值 INSERT ... VALUES (...),(...)，仅支持 INSERT，不支持主键回写；
+         * 语句或参数无法安全改写时回退为 BATCH
+         */
+        MULTI_VALUES
+    }
+
+    /**
+     * 流式查询默认 fetchSize
+     * <p>
+     * MySQL 需在连接串中开启 useCursorFetch=true 才按该值分批拉取，
+     * 否则应传入 {@link Integer#MIN_VALUE} 使用逐行流式结果集。
+     */
+    public static final int DEFAULT_FETCH_SIZE = 1000;
+
+    /**
+     * 默认语句缓存容量
+     */
+    public static final int DEFAULT_STATEMENT_CACHE_SIZE = 1024;
+
     private final SqlSessionFactory sqlSessionFactory;
 
+    /**
+     * 已注册语句的 LRU 缓存，key 为基于原始 SQL 哈希的 statementId，访问与注册都在锁内进行
+     */
+    private final StatementCache statementCache;
+
+    /**
+     * Configuration 内部的 mappedStatements 容器，用于淘汰语句；无法获取时不做淘汰
+     */
+    private final Map<String, MappedStatement> mappedStatements;
+
+    /**
+     * 正在执行的语句引用计数，在 statementCache 锁内读写；
+     * 被 LRU 淘汰时仍在执行的语句延迟到最后一次释放时再从 Configuration 移除
+     */
+    private final Map<String, Integer> statementsInUse = new HashMap<>();
+
+    private final LongAdder cacheHits = new LongAdder();
+    private final LongAdder cacheMisses = new LongAdder();
+    private final LongAdder cacheEvictions = new LongAdder();
+
     public DynamicSqlExecutor(SqlSessionFactory sqlSessionFactory) {
+        this(sqlSessionFactory, DEFAULT_STATEMENT_CACHE_SIZE);
+    }
+
+    public DynamicSqlExecutor(SqlSessionFactory sqlSessionFactory, int statementCacheSize) {
+        if (statementCacheSize <= 0) {
+            throw new DynamicSqlException("语句缓存容量必须大于 0: " + statementCacheSize);
+        }
         this.sqlSessionFactory = sqlSessionFactory;
+        this.statementCache = new StatementCache(statementCacheSize);
+        this.mappedStatements = resolveMappedStatements(sqlSessionFactory.getConfiguration());
+    }
+
+    /**
+     * 获取语句缓存统计
+     *
+     * @return 容量、当前大小与命中、未命中、淘汰次数
+     */
+    public StatementCacheStats getStatementCacheStats() {
+        int size;
+        synchronized (statementCache) {
+            size = statementCache.size();
+        }
+        return new StatementCacheStats(statementCache.capacity, size,
+                cacheHits.sum(), cacheMisses.sum(), cacheEvictions.sum());
     }
 
     /* ==================== SELECT ==================== */
@@ -147,9 +254,163 @@ public class DynamicSqlExecutor {
         } catch (Exception e) {
             log.error("执行动态 SELECT 失败", e);
             throw new DynamicSqlException("执行动态 SELECT 失败", e);
+        } finally {
+            releaseMappedStatement(msId);
         }
     }
 
+    /* ==================== STREAM ==================== */
+
+    /**
+     * 游标查询，逐行读取结果
+     * <p>
+     * 游标持有独立的 SqlSession，关闭游标时一并关闭会话，必须在 try-with-resources 中使用。
+     *
+     * @param sql        SQL 语句，必须以 SELECT 开头
+     * @param resultType 结果类型（VO 或 Map）
+     * @param param      参数对象，可以为 null
+     * @param fetchSize  每次从数据库拉取的行数
+     * @param <T>        结果泛型
+     * @return 游标
+     */
+    public <T> Cursor<T> selectCursor(String sql, Class<T> resultType, Object param, int fetchSize) {
+        String msId = registerMappedStatement(sql, SqlCommandType.SELECT, resultType, false, param, fetchSize);
+
+        SqlSession sqlSession = null;
+        try {
+            sqlSession = sqlSessionFactory.openSession(false);
+            Cursor<T> cursor = sqlSession.selectCursor(msId, param);
+            // 游标关闭时才释放语句引用
+            return new SessionCursor<>(sqlSession, cursor, () -> releaseMappedStatement(msId));
+        } catch (Exception e) {
+            if (sqlSession != null) {
+                sqlSession.close();
+            }
+            releaseMappedStatement(msId);
+            log.error("执行动态游标查询失败，SQL [{}]", sql, e);
+            throw new DynamicSqlException("执行动态游标查询失败: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 游标查询，支持 MP Wrapper 条件
+     *
+     * @param sql        SQL 语句
+     * @param resultType 返回类型
+     * @param wrapper    MP Wrapper 条件
+     * @param fetchSize  每次从数据库拉取的行数
+     * @param <T>        结果泛型
+     * @return 游标
+     */
+    public <T> Cursor<T> selectCursor(String sql, Class<T> resultType, Wrapper<?> wrapper, int fetchSize) {
+        Map<String, Object> paramMap = Collections.singletonMap(Constants.WRAPPER, wrapper);
+        return selectCursor(appendWrapperSegment(sql, wrapper), resultType, paramMap, fetchSize);
+    }
+
+    /**
+     * 流式查询，返回顺序 Stream
+     * <p>
+     * Stream 关闭时释放游标与会话，必须在 try-with-resources 中使用。
+     *
+     * @param sql        SQL 语句，必须以 SELECT 开头
+     * @param resultType 结果类型（VO 或 Map）
+     * @param param      参数对象，可以为 null
+     * @param <T>        结果泛型
+     * @return 惰性 Stream
+     */
+    public <T> Stream<T> selectStream(String sql, Class<T> resultType, Object param) {
+        return toStream(selectCursor(sql, resultType, param, DEFAULT_FETCH_SIZE));
+    }
+
+    /**
+     * 流式查询，支持 MP Wrapper 条件
+     *
+     * @param sql        SQL 语句
+     * @param resultType 返回类型
+     * @param wrapper    MP Wrapper 条件
+     * @param <T>        结果泛型
+     * @return 惰性 Stream
+     */
+    public <T> Stream<T> selectStream(String sql, Class<T> resultType, Wrapper<?> wrapper) {
+        return toStream(selectCursor(sql, resultType, wrapper, DEFAULT_FETCH_SIZE));
+    }
+
+    /**
+     * 流式查询，指定 fetchSize
+     *
+     * @param sql        SQL 语句
+     * @param resultType 返回类型
+     * @param wrapper    MP Wrapper 条件
+     * @param fetchSize  每次从数据库拉取的行数
+     * @param <T>        结果泛型
+     * @return 惰性 Stream
+     */
+    public <T> Stream<T> selectStream(String sql, Class<T> resultType, Wrapper<?> wrapper, int fetchSize) {
+        return toStream(selectCursor(sql, resultType, wrapper, fetchSize));
+    }
+
+    /**
+     * 基于 ResultHandler 的流式查询，结果逐行回调，方法返回时会话已关闭
+     *
+     * @param sql        SQL 语句，必须以 SELECT 开头
+     * @param resultType 结果类型（VO 或 Map）
+     * @param param      参数对象，可以为 null
+     * @param fetchSize  每次从数据库拉取的行数
+     * @param handler    结果处理器
+     * @param <T>        结果泛型
+     */
+    public <T> void select(String sql, Class<T> resultType, Object param, int fetchSize, ResultHandler<T> handler) {
+        String msId = registerMappedStatement(sql, SqlCommandType.SELECT, resultType, false, param, fetchSize);
+
+        try (SqlSession sqlSession = sqlSessionFactory.openSession(false)) {
+            sqlSession.select(msId, param, handler);
+        } catch (Exception e) {
+            log.error("执行动态流式查询失败，SQL [{}]", sql, e);
+            throw new DynamicSqlException("执行动态流式查询失败: " + e.getMessage(), e);
+        } finally {
+            releaseMappedStatement(msId);
+        }
+    }
+
+    /**
+     * 基于 ResultHandler 的流式查询，支持 MP Wrapper 条件
+     *
+     * @param sql        SQL 语句
+     * @param resultType 返回类型
+     * @param wrapper    MP Wrapper 条件
+     * @param fetchSize  每次从数据库拉取的行数
+     * @param handler    结果处理器
+     * @param <T>        结果泛型
+     */
+    public <T> void select(String sql, Class<T> resultType, Wrapper<?> wrapper, int fetchSize, ResultHandler<T> handler) {
+        Map<String, Object> paramMap = Collections.singletonMap(Constants.WRAPPER, wrapper);
+        select(appendWrapperSegment(sql, wrapper), resultType, paramMap, fetchSize, handler);
+    }
+
+    /**
+     * 拼接 Wrapper 条件到 SQL 末尾
+     */
+    private String appendWrapperSegment(String sql, Wrapper<?> wrapper) {
+        if (wrapper != null && wrapper.getCustomSqlSegment() != null && !wrapper.getCustomSqlSegment().isEmpty()) {
+            return sql + " " + wrapper.getCustomSqlSegment();
+        }
+        return sql;
+    }
+
+    /**
+     * 将游标包装为关闭时释放资源的顺序 Stream
+     */
+    private <T> Stream<T> toStream(Cursor<T> cursor) {
+        return StreamSupport.stream(cursor.spliterator(), false)
+                .onClose(() -> {
+                    try {
+                        cursor.close();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+    }
+
     /* ==================== INSERT ==================== */
 
     /**
@@ -165,15 +426,27 @@ public class DynamicSqlExecutor {
     }
 
     /**
-     * 批量插入（逐条执行，支持主键回写）
+     * 批量插入（JDBC 批处理，支持主键回写）
      *
      * @param sql  SQL 语句
      * @param list 实体对象集合
      * @return 总影响行数
      */
     public int insertBatch(String sql, List<?> list) {
-        List<Integer> result = execute(sql, SqlCommandType.INSERT, int.class, list, true);
-        return result.stream().mapToInt(Integer::intValue).sum();
+        return insertBatch(sql, list, BatchMode.BATCH, DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * 批量插入，指定批量模式
+     *
+     * @param sql       SQL 语句
+     * @param list      实体对象集合
+     * @param mode      批量模式
+     * @param batchSize 批次大小
+     * @return 总影响行数
+     */
+    public int insertBatch(String sql, List<?> list, BatchMode mode, int batchSize) {
+        return executeBatch(sql, SqlCommandType.INSERT, list, true, mode, batchSize);
     }
 
     /* ==================== UPDATE ==================== */
@@ -191,15 +464,27 @@ public class DynamicSqlExecutor {
     }
 
     /**
-     * 批量更新（逐条执行）
+     * 批量更新（JDBC 批处理）
      *
      * @param sql  SQL 语句
      * @param list 参数集合
      * @return 总影响行数
      */
     public int updateBatch(String sql, List<?> list) {
-        List<Integer> result = execute(sql, SqlCommandType.UPDATE, int.class, list, false);
-        return result.stream().mapToInt(Integer::intValue).sum();
+        return updateBatch(sql, list, BatchMode.BATCH, DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * 批量更新，指定批量模式（不支持 MULTI_VALUES）
+     *
+     * @param sql       SQL 语句
+     * @param list      参数集合
+     * @param mode      批量模式
+     * @param batchSize 批次大小
+     * @return 总影响行数
+     */
+    public int updateBatch(String sql, List<?> list, BatchMode mode, int batchSize) {
+        return executeBatch(sql, SqlCommandType.UPDATE, list, false, mode, batchSize);
     }
 
     /* ==================== DELETE ==================== */
@@ -217,15 +502,231 @@ public class DynamicSqlExecutor {
     }
 
     /**
-     * 批量删除（逐条执行）
+     * 批量删除（JDBC 批处理）
      *
      * @param sql  SQL 语句
      * @param list 参数集合
      * @return 总影响行数
      */
     public int deleteBatch(String sql, List<?> list) {
-        List<Integer> result = execute(sql, SqlCommandType.DELETE, int.class, list, false);
-        return result.stream().mapToInt(Integer::intValue).sum();
+        return deleteBatch(sql, list, BatchMode.BATCH, DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * 批量删除，指定批量模式（不支持 MULTI_VALUES）
+     *
+     * @param sql       SQL 语句
+     * @param list      参数集合
+     * @param mode      批量模式
+     * @param batchSize 批次大小
+     * @return 总影响行数
+     */
+    public int deleteBatch(String sql, List<?> list, BatchMode mode, int batchSize) {
+        return executeBatch(sql, SqlCommandType.DELETE, list, false, mode, batchSize);
+    }
+
+    /**
+     * 按批量模式执行 INSERT / UPDATE / DELETE
+     *
+     * @param sql             SQL 语句
+     * @param commandType     SQL 类型
+     * @param list            参数集合
+     * @param enableKeyReturn 是否开启主键回写（仅对 INSERT 生效，MULTI_VALUES 模式忽略）
+     * @param mode            批量模式
+     * @param batchSize       批次大小
+     * @return 总影响行数
+     */
+    private int executeBatch(String sql,
+                             SqlCommandType commandType,
+                             List<?> list,
+                             boolean enableKeyReturn,
+                             BatchMode mode,
+                             int batchSize) {
+        if (list == null || list.isEmpty()) {
+            return 0;
+        }
+        if (batchSize <= 0) {
+            throw new DynamicSqlException("批次大小必须大于 0: " + batchSize);
+        }
+
+        switch (mode) {
+            case SIMPLE:
+                List<Integer> result = execute(sql, commandType, int.class, list, enableKeyReturn);
+                return result.stream().mapToInt(Integer::intValue).sum();
+            case BATCH:
+                return executeJdbcBatch(sql, commandType, list, enableKeyReturn, batchSize);
+            case MULTI_VALUES:
+                if (commandType != SqlCommandType.INSERT) {
+                    throw new DynamicSqlException("MULTI_VALUES 模式仅支持 INSERT: " + commandType);
+                }
+                String multiValuesSql = toMultiValuesSql(formatSql(sql), list);
+                if (multiValuesSql == null) {
+                    return executeJdbcBatch(sql, commandType, list, enableKeyReturn, batchSize);
+                }
+                return executeMultiValues(sql, multiValuesSql, list, batchSize);
+            default:
+                throw new DynamicSqlException("不支持的批量模式: " + mode);
+        }
+    }
+
+    /**
+     * JDBC 批处理执行
+     * <p>
+     * 使用 {@link ExecutorType#BATCH} 会话，同一语句只预编译一次，
+     * 每 batchSize 条调用一次 flushStatements 发送到数据库，全部成功后统一提交。
+     *
+     * @return 累计影响行数
+     */
+    private int executeJdbcBatch(String sql,
+                                 SqlCommandType commandType,
+                                 List<?> list,
+                                 boolean enableKeyReturn,
+                                 int batchSize) {
+        String msId = registerMappedStatement(sql, commandType, int.class, enableKeyReturn, list);
+
+        try (SqlSession sqlSession = sqlSessionFactory.openSession(ExecutorType.BATCH, false)) {
+            int total = 0;
+            int pending = 0;
+            for (Object obj : list) {
+                executeOne(sqlSession, msId, obj, commandType);
+                if (++pending >= batchSize) {
+                    total += sumUpdateCounts(sqlSession.flushStatements());
+                    pending = 0;
+                }
+            }
+            total += sumUpdateCounts(sqlSession.flushStatements());
+            sqlSession.commit();
+            return total;
+        } catch (Exception e) {
+            log.error("执行动态批处理失败，类型 [{}]，条数 [{}]，SQL [{}]", commandType, list.size(), sql, e);
+            throw new DynamicSqlException("执行动态批处理失败: " + e.getMessage(), e);
+        } finally {
+            releaseMappedStatement(msId);
+        }
+    }
+
+    /**
+     * 多值 INSERT 执行
+     * <p>
+     * 将 {@code INSERT INTO t (a, b) VALUES (#{a}, #{b})} 改写为
+     * {@code <foreach>} 拼接的多值 INSERT，每条语句最多 batchSize 行，全部成功后统一提交。
+     *
+     * @return 累计影响行数
+     */
+    private int executeMultiValues(String sql, String multiValuesSql, List<?> list, int batchSize) {
+        Map<String, Object> probe = Collections.singletonMap("list", list);
+        String msId = registerMappedStatement(multiValuesSql, SqlCommandType.INSERT, int.class, false, probe);
+
+        // 满批次语句文本相同，REUSE 执行器可复用同一个 PreparedStatement
+        try (SqlSession sqlSession = sqlSessionFactory.openSession(ExecutorType.REUSE, false)) {
+            int total = 0;
+            for (int from = 0; from < list.size(); from += batchSize) {
+                List<?> chunk = list.subList(from, Math.min(from + batchSize, list.size()));
+                total += sqlSession.insert(msId, Collections.singletonMap("list", chunk));
+            }
+            sqlSession.commit();
+            return total;
+        } catch (Exception e) {
+            log.error("执行动态多值 INSERT 失败，条数 [{}]，SQL [{}]", list.size(), sql, e);
+            throw new DynamicSqlException("执行动态多值 INSERT 失败: " + e.getMessage(), e);
+        } finally {
+            releaseMappedStatement(msId);
+        }
+    }
+
+    /**
+     * 将单行 INSERT 改写为基于 foreach 的多值 INSERT
+     * <p>
+     * 以下情况无法安全改写，返回 null 由调用方回退为 JDBC 批处理：
+     * <ul>
+     *     <li>包含动态标签或 ${} 占位符</li>
+     *     <li>不是 INSERT INTO ... VALUES (...) 形式，或值元组后还有其他子句（如 ON DUPLICATE KEY UPDATE）</li>
+     *     <li>参数中有 null 或简单类型元素，无法按 item.属性 取值</li>
+     * </ul>
+     *
+     * @param sql  已格式化的单行 INSERT
+     * @param list 参数集合
+     * @return 多值 INSERT 动态 SQL，无法改写时返回 null
+     */
+    private String toMultiValuesSql(String sql, List<?> list) {
+        if (sql == null || containsDynamicTag(sql) || sql.contains("${")) {
+            log.warn("MULTI_VALUES 模式不支持动态标签或 ${} 占位符，回退为 BATCH，SQL [{}]", sql);
+            return null;
+        }
+        String trimmed = sql.trim();
+        Matcher matcher = INSERT_VALUES_PATTERN.matcher(trimmed);
+        if (!matcher.lookingAt()) {
+            log.warn("MULTI_VALUES 模式仅支持 INSERT INTO ... VALUES (...) 形式，回退为 BATCH，SQL [{}]", sql);
+            return null;
+        }
+        int tupleStart = matcher.end() - 1;
+        int tupleEnd = findClosingParen(trimmed, tupleStart);
+        String rest = tupleEnd < 0 ? null : trimmed.substring(tupleEnd + 1).trim();
+        if (rest == null || !(rest.isEmpty() || ";".equals(rest))) {
+            log.warn("MULTI_VALUES 模式不支持值元组之后的子句，回退为 BATCH，SQL [{}]", sql);
+            return null;
+        }
+
+        TypeHandlerRegistry typeHandlerRegistry = sqlSessionFactory.getConfiguration().getTypeHandlerRegistry();
+        for (Object item : list) {
+            if (item == null || typeHandlerRegistry.hasTypeHandler(item.getClass())) {
+                log.warn("MULTI_VALUES 模式要求参数为 Map 或实体对象，回退为 BATCH，元素类型 [{}]",
+                        item == null ? null : item.getClass().getName());
+                return null;
+            }
+        }
+
+        String tuple = PARAM_PLACEHOLDER_PATTERN.matcher(trimmed.substring(tupleStart, tupleEnd + 1)).replaceAll("#{item.");
+        return matcher.group(1)
+                + " <foreach collection='list' item='item' separator=','>" + tuple + "</foreach>";
+    }
+
+    /**
+     * 查找与左括号配对的右括号，跳过引号内的内容
+     *
+     * @param sql  SQL 语句
+     * @param open 左括号位置
+     * @return 右括号位置，未配对时返回 -1
+     */
+    private static int findClosingParen(String sql, int open) {
+        int depth = 0;
+        char quote = 0;
+        for (int i = open; i < sql.length(); i++) {
+            char c = sql.charAt(i);
+            if (quote != 0) {
+                if (c == '\\') {
+                    i++;
+                } else if (c == quote) {
+                    quote = 0;
+                }
+            } else if (c == '\'' || c == '"' || c == '`') {
+                quote = c;
+            } else if (c == '(') {
+                depth++;
+            } else if (c == ')' && --depth == 0) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 汇总批处理结果中的影响行数
+     * <p>
+     * 驱动返回 {@link Statement#SUCCESS_NO_INFO}（如 MySQL 开启 rewriteBatchedStatements）时按 1 行计。
+     */
+    private static int sumUpdateCounts(List<BatchResult> batchResults) {
+        int total = 0;
+        for (BatchResult batchResult : batchResults) {
+            for (int count : batchResult.getUpdateCounts()) {
+                if (count >= 0) {
+                    total += count;
+                } else if (count == Statement.SUCCESS_NO_INFO) {
+                    total += 1;
+                }
+            }
+        }
+        return total;
     }
 
     /**
@@ -274,6 +775,8 @@ public class DynamicSqlExecutor {
         } catch (Exception e) {
             log.error("执行动态 SQL 失败，类型 [{}]，SQL [{}]", commandType, sql, e);
             throw new DynamicSqlException("执行动态 SQL 失败: " + e.getMessage(), e);
+        } finally {
+            releaseMappedStatement(msId);
         }
     }
 
@@ -328,12 +831,15 @@ public class DynamicSqlExecutor {
      * 注册并构建 MyBatis 的 MappedStatement
      * <p>
      * 核心流程：
-     * 1. 对输入的 SQL 进行格式化（去除注释、压缩为单行）
-     * 2. 调用 validateSql 进行基础校验，防止非法 SQL
-     * 3. 判断是否包含动态 SQL 标签（如 <if>、<foreach>）
-     * 4. 根据动态标签的存在与否决定是否包装 <script>
-     * 5. 创建 SqlSource，并封装为 MappedStatement
-     * 6. 针对不同的 SQL 类型（SELECT / INSERT）进行结果映射或主键回写配置
+     * 1. 以原始 SQL 哈希生成 statementId，命中语句缓存则直接返回，跳过格式化与校验
+     * 2. 对输入的 SQL 进行格式化（去除注释、压缩为单行）
+     * 3. 调用 validateSql 进行基础校验，防止非法 SQL
+     * 4. 判断是否包含动态 SQL 标签（如 <if>、<foreach>）
+     * 5. 根据动态标签的存在与否决定是否包装 <script>
+     * 6. 创建 SqlSource，并封装为 MappedStatement
+     * 7. 针对不同的 SQL 类型（SELECT / INSERT）进行结果映射或主键回写配置
+     * 8. 加入语句缓存，超出容量时淘汰最久未使用的语句
+     * 9. 占用语句引用，执行结束后必须调用 {@link #releaseMappedStatement(String)} 释放
      *
      * @param sql             原始 SQL 语句
      * @param commandType     SQL 命令类型（SELECT、INSERT、UPDATE、DELETE）
@@ -348,21 +854,93 @@ public class DynamicSqlExecutor {
                                                Class<T> resultType,
                                                boolean enableKeyReturn,
                                                Object param) {
+        return registerMappedStatement(sql, commandType, resultType, enableKeyReturn, param, null);
+    }
 
-        // 1. 格式化 SQL，去除注释并压缩为单行
+    /**
+     * 注册并构建 MyBatis 的 MappedStatement，可指定 fetchSize
+     * <p>
+     * 指定 fetchSize 时结果集为 FORWARD_ONLY，用于流式查询，statementId 附带 fetchSize 与普通查询区分。
+     *
+     * @param fetchSize 每次从数据库拉取的行数，null 表示使用驱动默认值
+     */
+    private <T> String registerMappedStatement(String sql,
+                                               SqlCommandType commandType,
+                                               Class<T> resultType,
+                                               boolean enableKeyReturn,
+                                               Object param,
+                                               Integer fetchSize) {
+
+        Configuration configuration = sqlSessionFactory.getConfiguration();
+        String msId = buildStatementId(sql, commandType, resultType);
+        if (fetchSize != null) {
+            msId = msId + "_FETCH_" + fetchSize;
+        }
+
+        // 1. 命中缓存且仍在 Configuration 中，直接复用
+        synchronized (statementCache) {
+            if (statementCache.get(msId) != null && configuration.hasStatement(msId)) {
+                cacheHits.increment();
+                statementsInUse.merge(msId, 1, Integer::sum);
+                return msId;
+            }
+        }
+        cacheMisses.increment();
+
+        // 2. 格式化 SQL，去除注释并压缩为单行
         String formattedSql = formatSql(sql);
 
-        // 2. 调用 SQL 校验方法，确保 SQL 符合当前 commandType 的约束
+        // 3. 调用 SQL 校验方法，确保 SQL 符合当前 commandType 的约束
         validateSql(formattedSql, commandType);
 
-        Configuration configuration = sqlSessionFactory.getConfiguration();
-        String msId = buildStatementId(sql, commandType, resultType);
+        synchronized (statementCache) {
+            // 其他线程可能已完成注册，避免重复 addMappedStatement
+            if (!configuration.hasStatement(msId)) {
+                configuration.addMappedStatement(buildMappedStatement(configuration, msId, formattedSql,
+                        commandType, resultType, enableKeyReturn, param, fetchSize));
+            }
+            statementCache.put(msId, Boolean.TRUE);
+            statementsInUse.merge(msId, 1, Integer::sum);
+        }
+        return msId;
+    }
 
-        // 3. 如果当前 SQL 已经注册过，则直接复用，避免重复注册
-        if (configuration.hasStatement(msId)) {
-            return msId;
+    /**
+     * 释放语句引用
+     * <p>
+     * 语句在执行期间已被 LRU 淘汰且没有其他执行中的引用时，此时才从 Configuration 移除。
+     *
+     * @param msId statementId
+     */
+    private void releaseMappedStatement(String msId) {
+        synchronized (statementCache) {
+            Integer count = statementsInUse.get(msId);
+            if (count == null) {
+                return;
+            }
+            if (count > 1) {
+                statementsInUse.put(msId, count - 1);
+                return;
+            }
+            statementsInUse.remove(msId);
+            // 淘汰后又被重新注册的语句仍在缓存中，不移除
+            if (!statementCache.containsKey(msId)) {
+                removeMappedStatement(msId);
+            }
         }
+    }
 
+    /**
+     * 构建 MappedStatement
+     */
+    private <T> MappedStatement buildMappedStatement(Configuration configuration,
+                                                     String msId,
+                                                     String formattedSql,
+                                                     SqlCommandType commandType,
+                                                     Class<T> resultType,
+                                                     boolean enableKeyReturn,
+                                                     Object param,
+                                                     Integer fetchSize) {
         // 4. 判断是否包含动态标签（如 <if>、<foreach> 等）
         boolean containsDynamicTag = containsDynamicTag(formattedSql);
 
@@ -380,6 +958,9 @@ public class DynamicSqlExecutor {
 
         // 7. 构建 MappedStatement
         MappedStatement.Builder builder = new MappedStatement.Builder(configuration, msId, sqlSource, commandType);
+        if (fetchSize != null) {
+            builder.fetchSize(fetchSize).resultSetType(ResultSetType.FORWARD_ONLY);
+        }
 
         // 8. 针对不同的 SQL 类型做额外处理
         if (commandType == SqlCommandType.SELECT) {
@@ -392,9 +973,44 @@ public class DynamicSqlExecutor {
             configureKeyGenerator(builder, param, enableKeyReturn);
         }
 
-        // 9. 将构建完成的 MappedStatement 注册到 MyBatis Configuration
-        configuration.addMappedStatement(builder.build());
-        return msId;
+        return builder.build();
+    }
+
+    /**
+     * 从 Configuration 中移除被淘汰的语句
+     * <p>
+     * MyBatis 未提供移除 API，这里直接操作其内部的 StrictMap，
+     * 同时移除完整 ID 与短名称两个键。调用方需持有 statementCache 锁且确认语句没有执行中的引用。
+     *
+     * @param msId statementId
+     */
+    private void removeMappedStatement(String msId) {
+        if (mappedStatements == null) {
+            return;
+        }
+        mappedStatements.remove(msId);
+        mappedStatements.remove(msId.substring(msId.lastIndexOf('.') + 1));
+        log.debug("淘汰动态 MappedStatement: {}", msId);
+    }
+
+    /**
+     * 通过反射获取 Configuration（含 MybatisConfiguration 等子类）中的 mappedStatements 容器
+     */
+    @SuppressWarnings("unchecked")
+    private static Map<String, MappedStatement> resolveMappedStatements(Configuration configuration) {
+        for (Class<?> clazz = configuration.getClass(); clazz != null; clazz = clazz.getSuperclass()) {
+            try {
+                Field field = clazz.getDeclaredField("mappedStatements");
+                field.setAccessible(true);
+                return (Map<String, MappedStatement>) field.get(configuration);
+            } catch (NoSuchFieldException e) {
+                // 继续查找父类
+            } catch (Exception e) {
+                break;
+            }
+        }
+        log.warn("无法获取 Configuration 的 mappedStatements，动态语句将不会被淘汰");
+        return null;
     }
 
     /**
@@ -576,5 +1192,130 @@ public class DynamicSqlExecutor {
         return compressed.trim();
     }
 
+    /**
+     * 访问顺序的 LRU 语句缓存，超出容量时淘汰最久未使用的语句
+     * <p>
+     * 被淘汰的语句若仍有执行中的引用，只移出缓存，等最后一次释放时再从 Configuration 移除，
+     * 已取得 statementId 的线程不会遇到 "Mapped Statements collection does not contain value"。
+     */
+    private final class StatementCache extends LinkedHashMap<String, Boolean> {
+
+        private final int capacity;
 
+        private StatementCache(int capacity) {
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+            if (size() > capacity) {
+                cacheEvictions.increment();
+                if (!statementsInUse.containsKey(eldest.getKey())) {
+                    removeMappedStatement(eldest.getKey());
+                }
+                return true;
+            }
+            return false;
+        }
+    }
+
+    /**
+     * 绑定 SqlSession 的游标，关闭游标时同时关闭会话并释放语句引用
+     */
+    private static final class SessionCursor<T> implements Cursor<T> {
+
+        private final SqlSession sqlSession;
+        private final Cursor<T> delegate;
+        private final Runnable onClose;
+        private boolean closed;
+
+        private SessionCursor(SqlSession sqlSession, Cursor<T> delegate, Runnable onClose) {
+            this.sqlSession = sqlSession;
+            this.delegate = delegate;
+            this.onClose = onClose;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return delegate.isOpen();
+        }
+
+        @Override
+        public boolean isConsumed() {
+            return delegate.isConsumed();
+        }
+
+        @Override
+        public int getCurrentIndex() {
+            return delegate.getCurrentIndex();
+        }
+
+        @Override
+        public Iterator<T> iterator() {
+            return delegate.iterator();
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            try {
+                delegate.close();
+            } finally {
+                try {
+                    sqlSession.close();
+                } finally {
+                    onClose.run();
+                }
+            }
+        }
+    }
+
+    /**
+     * 语句缓存统计
+     */
+    public static final class StatementCacheStats {
+
+        private final int capacity;
+        private final int size;
+        private final long hits;
+        private final long misses;
+        private final long evictions;
+
+        public StatementCacheStats(int capacity, int size, long hits, long misses, long evictions) {
+            this.capacity = capacity;
+            this.size = size;
+            this.hits = hits;
+            this.misses = misses;
+            this.evictions = evictions;
+        }
+
+        public int getCapacity() {
+            return capacity;
+        }
+
+        public int getSize() {
+            return size;
+        }
+
+        public long getHits() {
+            return hits;
+        }
+
+        public long getMisses() {
+            return misses;
+        }
+
+        public long getEvictions() {
+            return evictions;
+        }
+
+        public double getHitRate() {
+            long total = hits + misses;
+            return total == 0 ? 0 : (double) hits / total;
+        }
+    }
 }
@@ -2,6 +2,7 @@ package local.ateng.java.mybatisjdk8.controller;
 
 import com.alibaba.fastjson2.JSONObject;
 import com.baomidou.mybatisplus.core.metadata.IPage;
+import local.ateng.java.mybatisjdk8.config.DynamicSqlExecutor;
 import local.ateng.java.mybatisjdk8.entity.Project;
 import local.ateng.java.mybatisjdk8.service.DynamicService;
 import lombok.RequiredArgsConstructor;
@@ -131,5 +132,20 @@ public class DynamicController {
         dynamicService.batchDelete();
     }
 
+    @GetMapping("/listStream")
+    public long listStream() {
+        return dynamicService.listStream();
+    }
+
+    @GetMapping("/listResultHandler")
+    public long listResultHandler() {
+        return dynamicService.listResultHandler();
+    }
+
+    @GetMapping("/statementCacheStats")
+    public DynamicSqlExecutor.StatementCacheStats statementCacheStats() {
+        return dynamicService.statementCacheStats();
+    }
+
 
 }
@@ -0,0 +1,31 @@
+package local.ateng.java.mybatisjdk8.controller;
+
+import local.ateng.java.mybatisjdk8.entity.SqlStatementMetrics;
+import local.ateng.java.mybatisjdk8.interceptor.SqlAuditInnerInterceptor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/sqlAudit")
+@RequiredArgsConstructor
+public class SqlAuditController {
+    private final SqlAuditInnerInterceptor sqlAuditInnerInterceptor;
+
+    @GetMapping("/metrics")
+    public List<SqlStatementMetrics> metrics() {
+        return sqlAuditInnerInterceptor.getMetrics();
+    }
+
+    @GetMapping("/droppedRenders")
+    public long droppedRenders() {
+        return sqlAuditInnerInterceptor.getDroppedRenders();
+    }
+
+    @PostMapping("/reset")
+    public void reset() {
+        sqlAuditInnerInterceptor.reset();
+    }
+
+}
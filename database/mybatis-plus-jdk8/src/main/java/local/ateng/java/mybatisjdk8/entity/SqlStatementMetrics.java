@@ -0,0 +1,61 @@
+package local.ateng.java.mybatisjdk8.entity;
+
+import lombok.Data;
+
+import java.io.Serializable;
+
+/**
+ * 单条 MappedStatement 的执行统计
+ *
+ * @author 孔余
+ * @since 2025-09-16
+ */
+@Data
+public class SqlStatementMetrics implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * MappedStatement ID
+     */
+    private String statementId;
+
+    /**
+     * SQL 类型
+     */
+    private String commandType;
+
+    /**
+     * 执行次数
+     */
+    private long calls;
+
+    /**
+     * 失败次数
+     */
+    private long errors;
+
+    /**
+     * 慢 SQL 次数
+     */
+    private long slowCalls;
+
+    /**
+     * 平均耗时（微秒）
+     */
+    private long avgMicros;
+
+    /**
+     * P50 耗时（微秒，按 2 的幂分桶的上界估算）
+     */
+    private long p50Micros;
+
+    /**
+     * P99 耗时（微秒，按 2 的幂分桶的上界估算）
+     */
+    private long p99Micros;
+
+    /**
+     * 最大耗时（微秒）
+     */
+    private long maxMicros;
+}
@@ -1,5 +1,6 @@
 package local.ateng.java.mybatisjdk8.interceptor;
 
+import local.ateng.java.mybatisjdk8.entity.SqlStatementMetrics;
 import net.sf.jsqlparser.parser.CCJSqlParserUtil;
 import net.sf.jsqlparser.statement.Statement;
 import org.apache.ibatis.executor.Executor;
@@ -23,10 +24,28 @@ import java.text.SimpleDateFormat;
 import java.time.*;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * MyBatis 原生 SQL 耗时拦截器
+ * <p>
+ * 支持两种审计模式：
+ * <ul>
+ *     <li>{@link AuditMode#FULL}：每条 SQL 都在调用线程中渲染并输出日志</li>
+ *     <li>{@link AuditMode#SAMPLED}：热路径只把耗时记录到按 statementId 划分的无锁直方图，
+ *     仅对采样命中、慢 SQL 或执行失败的语句在后台线程中渲染完整 SQL 并输出日志</li>
+ * </ul>
+ * 各语句的调用次数与 P50 / P99 耗时可通过 {@link #getMetrics()} 获取。
+ * 单独统计的语句数不超过 {@link #MAX_TRACKED_STATEMENTS}，超出后（如大量动态注册的语句）
+ * 合并计入 {@link #OVERFLOW_STATEMENT_ID}，内存占用有界。
  */
 @Intercepts({
         @Signature(type = Executor.class, method = "update", args = {MappedStatement.class, Object.class}),
@@ -36,8 +55,132 @@ public class SqlAuditInnerInterceptor implements Interceptor {
 
     private static final Logger logger = LoggerFactory.getLogger(SqlAuditInnerInterceptor.class);
 
+    /**
+     * 后台渲染队列容量，队列满时丢弃渲染任务，不阻塞业务线程
+     */
+    private static final int RENDER_QUEUE_CAPACITY = 1024;
+
+    /**
+     * 单独统计的语句数上限
+     */
+    public static final int MAX_TRACKED_STATEMENTS = 2048;
+
+    /**
+     * 超出上限的语句合并统计使用的 statementId
+     */
+    public static final String OVERFLOW_STATEMENT_ID = "[overflow]";
+
+    /**
+     * 审计模式
+     */
+    public enum AuditMode {
+        /**
+         * 全量：每条 SQL 同步渲染并输出
+         */
+        FULL,
+        /**
+         * 采样：热路径只计时，采样 / 慢 / 失败的 SQL 异步渲染
+         */
+        SAMPLED
+    }
+
+    private final AuditMode mode;
+    private final double sampleRate;
+    private final long slowThresholdNanos;
+
+    private final ConcurrentHashMap<String, StatementStats> statementStats = new ConcurrentHashMap<>();
+    private volatile StatementStats overflowStats = new StatementStats("MIXED");
+    private final LongAdder droppedRenders = new LongAdder();
+    private final ThreadPoolExecutor renderExecutor;
+
+    /**
+     * 全量模式，与原有行为一致
+     */
+    public SqlAuditInnerInterceptor() {
+        this(AuditMode.FULL, 1.0, 0);
+    }
+
+    /**
+     * @param mode                审计模式
+     * @param sampleRate          采样率（0~1），仅 SAMPLED 模式生效
+     * @param slowThresholdMillis 慢 SQL 阈值（毫秒），超过阈值的 SQL 必定渲染，0 表示不判定慢 SQL
+     */
+    public SqlAuditInnerInterceptor(AuditMode mode, double sampleRate, long slowThresholdMillis) {
+        this.mode = mode;
+        this.sampleRate = Math.max(0, Math.min(1, sampleRate));
+        this.slowThresholdNanos = slowThresholdMillis > 0 ? TimeUnit.MILLISECONDS.toNanos(slowThresholdMillis) : Long.MAX_VALUE;
+        this.renderExecutor = mode == AuditMode.SAMPLED ? newRenderExecutor() : null;
+    }
+
     @Override
     public Object intercept(Invocation invocation) throws Throwable {
+        if (mode == AuditMode.FULL) {
+            return interceptFull(invocation);
+        }
+
+        long start = System.nanoTime();
+        Throwable error = null;
+        try {
+            return invocation.proceed();
+        } catch (Throwable e) {
+            error = e;
+            throw e;
+        } finally {
+            long costNanos = System.nanoTime() - start;
+            MappedStatement ms = (MappedStatement) invocation.getArgs()[0];
+            boolean slow = costNanos >= slowThresholdNanos;
+            stats(ms).record(costNanos, error != null, slow);
+
+            if (error != null || slow || sampled()) {
+                submitRender(invocation, ms, costNanos, slow, error);
+            }
+        }
+    }
+
+    /**
+     * 获取各语句的执行统计，按调用次数降序
+     *
+     * @return 统计列表
+     */
+    public List<SqlStatementMetrics> getMetrics() {
+        List<SqlStatementMetrics> metrics = new ArrayList<>(statementStats.size());
+        statementStats.forEach((id, stats) -> metrics.add(stats.snapshot(id)));
+        SqlStatementMetrics overflow = overflowStats.snapshot(OVERFLOW_STATEMENT_ID);
+        if (overflow.getCalls() > 0) {
+            metrics.add(overflow);
+        }
+        metrics.sort(Comparator.comparingLong(SqlStatementMetrics::getCalls).reversed());
+        return metrics;
+    }
+
+    /**
+     * 获取因渲染队列已满而丢弃的渲染任务数
+     *
+     * @return 丢弃数
+     */
+    public long getDroppedRenders() {
+        return droppedRenders.sum();
+    }
+
+    /**
+     * 清空统计
+     */
+    public void reset() {
+        statementStats.clear();
+        overflowStats = new StatementStats("MIXED");
+        droppedRenders.reset();
+    }
+
+    /**
+     * 关闭后台渲染线程，作为 Spring Bean 时会被自动调用
+     */
+    public void shutdown() {
+        if (renderExecutor != null) {
+            renderExecutor.shutdown();
+        }
+    }
+
+    private Object interceptFull(Invocation invocation) throws Throwable {
         long start = System.nanoTime();
 
         // 执行 SQL
@@ -51,6 +194,7 @@ public class SqlAuditInnerInterceptor implements Interceptor {
         MappedStatement ms = (MappedStatement) args[0];
         Object parameter = args.length > 1 ? args[1] : null;
         BoundSql boundSql = ms.getBoundSql(parameter);
+        stats(ms).record(end - start, false, false);
 
         // 拼接参数（可用之前 formatParameter 方法）
         String finalSql = buildFinalSql(ms, boundSql, parameter);
@@ -63,6 +207,79 @@ public class SqlAuditInnerInterceptor implements Interceptor {
         return result;
     }
 
+    private StatementStats stats(MappedStatement ms) {
+        // 先 get 再 computeIfAbsent，避免 JDK 8 中 computeIfAbsent 对已存在键也加锁
+        StatementStats stats = statementStats.get(ms.getId());
+        if (stats == null) {
+            // 达到上限后不再新增条目，映射函数返回 null 时 computeIfAbsent 不写入
+            stats = statementStats.computeIfAbsent(ms.getId(), id -> statementStats.size() >= MAX_TRACKED_STATEMENTS
+                    ? null
+                    : new StatementStats(ms.getSqlCommandType().name()));
+        }
+        return stats != null ? stats : overflowStats;
+    }
+
+    private boolean sampled() {
+        return sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate;
+    }
+
+    /**
+     * 提交后台渲染任务
+     * <p>
+     * BoundSql 在调用线程中获取，保证动态 SQL 与本次执行一致；
+     * 参数替换、JSqlParser 解析与日志输出在后台线程中完成。
+     */
+    private void submitRender(Invocation invocation, MappedStatement ms, long costNanos, boolean slow, Throwable error) {
+        Object[] args = invocation.getArgs();
+        Object parameter = args.length > 1 ? args[1] : null;
+        BoundSql boundSql;
+        try {
+            boundSql = ms.getBoundSql(parameter);
+        } catch (Exception e) {
+            logger.debug("[SQL AUDIT] 获取 BoundSql 失败：{}", e.getMessage());
+            return;
+        }
+
+        try {
+            renderExecutor.execute(() -> render(ms, boundSql, parameter, costNanos, slow, error));
+        } catch (RejectedExecutionException e) {
+            droppedRenders.increment();
+        }
+    }
+
+    private void render(MappedStatement ms, BoundSql boundSql, Object parameter, long costNanos, boolean slow, Throwable error) {
+        String finalSql;
+        try {
+            finalSql = buildFinalSql(ms, boundSql, parameter);
+        } catch (Exception e) {
+            finalSql = boundSql.getSql();
+        }
+        String displaySql = finalSql.length() > 200 ? finalSql.substring(0, 200) + "..." : finalSql;
+        long costMs = TimeUnit.NANOSECONDS.toMillis(costNanos);
+
+        if (error != null) {
+            logger.error("SQL FAILED | id={} | type={} | cost={}ms | sql={} | error={}",
+                    ms.getId(), ms.getSqlCommandType(), costMs, displaySql, error.getMessage());
+        } else if (slow) {
+            logger.warn("SQL SLOW | id={} | type={} | cost={}ms | sql={}",
+                    ms.getId(), ms.getSqlCommandType(), costMs, displaySql);
+        } else {
+            logger.info("SQL | id={} | type={} | cost={}ms | sql={}",
+                    ms.getId(), ms.getSqlCommandType(), costMs, displaySql);
+        }
+    }
+
+    private static ThreadPoolExecutor newRenderExecutor() {
+        return new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(RENDER_QUEUE_CAPACITY),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "sql-audit-render");
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
     // ======================================================
     // 核心：把 BoundSql + 参数 -> 最终 SQL 字符串（并通过 JSqlParser 解析）
     // ======================================================
@@ -261,5 +478,74 @@ public class SqlAuditInnerInterceptor implements Interceptor {
         // 把单引号转义成 SQL 风格的两个单引号
         return input.replace("'", "''");
     }
-}
 
+    // ======================================================
+    // 单条语句的统计：计数器与按 2 的幂分桶的无锁耗时直方图（微秒）
+    // ======================================================
+    private static final class StatementStats {
+
+        private final String commandType;
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder slowCalls = new LongAdder();
+        private final LongAdder totalMicros = new LongAdder();
+        private final AtomicLongArray buckets = new AtomicLongArray(64);
+        private final AtomicLong max = new AtomicLong();
+
+        private StatementStats(String commandType) {
+            this.commandType = commandType;
+        }
+
+        private void record(long costNanos, boolean failed, boolean slow) {
+            long micros = Math.max(TimeUnit.NANOSECONDS.toMicros(costNanos), 0);
+            calls.increment();
+            totalMicros.add(micros);
+            if (failed) {
+                errors.increment();
+            }
+            if (slow) {
+                slowCalls.increment();
+            }
+            buckets.incrementAndGet(64 - Long.numberOfLeadingZeros(micros));
+            if (micros > max.get()) {
+                max.accumulateAndGet(micros, Math::max);
+            }
+        }
+
+        private long percentile(double quantile) {
+            long total = 0;
+            for (int i = 0; i < buckets.length(); i++) {
+                total += buckets.get(i);
+            }
+            if (total == 0) {
+                return 0;
+            }
+
+            long target = (long) Math.ceil(total * quantile);
+            long seen = 0;
+            for (int i = 0; i < buckets.length(); i++) {
+                seen += buckets.get(i);
+                if (seen >= target) {
+                    long upper = i == 0 ? 0 : (1L << i) - 1;
+                    return Math.min(upper, max.get());
+                }
+            }
+            return max.get();
+        }
+
+        private SqlStatementMetrics snapshot(String statementId) {
+            long count = calls.sum();
+            SqlStatementMetrics metrics = new SqlStatementMetrics();
+            metrics.setStatementId(statementId);
+            metrics.setCommandType(commandType);
+            metrics.setCalls(count);
+            metrics.setErrors(errors.sum());
+            metrics.setSlowCalls(slowCalls.sum());
+            metrics.setAvgMicros(count == 0 ? 0 : totalMicros.sum() / count);
+            metrics.setP50Micros(percentile(0.50));
+            metrics.setP99Micros(percentile(0.99));
+            metrics.setMaxMicros(max.get());
+            return metrics;
+        }
+    }
+}
@@ -12,8 +12,11 @@ import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -298,6 +301,38 @@ public class DynamicService {
         System.out.println("批量删除影响行数: " + rows);
     }
 
+    public long listStream() {
+        String sql = "select * from project_mini";
+        QueryWrapper<Project> wrapper = new QueryWrapper<>();
+        wrapper.eq("status", 1);
 
-}
+        // 逐行处理，不在内存中保留整个结果集
+        long count = 0;
+        try (Stream<Project> stream = dynamicSqlExecutor.selectStream(sql, Project.class, wrapper)) {
+            Iterator<Project> iterator = stream.iterator();
+            while (iterator.hasNext()) {
+                iterator.next();
+                count++;
+            }
+        }
+        System.out.println("流式查询行数: " + count);
+        return count;
+    }
+
+    public long listResultHandler() {
+        String sql = "select * from project_mini where status = #{status}";
+        Map<String, Object> param = new HashMap<>();
+        param.put("status", 1);
+
+        AtomicLong count = new AtomicLong();
+        dynamicSqlExecutor.select(sql, Project.class, param, DynamicSqlExecutor.DEFAULT_FETCH_SIZE,
+                context -> count.incrementAndGet());
+        System.out.println("ResultHandler 查询行数: " + count.get());
+        return count.get();
+    }
 
+    public DynamicSqlExecutor.StatementCacheStats statementCacheStats() {
+        return dynamicSqlExecutor.getStatementCacheStats();
+    }
+
+}
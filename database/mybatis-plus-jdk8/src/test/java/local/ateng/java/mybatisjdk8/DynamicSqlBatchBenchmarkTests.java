@@ -0,0 +1,121 @@
+package local.ateng.java.mybatisjdk8;
+
+import local.ateng.java.mybatisjdk8.config.DynamicSqlExecutor;
+import local.ateng.java.mybatisjdk8.config.DynamicSqlExecutor.BatchMode;
+import org.apache.ibatis.datasource.pooled.PooledDataSource;
+import org.apache.ibatis.mapping.Environment;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.apache.ibatis.transaction.jdbc.JdbcTransactionFactory;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * DynamicSqlExecutor 批量写入基准测试
+ * <p>
+ * 使用 H2 内存数据库（MySQL 兼容模式），分别以逐条、JDBC 批处理、多值 INSERT
+ * 三种模式写入相同数量的行，打印各自的 行/秒。
+ */
+public class DynamicSqlBatchBenchmarkTests {
+
+    private static final int ROW_COUNT = 100_000;
+    private static final String INSERT_SQL = "INSERT INTO bench_row (name, code, score) VALUES (#{name}, #{code}, #{score})";
+
+    private static PooledDataSource dataSource;
+    private static DynamicSqlExecutor executor;
+
+    @BeforeAll
+    public static void setUp() throws Exception {
+        dataSource = new PooledDataSource("org.h2.Driver",
+                "jdbc:h2:mem:dynamic_batch;MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", "");
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE bench_row (" +
+                    "id BIGINT AUTO_INCREMENT PRIMARY KEY, " +
+                    "name VARCHAR(64), " +
+                    "code VARCHAR(32), " +
+                    "score DOUBLE)");
+        }
+
+        Environment environment = new Environment("benchmark", new JdbcTransactionFactory(), dataSource);
+        SqlSessionFactory sqlSessionFactory = new SqlSessionFactoryBuilder().build(new Configuration(environment));
+        executor = new DynamicSqlExecutor(sqlSessionFactory);
+    }
+
+    @Test
+    public void benchmark() throws Exception {
+        List<Map<String, Object>> rows = generateRows(ROW_COUNT);
+
+        // 预热，排除语句注册与类加载的影响
+        executor.insertBatch(INSERT_SQL, rows.subList(0, 1000), BatchMode.SIMPLE, DynamicSqlExecutor.DEFAULT_BATCH_SIZE);
+        executor.insertBatch(INSERT_SQL, rows.subList(0, 1000), BatchMode.BATCH, DynamicSqlExecutor.DEFAULT_BATCH_SIZE);
+        executor.insertBatch(INSERT_SQL, rows.subList(0, 1000), BatchMode.MULTI_VALUES, DynamicSqlExecutor.DEFAULT_BATCH_SIZE);
+        truncate();
+
+        for (BatchMode mode : BatchMode.values()) {
+            long start = System.nanoTime();
+            int affected = executor.insertBatch(INSERT_SQL, rows, mode, DynamicSqlExecutor.DEFAULT_BATCH_SIZE);
+            double seconds = (System.nanoTime() - start) / 1e9;
+            System.out.printf("%-12s rows=%d, cost=%.2fs, %.0f 行/秒%n", mode, affected, seconds, ROW_COUNT / seconds);
+
+            Assertions.assertEquals(ROW_COUNT, affected);
+            Assertions.assertEquals(ROW_COUNT, count());
+            truncate();
+        }
+    }
+
+    @Test
+    public void batchUpdateAndDelete() throws Exception {
+        List<Map<String, Object>> rows = generateRows(5000);
+        executor.insertBatch(INSERT_SQL, rows);
+
+        List<Map<String, Object>> updates = new ArrayList<>();
+        for (int i = 0; i < rows.size(); i++) {
+            Map<String, Object> param = new HashMap<>();
+            param.put("code", "CODE-" + i);
+            param.put("score", -1D);
+            updates.add(param);
+        }
+        Assertions.assertEquals(rows.size(), executor.updateBatch("UPDATE bench_row SET score = #{score} WHERE code = #{code}", updates));
+        Assertions.assertEquals(rows.size(), executor.deleteBatch("DELETE FROM bench_row WHERE code = #{code}", updates));
+        Assertions.assertEquals(0, count());
+    }
+
+    private static List<Map<String, Object>> generateRows(int count) {
+        List<Map<String, Object>> rows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Map<String, Object> row = new HashMap<>();
+            row.put("name", "批量项目-" + i);
+            row.put("code", "CODE-" + i);
+            row.put("score", i * 0.5D);
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    private static long count() throws Exception {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT COUNT(*) FROM bench_row")) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+
+    private static void truncate() throws Exception {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("TRUNCATE TABLE bench_row");
+        }
+    }
+}
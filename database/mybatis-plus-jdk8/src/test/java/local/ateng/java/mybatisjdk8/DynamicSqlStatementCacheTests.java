@@ -0,0 +1,101 @@
+package local.ateng.java.mybatisjdk8;
+
+import local.ateng.java.mybatisjdk8.config.DynamicSqlExecutor;
+import org.apache.ibatis.cursor.Cursor;
+import org.apache.ibatis.datasource.pooled.PooledDataSource;
+import org.apache.ibatis.mapping.Environment;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.apache.ibatis.transaction.jdbc.JdbcTransactionFactory;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * DynamicSqlExecutor 语句缓存测试
+ * <p>
+ * 使用 H2 内存数据库，验证不同 SQL 超出容量后会从 Configuration 中淘汰，
+ * 重复 SQL 命中缓存，执行中的语句被淘汰时延迟到释放后再移除。
+ */
+public class DynamicSqlStatementCacheTests {
+
+    private static final int CAPACITY = 8;
+
+    @Test
+    public void boundedStatementCache() {
+        Configuration configuration = configuration("dynamic_cache");
+        SqlSessionFactory sqlSessionFactory = new SqlSessionFactoryBuilder().build(configuration);
+        DynamicSqlExecutor executor = new DynamicSqlExecutor(sqlSessionFactory, CAPACITY);
+
+        int distinct = 100;
+        for (int i = 0; i < distinct; i++) {
+            executor.select("SELECT " + i + " AS id", Map.class, null);
+        }
+        for (int i = 0; i < 1000; i++) {
+            executor.select("SELECT 99 AS id", Map.class, null);
+        }
+
+        DynamicSqlExecutor.StatementCacheStats stats = executor.getStatementCacheStats();
+        System.out.printf("size=%d, hits=%d, misses=%d, evictions=%d, hitRate=%.3f, configuration=%d%n",
+                stats.getSize(), stats.getHits(), stats.getMisses(), stats.getEvictions(),
+                stats.getHitRate(), configuration.getMappedStatementNames().size());
+
+        Assertions.assertEquals(CAPACITY, stats.getSize());
+        Assertions.assertEquals(distinct, stats.getMisses());
+        Assertions.assertEquals(1000, stats.getHits());
+        Assertions.assertEquals(distinct - CAPACITY, stats.getEvictions());
+        // 每条语句在 StrictMap 中占用完整 ID 与短名称两个键
+        Assertions.assertEquals(CAPACITY * 2, configuration.getMappedStatementNames().size());
+    }
+
+    @Test
+    public void inUseStatementSurvivesEviction() throws Exception {
+        Configuration configuration = configuration("dynamic_cache_in_use");
+        SqlSessionFactory sqlSessionFactory = new SqlSessionFactoryBuilder().build(configuration);
+        DynamicSqlExecutor executor = new DynamicSqlExecutor(sqlSessionFactory, 1);
+
+        try (Cursor<Map> cursor = executor.selectCursor("SELECT 1 AS id", Map.class, (Object) null, 10)) {
+            // 游标未关闭，语句被 LRU 淘汰后仍保留在 Configuration 中
+            executor.select("SELECT 2 AS id", Map.class, null);
+            executor.select("SELECT 3 AS id", Map.class, null);
+            Assertions.assertEquals(4, configuration.getMappedStatementNames().size());
+            Assertions.assertEquals(1, cursor.iterator().next().size());
+        }
+        // 游标关闭后移除
+        Assertions.assertEquals(2, configuration.getMappedStatementNames().size());
+
+        // 容量为 1 时并发执行不同 SQL，不应出现语句在执行前被移除
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                final int thread = t;
+                futures.add(pool.submit(() -> {
+                    for (int i = 0; i < 200; i++) {
+                        executor.select("SELECT " + (thread * 1000 + i % 10) + " AS id", Map.class, null);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            pool.shutdown();
+        }
+        Assertions.assertEquals(2, configuration.getMappedStatementNames().size());
+    }
+
+    private static Configuration configuration(String database) {
+        PooledDataSource dataSource = new PooledDataSource("org.h2.Driver",
+                "jdbc:h2:mem:" + database + ";MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", "");
+        Environment environment = new Environment("cache", new JdbcTransactionFactory(), dataSource);
+        return new Configuration(environment);
+    }
+}
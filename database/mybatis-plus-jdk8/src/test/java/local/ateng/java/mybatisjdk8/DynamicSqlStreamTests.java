@@ -0,0 +1,116 @@
+package local.ateng.java.mybatisjdk8;
+
+import local.ateng.java.mybatisjdk8.config.DynamicSqlExecutor;
+import org.apache.ibatis.cursor.Cursor;
+import org.apache.ibatis.datasource.pooled.PooledDataSource;
+import org.apache.ibatis.mapping.Environment;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.apache.ibatis.transaction.jdbc.JdbcTransactionFactory;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * DynamicSqlExecutor 流式查询测试
+ * <p>
+ * 使用 H2 内存数据库的 SYSTEM_RANGE 惰性生成 200 万行，
+ * 分别以 Cursor、Stream、ResultHandler 读取并采样堆内存峰值。
+ * 由 surefire 在独立 JVM 中以 -Xmx64m 运行：全量 List 查询在该堆大小下会 OOM，流式查询不发生 OOM 即通过。
+ */
+public class DynamicSqlStreamTests {
+
+    private static final long ROW_COUNT = 2_000_000L;
+    private static final long HEAP_LIMIT = 64L * 1024 * 1024;
+    private static final String SQL = "SELECT X AS id, CONCAT('name-', X) AS name FROM SYSTEM_RANGE(1, #{rows})";
+
+    private static DynamicSqlExecutor executor;
+
+    @BeforeAll
+    public static void setUp() {
+        Assertions.assertTrue(Runtime.getRuntime().maxMemory() <= HEAP_LIMIT, "需以 -Xmx64m 运行");
+        PooledDataSource dataSource = new PooledDataSource("org.h2.Driver",
+                "jdbc:h2:mem:dynamic_stream;MODE=MySQL;LAZY_QUERY_EXECUTION=1;DB_CLOSE_DELAY=-1", "sa", "");
+        Environment environment = new Environment("stream", new JdbcTransactionFactory(), dataSource);
+        SqlSessionFactory sqlSessionFactory = new SqlSessionFactoryBuilder().build(new Configuration(environment));
+        executor = new DynamicSqlExecutor(sqlSessionFactory);
+    }
+
+    @Test
+    public void cursor() throws Exception {
+        long rows = measure("cursor", () -> {
+            long count = 0;
+            try (Cursor<Map> cursor = executor.selectCursor(SQL, Map.class, param(), DynamicSqlExecutor.DEFAULT_FETCH_SIZE)) {
+                for (Map ignored : cursor) {
+                    count++;
+                }
+            }
+            return count;
+        });
+        Assertions.assertEquals(ROW_COUNT, rows);
+    }
+
+    @Test
+    public void stream() throws Exception {
+        long rows = measure("stream", () -> {
+            try (Stream<Map> stream = executor.selectStream(SQL, Map.class, param())) {
+                return stream.mapToLong(row -> 1L).sum();
+            }
+        });
+        Assertions.assertEquals(ROW_COUNT, rows);
+    }
+
+    @Test
+    public void resultHandler() throws Exception {
+        long rows = measure("resultHandler", () -> {
+            AtomicLong count = new AtomicLong();
+            executor.select(SQL, Map.class, param(), DynamicSqlExecutor.DEFAULT_FETCH_SIZE,
+                    context -> count.incrementAndGet());
+            return count.get();
+        });
+        Assertions.assertEquals(ROW_COUNT, rows);
+    }
+
+    private static Map<String, Object> param() {
+        return Collections.singletonMap("rows", ROW_COUNT);
+    }
+
+    private static long measure(String name, RowCounter counter) throws Exception {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        System.gc();
+        long baseline = memory.getHeapMemoryUsage().getUsed();
+        AtomicLong peakHeap = new AtomicLong(baseline);
+        ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor();
+        sampler.scheduleAtFixedRate(() -> peakHeap.accumulateAndGet(memory.getHeapMemoryUsage().getUsed(), Math::max),
+                0, 20, TimeUnit.MILLISECONDS);
+
+        long start = System.nanoTime();
+        long rows;
+        try {
+            rows = counter.count();
+        } finally {
+            sampler.shutdownNow();
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        long growth = peakHeap.get() - baseline;
+        System.out.printf("%-14s rows=%d, cost=%.2fs, %.0f 行/秒, heapGrowth=%dMB%n",
+                name, rows, seconds, rows / seconds, growth / 1024 / 1024);
+        return rows;
+    }
+
+    @FunctionalInterface
+    private interface RowCounter {
+        long count() throws Exception;
+    }
+}
@@ -0,0 +1,87 @@
+package local.ateng.java.mybatisjdk8;
+
+import local.ateng.java.mybatisjdk8.config.DynamicSqlExecutor;
+import local.ateng.java.mybatisjdk8.entity.SqlStatementMetrics;
+import local.ateng.java.mybatisjdk8.interceptor.SqlAuditInnerInterceptor;
+import org.apache.ibatis.datasource.pooled.PooledDataSource;
+import org.apache.ibatis.mapping.Environment;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.apache.ibatis.transaction.jdbc.JdbcTransactionFactory;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * SqlAuditInnerInterceptor 审计模式测试
+ * <p>
+ * 使用 H2 内存数据库，对比全量与采样两种模式下相同查询的吞吐，并校验统计结果。
+ */
+public class SqlAuditInterceptorTests {
+
+    private static final int QUERY_COUNT = 20_000;
+    private static final String SQL = "SELECT #{id} AS id, 'audit' AS name";
+
+    @Test
+    public void compareModes() {
+        SqlAuditInnerInterceptor full = new SqlAuditInnerInterceptor();
+        SqlAuditInnerInterceptor sampled = new SqlAuditInnerInterceptor(SqlAuditInnerInterceptor.AuditMode.SAMPLED, 0.001, 1000);
+
+        run("FULL", full);
+        run("SAMPLED", sampled);
+
+        List<SqlStatementMetrics> metrics = sampled.getMetrics();
+        metrics.forEach(System.out::println);
+        Assertions.assertEquals(1, metrics.size());
+        Assertions.assertEquals(QUERY_COUNT * 2L, metrics.get(0).getCalls());
+        Assertions.assertEquals(0, metrics.get(0).getErrors());
+        Assertions.assertTrue(metrics.get(0).getP50Micros() <= metrics.get(0).getP99Micros());
+        sampled.shutdown();
+    }
+
+    @Test
+    public void overflowBucket() {
+        SqlAuditInnerInterceptor sampled = new SqlAuditInnerInterceptor(SqlAuditInnerInterceptor.AuditMode.SAMPLED, 0, 0);
+        DynamicSqlExecutor executor = new DynamicSqlExecutor(sqlSessionFactory(sampled));
+
+        // 每条 SQL 文本不同，注册为不同的语句
+        int distinct = SqlAuditInnerInterceptor.MAX_TRACKED_STATEMENTS + 100;
+        for (int i = 0; i < distinct; i++) {
+            executor.select("SELECT " + i + " AS id", Map.class, null);
+        }
+
+        List<SqlStatementMetrics> metrics = sampled.getMetrics();
+        Assertions.assertEquals(SqlAuditInnerInterceptor.MAX_TRACKED_STATEMENTS + 1, metrics.size());
+        Assertions.assertEquals(distinct, metrics.stream().mapToLong(SqlStatementMetrics::getCalls).sum());
+        Assertions.assertTrue(metrics.stream().anyMatch(m -> SqlAuditInnerInterceptor.OVERFLOW_STATEMENT_ID.equals(m.getStatementId())));
+        sampled.shutdown();
+    }
+
+    private static SqlSessionFactory sqlSessionFactory(SqlAuditInnerInterceptor interceptor) {
+        PooledDataSource dataSource = new PooledDataSource("org.h2.Driver",
+                "jdbc:h2:mem:sql_audit;DB_CLOSE_DELAY=-1", "sa", "");
+        Configuration configuration = new Configuration(new Environment("audit", new JdbcTransactionFactory(), dataSource));
+        configuration.addInterceptor(interceptor);
+        return new SqlSessionFactoryBuilder().build(configuration);
+    }
+
+    private static void run(String name, SqlAuditInnerInterceptor interceptor) {
+        DynamicSqlExecutor executor = new DynamicSqlExecutor(sqlSessionFactory(interceptor));
+
+        // 预热
+        for (int i = 0; i < QUERY_COUNT; i++) {
+            executor.select(SQL, Map.class, Collections.singletonMap("id", i));
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < QUERY_COUNT; i++) {
+            executor.select(SQL, Map.class, Collections.singletonMap("id", i));
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("%-8s queries=%d, cost=%.2fs, %.0f 次/秒%n", name, QUERY_COUNT, seconds, QUERY_COUNT / seconds);
+    }
+}
@@ -0,0 +1,65 @@
+package io.github.atengk.codec;
+
+import io.github.atengk.entity.WebSocketMessage;
+
+/**
+ * WebSocket 消息编解码器
+ *
+ * <p>
+ * 每种编解码器对应一个 WebSocket 子协议（Sec-WebSocket-Protocol），
+ * 握手时由客户端声明、服务端协商，之后该连接的收发都使用同一个编解码器。
+ * </p>
+ *
+ * @author 孔余
+ * @since 2026-01-30
+ */
+public interface WebSocketMessageCodec {
+
+    /**
+     * 对应的子协议名称
+     *
+     * @return 子协议
+     */
+    String subProtocol();
+
+    /**
+     * 编码消息
+     *
+     * @param message 消息实体
+     * @return WebSocket 帧
+     */
+    org.springframework.web.socket.WebSocketMessage<?> encode(WebSocketMessage message);
+
+    /**
+     * 编码已序列化的 JSON 消息
+     *
+     * <p>
+     * 服务端推送接口接收的是 JSON 字符串，按连接协商的格式转换为对应的帧，
+     * 文本协议可直接复用原字符串。
+     * </p>
+     *
+     * @param payload JSON 字符串
+     * @return WebSocket 帧
+     */
+    org.springframework.web.socket.WebSocketMessage<?> encode(String payload);
+
+    /**
+     * 解码消息
+     *
+     * @param frame WebSocket 帧
+     * @return 消息实体
+     * @throws WebSocketProtocolException 帧格式不合法且应关闭连接（如二进制编解码器）
+     */
+    WebSocketMessage decode(org.springframework.web.socket.WebSocketMessage<?> frame);
+
+    /**
+     * 心跳确认帧
+     *
+     * <p>
+     * 内容固定，实现类应预先编码并复用同一个实例。
+     * </p>
+     *
+     * @return 心跳确认帧
+     */
+    org.springframework.web.socket.WebSocketMessage<?> heartbeatAck();
+}
@@ -1,14 +1,19 @@
 package io.github.atengk.config;
 
+import io.github.atengk.enums.WebSocketBizExecutionMode;
+import io.github.atengk.enums.WebSocketRoutingMode;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
 import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
+import org.springframework.web.socket.handler.ConcurrentWebSocketSessionDecorator;
 
 import java.time.Duration;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * WebSocket 配置属性绑定类
@@ -75,4 +80,130 @@ public class WebSocketProperties {
      */
     @NotNull
     private Long heartbeatCheckInterval;
+
+    /**
+     * 心跳批量写入 Redis 的间隔
+     *
+     * <p>
+     * 心跳先记录在本地内存，按该间隔批量写入 Redis，
+     * 单位为毫秒。
+     * </p>
+     */
+    private Long heartbeatFlushInterval = 300L;
+
+    /**
+     * 单次发送允许的最长阻塞时间
+     *
+     * <p>
+     * Session 会被包装为 {@link ConcurrentWebSocketSessionDecorator}，
+     * 某个客户端发送超过该时间后按溢出策略处理，
+     * 不会拖慢同一分片内的其他 Session。
+     * </p>
+     */
+    private Duration sendTimeLimit = Duration.ofSeconds(10);
+
+    /**
+     * 单个 Session 待发送缓冲区上限（字节）
+     */
+    private Integer sendBufferSizeLimit = 512 * 1024;
+
+    /**
+     * 缓冲区溢出策略
+     *
+     * <p>
+     * TERMINATE：关闭慢客户端连接；DROP：丢弃最早的待发送消息。
+     * </p>
+     */
+    private ConcurrentWebSocketSessionDecorator.OverflowStrategy overflowStrategy =
+            ConcurrentWebSocketSessionDecorator.OverflowStrategy.TERMINATE;
+
+    /**
+     * 广播发送分片数量
+     *
+     * <p>
+     * 本地 Session 按 sessionId 哈希分布到各分片，
+     * 每个分片由独立线程顺序发送，小于等于 0 时取 CPU 核数。
+     * </p>
+     */
+    private Integer broadcastShards = 0;
+
+    /**
+     * 广播分片是否使用虚拟线程
+     */
+    private Boolean broadcastVirtualThreads = true;
+
+    /**
+     * 跨节点定向推送的路由模式
+     *
+     * <p>
+     * BROADCAST：投递到所有节点；TARGETED：只投递到目标用户所在节点。
+     * </p>
+     */
+    private WebSocketRoutingMode routingMode = WebSocketRoutingMode.BROADCAST;
+
+    /**
+     * 用户所在节点本地缓存时间
+     *
+     * <p>
+     * 仅在 TARGETED 模式下使用，本节点 Session 变化时立即失效。
+     * </p>
+     */
+    private Duration routeCacheTtl = Duration.ofSeconds(2);
+
+    /**
+     * 节点存活超时时间
+     *
+     * <p>
+     * 节点按 {@link #routeNodeHeartbeatInterval} 写入存活时间，
+     * 超过该时间未续期的节点视为宕机，其用户路由不再使用并被清理。
+     * </p>
+     */
+    private Duration routeNodeTtl = Duration.ofSeconds(30);
+
+    /**
+     * 节点存活续期间隔，单位为毫秒，应明显小于 {@link #routeNodeTtl}
+     */
+    private Long routeNodeHeartbeatInterval = 10_000L;
+
+    /**
+     * 业务处理器默认执行策略
+     *
+     * <p>
+     * 未在 {@link #bizExecution} 中单独配置的业务编码使用该策略，
+     * 默认在接收线程上直接执行，与原有行为一致。
+     * </p>
+     */
+    private BizExecutionPolicy defaultBizExecution = new BizExecutionPolicy();
+
+    /**
+     * 按业务编码配置的执行策略（bizCode -> 策略）
+     */
+    private Map<String, BizExecutionPolicy> bizExecution = new HashMap<>();
+
+    /**
+     * 业务处理器执行策略
+     */
+    @Data
+    public static class BizExecutionPolicy {
+
+        /**
+         * 执行模式
+         */
+        private WebSocketBizExecutionMode mode = WebSocketBizExecutionMode.INLINE;
+
+        /**
+         * 线程数，仅 POOL 模式使用
+         */
+        private Integer threads = 4;
+
+        /**
+         * 排队与执行中的消息上限
+         *
+         * <p>
+         * POOL / VIRTUAL 模式下超过该数量的消息直接拒绝，
+         * 并向客户端回复繁忙消息。
+         * </p>
+         */
+        private Integer queueCapacity = 256;
+    }
 }
@@ -115,6 +115,29 @@ public class WebSocketRabbitConfig {
                 .with(WebSocketMqConstants.ROUTING_KEY);
     }
 
+    /**
+     * WebSocket 节点定向路由绑定关系
+     *
+     * <p>
+     * 将当前节点队列以 {@code ws.node.{nodeId}} 绑定到交换机，
+     * 定向推送时只有目标节点会收到消息。
+     * </p>
+     *
+     * @param wsBroadcastQueue 当前节点广播队列
+     * @param wsExchange       WebSocket 广播交换机
+     * @return Binding
+     */
+    @Bean
+    public Binding wsNodeBinding(
+            Queue wsBroadcastQueue,
+            DirectExchange wsExchange
+    ) {
+        return BindingBuilder
+                .bind(wsBroadcastQueue)
+                .to(wsExchange)
+                .with(WebSocketMqConstants.ROUTING_KEY_NODE_PREFIX + NodeIdUtil.getNodeId());
+    }
+
     /**
      * WebSocket MQ 消息 JSON 转换器
      *
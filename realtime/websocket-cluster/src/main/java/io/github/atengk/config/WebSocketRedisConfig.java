@@ -0,0 +1,45 @@
+package io.github.atengk.config;
+
+import io.github.atengk.service.WebSocketRouteResolver;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+/**
+ * WebSocket Redis 订阅配置类
+ *
+ * <p>
+ * 订阅路由失效频道，任一节点 Session 绑定 / 解绑或节点下线时，
+ * 所有节点立即失效本地路由缓存。
+ * </p>
+ *
+ * @author 孔余
+ * @since 2026-01-30
+ */
+@Configuration
+public class WebSocketRedisConfig {
+
+    /**
+     * 路由失效通知监听容器
+     *
+     * @param factory       Redis 连接工厂
+     * @param routeResolver 路由解析器
+     * @return RedisMessageListenerContainer
+     */
+    @Bean
+    public RedisMessageListenerContainer wsRouteListenerContainer(
+            RedisConnectionFactory factory,
+            WebSocketRouteResolver routeResolver
+    ) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(factory);
+        container.addMessageListener(
+                routeResolver,
+                new ChannelTopic(WebSocketRouteResolver.CHANNEL_ROUTE_INVALIDATE)
+        );
+        return container;
+    }
+
+}
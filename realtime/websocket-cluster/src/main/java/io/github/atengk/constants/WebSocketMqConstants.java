@@ -67,6 +67,16 @@ public final class WebSocketMqConstants {
      */
     public static final String ROUTING_KEY = "ws.broadcast";
 
+    /**
+     * WebSocket 节点定向路由键前缀
+     *
+     * <p>
+     * 每个节点队列额外绑定 {@code ws.node.{nodeId}}，
+     * 定向推送只投递到目标用户所在的节点。
+     * </p>
+     */
+    public static final String ROUTING_KEY_NODE_PREFIX = "ws.node.";
+
     /**
      * 私有构造方法，防止实例化
      */
@@ -1,12 +1,16 @@
 package io.github.atengk.controller;
 
 import com.alibaba.fastjson2.JSONObject;
+import io.github.atengk.entity.BizHandlerMetrics;
+import io.github.atengk.entity.BroadcastShardMetrics;
 import io.github.atengk.service.WebSocketService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 /**
@@ -159,6 +163,36 @@ public class WebSocketController {
         webSocketService.broadcast(message);
     }
 
+    /**
+     * 获取当前节点广播分片指标
+     *
+     * @return 各分片的 Session 数量、发送次数与耗时
+     */
+    @GetMapping("/broadcast/metrics")
+    public List<BroadcastShardMetrics> getBroadcastMetrics() {
+        return webSocketService.getBroadcastMetrics();
+    }
+
+    /**
+     * 获取当前节点跨节点路由指标
+     *
+     * @return 投递数、非本地丢弃数、发布数
+     */
+    @GetMapping("/routing/metrics")
+    public Map<String, Long> getRoutingMetrics() {
+        return webSocketService.getRoutingMetrics();
+    }
+
+    /**
+     * 获取当前节点各业务处理器运行指标
+     *
+     * @return 各业务编码的执行模式、排队数、拒绝数与耗时分位数
+     */
+    @GetMapping("/biz/metrics")
+    public List<BizHandlerMetrics> getBizMetrics() {
+        return webSocketService.getBizMetrics();
+    }
+
     /**
      * 强制踢指定用户下线（关闭其所有 Session）
      *
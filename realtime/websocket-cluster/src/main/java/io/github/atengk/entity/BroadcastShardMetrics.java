@@ -0,0 +1,57 @@
+package io.github.atengk.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 广播分片运行指标
+ *
+ * <p>
+ * 每个发送分片独立统计，用于观察 Session 分布是否均衡、
+ * 是否存在慢客户端拖慢某个分片。
+ * </p>
+ *
+ * @author 孔余
+ * @since 2026-01-30
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BroadcastShardMetrics {
+
+    /**
+     * 分片序号
+     */
+    private int shard;
+
+    /**
+     * 当前分片 Session 数量
+     */
+    private int sessions;
+
+    /**
+     * 累计发送成功次数
+     */
+    private long sent;
+
+    /**
+     * 累计发送失败次数
+     */
+    private long failed;
+
+    /**
+     * 累计执行的广播批次
+     */
+    private long batches;
+
+    /**
+     * 最近一次批次耗时（微秒）
+     */
+    private long lastBatchMicros;
+
+    /**
+     * 最大批次耗时（微秒）
+     */
+    private long maxBatchMicros;
+}
@@ -0,0 +1,48 @@
+package io.github.atengk.enums;
+
+import lombok.Getter;
+
+/**
+ * WebSocket 业务消息分发结果
+ *
+ * @author 孔余
+ * @since 2026-01-30
+ */
+@Getter
+public enum WebSocketDispatchResult {
+
+    /**
+     * 已在接收线程上处理完成
+     */
+    HANDLED("HANDLED", "已处理"),
+
+    /**
+     * 已提交到异步执行器
+     */
+    SUBMITTED("SUBMITTED", "已提交"),
+
+    /**
+     * 执行器已满，消息被拒绝
+     */
+    REJECTED("REJECTED", "繁忙拒绝"),
+
+    /**
+     * 未找到对应的业务处理器
+     */
+    NOT_FOUND("NOT_FOUND", "无处理器");
+
+    /**
+     * 结果编码
+     */
+    private final String code;
+
+    /**
+     * 结果描述
+     */
+    private final String desc;
+
+    WebSocketDispatchResult(String code, String desc) {
+        this.code = code;
+        this.desc = desc;
+    }
+}
@@ -0,0 +1,42 @@
+package io.github.atengk.enums;
+
+import lombok.Getter;
+
+/**
+ * WebSocket 跨节点消息路由模式
+ *
+ * <p>
+ * 决定定向推送（sendToUsers）如何投递到其他节点。
+ * </p>
+ *
+ * @author 孔余
+ * @since 2026-01-30
+ */
+@Getter
+public enum WebSocketRoutingMode {
+
+    /**
+     * 广播到所有节点，由各节点自行过滤本地用户
+     */
+    BROADCAST("BROADCAST", "广播到所有节点"),
+
+    /**
+     * 先解析用户所在节点，再按节点路由键定向投递
+     */
+    TARGETED("TARGETED", "按节点定向投递");
+
+    /**
+     * 模式编码
+     */
+    private final String code;
+
+    /**
+     * 模式描述
+     */
+    private final String desc;
+
+    WebSocketRoutingMode(String code, String desc) {
+        this.code = code;
+        this.desc = desc;
+    }
+}
@@ -46,4 +46,38 @@ public class WebSocketSessionScheduler {
         }
     }
 
+    /**
+     * 定期批量写入心跳到 Redis
+     *
+     * <p>
+     * 通过配置项 websocket.heartbeat-flush-interval 控制执行间隔，
+     * 默认 300 毫秒执行一次。
+     * </p>
+     */
+    @Scheduled(fixedDelayString = "${websocket.heartbeat-flush-interval:300}")
+    public void flushHeartbeat() {
+        try {
+            webSocketService.flushHeartbeats();
+        } catch (Exception e) {
+            log.error("WebSocket 心跳批量写入任务执行异常", e);
+        }
+    }
+
+    /**
+     * 定期续期节点存活时间
+     *
+     * <p>
+     * 通过配置项 websocket.route-node-heartbeat-interval 控制执行间隔，
+     * 默认 10 秒执行一次，超过 websocket.route-node-ttl 未续期的节点路由将被忽略并清理。
+     * </p>
+     */
+    @Scheduled(fixedDelayString = "${websocket.route-node-heartbeat-interval:10000}")
+    public void refreshNodeAlive() {
+        try {
+            webSocketService.refreshNodeAlive();
+        } catch (Exception e) {
+            log.error("WebSocket 节点存活续期任务执行异常", e);
+        }
+    }
+
 }
@@ -3,6 +3,9 @@ package io.github.atengk.service;
 import io.github.atengk.entity.WebSocketMessage;
 import org.springframework.web.socket.WebSocketSession;
 
+import java.util.Collections;
+import java.util.Set;
+
 /**
  * WebSocket 业务消息处理器接口
  *
@@ -24,6 +27,20 @@ public interface WebSocketBizHandler {
      */
     boolean support(String bizCode);
 
+    /**
+     * 声明当前处理器负责的业务编码
+     *
+     * <p>
+     * 分发器启动时按声明建立 bizCode -> 处理器索引，
+     * 返回空集合时退化为逐个调用 {@link #support(String)} 匹配。
+     * </p>
+     *
+     * @return 业务编码集合
+     */
+    default Set<String> bizCodes() {
+        return Collections.emptySet();
+    }
+
     /**
      * 处理 WebSocket 业务消息
      *
@@ -0,0 +1,271 @@
+package io.github.atengk.service;
+
+import io.github.atengk.codec.WebSocketCodecRegistry;
+import io.github.atengk.codec.WebSocketMessageCodec;
+import io.github.atengk.config.WebSocketProperties;
+import io.github.atengk.entity.BroadcastShardMetrics;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.ConcurrentWebSocketSessionDecorator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * WebSocket 本地广播引擎
+ *
+ * <p>
+ * 解决逐个 Session 串行阻塞发送的问题：
+ * <ul>
+ *     <li>消息按连接协商的编解码器各编码一次，同一编解码器的 Session 共享同一帧</li>
+ *     <li>Session 包装为 {@link ConcurrentWebSocketSessionDecorator}，
+ *     限制发送时长与缓冲区大小，慢客户端不会阻塞其他 Session</li>
+ *     <li>Session 按 sessionId 哈希分布到 N 个分片，分片之间并行发送</li>
+ *     <li>每个分片单线程执行，保证同一 Session 的消息顺序</li>
+ * </ul>
+ * </p>
+ *
+ * @author 孔余
+ * @since 2026-01-30
+ */
+@Slf4j
+@Component
+public class WebSocketBroadcastEngine {
+
+    private final WebSocketProperties webSocketProperties;
+    private final WebSocketCodecRegistry codecRegistry;
+    private final Shard[] shards;
+
+    public WebSocketBroadcastEngine(WebSocketProperties webSocketProperties,
+                                    WebSocketCodecRegistry codecRegistry) {
+        this.webSocketProperties = webSocketProperties;
+        this.codecRegistry = codecRegistry;
+
+        int shardCount = webSocketProperties.getBroadcastShards() == null
+                || webSocketProperties.getBroadcastShards() <= 0
+                ? Runtime.getRuntime().availableProcessors()
+                : webSocketProperties.getBroadcastShards();
+        boolean virtual = !Boolean.FALSE.equals(webSocketProperties.getBroadcastVirtualThreads());
+
+        this.shards = new Shard[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            ThreadFactory factory = virtual
+                    ? Thread.ofVirtual().name("ws-broadcast-" + i).factory()
+                    : Thread.ofPlatform().name("ws-broadcast-" + i).daemon(true).factory();
+            shards[i] = new Shard(i, Executors.newSingleThreadExecutor(factory));
+        }
+
+        log.info("WebSocket 广播引擎初始化完成，shards={}, virtualThreads={}", shardCount, virtual);
+    }
+
+    /**
+     * 注册 Session
+     *
+     * <p>
+     * 返回包装后的线程安全 Session，后续所有发送都应使用该对象。
+     * </p>
+     *
+     * @param session 原始 Session
+     * @return 并发安全的 Session
+     */
+    public WebSocketSession register(WebSocketSession session) {
+        WebSocketSession decorated = session instanceof ConcurrentWebSocketSessionDecorator
+                ? session
+                : new ConcurrentWebSocketSessionDecorator(
+                session,
+                (int) webSocketProperties.getSendTimeLimit().toMillis(),
+                webSocketProperties.getSendBufferSizeLimit(),
+                webSocketProperties.getOverflowStrategy()
+        );
+        shardOf(session.getId()).sessions.put(session.getId(), decorated);
+        return decorated;
+    }
+
+    /**
+     * 注销 Session
+     *
+     * @param sessionId Session ID
+     */
+    public void unregister(String sessionId) {
+        shardOf(sessionId).sessions.remove(sessionId);
+    }
+
+    /**
+     * 向本地所有 Session 广播
+     *
+     * <p>
+     * 立即返回，所有分片发送完成后 Future 完成。
+     * 已关闭或发送失败的 Session 交给 {@code onStale} 处理，
+     * 回调在分片线程上执行。
+     * </p>
+     *
+     * @param payload 消息内容
+     * @param onStale 失效 Session 处理
+     * @return 全部分片完成的 Future
+     */
+    public CompletableFuture<Void> broadcast(String payload, Consumer<WebSocketSession> onStale) {
+        EncodedFrames message = new EncodedFrames(payload, codecRegistry);
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[shards.length];
+        for (int i = 0; i < shards.length; i++) {
+            Shard shard = shards[i];
+            futures[i] = CompletableFuture.runAsync(() -> shard.sendAll(message, onStale), shard.executor);
+        }
+        return CompletableFuture.allOf(futures);
+    }
+
+    /**
+     * 本地 Session 数量
+     */
+    public int size() {
+        int total = 0;
+        for (Shard shard : shards) {
+            total += shard.sessions.size();
+        }
+        return total;
+    }
+
+    /**
+     * 获取各分片运行指标
+     */
+    public List<BroadcastShardMetrics> getShardMetrics() {
+        List<BroadcastShardMetrics> list = new ArrayList<>(shards.length);
+        for (Shard shard : shards) {
+            list.add(new BroadcastShardMetrics(
+                    shard.index,
+                    shard.sessions.size(),
+                    shard.sent.sum(),
+                    shard.failed.sum(),
+                    shard.batches.sum(),
+                    shard.lastBatchMicros.get(),
+                    shard.maxBatchMicros.get()
+            ));
+        }
+        return list;
+    }
+
+    /**
+     * 关闭分片线程
+     */
+    @PreDestroy
+    public void shutdown() {
+        for (Shard shard : shards) {
+            shard.executor.shutdown();
+        }
+        for (Shard shard : shards) {
+            try {
+                shard.executor.awaitTermination(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private Shard shardOf(String sessionId) {
+        return shards[(sessionId.hashCode() & Integer.MAX_VALUE) % shards.length];
+    }
+
+    /**
+     * 发送分片
+     */
+    private static final class Shard {
+
+        private final int index;
+        private final ExecutorService executor;
+        private final Map<String, WebSocketSession> sessions = new ConcurrentHashMap<>();
+
+        private final LongAdder sent = new LongAdder();
+        private final LongAdder failed = new LongAdder();
+        private final LongAdder batches = new LongAdder();
+        private final AtomicLong lastBatchMicros = new AtomicLong();
+        private final AtomicLong maxBatchMicros = new AtomicLong();
+
+        private Shard(int index, ExecutorService executor) {
+            this.index = index;
+            this.executor = executor;
+        }
+
+        private void sendAll(EncodedFrames message, Consumer<WebSocketSession> onStale) {
+            long start = System.nanoTime();
+            long ok = 0;
+            long fail = 0;
+
+            for (WebSocketSession session : sessions.values()) {
+                if (!session.isOpen()) {
+                    fail++;
+                    onStale(session, onStale);
+                    continue;
+                }
+                try {
+                    session.sendMessage(message.frameFor(session));
+                    ok++;
+                } catch (Exception e) {
+                    fail++;
+                    log.warn("广播发送失败，sessionId={}, reason={}", session.getId(), e.getMessage());
+                    onStale(session, onStale);
+                }
+            }
+
+            long micros = (System.nanoTime() - start) / 1000;
+            sent.add(ok);
+            failed.add(fail);
+            batches.increment();
+            lastBatchMicros.set(micros);
+            maxBatchMicros.accumulateAndGet(micros, Math::max);
+        }
+
+        private void onStale(WebSocketSession session, Consumer<WebSocketSession> onStale) {
+            sessions.remove(session.getId());
+            if (onStale == null) {
+                return;
+            }
+            try {
+                onStale.accept(session);
+            } catch (Exception e) {
+                log.warn("处理失效 Session 异常，sessionId={}", session.getId(), e);
+            }
+        }
+    }
+
+    /**
+     * 一次广播的编码结果
+     *
+     * <p>
+     * 按编解码器懒加载编码，各分片并行读取。
+     * 二进制帧的负载是带读写位置的 ByteBuffer，每次发送包装一个独立视图。
+     * </p>
+     */
+    private static final class EncodedFrames {
+
+        private final String payload;
+        private final WebSocketCodecRegistry codecRegistry;
+        private final Map<WebSocketMessageCodec, WebSocketMessage<?>> frames = new ConcurrentHashMap<>(4);
+
+        private EncodedFrames(String payload, WebSocketCodecRegistry codecRegistry) {
+            this.payload = payload;
+            this.codecRegistry = codecRegistry;
+        }
+
+        private WebSocketMessage<?> frameFor(WebSocketSession session) {
+            WebSocketMessage<?> frame = frames.computeIfAbsent(codecRegistry.codecFor(session), codec -> codec.encode(payload));
+            if (frame instanceof BinaryMessage binary) {
+                return new BinaryMessage(binary.getPayload().duplicate(), binary.isLast());
+            }
+            return frame;
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package io.github.atengk.service;
+
+import io.github.atengk.util.NodeIdUtil;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * WebSocket 心跳本地累加器
+ *
+ * <p>
+ * 心跳只更新本地内存中的最后活跃时间，
+ * 由定时任务按固定间隔把变化过的 Session 批量写入 Redis ZSet，
+ * 避免每次心跳都在 IO 线程上同步访问 Redis。
+ * </p>
+ *
+ * <p>
+ * 说明：
+ * <ul>
+ *     <li>超时检测直接读取本地时间，精度不受刷新间隔影响</li>
+ *     <li>Redis ZSet 仅用于集群内查看节点心跳状态，最多滞后一个刷新间隔</li>
+ *     <li>每个 Session 复用同一个 AtomicLong，心跳不产生新对象</li>
+ * </ul>
+ * </p>
+ *
+ * @author 孔余
+ * @since 2026-01-30
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class WebSocketHeartbeatAccumulator {
+
+    /**
+     * Redis Key：nodeId -> 心跳 ZSet
+     */
+    private static final String KEY_HEARTBEAT_ZSET = "ws:heartbeat:zset:";
+
+    /**
+     * 单条 ZADD 命令携带的最大成员数
+     */
+    private static final int ZADD_CHUNK_SIZE = 500;
+
+    /**
+     * sessionId -> 最后心跳时间
+     */
+    private final Map<String, AtomicLong> lastSeen = new ConcurrentHashMap<>();
+
+    /**
+     * 自上次刷新以来有心跳的 sessionId
+     */
+    private final Set<String> dirty = ConcurrentHashMap.newKeySet();
+
+    private final StringRedisTemplate redisTemplate;
+
+    /**
+     * 当前节点心跳 ZSet Key
+     */
+    private final String heartbeatKey = KEY_HEARTBEAT_ZSET + NodeIdUtil.getNodeId();
+
+    /**
+     * 记录心跳
+     *
+     * @param sessionId Session ID
+     */
+    public void touch(String sessionId) {
+        long now = System.currentTimeMillis();
+        AtomicLong holder = lastSeen.get(sessionId);
+        if (holder == null) {
+            holder = lastSeen.computeIfAbsent(sessionId, k -> new AtomicLong());
+        }
+        holder.set(now);
+        dirty.add(sessionId);
+    }
+
+    /**
+     * 移除 Session 心跳记录（本地与 Redis）
+     *
+     * @param sessionId Session ID
+     */
+    public void remove(String sessionId) {
+        lastSeen.remove(sessionId);
+        dirty.remove(sessionId);
+        redisTemplate.opsForZSet().remove(heartbeatKey, sessionId);
+    }
+
+    /**
+     * 仅清理本地记录，应用关闭时使用
+     *
+     * @param sessionId Session ID
+     */
+    public void removeLocal(String sessionId) {
+        lastSeen.remove(sessionId);
+        dirty.remove(sessionId);
+    }
+
+    /**
+     * 获取心跳超时的 Session
+     *
+     * @param timeoutMillis 超时时间（毫秒）
+     * @return 超时的 sessionId 集合
+     */
+    public Set<String> findExpired(long timeoutMillis) {
+        long deadline = System.currentTimeMillis() - timeoutMillis;
+        Set<String> expired = new HashSet<>();
+        lastSeen.forEach((sessionId, time) -> {
+            if (time.get() <= deadline) {
+                expired.add(sessionId);
+            }
+        });
+        return expired;
+    }
+
+    /**
+     * 将变化过的心跳批量写入 Redis
+     *
+     * @return 本次写入的 Session 数量
+     */
+    public int flush() {
+        if (dirty.isEmpty()) {
+            return 0;
+        }
+
+        List<Set<ZSetOperations.TypedTuple<String>>> chunks = new ArrayList<>();
+        Set<ZSetOperations.TypedTuple<String>> chunk = new HashSet<>();
+        int total = 0;
+
+        Iterator<String> it = dirty.iterator();
+        while (it.hasNext()) {
+            String sessionId = it.next();
+            it.remove();
+            AtomicLong time = lastSeen.get(sessionId);
+            if (time == null) {
+                continue;
+            }
+            chunk.add(ZSetOperations.TypedTuple.of(sessionId, (double) time.get()));
+            total++;
+            if (chunk.size() >= ZADD_CHUNK_SIZE) {
+                chunks.add(chunk);
+                chunk = new HashSet<>();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            chunks.add(chunk);
+        }
+        if (chunks.isEmpty()) {
+            return 0;
+        }
+
+        redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public Object execute(RedisOperations operations) throws DataAccessException {
+                for (Set<ZSetOperations.TypedTuple<String>> tuples : chunks) {
+                    operations.opsForZSet().add(heartbeatKey, tuples);
+                }
+                return null;
+            }
+        });
+
+        // 刷新期间被移除的 Session，补偿删除，避免残留
+        for (Set<ZSetOperations.TypedTuple<String>> tuples : chunks) {
+            for (ZSetOperations.TypedTuple<String> tuple : tuples) {
+                if (!lastSeen.containsKey(tuple.getValue())) {
+                    redisTemplate.opsForZSet().remove(heartbeatKey, tuple.getValue());
+                }
+            }
+        }
+
+        log.debug("心跳批量写入 Redis，nodeId={}, count={}", NodeIdUtil.getNodeId(), total);
+        return total;
+    }
+
+    /**
+     * 本地记录的 Session 数量
+     */
+    public int size() {
+        return lastSeen.size();
+    }
+}
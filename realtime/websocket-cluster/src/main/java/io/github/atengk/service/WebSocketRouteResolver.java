@@ -0,0 +1,319 @@
+package io.github.atengk.service;
+
+import io.github.atengk.config.WebSocketProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * WebSocket 用户节点路由解析器
+ *
+ * <p>
+ * 维护 Redis 中 userId -> (sessionId -> nodeId) 的索引，
+ * 将目标用户解析为所在节点，用于定向投递跨节点消息。
+ * </p>
+ *
+ * <p>
+ * 说明：
+ * <ul>
+ *     <li>解析结果在本地缓存，时间由 websocket.route-cache-ttl 控制，离线（无路由）结果不缓存</li>
+ *     <li>任一节点绑定 / 解绑 Session 时通过 Redis Pub/Sub 通知所有节点失效对应用户的缓存</li>
+ *     <li>节点定期续期存活时间，超时节点上的路由不再使用，并在解析时从 Redis 清理</li>
+ *     <li>缓存未命中的用户通过 Pipeline 一次性从 Redis 读取</li>
+ * </ul>
+ * </p>
+ *
+ * @author 孔余
+ * @since 2026-01-30
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class WebSocketRouteResolver implements MessageListener {
+
+    /**
+     * Redis 频道：路由缓存失效通知
+     */
+    public static final String CHANNEL_ROUTE_INVALIDATE = "ws:route:invalidate";
+
+    /**
+     * Redis Key：userId -> Hash(sessionId -> nodeId)
+     */
+    private static final String KEY_USER_NODE = "ws:user:node:";
+
+    /**
+     * Redis Key：ZSet(nodeId -> 最近一次存活续期时间戳)
+     */
+    private static final String KEY_ROUTE_NODES = "ws:route:nodes";
+
+    /**
+     * 失效通知前缀：用户 / 节点
+     */
+    private static final String INVALIDATE_USER = "u:";
+    private static final String INVALIDATE_NODE = "n:";
+
+    /**
+     * 本地缓存超过该数量时清理过期条目
+     */
+    private static final int CACHE_CLEANUP_THRESHOLD = 100_000;
+
+    /**
+     * 超过存活超时该倍数的节点记录直接删除
+     */
+    private static final int DEAD_NODE_PURGE_FACTOR = 10;
+
+    /**
+     * 本地缓存（userId -> 所在节点）
+     */
+    private final Map<String, CachedRoute> cache = new ConcurrentHashMap<>();
+
+    private final WebSocketProperties webSocketProperties;
+    private final StringRedisTemplate redisTemplate;
+
+    /**
+     * 存活节点本地缓存
+     */
+    private volatile AliveNodes aliveNodes = new AliveNodes(Collections.emptySet(), 0);
+
+    /**
+     * 记录用户 Session 所在节点
+     *
+     * @param userId    用户ID
+     * @param sessionId Session ID
+     * @param nodeId    节点ID
+     */
+    public void bind(String userId, String sessionId, String nodeId) {
+        redisTemplate.opsForHash().put(KEY_USER_NODE + userId, sessionId, nodeId);
+        publishInvalidate(INVALIDATE_USER + userId);
+    }
+
+    /**
+     * 移除用户 Session 所在节点记录
+     *
+     * @param userId    用户ID
+     * @param sessionId Session ID
+     */
+    public void unbind(String userId, String sessionId) {
+        redisTemplate.opsForHash().delete(KEY_USER_NODE + userId, sessionId);
+        publishInvalidate(INVALIDATE_USER + userId);
+    }
+
+    /**
+     * 节点存活续期
+     *
+     * @param nodeId 节点ID
+     */
+    public void heartbeat(String nodeId) {
+        redisTemplate.opsForZSet().add(KEY_ROUTE_NODES, nodeId, System.currentTimeMillis());
+    }
+
+    /**
+     * 节点下线：移除本节点全部用户路由与存活记录，并通知其他节点
+     *
+     * @param nodeId       节点ID
+     * @param userSessions 本节点 userId -> sessionId 集合
+     */
+    public void nodeDown(String nodeId, Map<String, Set<String>> userSessions) {
+        if (!userSessions.isEmpty()) {
+            redisTemplate.executePipelined(new SessionCallback<Object>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public Object execute(RedisOperations operations) throws DataAccessException {
+                    userSessions.forEach((userId, sessionIds) -> {
+                        if (!sessionIds.isEmpty()) {
+                            operations.opsForHash().delete(KEY_USER_NODE + userId, sessionIds.toArray());
+                        }
+                    });
+                    return null;
+                }
+            });
+        }
+        redisTemplate.opsForZSet().remove(KEY_ROUTE_NODES, nodeId);
+        publishInvalidate(INVALIDATE_NODE + nodeId);
+    }
+
+    /**
+     * 接收路由失效通知（包括本节点自己发出的）
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        if (body.startsWith(INVALIDATE_USER)) {
+            cache.remove(body.substring(INVALIDATE_USER.length()));
+        } else if (body.startsWith(INVALIDATE_NODE)) {
+            String nodeId = body.substring(INVALIDATE_NODE.length());
+            cache.values().removeIf(route -> route.nodes.contains(nodeId));
+            aliveNodes = new AliveNodes(aliveNodes.nodes, 0);
+        }
+    }
+
+    /**
+     * 将目标用户按所在节点分组
+     *
+     * @param userIds 目标用户
+     * @return nodeId -> 该节点上的目标用户，离线用户不出现在结果中
+     */
+    public Map<String, Set<String>> resolve(Collection<String> userIds) {
+        Map<String, Set<String>> byNode = new HashMap<>();
+        List<String> misses = new ArrayList<>();
+        long now = System.currentTimeMillis();
+
+        for (String userId : userIds) {
+            CachedRoute route = cache.get(userId);
+            if (route == null || route.expireAt < now) {
+                misses.add(userId);
+                continue;
+            }
+            group(byNode, userId, route.nodes);
+        }
+
+        if (misses.isEmpty()) {
+            return byNode;
+        }
+
+        List<Object> results = redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public Object execute(RedisOperations operations) throws DataAccessException {
+                for (String userId : misses) {
+                    operations.opsForHash().entries(KEY_USER_NODE + userId);
+                }
+                return null;
+            }
+        });
+
+        if (cache.size() > CACHE_CLEANUP_THRESHOLD) {
+            cache.values().removeIf(route -> route.expireAt < now);
+        }
+
+        List<Map<?, ?>> routes = new ArrayList<>(misses.size());
+        boolean unknownNode = false;
+        Set<String> alive = aliveNodes(now, false);
+        for (int i = 0; i < misses.size(); i++) {
+            Object result = i < results.size() ? results.get(i) : null;
+            Map<?, ?> entries = result instanceof Map<?, ?> map ? map : Collections.emptyMap();
+            routes.add(entries);
+            for (Object node : entries.values()) {
+                unknownNode |= !alive.contains(String.valueOf(node));
+            }
+        }
+        if (unknownNode) {
+            // 本地存活节点缓存可能早于新节点上线，删除路由前重新读取
+            alive = aliveNodes(now, true);
+        }
+
+        Map<String, List<Object>> staleSessions = new HashMap<>();
+        long expireAt = now + webSocketProperties.getRouteCacheTtl().toMillis();
+        for (int i = 0; i < misses.size(); i++) {
+            String userId = misses.get(i);
+            Set<String> nodes = new HashSet<>();
+            for (Map.Entry<?, ?> entry : routes.get(i).entrySet()) {
+                String node = String.valueOf(entry.getValue());
+                if (alive.contains(node)) {
+                    nodes.add(node);
+                } else {
+                    staleSessions.computeIfAbsent(userId, k -> new ArrayList<>()).add(entry.getKey());
+                }
+            }
+            // 离线结果不缓存：用户随后在其他节点上线时不会因缓存而丢消息
+            if (!nodes.isEmpty()) {
+                cache.put(userId, new CachedRoute(nodes, expireAt));
+                group(byNode, userId, nodes);
+            }
+        }
+
+        if (!staleSessions.isEmpty()) {
+            removeStaleSessions(staleSessions);
+        }
+
+        return byNode;
+    }
+
+    /**
+     * 获取存活节点，本地缓存时间与路由缓存一致
+     *
+     * @param force 是否忽略本地缓存
+     */
+    private Set<String> aliveNodes(long now, boolean force) {
+        AliveNodes current = aliveNodes;
+        if (!force && current.expireAt >= now) {
+            return current.nodes;
+        }
+
+        long ttl = webSocketProperties.getRouteNodeTtl().toMillis();
+        redisTemplate.opsForZSet().removeRangeByScore(KEY_ROUTE_NODES, 0, now - ttl * DEAD_NODE_PURGE_FACTOR);
+        Set<String> nodes = redisTemplate.opsForZSet().rangeByScore(KEY_ROUTE_NODES, now - ttl, Double.MAX_VALUE);
+
+        current = new AliveNodes(nodes == null ? Collections.emptySet() : nodes,
+                now + webSocketProperties.getRouteCacheTtl().toMillis());
+        aliveNodes = current;
+        return current.nodes;
+    }
+
+    /**
+     * 删除指向已宕机节点的路由（节点崩溃时未能自行清理）
+     */
+    private void removeStaleSessions(Map<String, List<Object>> staleSessions) {
+        try {
+            redisTemplate.executePipelined(new SessionCallback<Object>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public Object execute(RedisOperations operations) throws DataAccessException {
+                    staleSessions.forEach((userId, sessionIds) ->
+                            operations.opsForHash().delete(KEY_USER_NODE + userId, sessionIds.toArray()));
+                    return null;
+                }
+            });
+            log.info("清理宕机节点上的用户路由，userCount={}", staleSessions.size());
+        } catch (Exception e) {
+            log.warn("清理宕机节点路由失败", e);
+        }
+    }
+
+    private void publishInvalidate(String body) {
+        if (body.startsWith(INVALIDATE_USER)) {
+            cache.remove(body.substring(INVALIDATE_USER.length()));
+        }
+        try {
+            redisTemplate.convertAndSend(CHANNEL_ROUTE_INVALIDATE, body);
+        } catch (Exception e) {
+            // 通知失败时其他节点最多使用 route-cache-ttl 时长的旧路由
+            log.warn("发布路由失效通知失败，body={}", body, e);
+        }
+    }
+
+    private static void group(Map<String, Set<String>> byNode, String userId, Set<String> nodes) {
+        for (String node : nodes) {
+            byNode.computeIfAbsent(node, k -> new HashSet<>()).add(userId);
+        }
+    }
+
+    /**
+     * 缓存的用户所在节点
+     */
+    private record CachedRoute(Set<String> nodes, long expireAt) {
+    }
+
+    /**
+     * 缓存的存活节点
+     */
+    private record AliveNodes(Set<String> nodes, long expireAt) {
+    }
+}
@@ -1,12 +1,18 @@
 package io.github.atengk.service;
 
-import com.alibaba.fastjson2.JSONObject;
+import io.github.atengk.codec.WebSocketCodecRegistry;
 import io.github.atengk.config.WebSocketProperties;
+import io.github.atengk.constants.WebSocketBizCodeConstants;
 import io.github.atengk.constants.WebSocketMqConstants;
+import io.github.atengk.entity.BizHandlerMetrics;
+import io.github.atengk.entity.BroadcastShardMetrics;
 import io.github.atengk.entity.WebSocketBroadcastMessage;
 import io.github.atengk.entity.WebSocketMessage;
+import io.github.atengk.enums.WebSocketDispatchResult;
 import io.github.atengk.enums.WebSocketMessageType;
+import io.github.atengk.enums.WebSocketRoutingMode;
 import io.github.atengk.util.NodeIdUtil;
+import jakarta.annotation.PostConstruct;
 import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -15,15 +21,17 @@ import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.web.socket.CloseStatus;
-import org.springframework.web.socket.TextMessage;
 import org.springframework.web.socket.WebSocketSession;
 
 import java.io.IOException;
 import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * WebSocket 核心服务类（支持集群）
@@ -70,11 +78,6 @@ public class WebSocketService {
      */
     private static final String KEY_NODE_SESSIONS = "ws:node:sessions:";
 
-    /**
-     * Redis Key：nodeId -> 心跳 ZSet
-     */
-    private static final String KEY_HEARTBEAT_ZSET = "ws:heartbeat:zset:";
-
     /**
      * 本地 Session 缓存（sessionId -> WebSocketSession）
      */
@@ -87,6 +90,10 @@ public class WebSocketService {
 
     private final WebSocketProperties webSocketProperties;
     private final WebSocketBizDispatcher bizDispatcher;
+    private final WebSocketBroadcastEngine broadcastEngine;
+    private final WebSocketHeartbeatAccumulator heartbeatAccumulator;
+    private final WebSocketRouteResolver routeResolver;
+    private final WebSocketCodecRegistry codecRegistry;
     private final RabbitTemplate rabbitTemplate;
     private final StringRedisTemplate redisTemplate;
 
@@ -95,18 +102,54 @@ public class WebSocketService {
      */
     private final String nodeId = NodeIdUtil.getNodeId();
 
+    /**
+     * 跨节点消息中实际投递到本地 Session 的次数
+     */
+    private final LongAdder deliveredCount = new LongAdder();
+
+    /**
+     * 跨节点消息中目标用户不在本节点的次数
+     */
+    private final LongAdder droppedNotLocalCount = new LongAdder();
+
+    /**
+     * 定向推送发布到 MQ 的消息数
+     */
+    private final LongAdder publishedCount = new LongAdder();
+
     /**
      * 应用是否正在关闭标识
      */
     private static final AtomicBoolean SHUTTING_DOWN = new AtomicBoolean(false);
 
     /**
-     * 应用关闭前标记状态
+     * 启动时登记节点存活，保证本节点用户路由在首次续期前可用
+     */
+    @PostConstruct
+    public void onStartup() {
+        routeResolver.heartbeat(nodeId);
+    }
+
+    /**
+     * 应用关闭前标记状态，并清理本节点的用户路由
      */
     @PreDestroy
     public void onShutdown() {
         SHUTTING_DOWN.set(true);
         log.info("WebSocketService 正在关闭，nodeId={}", nodeId);
+
+        try {
+            routeResolver.nodeDown(nodeId, USER_SESSION_MAP);
+        } catch (Exception e) {
+            log.warn("清理本节点用户路由失败，nodeId={}", nodeId, e);
+        }
+    }
+
+    /**
+     * 节点存活续期
+     */
+    public void refreshNodeAlive() {
+        routeResolver.heartbeat(nodeId);
     }
 
     /**
@@ -133,7 +176,8 @@ public class WebSocketService {
                 nodeId, userId, sessionId
         );
 
-        SESSION_MAP.put(sessionId, session);
+        // 统一使用并发安全的包装 Session，广播分片与业务线程可同时发送
+        SESSION_MAP.put(sessionId, broadcastEngine.register(session));
         USER_SESSION_MAP
                 .computeIfAbsent(userId, k -> ConcurrentHashMap.newKeySet())
                 .add(sessionId);
@@ -142,11 +186,8 @@ public class WebSocketService {
         redisTemplate.opsForHash().put(KEY_SESSION_USER, sessionId, userId);
         redisTemplate.opsForHash().put(KEY_SESSION_NODE, sessionId, nodeId);
         redisTemplate.opsForSet().add(KEY_NODE_SESSIONS + nodeId, sessionId);
-        redisTemplate.opsForZSet().add(
-                KEY_HEARTBEAT_ZSET + nodeId,
-                sessionId,
-                System.currentTimeMillis()
-        );
+        heartbeatAccumulator.touch(sessionId);
+        routeResolver.bind(userId, sessionId, nodeId);
     }
 
     /**
@@ -161,8 +202,10 @@ public class WebSocketService {
 
         String sessionId = session.getId();
         SESSION_MAP.remove(sessionId);
+        broadcastEngine.unregister(sessionId);
 
         if (SHUTTING_DOWN.get()) {
+            heartbeatAccumulator.removeLocal(sessionId);
             USER_SESSION_MAP.values().forEach(set -> set.remove(sessionId));
             return;
         }
@@ -172,9 +215,10 @@ public class WebSocketService {
         redisTemplate.opsForHash().delete(KEY_SESSION_USER, sessionId);
         redisTemplate.opsForHash().delete(KEY_SESSION_NODE, sessionId);
         redisTemplate.opsForSet().remove(KEY_NODE_SESSIONS + nodeId, sessionId);
-        redisTemplate.opsForZSet().remove(KEY_HEARTBEAT_ZSET + nodeId, sessionId);
+        heartbeatAccumulator.remove(sessionId);
 
         if (userId != null) {
+            routeResolver.unbind(userId.toString(), sessionId);
             Set<String> sessions = USER_SESSION_MAP.get(userId.toString());
             if (sessions != null) {
                 sessions.remove(sessionId);
@@ -194,22 +238,21 @@ public class WebSocketService {
     /**
      * 处理心跳消息
      *
+     * <p>
+     * 只更新本地心跳时间，由定时任务批量写入 Redis。
+     * </p>
+     *
      * @param session WebSocket Session
      */
     public void handleHeartbeat(WebSocketSession session) {
-        redisTemplate.opsForZSet().add(
-                KEY_HEARTBEAT_ZSET + nodeId,
-                session.getId(),
-                System.currentTimeMillis()
-        );
+        heartbeatAccumulator.touch(session.getId());
+
+        WebSocketSession target = SESSION_MAP.getOrDefault(session.getId(), session);
 
         try {
-            if (session.isOpen()) {
-                WebSocketMessage msg = new WebSocketMessage();
-                msg.setType(WebSocketMessageType.HEARTBEAT_ACK.getCode());
-                session.sendMessage(
-                        new TextMessage(JSONObject.toJSONString(msg))
-                );
+            if (target.isOpen()) {
+                // 预编码的心跳响应，按连接协商的编解码器返回
+                target.sendMessage(codecRegistry.codecFor(target).heartbeatAck());
             }
         } catch (Exception e) {
             log.warn(
@@ -223,16 +266,17 @@ public class WebSocketService {
 
     /**
      * 检测心跳超时 Session
+     *
+     * <p>
+     * 直接读取本地心跳时间，不访问 Redis。
+     * </p>
      */
     public void checkHeartbeatTimeout() {
-        long now = System.currentTimeMillis();
         long timeoutMillis = webSocketProperties.getHeartbeatTimeout().toMillis();
-        String heartbeatKey = KEY_HEARTBEAT_ZSET + nodeId;
 
-        Set<String> timeoutSessionIds = redisTemplate.opsForZSet()
-                .rangeByScore(heartbeatKey, 0, now - timeoutMillis);
+        Set<String> timeoutSessionIds = heartbeatAccumulator.findExpired(timeoutMillis);
 
-        if (timeoutSessionIds == null || timeoutSessionIds.isEmpty()) {
+        if (timeoutSessionIds.isEmpty()) {
             return;
         }
 
@@ -259,7 +303,35 @@ public class WebSocketService {
         }
 
         try {
-            session.sendMessage(new TextMessage(message));
+            session.sendMessage(codecRegistry.codecFor(session).encode(message));
+        } catch (IOException e) {
+            log.warn(
+                    "发送消息失败，sessionId={}",
+                    sessionId,
+                    e
+            );
+            closeSession(sessionId, CloseStatus.SERVER_ERROR);
+        }
+    }
+
+    /**
+     * 向指定 Session 发送消息实体
+     *
+     * <p>
+     * 按该连接协商的编解码器编码（JSON 文本帧或二进制帧）。
+     * </p>
+     */
+    public void sendToSession(String sessionId, WebSocketMessage message) {
+        WebSocketSession session = SESSION_MAP.get(sessionId);
+        if (session == null || !session.isOpen()) {
+            if (session != null) {
+                removeSession(session);
+            }
+            return;
+        }
+
+        try {
+            session.sendMessage(codecRegistry.codecFor(session).encode(message));
         } catch (IOException e) {
             log.warn(
                     "发送消息失败，sessionId={}",
@@ -284,17 +356,22 @@ public class WebSocketService {
 
     /**
      * 本地向多个用户发送消息
+     *
+     * @return 本节点不存在的用户数量
      */
-    private void sendToUsersLocal(Set<String> userIds, String message) {
+    private int sendToUsersLocal(Set<String> userIds, String message) {
+        int notLocal = 0;
         for (String userId : userIds) {
             Set<String> sessionIds = USER_SESSION_MAP.get(userId);
             if (sessionIds == null || sessionIds.isEmpty()) {
+                notLocal++;
                 continue;
             }
             for (String sessionId : Set.copyOf(sessionIds)) {
                 sendToSession(sessionId, message);
             }
         }
+        return notLocal;
     }
 
     /**
@@ -305,6 +382,11 @@ public class WebSocketService {
             return;
         }
 
+        if (webSocketProperties.getRoutingMode() == WebSocketRoutingMode.TARGETED) {
+            sendToUsersTargeted(userIds, message);
+            return;
+        }
+
         sendToUsersLocal(userIds, message);
 
         rabbitTemplate.convertAndSend(
@@ -312,6 +394,33 @@ public class WebSocketService {
                 WebSocketMqConstants.ROUTING_KEY,
                 new WebSocketBroadcastMessage(nodeId, message, userIds)
         );
+        publishedCount.increment();
+    }
+
+    /**
+     * 按用户所在节点定向投递
+     *
+     * <p>
+     * 本节点用户直接发送，其他节点按 {@code ws.node.{nodeId}} 路由键
+     * 各发布一条只包含该节点用户的消息，离线用户不产生 MQ 流量。
+     * </p>
+     */
+    private void sendToUsersTargeted(Set<String> userIds, String message) {
+        Map<String, Set<String>> byNode = routeResolver.resolve(userIds);
+
+        Set<String> localUsers = byNode.remove(nodeId);
+        if (localUsers != null) {
+            sendToUsersLocal(localUsers, message);
+        }
+
+        byNode.forEach((targetNode, users) -> {
+            rabbitTemplate.convertAndSend(
+                    WebSocketMqConstants.EXCHANGE_WS_BROADCAST,
+                    WebSocketMqConstants.ROUTING_KEY_NODE_PREFIX + targetNode,
+                    new WebSocketBroadcastMessage(nodeId, message, users)
+            );
+            publishedCount.increment();
+        });
     }
 
     /**
@@ -341,24 +450,45 @@ public class WebSocketService {
             return;
         }
 
-        sendToUsersLocal(message.getTargetUsers(), message.getPayload());
+        // 发送方路由缓存由 Session 绑定 / 解绑时的失效通知维护
+        Set<String> targetUsers = message.getTargetUsers();
+        int notLocal = sendToUsersLocal(targetUsers, message.getPayload());
+        deliveredCount.add(targetUsers.size() - notLocal);
+        droppedNotLocalCount.add(notLocal);
+    }
+
+    /**
+     * 获取跨节点路由指标
+     *
+     * @return delivered：投递到本地的用户数；droppedNotLocal：不在本节点的用户数；published：发布的 MQ 消息数
+     */
+    public Map<String, Long> getRoutingMetrics() {
+        Map<String, Long> metrics = new LinkedHashMap<>();
+        metrics.put("delivered", deliveredCount.sum());
+        metrics.put("droppedNotLocal", droppedNotLocalCount.sum());
+        metrics.put("published", publishedCount.sum());
+        return metrics;
     }
 
     /**
      * 本地广播消息
+     *
+     * <p>
+     * 交给广播引擎分片并行发送，调用方不等待发送完成。
+     * </p>
      */
     private void broadcastLocal(String message) {
-        SESSION_MAP.values().forEach(session -> {
-            if (!session.isOpen()) {
-                removeSession(session);
-                return;
-            }
-            try {
-                session.sendMessage(new TextMessage(message));
-            } catch (IOException e) {
-                closeSession(session.getId(), CloseStatus.SERVER_ERROR);
-            }
-        });
+        broadcastEngine.broadcast(
+                message,
+                session -> closeSession(session.getId(), CloseStatus.SERVER_ERROR)
+        );
+    }
+
+    /**
+     * 获取当前节点广播分片指标
+     */
+    public List<BroadcastShardMetrics> getBroadcastMetrics() {
+        return broadcastEngine.getShardMetrics();
     }
 
     /**
@@ -401,9 +531,62 @@ public class WebSocketService {
 
     /**
      * 分发业务消息
+     *
+     * <p>
+     * 处理器拿到的是并发安全的 Session，可在异步线程中直接发送；
+     * 执行器繁忙时向客户端回复 SYSTEM_BUSY，由客户端稍后重试。
+     * </p>
      */
     public void handleBizMessage(WebSocketSession session, WebSocketMessage message) {
-        bizDispatcher.dispatch(session, message.getCode(), message);
+        WebSocketSession target = SESSION_MAP.getOrDefault(session.getId(), session);
+
+        WebSocketDispatchResult result = bizDispatcher.dispatch(target, message.getCode(), message);
+
+        if (result == WebSocketDispatchResult.NOT_FOUND) {
+            log.warn(
+                    "未找到对应的 BizHandler，sessionId：{}，code：{}",
+                    session.getId(),
+                    message.getCode()
+            );
+        } else if (result == WebSocketDispatchResult.REJECTED) {
+            log.warn(
+                    "业务处理器繁忙，拒绝消息，sessionId：{}，code：{}",
+                    session.getId(),
+                    message.getCode()
+            );
+            sendToSession(session.getId(), buildBusyReply(message.getCode()));
+        }
+    }
+
+    /**
+     * 获取各业务处理器运行指标
+     */
+    public List<BizHandlerMetrics> getBizMetrics() {
+        return bizDispatcher.getMetrics();
+    }
+
+    /**
+     * 构建繁忙回复消息
+     *
+     * @param bizCode 被拒绝的业务编码
+     */
+    private WebSocketMessage buildBusyReply(String bizCode) {
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("bizCode", bizCode);
+        data.put("message", "服务繁忙，请稍后重试");
+
+        WebSocketMessage reply = new WebSocketMessage();
+        reply.setType(WebSocketMessageType.BIZ.getCode());
+        reply.setCode(WebSocketBizCodeConstants.SYSTEM_BUSY);
+        reply.setData(data);
+        return reply;
+    }
+
+    /**
+     * 批量写入本地累积的心跳
+     */
+    public void flushHeartbeats() {
+        heartbeatAccumulator.flush();
     }
 
     /**
@@ -7,6 +7,8 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 import org.springframework.web.socket.WebSocketSession;
 
+import java.util.Set;
+
 /**
  * 聊天消息发送业务处理器
  *
@@ -33,6 +35,16 @@ public class ChatSendBizHandler implements WebSocketBizHandler {
         return WebSocketBizCode.CHAT_SEND.getCode().equals(bizCode);
     }
 
+    /**
+     * 声明负责的业务编码
+     *
+     * @return 聊天发送业务编码
+     */
+    @Override
+    public Set<String> bizCodes() {
+        return Set.of(WebSocketBizCode.CHAT_SEND.getCode());
+    }
+
     /**
      * 处理聊天发送业务消息
      *
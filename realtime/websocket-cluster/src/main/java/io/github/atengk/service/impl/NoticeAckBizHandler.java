@@ -7,6 +7,8 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 import org.springframework.web.socket.WebSocketSession;
 
+import java.util.Set;
+
 /**
  * 通知确认业务处理器
  *
@@ -33,6 +35,16 @@ public class NoticeAckBizHandler implements WebSocketBizHandler {
         return WebSocketBizCode.NOTICE_ACK.getCode().equals(bizCode);
     }
 
+    /**
+     * 声明负责的业务编码
+     *
+     * @return 通知确认业务编码
+     */
+    @Override
+    public Set<String> bizCodes() {
+        return Set.of(WebSocketBizCode.NOTICE_ACK.getCode());
+    }
+
     /**
      * 处理通知确认业务消息
      *
@@ -7,6 +7,8 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 import org.springframework.web.socket.WebSocketSession;
 
+import java.util.Set;
+
 /**
  * 订单创建业务处理器
  *
@@ -33,6 +35,16 @@ public class OrderCreateBizHandler implements WebSocketBizHandler {
         return WebSocketBizCodeConstants.ORDER_CREATE.equals(bizCode);
     }
 
+    /**
+     * 声明负责的业务编码
+     *
+     * @return 订单创建业务编码
+     */
+    @Override
+    public Set<String> bizCodes() {
+        return Set.of(WebSocketBizCodeConstants.ORDER_CREATE);
+    }
+
     /**
      * 处理订单创建业务消息
      *
@@ -0,0 +1,201 @@
+package io.github.atengk;
+
+import io.github.atengk.codec.BinaryWebSocketMessageCodec;
+import io.github.atengk.codec.JsonWebSocketMessageCodec;
+import io.github.atengk.codec.WebSocketCodecRegistry;
+import io.github.atengk.config.WebSocketProperties;
+import io.github.atengk.entity.BroadcastShardMetrics;
+import io.github.atengk.service.WebSocketBroadcastEngine;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketExtension;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.security.Principal;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 广播引擎压测
+ *
+ * <p>
+ * 使用进程内 Mock Session，统计 10k / 50k / 100k Session 下
+ * 一次广播全部发送完成的 p50 / p99 耗时，其中 0.1% 为慢客户端。
+ * </p>
+ */
+public class WebSocketBroadcastLoadTests {
+
+    private static final int ROUNDS = 50;
+
+    @Test
+    void broadcastLatency() throws Exception {
+        for (int sessions : new int[]{10_000, 50_000, 100_000}) {
+            run(sessions);
+        }
+    }
+
+    private void run(int sessionCount) throws Exception {
+        WebSocketProperties properties = new WebSocketProperties();
+        properties.setSendTimeLimit(Duration.ofSeconds(1));
+        properties.setSendBufferSizeLimit(64 * 1024);
+
+        JsonWebSocketMessageCodec jsonCodec = new JsonWebSocketMessageCodec();
+        WebSocketCodecRegistry codecRegistry = new WebSocketCodecRegistry(
+                List.of(jsonCodec, new BinaryWebSocketMessageCodec()), jsonCodec);
+        WebSocketBroadcastEngine engine = new WebSocketBroadcastEngine(properties, codecRegistry);
+        LongAdder delivered = new LongAdder();
+
+        for (int i = 0; i < sessionCount; i++) {
+            // 每 1000 个 Session 中有 1 个慢客户端
+            long delayMillis = i % 1000 == 0 ? 20 : 0;
+            engine.register(new MockSession("s-" + i, delayMillis, delivered));
+        }
+
+        String payload = "{\"type\":\"BIZ\",\"code\":\"NOTICE\",\"data\":\"" + "x".repeat(200) + "\"}";
+
+        // 预热
+        engine.broadcast(payload, null).get(30, TimeUnit.SECONDS);
+
+        long[] costs = new long[ROUNDS];
+        for (int i = 0; i < ROUNDS; i++) {
+            long start = System.nanoTime();
+            engine.broadcast(payload, null).get(30, TimeUnit.SECONDS);
+            costs[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(costs);
+
+        long sent = 0;
+        long failed = 0;
+        for (BroadcastShardMetrics m : engine.getShardMetrics()) {
+            sent += m.getSent();
+            failed += m.getFailed();
+        }
+
+        System.out.printf("sessions=%d, p50=%.2fms, p99=%.2fms, max=%.2fms, sent=%d, failed=%d, delivered=%d%n",
+                sessionCount,
+                costs[ROUNDS / 2] / 1e6,
+                costs[(int) Math.ceil(ROUNDS * 0.99) - 1] / 1e6,
+                costs[ROUNDS - 1] / 1e6,
+                sent,
+                failed,
+                delivered.sum());
+
+        engine.shutdown();
+    }
+
+    /**
+     * 进程内 Mock Session
+     */
+    private static final class MockSession implements WebSocketSession {
+
+        private final String id;
+        private final long delayMillis;
+        private final LongAdder delivered;
+        private volatile boolean open = true;
+
+        private MockSession(String id, long delayMillis, LongAdder delivered) {
+            this.id = id;
+            this.delayMillis = delayMillis;
+            this.delivered = delivered;
+        }
+
+        @Override
+        public void sendMessage(WebSocketMessage<?> message) {
+            if (delayMillis > 0) {
+                try {
+                    TimeUnit.MILLISECONDS.sleep(delayMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            delivered.increment();
+        }
+
+        @Override
+        public String getId() {
+            return id;
+        }
+
+        @Override
+        public URI getUri() {
+            return null;
+        }
+
+        @Override
+        public HttpHeaders getHandshakeHeaders() {
+            return HttpHeaders.EMPTY;
+        }
+
+        @Override
+        public Map<String, Object> getAttributes() {
+            return Collections.emptyMap();
+        }
+
+        @Override
+        public Principal getPrincipal() {
+            return null;
+        }
+
+        @Override
+        public InetSocketAddress getLocalAddress() {
+            return null;
+        }
+
+        @Override
+        public InetSocketAddress getRemoteAddress() {
+            return null;
+        }
+
+        @Override
+        public String getAcceptedProtocol() {
+            return null;
+        }
+
+        @Override
+        public void setTextMessageSizeLimit(int messageSizeLimit) {
+        }
+
+        @Override
+        public int getTextMessageSizeLimit() {
+            return 0;
+        }
+
+        @Override
+        public void setBinaryMessageSizeLimit(int messageSizeLimit) {
+        }
+
+        @Override
+        public int getBinaryMessageSizeLimit() {
+            return 0;
+        }
+
+        @Override
+        public List<WebSocketExtension> getExtensions() {
+            return Collections.emptyList();
+        }
+
+        @Override
+        public boolean isOpen() {
+            return open;
+        }
+
+        @Override
+        public void close() {
+            open = false;
+        }
+
+        @Override
+        public void close(CloseStatus status) {
+            open = false;
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package io.github.atengk.codec;
+
+import com.alibaba.fastjson2.JSON;
+import com.alibaba.fastjson2.JSONB;
+import com.alibaba.fastjson2.JSONException;
+import com.alibaba.fastjson2.JSONReader;
+import io.github.atengk.entity.WebSocketMessage;
+import io.github.atengk.enums.WebSocketMessageType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.BinaryMessage;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 紧凑二进制编解码器
+ *
+ * <p>
+ * 客户端握手时声明子协议 {@value #SUB_PROTOCOL} 后使用，帧格式：
+ * <pre>
+ * u8   版本号，固定 1
+ * u8   类型：1=HEARTBEAT 2=HEARTBEAT_ACK 3=BIZ 0=其他（后跟 u8 长度 + UTF-8）
+ * u16  code 长度，0xFFFF 表示 null，后跟 UTF-8
+ * ...  剩余字节为 data 的 JSONB 编码，没有剩余字节表示 null
+ * </pre>
+ * </p>
+ *
+ * <p>
+ * 编码一次性分配精确大小的数组；解码直接在帧的底层数组上读取，不复制负载。
+ * </p>
+ *
+ * @author 孔余
+ * @since 2026-01-30
+ */
+@Component
+public class BinaryWebSocketMessageCodec implements WebSocketMessageCodec {
+
+    /**
+     * 子协议名称
+     */
+    public static final String SUB_PROTOCOL = "ws-bin.v1";
+
+    private static final byte VERSION = 1;
+    private static final byte TYPE_CUSTOM = 0;
+    private static final byte TYPE_HEARTBEAT = 1;
+    private static final byte TYPE_HEARTBEAT_ACK = 2;
+    private static final byte TYPE_BIZ = 3;
+    private static final int NULL_CODE = 0xFFFF;
+
+    /**
+     * 预编码的心跳确认帧（4 字节）
+     */
+    private static final byte[] HEARTBEAT_ACK_BYTES = {VERSION, TYPE_HEARTBEAT_ACK, (byte) 0xFF, (byte) 0xFF};
+
+    @Override
+    public String subProtocol() {
+        return SUB_PROTOCOL;
+    }
+
+    @Override
+    public org.springframework.web.socket.WebSocketMessage<?> encode(WebSocketMessage message) {
+        byte typeId = typeId(message.getType());
+        byte[] customType = typeId == TYPE_CUSTOM && message.getType() != null
+                ? message.getType().getBytes(StandardCharsets.UTF_8)
+                : null;
+        byte[] code = message.getCode() == null ? null : message.getCode().getBytes(StandardCharsets.UTF_8);
+        byte[] data = message.getData() == null ? null : JSONB.toBytes(message.getData());
+
+        if (customType != null && customType.length > 0xFF) {
+            throw new IllegalArgumentException("消息类型过长：" + message.getType());
+        }
+        if (code != null && code.length >= NULL_CODE) {
+            throw new IllegalArgumentException("业务编码过长");
+        }
+
+        int size = 2
+                + (typeId == TYPE_CUSTOM ? 1 + (customType == null ? 0 : customType.length) : 0)
+                + 2 + (code == null ? 0 : code.length)
+                + (data == null ? 0 : data.length);
+
+        ByteBuffer buffer = ByteBuffer.wrap(new byte[size]);
+        buffer.put(VERSION).put(typeId);
+        if (typeId == TYPE_CUSTOM) {
+            buffer.put((byte) (customType == null ? 0 : customType.length));
+            if (customType != null) {
+                buffer.put(customType);
+            }
+        }
+        if (code == null) {
+            buffer.putShort((short) NULL_CODE);
+        } else {
+            buffer.putShort((short) code.length).put(code);
+        }
+        if (data != null) {
+            buffer.put(data);
+        }
+        return new BinaryMessage(buffer.array());
+    }
+
+    @Override
+    public org.springframework.web.socket.WebSocketMessage<?> encode(String payload) {
+        // 推送内容通常是序列化后的 WebSocketMessage，还原后按二进制格式编码；
+        // 其他文本整体作为 data
+        if (JSON.isValidObject(payload)) {
+            return encode(JSON.parseObject(payload, WebSocketMessage.class));
+        }
+        WebSocketMessage message = new WebSocketMessage();
+        message.setData(payload);
+        return encode(message);
+    }
+
+    @Override
+    public WebSocketMessage decode(org.springframework.web.socket.WebSocketMessage<?> frame) {
+        if (!(frame instanceof BinaryMessage binary)) {
+            throw new WebSocketProtocolException("二进制编解码器仅支持二进制帧");
+        }
+
+        ByteBuffer payload = binary.getPayload();
+        byte[] bytes;
+        int pos;
+        int end;
+        if (payload.hasArray()) {
+            bytes = payload.array();
+            pos = payload.arrayOffset() + payload.position();
+            end = payload.arrayOffset() + payload.limit();
+        } else {
+            bytes = new byte[payload.remaining()];
+            payload.duplicate().get(bytes);
+            pos = 0;
+            end = bytes.length;
+        }
+
+        // 所有长度前缀都来自客户端，切片前逐一校验剩余字节
+        if (end - pos < 4 || bytes[pos] != VERSION) {
+            throw new WebSocketProtocolException("无法识别的二进制帧");
+        }
+        pos++;
+
+        WebSocketMessage message = new WebSocketMessage();
+        byte typeId = bytes[pos++];
+        if (typeId == TYPE_CUSTOM) {
+            int len = bytes[pos++] & 0xFF;
+            requireRemaining(end - pos, len + 2, "消息类型");
+            message.setType(new String(bytes, pos, len, StandardCharsets.UTF_8));
+            pos += len;
+        } else {
+            message.setType(typeCode(typeId));
+        }
+
+        int codeLen = ((bytes[pos] & 0xFF) << 8) | (bytes[pos + 1] & 0xFF);
+        pos += 2;
+        if (codeLen != NULL_CODE) {
+            requireRemaining(end - pos, codeLen, "业务编码");
+            message.setCode(new String(bytes, pos, codeLen, StandardCharsets.UTF_8));
+            pos += codeLen;
+        }
+
+        if (pos < end) {
+            try (JSONReader reader = JSONReader.ofJSONB(bytes, pos, end - pos)) {
+                message.setData(reader.readAny());
+            } catch (JSONException e) {
+                throw new WebSocketProtocolException("无法解析的 data", e);
+            }
+        }
+        return message;
+    }
+
+    @Override
+    public org.springframework.web.socket.WebSocketMessage<?> heartbeatAck() {
+        // BinaryMessage 的负载是可读写的 ByteBuffer，每次包装同一个数组的新视图
+        return new BinaryMessage(HEARTBEAT_ACK_BYTES);
+    }
+
+    private static void requireRemaining(int remaining, int required, String field) {
+        if (remaining < required) {
+            throw new WebSocketProtocolException(field + "长度越界，需要 " + required + " 字节，剩余 " + remaining + " 字节");
+        }
+    }
+
+    private static byte typeId(String type) {
+        WebSocketMessageType messageType = WebSocketMessageType.fromCode(type);
+        if (messageType == null) {
+            return TYPE_CUSTOM;
+        }
+        return switch (messageType) {
+            case HEARTBEAT -> TYPE_HEARTBEAT;
+            case HEARTBEAT_ACK -> TYPE_HEARTBEAT_ACK;
+            case BIZ -> TYPE_BIZ;
+        };
+    }
+
+    private static String typeCode(byte typeId) {
+        return switch (typeId) {
+            case TYPE_HEARTBEAT -> WebSocketMessageType.HEARTBEAT.getCode();
+            case TYPE_HEARTBEAT_ACK -> WebSocketMessageType.HEARTBEAT_ACK.getCode();
+            case TYPE_BIZ -> WebSocketMessageType.BIZ.getCode();
+            default -> throw new WebSocketProtocolException("未知的消息类型：" + typeId);
+        };
+    }
+}
@@ -0,0 +1,78 @@
+package io.github.atengk.codec;
+
+import com.alibaba.fastjson2.JSON;
+import com.alibaba.fastjson2.JSONObject;
+import io.github.atengk.entity.WebSocketMessage;
+import io.github.atengk.enums.WebSocketMessageType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.TextMessage;
+
+/**
+ * JSON 文本编解码器
+ *
+ * <p>
+ * 默认编解码器，客户端未声明子协议时使用，
+ * 与原有的 JSON 文本消息格式完全兼容。
+ * 无法解析的帧按原有行为记录日志并丢弃，不关闭连接。
+ * </p>
+ *
+ * @author 孔余
+ * @since 2026-01-30
+ */
+@Component
+public class JsonWebSocketMessageCodec implements WebSocketMessageCodec {
+
+    /**
+     * 子协议名称
+     */
+    public static final String SUB_PROTOCOL = "json";
+
+    /**
+     * 预编码的心跳确认帧
+     */
+    private static final TextMessage HEARTBEAT_ACK = new TextMessage(
+            JSONObject.toJSONString(ack())
+    );
+
+    @Override
+    public String subProtocol() {
+        return SUB_PROTOCOL;
+    }
+
+    @Override
+    public org.springframework.web.socket.WebSocketMessage<?> encode(WebSocketMessage message) {
+        return new TextMessage(JSONObject.toJSONString(message));
+    }
+
+    @Override
+    public org.springframework.web.socket.WebSocketMessage<?> encode(String payload) {
+        return new TextMessage(payload);
+    }
+
+    /**
+     * 解码 JSON 文本帧
+     *
+     * <p>
+     * 解析失败时抛出普通异常而非 {@link WebSocketProtocolException}，
+     * 由调用方记录日志并丢弃该帧，与原有处理方式一致。
+     * </p>
+     */
+    @Override
+    public WebSocketMessage decode(org.springframework.web.socket.WebSocketMessage<?> frame) {
+        if (!(frame instanceof TextMessage text)) {
+            throw new IllegalArgumentException("JSON 编解码器仅支持文本帧");
+        }
+        return JSON.parseObject(text.getPayload(), WebSocketMessage.class);
+    }
+
+    @Override
+    public org.springframework.web.socket.WebSocketMessage<?> heartbeatAck() {
+        return HEARTBEAT_ACK;
+    }
+
+    private static WebSocketMessage ack() {
+        WebSocketMessage message = new WebSocketMessage();
+        message.setType(WebSocketMessageType.HEARTBEAT_ACK.getCode());
+        return message;
+    }
+}
@@ -0,0 +1,58 @@
+package io.github.atengk.codec;
+
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * WebSocket 编解码器注册表
+ *
+ * <p>
+ * 收集所有 {@link WebSocketMessageCodec}，按握手协商出的子协议
+ * 为每个连接选择编解码器，未声明子协议时使用 JSON。
+ * </p>
+ *
+ * @author 孔余
+ * @since 2026-01-30
+ */
+@Component
+public class WebSocketCodecRegistry {
+
+    private final Map<String, WebSocketMessageCodec> codecs = new LinkedHashMap<>();
+    private final WebSocketMessageCodec defaultCodec;
+
+    public WebSocketCodecRegistry(List<WebSocketMessageCodec> codecList,
+                                  JsonWebSocketMessageCodec jsonCodec) {
+        for (WebSocketMessageCodec codec : codecList) {
+            codecs.put(codec.subProtocol(), codec);
+        }
+        this.defaultCodec = jsonCodec;
+    }
+
+    /**
+     * 服务端支持的子协议列表，用于握手协商
+     *
+     * @return 子协议列表
+     */
+    public List<String> getSubProtocols() {
+        return new ArrayList<>(codecs.keySet());
+    }
+
+    /**
+     * 获取连接对应的编解码器
+     *
+     * @param session WebSocket Session
+     * @return 编解码器
+     */
+    public WebSocketMessageCodec codecFor(WebSocketSession session) {
+        String protocol = session.getAcceptedProtocol();
+        if (protocol == null || protocol.isEmpty()) {
+            return defaultCodec;
+        }
+        return codecs.getOrDefault(protocol, defaultCodec);
+    }
+}
@@ -0,0 +1,23 @@
+package io.github.atengk.codec;
+
+/**
+ * WebSocket 协议异常
+ *
+ * <p>
+ * 客户端发送的帧不符合协商的二进制编解码格式时抛出，
+ * 调用方应以 {@link org.springframework.web.socket.CloseStatus#PROTOCOL_ERROR} 关闭连接。
+ * </p>
+ *
+ * @author 孔余
+ * @since 2026-01-30
+ */
+public class WebSocketProtocolException extends IllegalArgumentException {
+
+    public WebSocketProtocolException(String message) {
+        super(message);
+    }
+
+    public WebSocketProtocolException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -1,5 +1,6 @@
 package io.github.atengk.config;
 
+import io.github.atengk.enums.WebSocketBizExecutionMode;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
@@ -8,7 +9,9 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
 
 import java.time.Duration;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * WebSocket 配置属性绑定类
@@ -75,4 +78,46 @@ public class WebSocketProperties {
      */
     @NotNull
     private Long heartbeatCheckInterval;
+
+    /**
+     * 业务处理器默认执行策略
+     *
+     * <p>
+     * 未在 {@link #bizExecution} 中单独配置的业务编码使用该策略，
+     * 默认在接收线程上直接执行，与原有行为一致。
+     * </p>
+     */
+    private BizExecutionPolicy defaultBizExecution = new BizExecutionPolicy();
+
+    /**
+     * 按业务编码配置的执行策略（bizCode -> 策略）
+     */
+    private Map<String, BizExecutionPolicy> bizExecution = new HashMap<>();
+
+    /**
+     * 业务处理器执行策略
+     */
+    @Data
+    public static class BizExecutionPolicy {
+
+        /**
+         * 执行模式
+         */
+        private WebSocketBizExecutionMode mode = WebSocketBizExecutionMode.INLINE;
+
+        /**
+         * 线程数，仅 POOL 模式使用
+         */
+        private Integer threads = 4;
+
+        /**
+         * 排队与执行中的消息上限
+         *
+         * <p>
+         * POOL / VIRTUAL 模式下超过该数量的消息直接拒绝，
+         * 并向客户端回复繁忙消息。
+         * </p>
+         */
+        private Integer queueCapacity = 256;
+    }
 }
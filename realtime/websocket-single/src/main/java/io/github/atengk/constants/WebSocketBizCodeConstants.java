@@ -30,4 +30,9 @@ public final class WebSocketBizCodeConstants {
      * 任务进度通知
      */
     public static final String TASK_PROGRESS = "TASK_PROGRESS";
+
+    /**
+     * 服务繁忙，业务消息被拒绝时回复给客户端
+     */
+    public static final String SYSTEM_BUSY = "SYSTEM_BUSY";
 }
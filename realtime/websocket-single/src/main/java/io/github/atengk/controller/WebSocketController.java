@@ -1,10 +1,12 @@
 package io.github.atengk.controller;
 
+import io.github.atengk.entity.BizHandlerMetrics;
 import io.github.atengk.service.WebSocketService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -50,6 +52,16 @@ public class WebSocketController {
         return webSocketService.getAllConnectionInfo();
     }
 
+    /**
+     * 获取各业务处理器运行指标
+     *
+     * @return 各业务编码的执行模式、排队数、拒绝数与耗时分位数
+     */
+    @GetMapping("/biz/metrics")
+    public List<BizHandlerMetrics> getBizMetrics() {
+        return webSocketService.getBizMetrics();
+    }
+
     /**
      * 向指定用户发送 WebSocket 消息
      *
@@ -0,0 +1,77 @@
+package io.github.atengk.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * WebSocket 业务处理器运行指标
+ *
+ * <p>
+ * 按业务编码独立统计，用于观察慢处理器与执行器饱和情况。
+ * 耗时为处理器执行耗时，不含排队时间，分位数按 2 的幂分桶估算。
+ * </p>
+ *
+ * @author 孔余
+ * @since 2026-01-30
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BizHandlerMetrics {
+
+    /**
+     * 业务编码
+     */
+    private String bizCode;
+
+    /**
+     * 处理器类名
+     */
+    private String handler;
+
+    /**
+     * 执行模式
+     */
+    private String mode;
+
+    /**
+     * 当前排队与执行中的消息数
+     */
+    private int inFlight;
+
+    /**
+     * 允许的最大排队与执行中消息数
+     */
+    private int capacity;
+
+    /**
+     * 累计执行完成次数
+     */
+    private long completed;
+
+    /**
+     * 累计执行异常次数
+     */
+    private long failed;
+
+    /**
+     * 累计因繁忙被拒绝次数
+     */
+    private long rejected;
+
+    /**
+     * 耗时 p50（微秒）
+     */
+    private long p50Micros;
+
+    /**
+     * 耗时 p99（微秒）
+     */
+    private long p99Micros;
+
+    /**
+     * 最大耗时（微秒）
+     */
+    private long maxMicros;
+}
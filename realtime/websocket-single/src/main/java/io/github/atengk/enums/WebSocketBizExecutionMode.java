@@ -0,0 +1,47 @@
+package io.github.atengk.enums;
+
+import lombok.Getter;
+
+/**
+ * WebSocket 业务处理器执行模式
+ *
+ * <p>
+ * 决定业务消息在哪个线程上执行。
+ * </p>
+ *
+ * @author 孔余
+ * @since 2026-01-30
+ */
+@Getter
+public enum WebSocketBizExecutionMode {
+
+    /**
+     * 在 WebSocket 接收线程上直接执行，适用于极轻量的处理器
+     */
+    INLINE("INLINE", "接收线程直接执行"),
+
+    /**
+     * 提交到该业务独享的有界线程池
+     */
+    POOL("POOL", "独立有界线程池"),
+
+    /**
+     * 每条消息一个虚拟线程，按并发上限限流
+     */
+    VIRTUAL("VIRTUAL", "虚拟线程");
+
+    /**
+     * 模式编码
+     */
+    private final String code;
+
+    /**
+     * 模式描述
+     */
+    private final String desc;
+
+    WebSocketBizExecutionMode(String code, String desc) {
+        this.code = code;
+        this.desc = desc;
+    }
+}
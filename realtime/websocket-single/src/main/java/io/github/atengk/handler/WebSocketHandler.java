@@ -1,6 +1,7 @@
 package io.github.atengk.handler;
 
-import com.alibaba.fastjson2.JSON;
+import io.github.atengk.codec.WebSocketCodecRegistry;
+import io.github.atengk.codec.WebSocketProtocolException;
 import io.github.atengk.entity.WebSocketMessage;
 import io.github.atengk.enums.WebSocketMessageType;
 import io.github.atengk.interceptor.WebSocketAuthInterceptor;
@@ -8,10 +9,14 @@ import io.github.atengk.service.WebSocketService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
+import org.springframework.web.socket.BinaryMessage;
 import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.SubProtocolCapable;
 import org.springframework.web.socket.TextMessage;
 import org.springframework.web.socket.WebSocketSession;
-import org.springframework.web.socket.handler.TextWebSocketHandler;
+import org.springframework.web.socket.handler.AbstractWebSocketHandler;
+
+import java.util.List;
 
 /**
  * WebSocket 核心处理器
@@ -21,19 +26,39 @@ import org.springframework.web.socket.handler.TextWebSocketHandler;
  * 连接建立、消息接收、连接关闭、传输异常等。
  * </p>
  *
+ * <p>
+ * 通过子协议协商编解码器：未声明时使用 JSON 文本帧，
+ * 声明 ws-bin.v1 时使用二进制帧。
+ * </p>
+ *
  * @author 孔余
  * @since 2026-01-30
  */
 @Slf4j
 @Component
 @RequiredArgsConstructor
-public class WebSocketHandler extends TextWebSocketHandler {
+public class WebSocketHandler extends AbstractWebSocketHandler implements SubProtocolCapable {
 
     /**
      * WebSocket 业务服务
      */
     private final WebSocketService webSocketService;
 
+    /**
+     * 编解码器注册表
+     */
+    private final WebSocketCodecRegistry codecRegistry;
+
+    /**
+     * 握手时可协商的子协议
+     *
+     * @return 子协议列表
+     */
+    @Override
+    public List<String> getSubProtocols() {
+        return codecRegistry.getSubProtocols();
+    }
+
     /**
      * WebSocket 连接建立成功后的回调
      *
@@ -61,20 +86,41 @@ public class WebSocketHandler extends TextWebSocketHandler {
     /**
      * 处理客户端发送的文本消息
      *
+     * @param session 当前 WebSocket Session
+     * @param message 客户端发送的文本消息
+     */
+    @Override
+    protected void handleTextMessage(WebSocketSession session, TextMessage message) {
+        handleFrame(session, message);
+    }
+
+    /**
+     * 处理客户端发送的二进制消息
+     *
+     * @param session 当前 WebSocket Session
+     * @param message 客户端发送的二进制消息
+     */
+    @Override
+    protected void handleBinaryMessage(WebSocketSession session, BinaryMessage message) {
+        handleFrame(session, message);
+    }
+
+    /**
+     * 解码消息并分发
+     *
      * <p>
-     * 解析消息内容，根据消息类型分发到不同的处理逻辑：
+     * 使用连接协商的编解码器解析消息，根据消息类型分发到不同的处理逻辑：
      * 心跳消息或业务消息。
      * </p>
      *
      * @param session 当前 WebSocket Session
-     * @param message 客户端发送的文本消息
+     * @param frame   客户端发送的消息帧
      */
-    @Override
-    protected void handleTextMessage(WebSocketSession session, TextMessage message) {
+    private void handleFrame(WebSocketSession session,
+                             org.springframework.web.socket.WebSocketMessage<?> frame) {
         try {
-            // 将 JSON 文本解析为 WebSocketMessage 对象
-            WebSocketMessage wsMessage =
-                    JSON.parseObject(message.getPayload(), WebSocketMessage.class);
+            // 按连接协商的编解码器解析为 WebSocketMessage 对象
+            WebSocketMessage wsMessage = codecRegistry.codecFor(session).decode(frame);
 
             // 根据消息类型编码获取消息类型枚举
             WebSocketMessageType messageType =
@@ -109,6 +155,10 @@ public class WebSocketHandler extends TextWebSocketHandler {
                     );
             }
 
+        } catch (WebSocketProtocolException e) {
+            // 二进制帧格式不合法，拒绝该帧并按协议错误关闭连接；JSON 解析失败走下方分支，仅记录日志
+            log.warn("WebSocket 帧格式不合法，关闭连接，SessionID：{}，原因：{}", session.getId(), e.getMessage());
+            webSocketService.closeSession(session.getId(), CloseStatus.PROTOCOL_ERROR);
         } catch (Exception e) {
             log.error("处理 WebSocket 消息异常，SessionID：{}", session.getId(), e);
         }
@@ -1,11 +1,31 @@
 package io.github.atengk.service;
 
+import io.github.atengk.config.WebSocketProperties;
+import io.github.atengk.entity.BizHandlerMetrics;
 import io.github.atengk.entity.WebSocketMessage;
+import io.github.atengk.enums.WebSocketBizExecutionMode;
+import io.github.atengk.enums.WebSocketDispatchResult;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 import org.springframework.web.socket.WebSocketSession;
 
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * WebSocket 业务消息分发器
@@ -15,6 +35,18 @@ import java.util.List;
  * 查找能够处理该业务的处理器，并进行消息分发。
  * </p>
  *
+ * <p>
+ * 说明：
+ * <ul>
+ *     <li>启动时按 {@link WebSocketBizHandler#bizCodes()} 建立 bizCode -> 处理器索引，
+ *     未声明编码的处理器首次命中后缓存</li>
+ *     <li>每个业务编码按 websocket.biz-execution 配置独立的执行模式：
+ *     接收线程直接执行、独立有界线程池或虚拟线程</li>
+ *     <li>异步模式下排队与执行中的消息超过上限时直接拒绝，由调用方回复繁忙消息</li>
+ *     <li>异步模式不保证同一连接内消息的处理顺序</li>
+ * </ul>
+ * </p>
+ *
  * @author 孔余
  * @since 2026-01-30
  */
@@ -32,36 +64,305 @@ public class WebSocketBizDispatcher {
      */
     private final List<WebSocketBizHandler> handlers;
 
+    private final WebSocketProperties webSocketProperties;
+
+    /**
+     * 启动时根据声明的业务编码建立的索引，构造后只读
+     */
+    private final Map<String, HandlerSlot> declaredSlots;
+
+    /**
+     * 未声明业务编码的处理器，需要通过 support 匹配
+     */
+    private final List<WebSocketBizHandler> fallbackHandlers;
+
+    /**
+     * 通过 support 匹配到的业务编码缓存
+     */
+    private final Map<String, HandlerSlot> resolvedSlots = new ConcurrentHashMap<>();
+
     /**
      * 构造方法
      *
-     * @param handlers WebSocket 业务处理器集合
+     * @param handlers            WebSocket 业务处理器集合
+     * @param webSocketProperties WebSocket 配置
      */
-    public WebSocketBizDispatcher(List<WebSocketBizHandler> handlers) {
+    public WebSocketBizDispatcher(List<WebSocketBizHandler> handlers, WebSocketProperties webSocketProperties) {
         this.handlers = handlers;
+        this.webSocketProperties = webSocketProperties;
+
+        Map<String, HandlerSlot> slots = new HashMap<>();
+        List<WebSocketBizHandler> fallback = new ArrayList<>();
+        for (WebSocketBizHandler handler : handlers) {
+            if (handler.bizCodes().isEmpty()) {
+                fallback.add(handler);
+                continue;
+            }
+            for (String bizCode : handler.bizCodes()) {
+                if (slots.containsKey(bizCode)) {
+                    log.warn("业务编码重复注册，以先注册的处理器为准，bizCode={}, ignored={}",
+                            bizCode, handler.getClass().getSimpleName());
+                    continue;
+                }
+                slots.put(bizCode, createSlot(bizCode, handler));
+            }
+        }
+        this.declaredSlots = slots;
+        this.fallbackHandlers = fallback;
+
+        log.info("WebSocket 业务分发器初始化完成，declared={}, fallback={}", slots.size(), fallback.size());
     }
 
     /**
      * 分发 WebSocket 业务消息
      *
      * <p>
-     * 根据业务编码查找支持该编码的处理器，
-     * 找到后立即处理消息并返回。
+     * 根据业务编码查找对应的处理器，
+     * 按该业务的执行模式直接处理或提交到执行器。
      * </p>
      *
      * @param session 当前 WebSocket Session
      * @param bizCode  业务编码
      * @param message  WebSocket 消息对象
-     * @return true 表示已成功处理，false 表示未找到对应处理器
+     * @return 分发结果
      */
-    public boolean dispatch(WebSocketSession session, String bizCode, Object message) {
-        for (WebSocketBizHandler handler : handlers) {
+    public WebSocketDispatchResult dispatch(WebSocketSession session, String bizCode, Object message) {
+        HandlerSlot slot = lookup(bizCode);
+        if (slot == null) {
+            return WebSocketDispatchResult.NOT_FOUND;
+        }
+
+        WebSocketMessage bizMessage = (WebSocketMessage) message;
+
+        if (slot.executor == null) {
+            slot.invoke(session, bizMessage);
+            return WebSocketDispatchResult.HANDLED;
+        }
+
+        if (!slot.permits.tryAcquire()) {
+            slot.rejected.increment();
+            return WebSocketDispatchResult.REJECTED;
+        }
+
+        try {
+            slot.executor.execute(() -> {
+                try {
+                    slot.invoke(session, bizMessage);
+                } catch (Exception e) {
+                    log.error("业务消息处理异常，sessionId={}, bizCode={}", session.getId(), bizCode, e);
+                } finally {
+                    slot.permits.release();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            slot.permits.release();
+            slot.rejected.increment();
+            return WebSocketDispatchResult.REJECTED;
+        }
+
+        return WebSocketDispatchResult.SUBMITTED;
+    }
+
+    /**
+     * 获取各业务处理器运行指标
+     *
+     * @return 按业务编码排序的指标列表
+     */
+    public List<BizHandlerMetrics> getMetrics() {
+        List<HandlerSlot> slots = new ArrayList<>(declaredSlots.values());
+        slots.addAll(resolvedSlots.values());
+        slots.sort(Comparator.comparing(slot -> slot.bizCode));
+
+        List<BizHandlerMetrics> list = new ArrayList<>(slots.size());
+        for (HandlerSlot slot : slots) {
+            list.add(new BizHandlerMetrics(
+                    slot.bizCode,
+                    slot.handler.getClass().getSimpleName(),
+                    slot.mode.getCode(),
+                    slot.capacity - slot.permits.availablePermits(),
+                    slot.capacity,
+                    slot.completed.sum(),
+                    slot.failed.sum(),
+                    slot.rejected.sum(),
+                    slot.latency.percentile(0.50),
+                    slot.latency.percentile(0.99),
+                    slot.latency.max()
+            ));
+        }
+        return list;
+    }
+
+    /**
+     * 关闭各业务执行器
+     */
+    @PreDestroy
+    public void shutdown() {
+        List<HandlerSlot> slots = new ArrayList<>(declaredSlots.values());
+        slots.addAll(resolvedSlots.values());
+
+        for (HandlerSlot slot : slots) {
+            if (slot.executor != null) {
+                slot.executor.shutdown();
+            }
+        }
+        for (HandlerSlot slot : slots) {
+            if (slot.executor == null) {
+                continue;
+            }
+            try {
+                slot.executor.awaitTermination(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private HandlerSlot lookup(String bizCode) {
+        if (bizCode == null) {
+            return null;
+        }
+
+        HandlerSlot slot = declaredSlots.get(bizCode);
+        if (slot != null || fallbackHandlers.isEmpty()) {
+            return slot;
+        }
+
+        slot = resolvedSlots.get(bizCode);
+        if (slot != null) {
+            return slot;
+        }
+
+        for (WebSocketBizHandler handler : fallbackHandlers) {
             if (handler.support(bizCode)) {
-                handler.handle(session, (WebSocketMessage) message);
-                return true;
+                return resolvedSlots.computeIfAbsent(bizCode, code -> createSlot(code, handler));
+            }
+        }
+        return null;
+    }
+
+    private HandlerSlot createSlot(String bizCode, WebSocketBizHandler handler) {
+        WebSocketProperties.BizExecutionPolicy policy = webSocketProperties.getBizExecution()
+                .getOrDefault(bizCode, webSocketProperties.getDefaultBizExecution());
+
+        WebSocketBizExecutionMode mode = policy.getMode() == null
+                ? WebSocketBizExecutionMode.INLINE
+                : policy.getMode();
+        int capacity = policy.getQueueCapacity() == null || policy.getQueueCapacity() <= 0
+                ? 256
+                : policy.getQueueCapacity();
+
+        ExecutorService executor = switch (mode) {
+            case INLINE -> null;
+            case POOL -> {
+                int threads = policy.getThreads() == null || policy.getThreads() <= 0
+                        ? 4
+                        : policy.getThreads();
+                yield new ThreadPoolExecutor(
+                        threads,
+                        threads,
+                        0L,
+                        TimeUnit.MILLISECONDS,
+                        new LinkedBlockingQueue<>(capacity),
+                        Thread.ofPlatform().name("ws-biz-" + bizCode + "-", 0).daemon(true).factory()
+                );
+            }
+            case VIRTUAL -> Executors.newThreadPerTaskExecutor(
+                    Thread.ofVirtual().name("ws-biz-" + bizCode + "-", 0).factory()
+            );
+        };
+
+        log.info("业务处理器注册，bizCode={}, handler={}, mode={}, capacity={}",
+                bizCode, handler.getClass().getSimpleName(), mode, capacity);
+
+        return new HandlerSlot(bizCode, handler, mode, executor, capacity);
+    }
+
+    /**
+     * 单个业务编码的处理器、执行器与指标
+     */
+    private static final class HandlerSlot {
+
+        private final String bizCode;
+        private final WebSocketBizHandler handler;
+        private final WebSocketBizExecutionMode mode;
+        private final ExecutorService executor;
+        private final int capacity;
+        private final Semaphore permits;
+
+        private final LongAdder completed = new LongAdder();
+        private final LongAdder failed = new LongAdder();
+        private final LongAdder rejected = new LongAdder();
+        private final LatencyHistogram latency = new LatencyHistogram();
+
+        private HandlerSlot(String bizCode,
+                            WebSocketBizHandler handler,
+                            WebSocketBizExecutionMode mode,
+                            ExecutorService executor,
+                            int capacity) {
+            this.bizCode = bizCode;
+            this.handler = handler;
+            this.mode = mode;
+            this.executor = executor;
+            this.capacity = executor == null ? 0 : capacity;
+            this.permits = new Semaphore(this.capacity);
+        }
+
+        private void invoke(WebSocketSession session, WebSocketMessage message) {
+            long start = System.nanoTime();
+            try {
+                handler.handle(session, message);
+                completed.increment();
+            } catch (RuntimeException e) {
+                failed.increment();
+                throw e;
+            } finally {
+                latency.record((System.nanoTime() - start) / 1000);
+            }
+        }
+    }
+
+    /**
+     * 无锁耗时直方图
+     *
+     * <p>
+     * 按 2 的幂分桶（微秒），分位数返回所在桶的上界。
+     * </p>
+     */
+    private static final class LatencyHistogram {
+
+        private final AtomicLongArray buckets = new AtomicLongArray(64);
+        private final AtomicLong max = new AtomicLong();
+
+        private void record(long micros) {
+            long value = Math.max(micros, 0);
+            buckets.incrementAndGet(64 - Long.numberOfLeadingZeros(value));
+            max.accumulateAndGet(value, Math::max);
+        }
+
+        private long percentile(double quantile) {
+            long total = 0;
+            for (int i = 0; i < buckets.length(); i++) {
+                total += buckets.get(i);
+            }
+            if (total == 0) {
+                return 0;
             }
+
+            long target = (long) Math.ceil(total * quantile);
+            long seen = 0;
+            for (int i = 0; i < buckets.length(); i++) {
+                seen += buckets.get(i);
+                if (seen >= target) {
+                    long upper = i == 0 ? 0 : (1L << i) - 1;
+                    return Math.min(upper, max.get());
+                }
+            }
+            return max.get();
         }
 
-        return false;
+        private long max() {
+            return max.get();
+        }
     }
 }
@@ -1,21 +1,29 @@
 package io.github.atengk.service;
 
-import com.alibaba.fastjson2.JSONObject;
+import io.github.atengk.codec.WebSocketCodecRegistry;
+import io.github.atengk.codec.WebSocketMessageCodec;
 import io.github.atengk.config.WebSocketProperties;
+import io.github.atengk.constants.WebSocketBizCodeConstants;
+import io.github.atengk.entity.BizHandlerMetrics;
 import io.github.atengk.entity.WebSocketMessage;
+import io.github.atengk.enums.WebSocketDispatchResult;
 import io.github.atengk.enums.WebSocketMessageType;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.web.socket.BinaryMessage;
 import org.springframework.web.socket.CloseStatus;
-import org.springframework.web.socket.TextMessage;
 import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.ConcurrentWebSocketSessionDecorator;
 
 import java.io.IOException;
 import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
@@ -73,6 +81,16 @@ public class WebSocketService {
      */
     private static final Map<String, ConnectionInfo> CONNECTION_INFO_MAP = new ConcurrentHashMap<>();
 
+    /**
+     * 单次发送允许的最长阻塞时间（毫秒）
+     */
+    private static final int SEND_TIME_LIMIT_MILLIS = 10_000;
+
+    /**
+     * 单个 Session 待发送缓冲区上限（字节）
+     */
+    private static final int SEND_BUFFER_SIZE_LIMIT = 512 * 1024;
+
     /**
      * WebSocket 配置属性
      */
@@ -83,6 +101,11 @@ public class WebSocketService {
      */
     private final WebSocketBizDispatcher bizDispatcher;
 
+    /**
+     * WebSocket 编解码器注册表
+     */
+    private final WebSocketCodecRegistry codecRegistry;
+
     /**
      * 注册新的 WebSocket 会话
      *
@@ -90,7 +113,12 @@ public class WebSocketService {
      * @param session WebSocket 会话
      */
     public void registerSession(String userId, WebSocketSession session) {
-        SESSION_MAP.put(session.getId(), session);
+        // 业务处理器可能在异步线程中发送，包装为并发安全的 Session
+        SESSION_MAP.put(session.getId(), new ConcurrentWebSocketSessionDecorator(
+                session,
+                SEND_TIME_LIMIT_MILLIS,
+                SEND_BUFFER_SIZE_LIMIT
+        ));
 
         USER_SESSION_MAP
                 .computeIfAbsent(userId, k -> ConcurrentHashMap.newKeySet())
@@ -190,13 +218,12 @@ public class WebSocketService {
                 info.getLastHeartbeatTime()
         );
 
-        // 返回心跳响应
+        WebSocketSession target = SESSION_MAP.getOrDefault(session.getId(), session);
+
+        // 返回预编码的心跳响应
         try {
-            if (session.isOpen()) {
-                WebSocketMessage webSocketMessage = new WebSocketMessage();
-                webSocketMessage.setType(WebSocketMessageType.HEARTBEAT_ACK.getCode());
-                String message = JSONObject.toJSONString(webSocketMessage);
-                session.sendMessage(new TextMessage(message));
+            if (target.isOpen()) {
+                target.sendMessage(codecRegistry.codecFor(target).heartbeatAck());
             }
         } catch (Exception e) {
             log.warn(
@@ -255,7 +282,34 @@ public class WebSocketService {
         }
 
         try {
-            session.sendMessage(new TextMessage(message));
+            session.sendMessage(codecRegistry.codecFor(session).encode(message));
+        } catch (IOException e) {
+            log.error("WebSocket 消息发送异常，SessionID：{}", sessionId, e);
+            closeSession(sessionId, CloseStatus.SERVER_ERROR);
+        }
+    }
+
+    /**
+     * 向指定 Session 发送消息实体
+     *
+     * <p>
+     * 按该连接协商的编解码器编码（JSON 文本帧或二进制帧）。
+     * </p>
+     *
+     * @param sessionId SessionID
+     * @param message   消息实体
+     */
+    public void sendToSession(String sessionId, WebSocketMessage message) {
+        WebSocketSession session = SESSION_MAP.get(sessionId);
+        if (session == null || !session.isOpen()) {
+            if (session != null) {
+                removeSession(session);
+            }
+            return;
+        }
+
+        try {
+            session.sendMessage(codecRegistry.codecFor(session).encode(message));
         } catch (IOException e) {
             log.error("WebSocket 消息发送异常，SessionID：{}", sessionId, e);
             closeSession(sessionId, CloseStatus.SERVER_ERROR);
@@ -319,6 +373,8 @@ public class WebSocketService {
      * @param message 消息内容
      */
     public void broadcast(String message) {
+        // 每种编解码器只编码一次
+        Map<WebSocketMessageCodec, org.springframework.web.socket.WebSocketMessage<?>> frames = new HashMap<>(4);
         SESSION_MAP.values().forEach(session -> {
             if (!session.isOpen()) {
                 removeSession(session);
@@ -326,7 +382,13 @@ public class WebSocketService {
             }
 
             try {
-                session.sendMessage(new TextMessage(message));
+                org.springframework.web.socket.WebSocketMessage<?> frame =
+                        frames.computeIfAbsent(codecRegistry.codecFor(session), codec -> codec.encode(message));
+                if (frame instanceof BinaryMessage binary) {
+                    // 二进制负载带读写位置，每个 Session 使用独立视图
+                    frame = new BinaryMessage(binary.getPayload().duplicate(), binary.isLast());
+                }
+                session.sendMessage(frame);
             } catch (IOException e) {
                 closeSession(session.getId(), CloseStatus.SERVER_ERROR);
             }
@@ -377,25 +439,66 @@ public class WebSocketService {
     /**
      * 处理业务消息
      *
+     * <p>
+     * 处理器拿到的是并发安全的 Session，可在异步线程中直接发送；
+     * 执行器繁忙时向客户端回复 SYSTEM_BUSY，由客户端稍后重试。
+     * </p>
+     *
      * @param session WebSocket 会话
      * @param message 业务消息
      */
     public void handleBizMessage(WebSocketSession session, WebSocketMessage message) {
-        boolean handled = bizDispatcher.dispatch(
-                session,
+        WebSocketSession target = SESSION_MAP.getOrDefault(session.getId(), session);
+
+        WebSocketDispatchResult result = bizDispatcher.dispatch(
+                target,
                 message.getCode(),
                 message
         );
 
-        if (!handled) {
+        if (result == WebSocketDispatchResult.NOT_FOUND) {
             log.warn(
                     "未找到对应的 BizHandler，sessionId：{}，code：{}",
                     session.getId(),
                     message.getCode()
             );
+        } else if (result == WebSocketDispatchResult.REJECTED) {
+            log.warn(
+                    "业务处理器繁忙，拒绝消息，sessionId：{}，code：{}",
+                    session.getId(),
+                    message.getCode()
+            );
+            sendToSession(session.getId(), buildBusyReply(message.getCode()));
         }
     }
 
+    /**
+     * 获取各业务处理器运行指标
+     *
+     * @return 各业务编码的执行模式、排队数、拒绝数与耗时分位数
+     */
+    public List<BizHandlerMetrics> getBizMetrics() {
+        return bizDispatcher.getMetrics();
+    }
+
+    /**
+     * 构建繁忙回复消息
+     *
+     * @param bizCode 被拒绝的业务编码
+     * @return 繁忙回复
+     */
+    private WebSocketMessage buildBusyReply(String bizCode) {
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("bizCode", bizCode);
+        data.put("message", "服务繁忙，请稍后重试");
+
+        WebSocketMessage reply = new WebSocketMessage();
+        reply.setType(WebSocketMessageType.BIZ.getCode());
+        reply.setCode(WebSocketBizCodeConstants.SYSTEM_BUSY);
+        reply.setData(data);
+        return reply;
+    }
+
     /**
      * 踢除指定用户的所有连接
      *
@@ -0,0 +1,110 @@
+package io.github.atengk;
+
+import io.github.atengk.codec.BinaryWebSocketMessageCodec;
+import io.github.atengk.codec.JsonWebSocketMessageCodec;
+import io.github.atengk.entity.WebSocketMessage;
+import io.github.atengk.enums.WebSocketMessageType;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * WebSocket 编解码基准测试：JSON 文本帧 vs 二进制帧
+ *
+ * <p>
+ * 运行 {@link #run()} 或 main 方法，
+ * 建议同时加 {@code -prof gc} 观察每条消息的分配字节数。
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WebSocketCodecBenchmark {
+
+    private final JsonWebSocketMessageCodec jsonCodec = new JsonWebSocketMessageCodec();
+    private final BinaryWebSocketMessageCodec binaryCodec = new BinaryWebSocketMessageCodec();
+
+    private WebSocketMessage message;
+    private org.springframework.web.socket.WebSocketMessage<?> jsonFrame;
+    private byte[] binaryBytes;
+
+    @Setup
+    public void setup() {
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("orderId", 1234567890L);
+        data.put("userId", "user-10086");
+        data.put("amount", 199.99);
+        data.put("remark", "WebSocket 编解码基准测试");
+
+        message = new WebSocketMessage();
+        message.setType(WebSocketMessageType.BIZ.getCode());
+        message.setCode("ORDER_CREATE");
+        message.setData(data);
+
+        jsonFrame = jsonCodec.encode(message);
+        org.springframework.web.socket.BinaryMessage binary =
+                (org.springframework.web.socket.BinaryMessage) binaryCodec.encode(message);
+        binaryBytes = binary.getPayload().array();
+    }
+
+    @Benchmark
+    public Object jsonEncode() {
+        return jsonCodec.encode(message);
+    }
+
+    @Benchmark
+    public Object binaryEncode() {
+        return binaryCodec.encode(message);
+    }
+
+    @Benchmark
+    public Object jsonDecode() {
+        return jsonCodec.decode(jsonFrame);
+    }
+
+    @Benchmark
+    public Object binaryDecode() {
+        // BinaryMessage 的 ByteBuffer 有读写位置，每次包装新的视图
+        return binaryCodec.decode(new org.springframework.web.socket.BinaryMessage(binaryBytes));
+    }
+
+    @Benchmark
+    public Object jsonHeartbeatAck() {
+        return jsonCodec.heartbeatAck();
+    }
+
+    @Benchmark
+    public Object binaryHeartbeatAck() {
+        return binaryCodec.heartbeatAck();
+    }
+
+    @Test
+    void run() throws Exception {
+        Options options = new OptionsBuilder()
+                .include(WebSocketCodecBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+
+    public static void main(String[] args) throws Exception {
+        new WebSocketCodecBenchmark().run();
+    }
+}
@@ -20,4 +20,74 @@ public class S3Properties {
     private String region;
     private String endpoint;
     private boolean pathStyleAccess;
+
+    /**
+     * 流式分片上传：分片大小（字节），S3 要求除最后一片外不小于 5MB
+     */
+    private long partSize = 16L * 1024 * 1024;
+
+    /**
+     * 流式分片上传：同时上传中的分片数，堆内存占用约为 partSize × (partConcurrency + 1)
+     */
+    private int partConcurrency = 4;
+
+    /**
+     * 流式分片上传：单个分片失败后的重试次数
+     */
+    private int partRetryTimes = 3;
+
+    /**
+     * 流式分片上传：分片缓冲区是否使用堆外内存
+     */
+    private boolean directBuffer = false;
+
+    /**
+     * 分段并行下载：对象大小达到该值（字节）时按 Range 并行下载
+     */
+    private long rangeDownloadThreshold = 64L * 1024 * 1024;
+
+    /**
+     * 分段并行下载：每个 Range 的大小（字节）
+     */
+    private long rangeSize = 16L * 1024 * 1024;
+
+    /**
+     * 分段并行下载：同时下载中的 Range 数
+     */
+    private int rangeConcurrency = 8;
+
+    /**
+     * 分段并行下载：单个 Range 失败后的重试次数
+     */
+    private int rangeRetryTimes = 3;
+
+    /**
+     * 批量删除 / 复制：同时执行的请求数
+     */
+    private int bulkConcurrency = 8;
+
+    /**
+     * 批量删除 / 复制：结果中最多保留的失败明细条数
+     */
+    private int bulkMaxReportedFailures = 1000;
+
+    /**
+     * 流式打包：当前条目之外同时预读的对象数
+     */
+    private int zipReadAhead = 4;
+
+    /**
+     * 流式打包：预读数据块大小（字节）
+     */
+    private int zipChunkSize = 64 * 1024;
+
+    /**
+     * 流式打包：每个预读对象最多缓存的数据块数，写满后暂停读取
+     */
+    private int zipQueueChunks = 16;
+
+    /**
+     * 流式打包：压缩级别（-1 为默认级别，0~9）
+     */
+    private int zipLevel = -1;
 }
@@ -1,5 +1,7 @@
 package local.ateng.java.awss3.controller;
 
+import local.ateng.java.awss3.entity.BulkOperationResult;
+import local.ateng.java.awss3.entity.TransferProgress;
 import local.ateng.java.awss3.service.S3Service;
 import local.ateng.java.awss3.utils.ZipUtil;
 import lombok.RequiredArgsConstructor;
@@ -59,6 +61,11 @@ public class S3Controller {
         return ResponseEntity.noContent().build();
     }
 
+    @GetMapping("/downloadProgress")
+    public ResponseEntity<List<TransferProgress>> downloadProgress() {
+        return ResponseEntity.ok(s3Service.getDownloadProgress());
+    }
+
     @PostMapping("/downloadFileAsBase64Uri")
     public ResponseEntity<String> downloadFileAsBase64Uri(String key) {
         return ResponseEntity.ok(s3Service.downloadFileAsBase64Uri(key));
@@ -113,6 +120,36 @@ public class S3Controller {
         return ResponseEntity.noContent().build();
     }
 
+    @DeleteMapping("/deletePrefix")
+    public ResponseEntity<BulkOperationResult> deletePrefix(String prefix) {
+        return ResponseEntity.ok(s3Service.deletePrefix(prefix));
+    }
+
+    @PostMapping("/copyPrefix")
+    public ResponseEntity<BulkOperationResult> copyPrefix(String sourcePrefix, String targetPrefix) {
+        return ResponseEntity.ok(s3Service.copyPrefix(sourcePrefix, targetPrefix));
+    }
+
+    @PostMapping("/movePrefix")
+    public ResponseEntity<BulkOperationResult> movePrefix(String sourcePrefix, String targetPrefix) {
+        return ResponseEntity.ok(s3Service.movePrefix(sourcePrefix, targetPrefix));
+    }
+
+    @GetMapping("/bulkProgress")
+    public ResponseEntity<List<BulkOperationResult>> bulkProgress() {
+        return ResponseEntity.ok(s3Service.getBulkOperations());
+    }
+
+    @GetMapping("/zipPrefix")
+    public void zipPrefix(String prefix, String zipFileName, HttpServletResponse response) {
+        s3Service.zipPrefixToResponse(prefix, zipFileName, response);
+    }
+
+    @PostMapping("/zipPrefixToS3")
+    public ResponseEntity<String> zipPrefixToS3(String prefix, String targetKey) {
+        return ResponseEntity.ok(s3Service.zipPrefixToS3(prefix, targetKey));
+    }
+
     @GetMapping("/zip")
     public ResponseEntity<Void> zip(HttpServletResponse response) throws IOException {
         List<Path> localPaths = Arrays.asList(Paths.get("D:\\temp\\download\\1.jpg"), Paths.get("D:\\temp\\download\\2.jpg"));
@@ -0,0 +1,32 @@
+package local.ateng.java.awss3.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 批量操作中单个对象的失败信息
+ *
+ * @author Ateng
+ * @since 2025-07-21
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkFailure {
+
+    /**
+     * S3 对象 key
+     */
+    private String key;
+
+    /**
+     * 错误码（S3 返回的 Code 或异常类名）
+     */
+    private String code;
+
+    /**
+     * 错误信息
+     */
+    private String message;
+}
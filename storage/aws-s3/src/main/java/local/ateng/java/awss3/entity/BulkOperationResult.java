@@ -0,0 +1,81 @@
+package local.ateng.java.awss3.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 批量删除 / 复制 / 移动的进度与结果
+ * <p>
+ * 执行中用于进度查询，结束后作为最终结果返回。
+ *
+ * @author Ateng
+ * @since 2025-07-21
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkOperationResult {
+
+    /**
+     * 操作类型：DELETE / COPY / MOVE
+     */
+    private String operation;
+
+    /**
+     * 源前缀
+     */
+    private String sourcePrefix;
+
+    /**
+     * 目标前缀，删除操作为 null
+     */
+    private String targetPrefix;
+
+    /**
+     * 已列举的对象数
+     */
+    private long listed;
+
+    /**
+     * 成功处理的对象数
+     */
+    private long succeeded;
+
+    /**
+     * 失败的对象数
+     */
+    private long failed;
+
+    /**
+     * 正在执行的请求数
+     */
+    private int inFlight;
+
+    /**
+     * 复制的字节数
+     */
+    private long bytes;
+
+    /**
+     * 已耗时（毫秒）
+     */
+    private long costMillis;
+
+    /**
+     * 吞吐（对象/秒）
+     */
+    private double objectsPerSec;
+
+    /**
+     * 是否已结束
+     */
+    private boolean finished;
+
+    /**
+     * 失败明细，最多保留 s3.bulk-max-reported-failures 条
+     */
+    private List<BulkFailure> failures;
+}
@@ -0,0 +1,57 @@
+package local.ateng.java.awss3.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 传输进度快照
+ *
+ * @author Ateng
+ * @since 2025-07-21
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class TransferProgress {
+
+    /**
+     * S3 对象 key
+     */
+    private String key;
+
+    /**
+     * 对象总字节数
+     */
+    private long totalBytes;
+
+    /**
+     * 已完成字节数（含断点续传跳过的部分）
+     */
+    private long completedBytes;
+
+    /**
+     * 总 Range 数
+     */
+    private int totalRanges;
+
+    /**
+     * 已完成 Range 数
+     */
+    private int completedRanges;
+
+    /**
+     * 正在下载的 Range 数
+     */
+    private int rangesInFlight;
+
+    /**
+     * 累计重试次数
+     */
+    private long retries;
+
+    /**
+     * 本次传输的平均吞吐（MB/s），不含断点续传跳过的部分
+     */
+    private double throughputMbPerSec;
+}
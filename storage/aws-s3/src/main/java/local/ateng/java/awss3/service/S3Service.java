@@ -1,5 +1,7 @@
 package local.ateng.java.awss3.service;
 
+import local.ateng.java.awss3.entity.BulkOperationResult;
+import local.ateng.java.awss3.entity.TransferProgress;
 import org.springframework.web.multipart.MultipartFile;
 import software.amazon.awssdk.core.ResponseInputStream;
 import software.amazon.awssdk.services.s3.model.GetObjectResponse;
@@ -13,6 +15,7 @@ import java.nio.file.Path;
 import java.time.Duration;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Stream;
 
 /**
  * S3 服务接口
@@ -50,6 +53,16 @@ public interface S3Service {
      */
     void uploadFile(String key, InputStream inputStream);
 
+    /**
+     * 流式分片上传任意大小的输入流到 S3，内存占用与文件大小无关
+     *
+     * @param key         文件路径
+     * @param inputStream 输入流
+     * @param contentType 内容类型
+     * @return 对象 ETag
+     */
+    String uploadStream(String key, InputStream inputStream, String contentType);
+
     /**
      * 上传文件到 S3（通过 InputStream，带内容长度和类型）
      *
@@ -204,6 +217,13 @@ public interface S3Service {
      */
     void downloadToFile(String key, Path localPath);
 
+    /**
+     * 获取正在进行的分段并行下载进度
+     *
+     * @return 进度列表
+     */
+    List<TransferProgress> getDownloadProgress();
+
     /**
      * 批量下载文件并保存到本地路径（默认不忽略错误）
      *
@@ -309,6 +329,66 @@ public interface S3Service {
      */
     void deleteFolderRecursively(String prefix);
 
+    /**
+     * 并发批量删除前缀下的所有对象
+     *
+     * @param prefix 路径前缀
+     * @return 操作结果，包含逐个对象的失败明细
+     */
+    BulkOperationResult deletePrefix(String prefix);
+
+    /**
+     * 服务端并发复制前缀下的所有对象到目标前缀
+     *
+     * @param sourcePrefix 源前缀
+     * @param targetPrefix 目标前缀
+     * @return 操作结果
+     */
+    BulkOperationResult copyPrefix(String sourcePrefix, String targetPrefix);
+
+    /**
+     * 移动前缀下的所有对象到目标前缀
+     *
+     * @param sourcePrefix 源前缀
+     * @param targetPrefix 目标前缀
+     * @return 操作结果
+     */
+    BulkOperationResult movePrefix(String sourcePrefix, String targetPrefix);
+
+    /**
+     * 获取正在执行的批量操作进度
+     *
+     * @return 进度列表
+     */
+    List<BulkOperationResult> getBulkOperations();
+
+    /**
+     * 将指定对象流式打包为 zip 写入响应流，有界预读，不落盘
+     *
+     * @param keys        S3 文件路径列表
+     * @param zipFileName 下载时的 zip 文件名
+     * @param response    HttpServletResponse
+     */
+    void zipToResponse(List<String> keys, String zipFileName, HttpServletResponse response);
+
+    /**
+     * 将前缀下的所有对象流式打包为 zip 写入响应流，条目名为相对路径
+     *
+     * @param prefix      路径前缀
+     * @param zipFileName 下载时的 zip 文件名
+     * @param response    HttpServletResponse
+     */
+    void zipPrefixToResponse(String prefix, String zipFileName, HttpServletResponse response);
+
+    /**
+     * 将前缀下的所有对象流式打包为 zip 并分片上传回 S3
+     *
+     * @param prefix    路径前缀
+     * @param targetKey 目标 zip 对象 key
+     * @return 目标对象 ETag
+     */
+    String zipPrefixToS3(String prefix, String targetKey);
+
     /**
      * 判断对象是否存在
      *
@@ -333,6 +413,14 @@ public interface S3Service {
      */
     List<String> listFilesStr(String prefix);
 
+    /**
+     * 以流的形式惰性列出指定前缀下的所有文件，内存占用与对象数量无关
+     *
+     * @param prefix 路径前缀
+     * @return S3 文件流，需要关闭
+     */
+    Stream<S3Object> streamFiles(String prefix);
+
     /**
      * 生成临时访问链接（GET）
      *
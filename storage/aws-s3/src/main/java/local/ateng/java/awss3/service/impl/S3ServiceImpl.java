@@ -1,8 +1,16 @@
 package local.ateng.java.awss3.service.impl;
 
 import local.ateng.java.awss3.config.S3Properties;
+import local.ateng.java.awss3.entity.BulkOperationResult;
+import local.ateng.java.awss3.entity.TransferProgress;
 import local.ateng.java.awss3.entity.UploadResumeRecord;
 import local.ateng.java.awss3.service.S3Service;
+import local.ateng.java.awss3.transfer.S3BulkOperations;
+import local.ateng.java.awss3.transfer.S3ObjectIterator;
+import local.ateng.java.awss3.transfer.S3ObjectLister;
+import local.ateng.java.awss3.transfer.S3RangedDownloader;
+import local.ateng.java.awss3.transfer.S3StreamingUploader;
+import local.ateng.java.awss3.transfer.S3ZipStreamer;
 import local.ateng.java.awss3.utils.FileUtil;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
@@ -26,7 +34,6 @@ import java.nio.charset.CharsetEncoder;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.StandardCopyOption;
 import java.time.Duration;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
@@ -58,6 +65,11 @@ public class S3ServiceImpl implements S3Service {
     private final S3Client s3Client;
     private final S3Properties s3Properties;
     private final S3Presigner s3Presigner;
+    private final S3StreamingUploader streamingUploader;
+    private final S3RangedDownloader rangedDownloader;
+    private final S3ObjectLister objectLister;
+    private final S3BulkOperations bulkOperations;
+    private final S3ZipStreamer zipStreamer;
 
     /**
      * 将 InputStream 转为 byte[]，适合小文件上传
@@ -103,7 +115,7 @@ public class S3ServiceImpl implements S3Service {
      * 上传文件到 S3
      *
      * <p>该方法是最通用的文件上传方式，只要求提供 S3 的 Key 和输入流。
-     * 会自动尝试读取输入流为字节数组上传，适合小中型文件。</p>
+     * 内部使用流式分片上传，不会将整个输入流读入内存，适合任意大小的文件。</p>
      *
      * @param key         文件在 S3 中的完整路径（如：folder/test.pdf）
      * @param inputStream 输入流，来自文件、网络或内存
@@ -111,23 +123,24 @@ public class S3ServiceImpl implements S3Service {
      */
     @Override
     public void uploadFile(String key, InputStream inputStream) {
-        try {
-            // 读取输入流为字节数组
-            byte[] data = toByteArray(inputStream);
-
-            PutObjectRequest request = PutObjectRequest
-                    .builder()
-                    .bucket(s3Properties.getBucketName())
-                    .key(key)
-                    .contentType(MediaType.APPLICATION_OCTET_STREAM_VALUE)
-                    .contentLength((long) data.length)
-                    .build();
+        uploadStream(key, inputStream, MediaType.APPLICATION_OCTET_STREAM_VALUE);
+    }
 
-            s3Client.putObject(request, RequestBody.fromBytes(data));
-        } catch (Exception e) {
-            log.error("S3文件上传失败，bucket={}, key={}", s3Properties.getBucketName(), key, e);
-            throw new RuntimeException("S3文件上传失败", e);
-        }
+    /**
+     * 流式上传任意大小的输入流到 S3
+     *
+     * <p>按 s3.part-size 切分分片并发上传，分片缓冲区复用，
+     * 堆内存占用约为 partSize × (partConcurrency + 1)，与文件大小无关；
+     * 不足一个分片时直接使用 PutObject。</p>
+     *
+     * @param key         文件在 S3 中的完整路径
+     * @param inputStream 输入流，由调用方关闭
+     * @param contentType 文件类型
+     * @return 对象 ETag
+     */
+    @Override
+    public String uploadStream(String key, InputStream inputStream, String contentType) {
+        return streamingUploader.upload(key, inputStream, contentType);
     }
 
 
@@ -599,17 +612,18 @@ public class S3ServiceImpl implements S3Service {
      */
     @Override
     public void downloadToFile(String key, Path localPath) {
-        try (ResponseInputStream<GetObjectResponse> s3Stream = downloadFile(key)) {
-            Path parentDir = localPath.getParent();
-            if (parentDir != null && !Files.exists(parentDir)) {
-                Files.createDirectories(parentDir);
-            }
+        // 先 HeadObject 获取大小，大文件分段并行下载，小文件单次 GET
+        rangedDownloader.download(key, localPath);
+    }
 
-            Files.copy(s3Stream, localPath, StandardCopyOption.REPLACE_EXISTING);
-        } catch (Exception e) {
-            log.error("S3文件下载到本地失败，bucket={}, key={}", s3Properties.getBucketName(), key, e);
-            throw new RuntimeException("S3文件下载到本地失败", e);
-        }
+    /**
+     * 获取正在进行的分段并行下载进度
+     *
+     * @return 各下载任务的进度、并发 Range 数与吞吐（MB/s）
+     */
+    @Override
+    public List<TransferProgress> getDownloadProgress() {
+        return rangedDownloader.getActiveDownloads();
     }
 
     /**
@@ -841,47 +855,55 @@ public class S3ServiceImpl implements S3Service {
 
     @Override
     public void downloadFolder(String prefix, Path localBaseDir) {
-        List<S3Object> objects = listFiles(prefix);
-        if (objects.isEmpty()) {
+        long count = 0;
+        try (S3ObjectIterator objects = objectLister.iterator(prefix)) {
+            while (objects.hasNext()) {
+                downloadFolderObject(objects.next(), prefix, localBaseDir);
+                count++;
+            }
+        }
+        if (count == 0) {
             log.info("S3路径下无文件，bucket={}, prefix={}", s3Properties.getBucketName(), prefix);
-            return;
         }
+    }
 
-        for (S3Object object : objects) {
-            String key = object.key();
+    /**
+     * 下载目录中的单个对象，本地已存在且大小一致时跳过
+     */
+    private void downloadFolderObject(S3Object object, String prefix, Path localBaseDir) {
+        String key = object.key();
 
-            // 去掉 prefix 得到相对路径（保留目录结构）
-            String relativePath = key.substring(prefix.length());
-            Path localPath = localBaseDir.resolve(relativePath);
+        // 去掉 prefix 得到相对路径（保留目录结构）
+        String relativePath = key.substring(prefix.length());
+        Path localPath = localBaseDir.resolve(relativePath);
 
-            // 判断是否已存在，并且大小一致，若一致则跳过
-            if (Files.exists(localPath)) {
-                try {
-                    long localSize = Files.size(localPath);
-                    long s3Size = object.size();
+        // 判断是否已存在，并且大小一致，若一致则跳过
+        if (Files.exists(localPath)) {
+            try {
+                long localSize = Files.size(localPath);
+                long s3Size = object.size();
 
-                    if (localSize == s3Size) {
-                        log.info("文件已存在且大小一致，跳过下载，path={}", localPath);
-                        continue;
-                    } else {
-                        log.info("文件已存在但大小不一致，重新下载，path={}", localPath);
-                    }
-                } catch (Exception e) {
-                    log.warn("读取本地文件大小失败，强制重新下载，path={}", localPath, e);
+                if (localSize == s3Size) {
+                    log.info("文件已存在且大小一致，跳过下载，path={}", localPath);
+                    return;
+                } else {
+                    log.info("文件已存在但大小不一致，重新下载，path={}", localPath);
                 }
-            }
-
-            // 创建父目录
-            try {
-                Files.createDirectories(localPath.getParent());
             } catch (Exception e) {
-                log.error("创建本地目录失败，path={}", localPath.getParent(), e);
-                throw new RuntimeException("创建本地目录失败", e);
+                log.warn("读取本地文件大小失败，强制重新下载，path={}", localPath, e);
             }
+        }
 
-            // 下载文件
-            downloadToFile(key, localPath);
+        // 创建父目录
+        try {
+            Files.createDirectories(localPath.getParent());
+        } catch (Exception e) {
+            log.error("创建本地目录失败，path={}", localPath.getParent(), e);
+            throw new RuntimeException("创建本地目录失败", e);
         }
+
+        // 下载文件，列表中已有大小与 ETag，无需 HeadObject；大文件分段并行下载，小文件单次 GET
+        rangedDownloader.download(key, localPath, object.size(), object.eTag());
     }
 
     @Override
@@ -972,50 +994,123 @@ public class S3ServiceImpl implements S3Service {
     /**
      * 递归删除指定前缀下的所有文件（模拟删除“目录”）
      *
+     * <p>列举与删除流水线执行，每 1000 个 key 一批并发删除，
+     * 任一对象删除失败时在全部处理完后抛出异常。</p>
+     *
      * @param prefix 文件名前缀，如 "folder/subfolder/"
      */
     @Override
     public void deleteFolderRecursively(String prefix) {
-        String bucket = s3Properties.getBucketName();
-        String continuationToken = null;
+        BulkOperationResult result = deletePrefix(prefix);
+        if (result.getFailed() > 0) {
+            log.error("递归删除S3文件部分失败，bucket={}, prefix={}, failed={}, 示例={}",
+                    s3Properties.getBucketName(), prefix, result.getFailed(),
+                    result.getFailures().isEmpty() ? null : result.getFailures().get(0));
+            throw new RuntimeException("S3递归删除失败，失败数量：" + result.getFailed());
+        }
+    }
 
-        try {
-            do {
-                ListObjectsV2Request listRequest = ListObjectsV2Request.builder()
-                        .bucket(bucket)
-                        .prefix(prefix)
-                        .continuationToken(continuationToken)
-                        .build();
-
-                ListObjectsV2Response listResponse = s3Client.listObjectsV2(listRequest);
-                List<S3Object> objects = listResponse.contents();
-
-                if (objects.isEmpty()) {
-                    log.info("S3路径下无文件需要删除，bucket={}, prefix={}", bucket, prefix);
-                    break;
-                }
+    /**
+     * 并发批量删除前缀下的所有对象，返回逐个对象的失败明细
+     *
+     * @param prefix 前缀
+     * @return 操作结果
+     */
+    @Override
+    public BulkOperationResult deletePrefix(String prefix) {
+        return bulkOperations.deletePrefix(prefix);
+    }
 
-                List<ObjectIdentifier> toDelete = objects.stream()
-                        .map(obj -> ObjectIdentifier.builder().key(obj.key()).build())
-                        .collect(Collectors.toList());
+    /**
+     * 服务端并发复制前缀下的所有对象到目标前缀
+     *
+     * @param sourcePrefix 源前缀
+     * @param targetPrefix 目标前缀
+     * @return 操作结果
+     */
+    @Override
+    public BulkOperationResult copyPrefix(String sourcePrefix, String targetPrefix) {
+        return bulkOperations.copyPrefix(sourcePrefix, targetPrefix);
+    }
+
+    /**
+     * 移动前缀下的所有对象到目标前缀
+     *
+     * @param sourcePrefix 源前缀
+     * @param targetPrefix 目标前缀
+     * @return 操作结果
+     */
+    @Override
+    public BulkOperationResult movePrefix(String sourcePrefix, String targetPrefix) {
+        return bulkOperations.movePrefix(sourcePrefix, targetPrefix);
+    }
 
-                DeleteObjectsRequest deleteRequest = DeleteObjectsRequest.builder()
-                        .bucket(bucket)
-                        .delete(Delete.builder().objects(toDelete).build())
-                        .build();
+    /**
+     * 获取正在执行的批量操作进度
+     *
+     * @return 进度列表
+     */
+    @Override
+    public List<BulkOperationResult> getBulkOperations() {
+        return bulkOperations.getActiveOperations();
+    }
 
-                s3Client.deleteObjects(deleteRequest);
-                log.info("已删除S3文件，bucket={}, keys={}", bucket,
-                        toDelete.stream().map(ObjectIdentifier::key).collect(Collectors.toList()));
+    /**
+     * 将指定对象流式打包为 zip 写入响应流，有界预读，不落盘
+     *
+     * @param keys        S3 文件路径列表
+     * @param zipFileName 下载时的 zip 文件名
+     * @param response    HttpServletResponse
+     */
+    @Override
+    public void zipToResponse(List<String> keys, String zipFileName, HttpServletResponse response) {
+        try {
+            prepareZipResponse(zipFileName, response);
+            zipStreamer.zip(keys.iterator(), null, response.getOutputStream());
+        } catch (Exception e) {
+            log.error("S3文件打包到响应失败，bucket={}, keys={}", s3Properties.getBucketName(), keys.size(), e);
+            throw new RuntimeException("S3文件打包到响应失败", e);
+        }
+    }
 
-                continuationToken = listResponse.nextContinuationToken();
-            } while (continuationToken != null);
+    /**
+     * 将前缀下的所有对象流式打包为 zip 写入响应流，条目名为相对路径
+     *
+     * @param prefix      路径前缀
+     * @param zipFileName 下载时的 zip 文件名
+     * @param response    HttpServletResponse
+     */
+    @Override
+    public void zipPrefixToResponse(String prefix, String zipFileName, HttpServletResponse response) {
+        try {
+            prepareZipResponse(zipFileName, response);
+            zipStreamer.zipPrefix(prefix, response.getOutputStream());
         } catch (Exception e) {
-            log.error("递归删除S3文件失败，bucket={}, prefix={}", bucket, prefix, e);
-            throw new RuntimeException("S3递归删除失败", e);
+            log.error("S3目录打包到响应失败，bucket={}, prefix={}", s3Properties.getBucketName(), prefix, e);
+            throw new RuntimeException("S3目录打包到响应失败", e);
         }
     }
 
+    /**
+     * 将前缀下的所有对象流式打包为 zip 并分片上传回 S3
+     *
+     * @param prefix    路径前缀
+     * @param targetKey 目标 zip 对象 key
+     * @return 目标对象 ETag
+     */
+    @Override
+    public String zipPrefixToS3(String prefix, String targetKey) {
+        if (targetKey.startsWith(prefix)) {
+            throw new IllegalArgumentException("目标 key 不能位于打包前缀之下: " + targetKey);
+        }
+        return zipStreamer.zipPrefixToS3(prefix, targetKey);
+    }
+
+    private static void prepareZipResponse(String zipFileName, HttpServletResponse response) throws UnsupportedEncodingException {
+        response.setContentType("application/zip");
+        response.setHeader("Content-Disposition", "attachment; filename=\"" + URLEncoder.encode(zipFileName, StandardCharsets.UTF_8.toString()).replaceAll("\\+", "%20") + "\"");
+    }
+
     /**
      * 判断对象是否存在
      *
@@ -1045,21 +1140,18 @@ public class S3ServiceImpl implements S3Service {
     }
 
     /**
-     * 列出某个前缀（目录）下的文件
+     * 列出某个前缀（目录）下的全部文件
+     *
+     * <p>会自动翻页取完所有对象并全部放入内存，
+     * 对象数量较多时请使用 {@link #streamFiles(String)}。</p>
      *
      * @param prefix 文件前缀（类似文件夹路径）
      * @return 文件列表
      */
     @Override
     public List<S3Object> listFiles(String prefix) {
-        try {
-            ListObjectsV2Request request = ListObjectsV2Request.builder()
-                    .bucket(s3Properties.getBucketName())
-                    .prefix(prefix)
-                    .build();
-
-            ListObjectsV2Response response = s3Client.listObjectsV2(request);
-            return response.contents();
+        try (Stream<S3Object> stream = streamFiles(prefix)) {
+            return stream.collect(Collectors.toList());
         } catch (Exception e) {
             log.error("列出S3文件失败，bucket={}, prefix={}", s3Properties.getBucketName(), prefix, e);
             throw new RuntimeException("S3列出文件失败", e);
@@ -1067,16 +1159,33 @@ public class S3ServiceImpl implements S3Service {
     }
 
     /**
-     * 列出某个前缀（目录）下的文件
+     * 列出某个前缀（目录）下的全部文件路径
      *
      * @param prefix 文件前缀（类似文件夹路径）
      * @return 文件列表
      */
     @Override
     public List<String> listFilesStr(String prefix) {
-        return listFiles(prefix).stream()
-                .map(S3Object::key)
-                .collect(Collectors.toList());
+        try (Stream<S3Object> stream = streamFiles(prefix)) {
+            return stream.map(S3Object::key).collect(Collectors.toList());
+        } catch (Exception e) {
+            log.error("列出S3文件失败，bucket={}, prefix={}", s3Properties.getBucketName(), prefix, e);
+            throw new RuntimeException("S3列出文件失败", e);
+        }
+    }
+
+    /**
+     * 以流的形式惰性列出某个前缀（目录）下的文件
+     *
+     * <p>按页请求，处理当前页时后台预取下一页，内存中最多保留两页，
+     * 流需要在 try-with-resources 中使用以便提前结束时取消预取。</p>
+     *
+     * @param prefix 文件前缀（类似文件夹路径）
+     * @return 文件流
+     */
+    @Override
+    public Stream<S3Object> streamFiles(String prefix) {
+        return objectLister.stream(prefix);
     }
 
     /**
@@ -0,0 +1,96 @@
+package local.ateng.java.awss3.transfer;
+
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 固定大小的分片缓冲区池
+ * <p>
+ * 缓冲区按需创建，总数不超过 maxBuffers，全部借出时 {@link #acquire()} 阻塞，
+ * 以此限制读取速度，使内存占用与对象大小无关。
+ *
+ * @author Ateng
+ * @since 2025-07-21
+ */
+public class PartBufferPool {
+
+    private final int bufferSize;
+    private final int maxBuffers;
+    private final boolean direct;
+    private final BlockingQueue<ByteBuffer> idle;
+    private final AtomicInteger created = new AtomicInteger();
+
+    /**
+     * @param bufferSize 单个缓冲区大小（字节）
+     * @param maxBuffers 缓冲区数量上限
+     * @param direct     是否使用堆外内存
+     */
+    public PartBufferPool(int bufferSize, int maxBuffers, boolean direct) {
+        if (bufferSize <= 0 || maxBuffers <= 0) {
+            throw new IllegalArgumentException("bufferSize 和 maxBuffers 必须大于 0");
+        }
+        this.bufferSize = bufferSize;
+        this.maxBuffers = maxBuffers;
+        this.direct = direct;
+        this.idle = new LinkedBlockingQueue<>(maxBuffers);
+    }
+
+    /**
+     * 借出一个已清空的缓冲区，池已耗尽时阻塞等待归还
+     *
+     * @return 缓冲区
+     * @throws InterruptedException 等待时被中断
+     */
+    public ByteBuffer acquire() throws InterruptedException {
+        ByteBuffer buffer = idle.poll();
+        if (buffer != null) {
+            // 以 Buffer 调用，避免 JDK 9+ 编译出 Java 8 运行时不存在的协变重载
+            ((Buffer) buffer).clear();
+            return buffer;
+        }
+
+        int count = created.get();
+        while (count < maxBuffers) {
+            if (created.compareAndSet(count, count + 1)) {
+                return direct ? ByteBuffer.allocateDirect(bufferSize) : ByteBuffer.allocate(bufferSize);
+            }
+            count = created.get();
+        }
+
+        buffer = idle.take();
+        ((Buffer) buffer).clear();
+        return buffer;
+    }
+
+    /**
+     * 归还缓冲区
+     *
+     * @param buffer 缓冲区，为 null 时忽略
+     */
+    public void release(ByteBuffer buffer) {
+        if (buffer != null) {
+            idle.offer(buffer);
+        }
+    }
+
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    /**
+     * 已创建的缓冲区数量
+     */
+    public int getCreated() {
+        return created.get();
+    }
+
+    /**
+     * 当前借出的缓冲区数量
+     */
+    public int getInUse() {
+        return created.get() - idle.size();
+    }
+}
@@ -0,0 +1,476 @@
+package local.ateng.java.awss3.transfer;
+
+import local.ateng.java.awss3.config.S3Properties;
+import local.ateng.java.awss3.entity.BulkFailure;
+import local.ateng.java.awss3.entity.BulkOperationResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.AbortMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompletedMultipartUpload;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
+import software.amazon.awssdk.services.s3.model.CopyObjectRequest;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.Delete;
+import software.amazon.awssdk.services.s3.model.DeleteObjectsRequest;
+import software.amazon.awssdk.services.s3.model.DeleteObjectsResponse;
+import software.amazon.awssdk.services.s3.model.ObjectIdentifier;
+import software.amazon.awssdk.services.s3.model.S3Error;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+import software.amazon.awssdk.services.s3.model.S3Object;
+import software.amazon.awssdk.services.s3.model.UploadPartCopyRequest;
+
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * S3 前缀级批量操作引擎
+ * <p>
+ * 列举与执行流水线化：列举线程边翻页边提交请求（翻页本身也有预取），
+ * 删除按 1000 个 key 一批并发调用 DeleteObjects，复制按对象并发调用服务端 CopyObject，
+ * 并发度由 s3.bulk-concurrency 限制，列举速度超过执行速度时列举线程阻塞。
+ * <p>
+ * 单个对象失败不中断整体操作，失败明细在结果中返回。
+ *
+ * @author Ateng
+ * @since 2025-07-21
+ */
+@Component
+public class S3BulkOperations {
+
+    private static final Logger log = LoggerFactory.getLogger(S3BulkOperations.class);
+
+    /**
+     * 单次 DeleteObjects 最多删除的对象数（S3 上限）
+     */
+    private static final int DELETE_BATCH_SIZE = 1000;
+
+    /**
+     * S3 限制：单次 CopyObject 最大 5GB，超过时使用分片复制
+     */
+    private static final long MAX_SINGLE_COPY_SIZE = 5L * 1024 * 1024 * 1024;
+
+    /**
+     * 分片复制的分片大小
+     */
+    private static final long COPY_PART_SIZE = 512L * 1024 * 1024;
+
+    private final S3Client s3Client;
+    private final S3Properties s3Properties;
+    private final S3ObjectLister objectLister;
+    private final ExecutorService executor;
+
+    /**
+     * 正在执行的操作：操作ID -> 任务
+     */
+    private final Map<String, BulkTask> activeTasks = new ConcurrentHashMap<>();
+
+    public S3BulkOperations(S3Client s3Client, S3Properties s3Properties, S3ObjectLister objectLister) {
+        int concurrency = Math.max(1, s3Properties.getBulkConcurrency());
+
+        this.s3Client = s3Client;
+        this.s3Properties = s3Properties;
+        this.objectLister = objectLister;
+        this.executor = new ThreadPoolExecutor(
+                concurrency,
+                concurrency,
+                60L,
+                TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(),
+                new NamedThreadFactory("s3-bulk-")
+        );
+    }
+
+    /**
+     * 删除前缀下的所有对象
+     *
+     * @param prefix 前缀
+     * @return 操作结果
+     */
+    public BulkOperationResult deletePrefix(String prefix) {
+        requirePrefix(prefix);
+        String bucket = s3Properties.getBucketName();
+        BulkTask task = start("DELETE", prefix, null);
+
+        try (S3ObjectIterator objects = objectLister.iterator(prefix)) {
+            List<String> batch = new ArrayList<>(DELETE_BATCH_SIZE);
+            while (objects.hasNext()) {
+                batch.add(objects.next().key());
+                task.listed.increment();
+                if (batch.size() == DELETE_BATCH_SIZE) {
+                    final List<String> keys = batch;
+                    task.submit(() -> deleteBatch(bucket, keys, task));
+                    batch = new ArrayList<>(DELETE_BATCH_SIZE);
+                }
+            }
+            if (!batch.isEmpty()) {
+                final List<String> keys = batch;
+                task.submit(() -> deleteBatch(bucket, keys, task));
+            }
+            task.awaitAll();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("S3批量删除被中断", e);
+        } finally {
+            finish(task);
+        }
+        return task.snapshot(true);
+    }
+
+    /**
+     * 服务端复制前缀下的所有对象到目标前缀
+     *
+     * @param sourcePrefix 源前缀
+     * @param targetPrefix 目标前缀
+     * @return 操作结果
+     */
+    public BulkOperationResult copyPrefix(String sourcePrefix, String targetPrefix) {
+        return copyOrMove("COPY", sourcePrefix, targetPrefix, false);
+    }
+
+    /**
+     * 移动前缀下的所有对象到目标前缀（复制成功后批量删除源对象）
+     *
+     * @param sourcePrefix 源前缀
+     * @param targetPrefix 目标前缀
+     * @return 操作结果
+     */
+    public BulkOperationResult movePrefix(String sourcePrefix, String targetPrefix) {
+        return copyOrMove("MOVE", sourcePrefix, targetPrefix, true);
+    }
+
+    /**
+     * 正在执行的批量操作进度
+     */
+    public List<BulkOperationResult> getActiveOperations() {
+        List<BulkOperationResult> list = new ArrayList<>(activeTasks.size());
+        for (BulkTask task : activeTasks.values()) {
+            list.add(task.snapshot(false));
+        }
+        return list;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private BulkOperationResult copyOrMove(String operation, String sourcePrefix, String targetPrefix, boolean deleteSource) {
+        requirePrefix(sourcePrefix);
+        if (targetPrefix == null || targetPrefix.startsWith(sourcePrefix)) {
+            throw new IllegalArgumentException("目标前缀不能为空，且不能位于源前缀之下");
+        }
+        String bucket = s3Properties.getBucketName();
+        BulkTask task = start(operation, sourcePrefix, targetPrefix);
+        DeleteCollector collector = deleteSource ? new DeleteCollector(bucket, task) : null;
+
+        try (S3ObjectIterator objects = objectLister.iterator(sourcePrefix)) {
+            while (objects.hasNext()) {
+                S3Object object = objects.next();
+                task.listed.increment();
+                String targetKey = targetPrefix + object.key().substring(sourcePrefix.length());
+                task.submit(() -> copyObject(bucket, object, targetKey, task, collector));
+            }
+            task.awaitAll();
+            if (collector != null) {
+                collector.flush();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("S3批量复制被中断", e);
+        } finally {
+            finish(task);
+        }
+        return task.snapshot(true);
+    }
+
+    private void deleteBatch(String bucket, List<String> keys, BulkTask task) {
+        List<ObjectIdentifier> identifiers = new ArrayList<>(keys.size());
+        for (String key : keys) {
+            identifiers.add(ObjectIdentifier.builder().key(key).build());
+        }
+
+        try {
+            // quiet 模式只返回失败的 key
+            DeleteObjectsResponse response = s3Client.deleteObjects(DeleteObjectsRequest.builder()
+                    .bucket(bucket)
+                    .delete(Delete.builder().objects(identifiers).quiet(true).build())
+                    .build());
+            for (S3Error error : response.errors()) {
+                task.fail(error.key(), error.code(), error.message());
+            }
+            task.succeeded.add(keys.size() - response.errors().size());
+        } catch (Exception e) {
+            String code = e instanceof S3Exception && ((S3Exception) e).awsErrorDetails() != null
+                    ? ((S3Exception) e).awsErrorDetails().errorCode()
+                    : e.getClass().getSimpleName();
+            for (String key : keys) {
+                task.fail(key, code, e.getMessage());
+            }
+        }
+    }
+
+    private void copyObject(String bucket, S3Object object, String targetKey, BulkTask task, DeleteCollector collector) {
+        try {
+            if (object.size() != null && object.size() > MAX_SINGLE_COPY_SIZE) {
+                multipartCopy(bucket, object.key(), targetKey, object.size());
+            } else {
+                s3Client.copyObject(CopyObjectRequest.builder()
+                        .sourceBucket(bucket)
+                        .sourceKey(object.key())
+                        .destinationBucket(bucket)
+                        .destinationKey(targetKey)
+                        .build());
+            }
+            task.succeeded.increment();
+            task.bytes.add(object.size() == null ? 0 : object.size());
+            if (collector != null) {
+                collector.add(object.key());
+            }
+        } catch (Exception e) {
+            String code = e instanceof S3Exception && ((S3Exception) e).awsErrorDetails() != null
+                    ? ((S3Exception) e).awsErrorDetails().errorCode()
+                    : e.getClass().getSimpleName();
+            task.fail(object.key(), code, e.getMessage());
+        }
+    }
+
+    /**
+     * 超过 5GB 的对象使用 UploadPartCopy 分片复制
+     */
+    private void multipartCopy(String bucket, String sourceKey, String targetKey, long size) {
+        String uploadId = s3Client.createMultipartUpload(CreateMultipartUploadRequest.builder()
+                .bucket(bucket)
+                .key(targetKey)
+                .build()).uploadId();
+        try {
+            List<CompletedPart> parts = new ArrayList<>();
+            int partNumber = 1;
+            for (long start = 0; start < size; start += COPY_PART_SIZE, partNumber++) {
+                long end = Math.min(start + COPY_PART_SIZE, size) - 1;
+                String eTag = s3Client.uploadPartCopy(UploadPartCopyRequest.builder()
+                        .sourceBucket(bucket)
+                        .sourceKey(sourceKey)
+                        .destinationBucket(bucket)
+                        .destinationKey(targetKey)
+                        .uploadId(uploadId)
+                        .partNumber(partNumber)
+                        .copySourceRange("bytes=" + start + "-" + end)
+                        .build()).copyPartResult().eTag();
+                parts.add(CompletedPart.builder().partNumber(partNumber).eTag(eTag).build());
+            }
+            s3Client.completeMultipartUpload(CompleteMultipartUploadRequest.builder()
+                    .bucket(bucket)
+                    .key(targetKey)
+                    .uploadId(uploadId)
+                    .multipartUpload(CompletedMultipartUpload.builder().parts(parts).build())
+                    .build());
+        } catch (RuntimeException e) {
+            try {
+                s3Client.abortMultipartUpload(AbortMultipartUploadRequest.builder()
+                        .bucket(bucket)
+                        .key(targetKey)
+                        .uploadId(uploadId)
+                        .build());
+            } catch (Exception abortError) {
+                log.warn("中止分片复制失败：key={}, uploadId={}", targetKey, uploadId, abortError);
+            }
+            throw e;
+        }
+    }
+
+    private BulkTask start(String operation, String sourcePrefix, String targetPrefix) {
+        BulkTask task = new BulkTask(operation, sourcePrefix, targetPrefix,
+                Math.max(1, s3Properties.getBulkConcurrency()),
+                Math.max(0, s3Properties.getBulkMaxReportedFailures()));
+        activeTasks.put(task.id, task);
+        log.info("S3批量操作开始：operation={}, source={}, target={}", operation, sourcePrefix, targetPrefix);
+        return task;
+    }
+
+    private void finish(BulkTask task) {
+        activeTasks.remove(task.id);
+        BulkOperationResult result = task.snapshot(true);
+        log.info("S3批量操作结束：operation={}, source={}, target={}, listed={}, succeeded={}, failed={}, cost={}ms, {} 对象/秒",
+                result.getOperation(), result.getSourcePrefix(), result.getTargetPrefix(),
+                result.getListed(), result.getSucceeded(), result.getFailed(), result.getCostMillis(),
+                String.format("%.1f", result.getObjectsPerSec()));
+    }
+
+    private static void requirePrefix(String prefix) {
+        // 空前缀会作用于整个 bucket
+        if (prefix == null || prefix.trim().isEmpty()) {
+            throw new IllegalArgumentException("前缀不能为空");
+        }
+    }
+
+    /**
+     * 移动操作中收集复制成功的源 key，满 1000 个时在当前工作线程中批量删除
+     */
+    private final class DeleteCollector {
+
+        private final String bucket;
+        private final BulkTask task;
+        private List<String> batch = new ArrayList<>(DELETE_BATCH_SIZE);
+
+        private DeleteCollector(String bucket, BulkTask task) {
+            this.bucket = bucket;
+            this.task = task;
+        }
+
+        private void add(String key) {
+            List<String> full = null;
+            synchronized (this) {
+                batch.add(key);
+                if (batch.size() == DELETE_BATCH_SIZE) {
+                    full = batch;
+                    batch = new ArrayList<>(DELETE_BATCH_SIZE);
+                }
+            }
+            if (full != null) {
+                deleteSources(full);
+            }
+        }
+
+        private void flush() {
+            List<String> rest;
+            synchronized (this) {
+                rest = batch;
+                batch = new ArrayList<>(DELETE_BATCH_SIZE);
+            }
+            if (!rest.isEmpty()) {
+                deleteSources(rest);
+            }
+        }
+
+        /**
+         * 删除源对象，失败的 key 计为移动失败（目标已存在，源未删除）
+         */
+        private void deleteSources(List<String> keys) {
+            List<ObjectIdentifier> identifiers = new ArrayList<>(keys.size());
+            for (String key : keys) {
+                identifiers.add(ObjectIdentifier.builder().key(key).build());
+            }
+            try {
+                DeleteObjectsResponse response = s3Client.deleteObjects(DeleteObjectsRequest.builder()
+                        .bucket(bucket)
+                        .delete(Delete.builder().objects(identifiers).quiet(true).build())
+                        .build());
+                for (S3Error error : response.errors()) {
+                    task.succeeded.decrement();
+                    task.fail(error.key(), error.code(), "已复制但删除源对象失败：" + error.message());
+                }
+            } catch (Exception e) {
+                task.succeeded.add(-keys.size());
+                for (String key : keys) {
+                    task.fail(key, e.getClass().getSimpleName(), "已复制但删除源对象失败：" + e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * 单个批量操作的状态
+     */
+    private final class BulkTask {
+
+        private final String id = UUID.randomUUID().toString();
+        private final String operation;
+        private final String sourcePrefix;
+        private final String targetPrefix;
+        private final int concurrency;
+        private final int maxReportedFailures;
+        private final Semaphore permits;
+        private final long startNanos = System.nanoTime();
+
+        private final LongAdder listed = new LongAdder();
+        private final LongAdder succeeded = new LongAdder();
+        private final LongAdder failed = new LongAdder();
+        private final LongAdder bytes = new LongAdder();
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final List<BulkFailure> failures = Collections.synchronizedList(new ArrayList<>());
+
+        private BulkTask(String operation, String sourcePrefix, String targetPrefix, int concurrency, int maxReportedFailures) {
+            this.operation = operation;
+            this.sourcePrefix = sourcePrefix;
+            this.targetPrefix = targetPrefix;
+            this.concurrency = concurrency;
+            this.maxReportedFailures = maxReportedFailures;
+            this.permits = new Semaphore(concurrency);
+        }
+
+        /**
+         * 提交请求，执行中的请求达到并发上限时阻塞列举线程
+         */
+        private void submit(Runnable action) throws InterruptedException {
+            permits.acquire();
+            inFlight.incrementAndGet();
+            try {
+                executor.execute(() -> {
+                    try {
+                        action.run();
+                    } finally {
+                        inFlight.decrementAndGet();
+                        permits.release();
+                    }
+                });
+            } catch (RuntimeException e) {
+                inFlight.decrementAndGet();
+                permits.release();
+                throw e;
+            }
+        }
+
+        /**
+         * 等待已提交的请求全部完成
+         */
+        private void awaitAll() throws InterruptedException {
+            permits.acquire(concurrency);
+            permits.release(concurrency);
+        }
+
+        private void fail(String key, String code, String message) {
+            failed.increment();
+            if (failures.size() < maxReportedFailures) {
+                failures.add(new BulkFailure(key, code, message));
+            }
+        }
+
+        private BulkOperationResult snapshot(boolean finished) {
+            long costMillis = (System.nanoTime() - startNanos) / 1_000_000;
+            long done = succeeded.sum() + failed.sum();
+            List<BulkFailure> failureCopy;
+            synchronized (failures) {
+                failureCopy = new ArrayList<>(failures);
+            }
+            return new BulkOperationResult(
+                    operation,
+                    sourcePrefix,
+                    targetPrefix,
+                    listed.sum(),
+                    succeeded.sum(),
+                    failed.sum(),
+                    inFlight.get(),
+                    bytes.sum(),
+                    costMillis,
+                    done * 1000.0 / Math.max(1, costMillis),
+                    finished,
+                    failureCopy
+            );
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package local.ateng.java.awss3.transfer;
+
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Request;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Response;
+import software.amazon.awssdk.services.s3.model.S3Object;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+/**
+ * 按 continuationToken 惰性翻页的对象迭代器
+ * <p>
+ * 拿到一页后立即在后台请求下一页，调用方处理当前页时下一页已在路上；
+ * 任意时刻最多持有两页数据，内存占用与前缀下的对象总数无关。
+ * <p>
+ * 非线程安全，由单个消费者使用，提前结束时应调用 {@link #close()} 取消预取。
+ *
+ * @author Ateng
+ * @since 2025-07-21
+ */
+public class S3ObjectIterator implements Iterator<S3Object>, AutoCloseable {
+
+    private final S3Client s3Client;
+    private final ListObjectsV2Request baseRequest;
+    private final Executor executor;
+
+    private Iterator<S3Object> current = Collections.emptyIterator();
+    private CompletableFuture<ListObjectsV2Response> nextPage;
+    private long pages;
+
+    public S3ObjectIterator(S3Client s3Client, ListObjectsV2Request baseRequest, Executor executor) {
+        this.s3Client = s3Client;
+        this.baseRequest = baseRequest;
+        this.executor = executor;
+        this.nextPage = fetch(null);
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (!current.hasNext()) {
+            if (nextPage == null) {
+                return false;
+            }
+            ListObjectsV2Response page = await(nextPage);
+            pages++;
+
+            String token = page.nextContinuationToken();
+            nextPage = Boolean.TRUE.equals(page.isTruncated()) && token != null ? fetch(token) : null;
+            current = page.contents().iterator();
+        }
+        return true;
+    }
+
+    @Override
+    public S3Object next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return current.next();
+    }
+
+    /**
+     * 已读取的页数
+     */
+    public long getPages() {
+        return pages;
+    }
+
+    /**
+     * 取消尚未完成的预取
+     */
+    @Override
+    public void close() {
+        if (nextPage != null) {
+            nextPage.cancel(true);
+            nextPage = null;
+        }
+        current = Collections.emptyIterator();
+    }
+
+    private CompletableFuture<ListObjectsV2Response> fetch(String continuationToken) {
+        ListObjectsV2Request request = baseRequest.toBuilder()
+                .continuationToken(continuationToken)
+                .build();
+        return CompletableFuture.supplyAsync(() -> s3Client.listObjectsV2(request), executor);
+    }
+
+    private static ListObjectsV2Response await(CompletableFuture<ListObjectsV2Response> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+}
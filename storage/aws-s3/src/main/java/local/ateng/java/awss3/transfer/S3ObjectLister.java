@@ -0,0 +1,91 @@
+package local.ateng.java.awss3.transfer;
+
+import local.ateng.java.awss3.config.S3Properties;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Request;
+import software.amazon.awssdk.services.s3.model.S3Object;
+
+import javax.annotation.PreDestroy;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * S3 流式对象列举
+ * <p>
+ * 基于 {@link S3ObjectIterator} 提供 Iterator / Stream 两种形式，
+ * 百万级对象的前缀也只占用常量内存，且翻页请求与调用方的处理重叠执行。
+ *
+ * @author Ateng
+ * @since 2025-07-21
+ */
+@Component
+public class S3ObjectLister {
+
+    /**
+     * 单页最大对象数（S3 上限 1000）
+     */
+    private static final int PAGE_SIZE = 1000;
+
+    private final S3Client s3Client;
+    private final S3Properties s3Properties;
+
+    /**
+     * 翻页预取线程，每个进行中的列举最多占用一个
+     */
+    private final ExecutorService prefetchExecutor = Executors.newCachedThreadPool(new NamedThreadFactory("s3-list-prefetch-"));
+
+    public S3ObjectLister(S3Client s3Client, S3Properties s3Properties) {
+        this.s3Client = s3Client;
+        this.s3Properties = s3Properties;
+    }
+
+    /**
+     * 列举默认 bucket 中指定前缀下的对象
+     *
+     * @param prefix 路径前缀
+     * @return 惰性迭代器，提前结束时需要关闭
+     */
+    public S3ObjectIterator iterator(String prefix) {
+        return iterator(s3Properties.getBucketName(), prefix);
+    }
+
+    /**
+     * 列举指定 bucket 中指定前缀下的对象
+     *
+     * @param bucket bucket 名称
+     * @param prefix 路径前缀
+     * @return 惰性迭代器，提前结束时需要关闭
+     */
+    public S3ObjectIterator iterator(String bucket, String prefix) {
+        ListObjectsV2Request request = ListObjectsV2Request.builder()
+                .bucket(bucket)
+                .prefix(prefix)
+                .maxKeys(PAGE_SIZE)
+                .build();
+        return new S3ObjectIterator(s3Client, request, prefetchExecutor);
+    }
+
+    /**
+     * 以 Stream 形式列举默认 bucket 中指定前缀下的对象
+     *
+     * @param prefix 路径前缀
+     * @return 顺序流，需要在 try-with-resources 中使用
+     */
+    public Stream<S3Object> stream(String prefix) {
+        S3ObjectIterator iterator = iterator(prefix);
+        return StreamSupport.stream(
+                Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL),
+                false
+        ).onClose(iterator::close);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        prefetchExecutor.shutdownNow();
+    }
+}
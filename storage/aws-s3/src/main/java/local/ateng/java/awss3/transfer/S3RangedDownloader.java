@@ -0,0 +1,415 @@
+package local.ateng.java.awss3.transfer;
+
+import local.ateng.java.awss3.config.S3Properties;
+import local.ateng.java.awss3.entity.TransferProgress;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.core.ResponseInputStream;
+import software.amazon.awssdk.core.exception.SdkException;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * S3 分段并行下载器
+ * <p>
+ * 将大对象按 Range 切分，多个连接并发下载，
+ * 通过 FileChannel 定位写入预分配的临时文件（xxx.part）。
+ * <p>
+ * 每完成一个 Range 记录到进度文件（xxx.progress），
+ * 中断后再次下载同一对象时跳过已完成的 Range；
+ * 请求携带 If-Match，对象在续传期间被覆盖时直接失败。
+ *
+ * @author Ateng
+ * @since 2025-07-21
+ */
+@Component
+public class S3RangedDownloader {
+
+    private static final Logger log = LoggerFactory.getLogger(S3RangedDownloader.class);
+
+    private static final String PART_SUFFIX = ".part";
+    private static final String PROGRESS_SUFFIX = ".progress";
+
+    /**
+     * Range 读取时的拷贝缓冲区大小
+     */
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * Range 重试的初始退避时间（毫秒）
+     */
+    private static final long RETRY_BACKOFF_MILLIS = 200L;
+
+    /**
+     * If-Match 不满足
+     */
+    private static final int PRECONDITION_FAILED = 412;
+
+    private final S3Client s3Client;
+    private final S3Properties s3Properties;
+    private final ExecutorService executor;
+
+    /**
+     * 正在进行的下载：本地路径 -> 任务
+     */
+    private final Map<String, DownloadTask> activeTasks = new ConcurrentHashMap<>();
+
+    public S3RangedDownloader(S3Client s3Client, S3Properties s3Properties) {
+        if (s3Properties.getRangeSize() <= 0) {
+            throw new IllegalArgumentException("s3.range-size 必须大于 0");
+        }
+        int concurrency = Math.max(1, s3Properties.getRangeConcurrency());
+
+        this.s3Client = s3Client;
+        this.s3Properties = s3Properties;
+        this.executor = new ThreadPoolExecutor(
+                concurrency,
+                concurrency,
+                60L,
+                TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(),
+                new NamedThreadFactory("s3-range-download-")
+        );
+    }
+
+    /**
+     * 对象大小是否需要分段并行下载
+     *
+     * @param size 对象大小
+     * @return true 表示使用分段下载
+     */
+    public boolean accepts(long size) {
+        return size >= s3Properties.getRangeDownloadThreshold() && size > s3Properties.getRangeSize();
+    }
+
+    /**
+     * 下载对象到本地文件，先通过 HeadObject 获取大小与 ETag，
+     * 低于阈值的对象单次 GET 下载，不发起多余的请求
+     *
+     * @param key       S3 对象 key
+     * @param localPath 本地保存路径
+     */
+    public void download(String key, Path localPath) {
+        HeadObjectResponse head;
+        try {
+            head = s3Client.headObject(HeadObjectRequest.builder()
+                    .bucket(s3Properties.getBucketName())
+                    .key(key)
+                    .build());
+        } catch (Exception e) {
+            log.error("S3文件下载到本地失败，bucket={}, key={}", s3Properties.getBucketName(), key, e);
+            throw new RuntimeException("S3文件下载到本地失败", e);
+        }
+        download(key, localPath, head.contentLength(), head.eTag());
+    }
+
+    /**
+     * 下载对象到本地文件，达到阈值时分段并行下载，否则单次 GET
+     *
+     * @param key       S3 对象 key
+     * @param localPath 本地保存路径
+     * @param size      对象大小
+     * @param eTag      对象 ETag，用于续传校验，可为 null
+     */
+    public void download(String key, Path localPath, long size, String eTag) {
+        if (!accepts(size)) {
+            downloadWhole(key, localPath, eTag);
+            return;
+        }
+
+        String bucket = s3Properties.getBucketName();
+        long rangeSize = s3Properties.getRangeSize();
+        int rangeCount = (int) ((size + rangeSize - 1) / rangeSize);
+
+        Path partFile = localPath.resolveSibling(localPath.getFileName() + PART_SUFFIX);
+        Path progressFile = localPath.resolveSibling(localPath.getFileName() + PROGRESS_SUFFIX);
+
+        DownloadTask task = new DownloadTask(key, size, rangeCount);
+        if (activeTasks.putIfAbsent(localPath.toString(), task) != null) {
+            throw new IllegalStateException("该路径正在下载中: " + localPath);
+        }
+
+        try {
+            Path parentDir = localPath.getParent();
+            if (parentDir != null && !Files.exists(parentDir)) {
+                Files.createDirectories(parentDir);
+            }
+
+            BitSet done = Files.exists(partFile)
+                    ? loadProgress(progressFile, eTag, size, rangeSize)
+                    : new BitSet(rangeCount);
+            for (int i = done.nextSetBit(0); i >= 0; i = done.nextSetBit(i + 1)) {
+                task.completedRanges.incrementAndGet();
+                task.completedBytes.add(rangeLength(i, size, rangeSize));
+            }
+            if (!done.isEmpty()) {
+                log.info("断点续传：key={}, 已完成 Range={}/{}", key, done.cardinality(), rangeCount);
+            }
+
+            try (RandomAccessFile file = new RandomAccessFile(partFile.toFile(), "rw")) {
+                if (file.length() != size) {
+                    file.setLength(size);
+                }
+                FileChannel channel = file.getChannel();
+
+                AtomicReference<Throwable> failure = new AtomicReference<>();
+                List<CompletableFuture<Void>> futures = new ArrayList<>(rangeCount - done.cardinality());
+
+                for (int i = done.nextClearBit(0); i < rangeCount; i = done.nextClearBit(i + 1)) {
+                    final int index = i;
+                    futures.add(CompletableFuture.runAsync(() -> {
+                        if (failure.get() != null) {
+                            return;
+                        }
+                        long start = index * rangeSize;
+                        long end = start + rangeLength(index, size, rangeSize) - 1;
+                        task.rangesInFlight.incrementAndGet();
+                        try {
+                            downloadRange(bucket, key, eTag, channel, start, end, task);
+                            channel.force(false);
+                            synchronized (done) {
+                                done.set(index);
+                                saveProgress(progressFile, eTag, size, rangeSize, done);
+                            }
+                            task.completedRanges.incrementAndGet();
+                            task.completedBytes.add(end - start + 1);
+                        } catch (Exception e) {
+                            failure.compareAndSet(null, e);
+                            throw new CompletionException(e);
+                        } finally {
+                            task.rangesInFlight.decrementAndGet();
+                        }
+                    }, executor));
+                }
+
+                CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+                channel.force(true);
+            }
+
+            Files.move(partFile, localPath, StandardCopyOption.REPLACE_EXISTING);
+            Files.deleteIfExists(progressFile);
+
+            TransferProgress progress = task.snapshot();
+            log.info("分段并行下载完成：key={}, bytes={}, ranges={}, retries={}, throughput={}MB/s",
+                    key, size, rangeCount, progress.getRetries(),
+                    String.format("%.1f", progress.getThroughputMbPerSec()));
+        } catch (Exception e) {
+            Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+            if (cause instanceof S3Exception && ((S3Exception) cause).statusCode() == PRECONDITION_FAILED) {
+                // 对象已变化，进度作废
+                deleteQuietly(partFile);
+                deleteQuietly(progressFile);
+            }
+            log.error("S3分段下载失败，bucket={}, key={}, 已完成 Range={}/{}",
+                    bucket, key, task.completedRanges.get(), rangeCount, cause);
+            throw new RuntimeException("S3分段下载失败", cause);
+        } finally {
+            activeTasks.remove(localPath.toString());
+        }
+    }
+
+    /**
+     * 正在进行的下载进度
+     *
+     * @return 各下载任务的进度、并发 Range 数与吞吐
+     */
+    public List<TransferProgress> getActiveDownloads() {
+        List<TransferProgress> list = new ArrayList<>(activeTasks.size());
+        for (DownloadTask task : activeTasks.values()) {
+            list.add(task.snapshot());
+        }
+        return list;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * 小对象单连接整体下载
+     */
+    private void downloadWhole(String key, Path localPath, String eTag) {
+        GetObjectRequest request = GetObjectRequest.builder()
+                .bucket(s3Properties.getBucketName())
+                .key(key)
+                .ifMatch(eTag)
+                .build();
+        try (ResponseInputStream<GetObjectResponse> in = s3Client.getObject(request)) {
+            Path parentDir = localPath.getParent();
+            if (parentDir != null && !Files.exists(parentDir)) {
+                Files.createDirectories(parentDir);
+            }
+            Files.copy(in, localPath, StandardCopyOption.REPLACE_EXISTING);
+        } catch (Exception e) {
+            log.error("S3文件下载到本地失败，bucket={}, key={}", s3Properties.getBucketName(), key, e);
+            throw new RuntimeException("S3文件下载到本地失败", e);
+        }
+    }
+
+    /**
+     * 下载单个 Range 并定位写入文件，失败时整段重试
+     */
+    private void downloadRange(String bucket, String key, String eTag, FileChannel channel,
+                               long start, long end, DownloadTask task) throws IOException, InterruptedException {
+        GetObjectRequest request = GetObjectRequest.builder()
+                .bucket(bucket)
+                .key(key)
+                .range("bytes=" + start + "-" + end)
+                .ifMatch(eTag)
+                .build();
+
+        byte[] buffer = new byte[COPY_BUFFER_SIZE];
+        int retryTimes = Math.max(0, s3Properties.getRangeRetryTimes());
+
+        for (int attempt = 0; ; attempt++) {
+            long position = start;
+            try (ResponseInputStream<GetObjectResponse> in = s3Client.getObject(request)) {
+                int n;
+                while ((n = in.read(buffer)) != -1) {
+                    ByteBuffer chunk = ByteBuffer.wrap(buffer, 0, n);
+                    while (chunk.hasRemaining()) {
+                        position += channel.write(chunk, position);
+                    }
+                    task.transferredBytes.add(n);
+                }
+                if (position != end + 1) {
+                    throw new IOException("Range 数据不完整，期望结束于 " + end + "，实际 " + (position - 1));
+                }
+                return;
+            } catch (IOException | SdkException e) {
+                boolean preconditionFailed = e instanceof S3Exception
+                        && ((S3Exception) e).statusCode() == PRECONDITION_FAILED;
+                if (preconditionFailed || attempt >= retryTimes) {
+                    throw e;
+                }
+                task.retries.increment();
+                log.warn("Range 下载失败，准备重试：key={}, range={}-{}, attempt={}, 原因={}",
+                        key, start, end, attempt + 1, e.getMessage());
+                Thread.sleep(RETRY_BACKOFF_MILLIS << attempt);
+            }
+        }
+    }
+
+    private static long rangeLength(int index, long size, long rangeSize) {
+        long start = index * rangeSize;
+        return Math.min(rangeSize, size - start);
+    }
+
+    /**
+     * 读取进度文件，与当前对象不一致时从头下载
+     */
+    private static BitSet loadProgress(Path progressFile, String eTag, long size, long rangeSize) {
+        if (!Files.exists(progressFile)) {
+            return new BitSet();
+        }
+        Properties properties = new Properties();
+        try (InputStream in = Files.newInputStream(progressFile)) {
+            properties.load(in);
+        } catch (IOException e) {
+            log.warn("读取下载进度失败，重新下载：{}", progressFile, e);
+            return new BitSet();
+        }
+
+        boolean matches = String.valueOf(eTag).equals(properties.getProperty("etag"))
+                && String.valueOf(size).equals(properties.getProperty("size"))
+                && String.valueOf(rangeSize).equals(properties.getProperty("rangeSize"));
+        if (!matches) {
+            log.info("下载进度与对象不一致，重新下载：{}", progressFile);
+            return new BitSet();
+        }
+        try {
+            return BitSet.valueOf(Base64.getDecoder().decode(properties.getProperty("done", "")));
+        } catch (IllegalArgumentException e) {
+            return new BitSet();
+        }
+    }
+
+    private static void saveProgress(Path progressFile, String eTag, long size, long rangeSize, BitSet done) throws IOException {
+        Properties properties = new Properties();
+        properties.setProperty("etag", String.valueOf(eTag));
+        properties.setProperty("size", String.valueOf(size));
+        properties.setProperty("rangeSize", String.valueOf(rangeSize));
+        properties.setProperty("done", Base64.getEncoder().encodeToString(done.toByteArray()));
+        try (OutputStream out = Files.newOutputStream(progressFile)) {
+            properties.store(out, null);
+        }
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("删除文件失败，path={}", path, e);
+        }
+    }
+
+    /**
+     * 单个对象的下载状态
+     */
+    private static final class DownloadTask {
+
+        private final String key;
+        private final long size;
+        private final int rangeCount;
+        private final long startNanos = System.nanoTime();
+
+        private final AtomicInteger rangesInFlight = new AtomicInteger();
+        private final AtomicInteger completedRanges = new AtomicInteger();
+        private final LongAdder completedBytes = new LongAdder();
+        private final LongAdder transferredBytes = new LongAdder();
+        private final LongAdder retries = new LongAdder();
+
+        private DownloadTask(String key, long size, int rangeCount) {
+            this.key = key;
+            this.size = size;
+            this.rangeCount = rangeCount;
+        }
+
+        private TransferProgress snapshot() {
+            double seconds = Math.max(1e-3, (System.nanoTime() - startNanos) / 1e9);
+            return new TransferProgress(
+                    key,
+                    size,
+                    completedBytes.sum(),
+                    rangeCount,
+                    completedRanges.get(),
+                    rangesInFlight.get(),
+                    retries.sum(),
+                    transferredBytes.sum() / 1024.0 / 1024.0 / seconds
+            );
+        }
+    }
+}
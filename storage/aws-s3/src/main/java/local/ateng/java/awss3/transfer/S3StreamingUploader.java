@@ -0,0 +1,364 @@
+package local.ateng.java.awss3.transfer;
+
+import local.ateng.java.awss3.config.S3Properties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.core.exception.SdkException;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.AbortMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadResponse;
+import software.amazon.awssdk.services.s3.model.CompletedMultipartUpload;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.UploadPartRequest;
+import software.amazon.awssdk.services.s3.model.UploadPartResponse;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * S3 流式分片上传器
+ * <p>
+ * 将任意长度的 InputStream 按固定大小切分为分片并发上传，
+ * 分片缓冲区来自 {@link PartBufferPool}，读取线程在缓冲区耗尽时阻塞，
+ * 堆内存占用约为 partSize × (partConcurrency + 1)，与对象大小无关。
+ * <p>
+ * 不足一个分片的数据直接使用 PutObject 上传。
+ *
+ * @author Ateng
+ * @since 2025-07-21
+ */
+@Component
+public class S3StreamingUploader {
+
+    private static final Logger log = LoggerFactory.getLogger(S3StreamingUploader.class);
+
+    /**
+     * S3 限制：分片最小 5MB（最后一片除外）
+     */
+    private static final long MIN_PART_SIZE = 5L * 1024 * 1024;
+
+    /**
+     * S3 限制：最多 10000 个分片
+     */
+    private static final int MAX_PART_NUMBER = 10000;
+
+    /**
+     * 堆外缓冲区读取时使用的中转数组大小
+     */
+    private static final int SCRATCH_SIZE = 64 * 1024;
+
+    /**
+     * 分片重试的初始退避时间（毫秒）
+     */
+    private static final long RETRY_BACKOFF_MILLIS = 200L;
+
+    private final S3Client s3Client;
+    private final S3Properties s3Properties;
+    private final PartBufferPool bufferPool;
+    private final ExecutorService executor;
+
+    public S3StreamingUploader(S3Client s3Client, S3Properties s3Properties) {
+        if (s3Properties.getPartSize() < MIN_PART_SIZE || s3Properties.getPartSize() > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("s3.part-size 必须在 5MB 到 2GB 之间: " + s3Properties.getPartSize());
+        }
+        int concurrency = Math.max(1, s3Properties.getPartConcurrency());
+
+        this.s3Client = s3Client;
+        this.s3Properties = s3Properties;
+        // 多出的一个缓冲区用于在分片上传期间读取下一片
+        this.bufferPool = new PartBufferPool((int) s3Properties.getPartSize(), concurrency + 1, s3Properties.isDirectBuffer());
+        this.executor = new ThreadPoolExecutor(
+                concurrency,
+                concurrency,
+                60L,
+                TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(),
+                new NamedThreadFactory("s3-upload-part-")
+        );
+    }
+
+    /**
+     * 流式上传到配置的默认 bucket
+     *
+     * @param key         S3 对象 key
+     * @param inputStream 输入流，由调用方关闭
+     * @param contentType 内容类型
+     * @return 对象 ETag
+     */
+    public String upload(String key, InputStream inputStream, String contentType) {
+        return upload(s3Properties.getBucketName(), key, inputStream, contentType);
+    }
+
+    /**
+     * 流式上传
+     *
+     * @param bucket      bucket 名称
+     * @param key         S3 对象 key
+     * @param inputStream 输入流，由调用方关闭
+     * @param contentType 内容类型
+     * @return 对象 ETag
+     */
+    public String upload(String bucket, String key, InputStream inputStream, String contentType) {
+        byte[] scratch = s3Properties.isDirectBuffer() ? new byte[SCRATCH_SIZE] : null;
+        ByteBuffer buffer = null;
+        String uploadId = null;
+        List<CompletableFuture<CompletedPart>> futures = new ArrayList<>();
+
+        try {
+            buffer = bufferPool.acquire();
+            int length = fill(inputStream, buffer, scratch);
+
+            // 不足一个分片，直接单次上传
+            if (length < bufferPool.getBufferSize()) {
+                PutObjectRequest request = PutObjectRequest.builder()
+                        .bucket(bucket)
+                        .key(key)
+                        .contentType(contentType)
+                        .contentLength((long) length)
+                        .build();
+                return s3Client.putObject(request, body(buffer, length, contentType)).eTag();
+            }
+
+            CreateMultipartUploadRequest.Builder createBuilder = CreateMultipartUploadRequest.builder()
+                    .bucket(bucket)
+                    .key(key);
+            if (contentType != null && !contentType.trim().isEmpty()) {
+                createBuilder.contentType(contentType);
+            }
+            uploadId = s3Client.createMultipartUpload(createBuilder.build()).uploadId();
+
+            AtomicReference<Throwable> failure = new AtomicReference<>();
+            int partNumber = 0;
+            long totalBytes = 0;
+
+            while (length > 0) {
+                if (++partNumber > MAX_PART_NUMBER) {
+                    throw new IllegalStateException("分片数量超过 S3 上限 " + MAX_PART_NUMBER + "，请调大 s3.part-size");
+                }
+
+                final ByteBuffer part = buffer;
+                final int partLength = length;
+                final int currentPart = partNumber;
+                final String currentUploadId = uploadId;
+                buffer = null;
+                totalBytes += partLength;
+
+                futures.add(CompletableFuture.supplyAsync(() -> {
+                    try {
+                        return uploadPart(bucket, key, currentUploadId, currentPart, part, partLength, contentType);
+                    } catch (RuntimeException e) {
+                        failure.compareAndSet(null, e);
+                        throw e;
+                    } finally {
+                        bufferPool.release(part);
+                    }
+                }, executor));
+
+                if (failure.get() != null) {
+                    break;
+                }
+
+                // 缓冲区耗尽时在此阻塞，直到有分片上传完成
+                buffer = bufferPool.acquire();
+                length = fill(inputStream, buffer, scratch);
+            }
+
+            List<CompletedPart> parts = new ArrayList<>(futures.size());
+            for (CompletableFuture<CompletedPart> future : futures) {
+                parts.add(future.join());
+            }
+            parts.sort(Comparator.comparing(CompletedPart::partNumber));
+
+            CompleteMultipartUploadResponse response = s3Client.completeMultipartUpload(CompleteMultipartUploadRequest.builder()
+                    .bucket(bucket)
+                    .key(key)
+                    .uploadId(uploadId)
+                    .multipartUpload(CompletedMultipartUpload.builder().parts(parts).build())
+                    .build());
+
+            log.info("流式分片上传完成：bucket={}, key={}, parts={}, bytes={}", bucket, key, parts.size(), totalBytes);
+            return response.eTag();
+        } catch (Exception e) {
+            Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+            abortQuietly(bucket, key, uploadId, futures);
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            log.error("S3流式上传失败，bucket={}, key={}", bucket, key, cause);
+            throw new RuntimeException("S3流式上传失败", cause);
+        } finally {
+            bufferPool.release(buffer);
+        }
+    }
+
+    /**
+     * 当前借出的分片缓冲区数量
+     */
+    public int getBuffersInUse() {
+        return bufferPool.getInUse();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    /**
+     * 上传单个分片，失败时按指数退避重试
+     */
+    private CompletedPart uploadPart(String bucket, String key, String uploadId, int partNumber,
+                                     ByteBuffer buffer, int length, String contentType) {
+        UploadPartRequest request = UploadPartRequest.builder()
+                .bucket(bucket)
+                .key(key)
+                .uploadId(uploadId)
+                .partNumber(partNumber)
+                .contentLength((long) length)
+                .build();
+
+        int retryTimes = Math.max(0, s3Properties.getPartRetryTimes());
+        for (int attempt = 0; ; attempt++) {
+            try {
+                UploadPartResponse response = s3Client.uploadPart(request, body(buffer, length, contentType));
+                log.debug("分片上传成功：key={}, partNumber={}, bytes={}", key, partNumber, length);
+                return CompletedPart.builder().partNumber(partNumber).eTag(response.eTag()).build();
+            } catch (SdkException e) {
+                if (attempt >= retryTimes) {
+                    throw e;
+                }
+                log.warn("分片上传失败，准备重试：key={}, partNumber={}, attempt={}, 原因={}",
+                        key, partNumber, attempt + 1, e.getMessage());
+                try {
+                    Thread.sleep(RETRY_BACKOFF_MILLIS << attempt);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    throw e;
+                }
+            }
+        }
+    }
+
+    /**
+     * 中止分片上传并等待已提交的分片结束，释放缓冲区
+     */
+    private void abortQuietly(String bucket, String key, String uploadId, List<CompletableFuture<CompletedPart>> futures) {
+        for (CompletableFuture<CompletedPart> future : futures) {
+            try {
+                future.join();
+            } catch (Exception ignored) {
+                // 失败原因已在主流程中记录
+            }
+        }
+        if (uploadId == null) {
+            return;
+        }
+        try {
+            s3Client.abortMultipartUpload(AbortMultipartUploadRequest.builder()
+                    .bucket(bucket)
+                    .key(key)
+                    .uploadId(uploadId)
+                    .build());
+        } catch (Exception e) {
+            log.warn("中止分片上传失败：key={}, uploadId={}", key, uploadId, e);
+        }
+    }
+
+    /**
+     * 从输入流读满缓冲区，返回读取的字节数，流结束时可能不足
+     */
+    private static int fill(InputStream in, ByteBuffer buffer, byte[] scratch) throws IOException {
+        // 以 Buffer 调用 clear/flip/limit/position，JDK 9+ 编译出的协变重载在 Java 8 运行时不存在
+        ((Buffer) buffer).clear();
+        if (buffer.hasArray()) {
+            byte[] array = buffer.array();
+            int offset = buffer.arrayOffset();
+            int capacity = buffer.capacity();
+            int read = 0;
+            while (read < capacity) {
+                int n = in.read(array, offset + read, capacity - read);
+                if (n < 0) {
+                    break;
+                }
+                read += n;
+            }
+            ((Buffer) buffer).limit(read);
+            return read;
+        }
+
+        while (buffer.hasRemaining()) {
+            int n = in.read(scratch, 0, Math.min(scratch.length, buffer.remaining()));
+            if (n < 0) {
+                break;
+            }
+            buffer.put(scratch, 0, n);
+        }
+        ((Buffer) buffer).flip();
+        return buffer.limit();
+    }
+
+    /**
+     * 以缓冲区视图作为请求体，SDK 重试时重新打开，不复制数据
+     */
+    private static RequestBody body(ByteBuffer buffer, int length, String contentType) {
+        String mimeType = contentType == null ? "application/octet-stream" : contentType;
+        return RequestBody.fromContentProvider(
+                () -> {
+                    ByteBuffer view = buffer.duplicate();
+                    ((Buffer) view).position(0).limit(length);
+                    return new ByteBufferInputStream(view);
+                },
+                length,
+                mimeType
+        );
+    }
+
+    /**
+     * ByteBuffer 只读输入流
+     */
+    private static final class ByteBufferInputStream extends InputStream {
+
+        private final ByteBuffer buffer;
+
+        private ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            int n = Math.min(len, buffer.remaining());
+            buffer.get(b, off, n);
+            return n;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+    }
+}
@@ -0,0 +1,429 @@
+package local.ateng.java.awss3.transfer;
+
+import local.ateng.java.awss3.config.S3Properties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.core.ResponseInputStream;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+import software.amazon.awssdk.services.s3.model.S3Object;
+
+import javax.annotation.PreDestroy;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * S3 流式打包
+ * <p>
+ * 按顺序把一批对象压缩为 zip 写入任意输出流（HTTP 响应或回传 S3 的分片上传），
+ * 条目既不落盘也不整体进入堆内存：
+ * <ul>
+ *     <li>当前条目之外最多预读 {@code zipReadAhead} 个对象，窗口外的对象不会建立连接</li>
+ *     <li>每个预读对象只缓存 {@code zipQueueChunks} 个数据块，队列写满后读取线程阻塞，
+ *     压缩速度跟不上下载时自动反压到 S3 连接上</li>
+ * </ul>
+ * 峰值缓冲约为 {@code (zipReadAhead + 1) * zipQueueChunks * zipChunkSize}，与对象数量和大小无关。
+ *
+ * @author Ateng
+ * @since 2025-07-21
+ */
+@Component
+public class S3ZipStreamer {
+
+    private static final Logger log = LoggerFactory.getLogger(S3ZipStreamer.class);
+
+    /**
+     * 对象读取结束标记
+     */
+    private static final byte[] EOF = new byte[0];
+
+    /**
+     * 回传 S3 时压缩线程与上传线程之间的管道缓冲大小
+     */
+    private static final int PIPE_SIZE = 1024 * 1024;
+
+    /**
+     * 读取线程检查取消状态的间隔（毫秒）
+     */
+    private static final long OFFER_INTERVAL_MILLIS = 200;
+
+    private final S3Client s3Client;
+    private final S3Properties s3Properties;
+    private final S3ObjectLister objectLister;
+    private final S3StreamingUploader streamingUploader;
+
+    /**
+     * 预读与回传上传线程，数量受各打包任务的预读窗口约束
+     */
+    private final ExecutorService executor = Executors.newCachedThreadPool(new NamedThreadFactory("s3-zip-"));
+
+    public S3ZipStreamer(S3Client s3Client, S3Properties s3Properties,
+                         S3ObjectLister objectLister, S3StreamingUploader streamingUploader) {
+        this.s3Client = s3Client;
+        this.s3Properties = s3Properties;
+        this.objectLister = objectLister;
+        this.streamingUploader = streamingUploader;
+    }
+
+    /**
+     * 将前缀下的所有对象打包写入输出流，条目名为去掉前缀后的相对路径
+     *
+     * @param prefix 路径前缀
+     * @param output 输出流，成功后关闭，失败时由调用方处理
+     * @return 打包的条目数
+     */
+    public long zipPrefix(String prefix, OutputStream output) throws IOException {
+        try (S3ObjectIterator objects = objectLister.iterator(prefix)) {
+            return zip(new KeyIterator(objects), prefix, output);
+        }
+    }
+
+    /**
+     * 将指定对象打包写入输出流
+     *
+     * @param keys       对象 key，按迭代顺序写入 zip
+     * @param basePrefix 条目名需要去掉的公共前缀，可为空
+     * @param output     输出流，成功后关闭，失败时由调用方处理
+     * @return 打包的条目数
+     */
+    public long zip(Iterator<String> keys, String basePrefix, OutputStream output) throws IOException {
+        String bucket = s3Properties.getBucketName();
+        int readAhead = Math.max(0, s3Properties.getZipReadAhead());
+        Deque<EntryPrefetch> window = new ArrayDeque<>(readAhead + 1);
+        long entries = 0;
+
+        ZipOutputStream zos = new ZipOutputStream(output);
+        try {
+            zos.setLevel(s3Properties.getZipLevel());
+            fillWindow(window, keys, bucket, readAhead + 1);
+
+            EntryPrefetch current;
+            while ((current = window.poll()) != null) {
+                // 先补齐窗口，使后续对象的下载与当前条目的压缩重叠
+                fillWindow(window, keys, bucket, readAhead);
+                try {
+                    zos.putNextEntry(new ZipEntry(entryName(current.key, basePrefix)));
+                    current.transferTo(zos);
+                    zos.closeEntry();
+                } finally {
+                    current.cancel();
+                }
+                entries++;
+            }
+            zos.finish();
+        } catch (IOException | RuntimeException e) {
+            // 失败时不写 zip 目录区，避免下游得到一个看似完整的截断文件
+            window.forEach(EntryPrefetch::cancel);
+            log.error("S3流式打包失败，bucket={}, 已完成条目数={}", bucket, entries, e);
+            throw e;
+        }
+        zos.close();
+        return entries;
+    }
+
+    /**
+     * 将前缀下的所有对象打包并以分片上传写回 S3
+     *
+     * @param prefix    路径前缀
+     * @param targetKey 目标 zip 对象 key
+     * @return 目标对象 ETag
+     */
+    public String zipPrefixToS3(String prefix, String targetKey) {
+        try (S3ObjectIterator objects = objectLister.iterator(prefix)) {
+            return zipToS3(new KeyIterator(objects), prefix, targetKey);
+        }
+    }
+
+    /**
+     * 将指定对象打包并以分片上传写回 S3
+     * <p>
+     * 压缩在调用线程执行，上传在独立线程中从管道读取，
+     * 管道写满时压缩线程阻塞，上传分片缓冲耗尽时上传线程阻塞，全程内存有界。
+     *
+     * @param keys       对象 key
+     * @param basePrefix 条目名需要去掉的公共前缀，可为空
+     * @param targetKey  目标 zip 对象 key
+     * @return 目标对象 ETag
+     */
+    public String zipToS3(Iterator<String> keys, String basePrefix, String targetKey) {
+        PipedInputStream pipeIn = new PipedInputStream(PIPE_SIZE);
+        PipedOutputStream pipeOut;
+        try {
+            pipeOut = new PipedOutputStream(pipeIn);
+        } catch (IOException e) {
+            throw new RuntimeException("S3流式打包创建管道失败", e);
+        }
+
+        Future<String> upload = executor.submit(() -> {
+            try {
+                return streamingUploader.upload(targetKey, pipeIn, "application/zip");
+            } finally {
+                // 上传线程无论成功失败都关闭读端，压缩线程的下一次写入立即失败而不是阻塞在满管道上
+                closeQuietly(pipeIn);
+            }
+        });
+        try {
+            zip(keys, basePrefix, new UploadGuardOutputStream(pipeOut, upload));
+        } catch (Exception e) {
+            // 不关闭写端（否则上传线程会读到正常 EOF 并提交截断的 zip），
+            // 而是关闭读端并中断上传线程，使其读取失败后中止分片上传
+            closeQuietly(pipeIn);
+            upload.cancel(true);
+            throw new RuntimeException("S3流式打包上传失败，targetKey=" + targetKey, uploadFailure(upload, e));
+        }
+
+        try {
+            return upload.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            upload.cancel(true);
+            throw new RuntimeException("S3流式打包上传被中断，targetKey=" + targetKey, e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("S3流式打包上传失败，targetKey=" + targetKey, e.getCause());
+        } finally {
+            closeQuietly(pipeIn);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void fillWindow(Deque<EntryPrefetch> window, Iterator<String> keys, String bucket, int size) {
+        while (window.size() < size && keys.hasNext()) {
+            String key = keys.next();
+            if (key.endsWith("/")) {
+                // 跳过目录占位对象
+                continue;
+            }
+            EntryPrefetch prefetch = new EntryPrefetch(bucket, key, s3Properties.getZipQueueChunks());
+            window.add(prefetch);
+            executor.execute(prefetch);
+        }
+    }
+
+    private static String entryName(String key, String basePrefix) {
+        if (basePrefix != null && !basePrefix.isEmpty() && key.startsWith(basePrefix) && key.length() > basePrefix.length()) {
+            return key.substring(basePrefix.length());
+        }
+        return key;
+    }
+
+    private static int readFully(InputStream in, byte[] buffer) throws IOException {
+        int total = 0;
+        while (total < buffer.length) {
+            int n = in.read(buffer, total, buffer.length - total);
+            if (n < 0) {
+                break;
+            }
+            total += n;
+        }
+        return total;
+    }
+
+    /**
+     * 上传先于压缩结束时，优先返回上传线程的真实异常
+     */
+    private static Throwable uploadFailure(Future<String> upload, Exception zipFailure) {
+        if (!upload.isDone() || upload.isCancelled()) {
+            return zipFailure;
+        }
+        try {
+            upload.get();
+            return zipFailure;
+        } catch (ExecutionException e) {
+            e.getCause().addSuppressed(zipFailure);
+            return e.getCause();
+        } catch (Exception e) {
+            return zipFailure;
+        }
+    }
+
+    private static void closeQuietly(AutoCloseable closeable) {
+        try {
+            closeable.close();
+        } catch (Exception ignored) {
+            // 忽略关闭异常
+        }
+    }
+
+    /**
+     * 管道写端包装
+     * <p>
+     * 每次写入前检查上传任务，上传已结束（失败或被取消）时立即失败，
+     * 不再继续下载和压缩后续条目。
+     */
+    private static final class UploadGuardOutputStream extends FilterOutputStream {
+
+        private final Future<String> upload;
+
+        private UploadGuardOutputStream(OutputStream out, Future<String> upload) {
+            super(out);
+            this.upload = upload;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            ensureUploading();
+            out.write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            ensureUploading();
+            out.write(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            ensureUploading();
+            out.flush();
+        }
+
+        private void ensureUploading() throws IOException {
+            if (upload.isDone()) {
+                throw new IOException("上传任务已提前结束");
+            }
+        }
+    }
+
+    /**
+     * 单个对象的预读任务
+     * <p>
+     * 读取线程把对象切成数据块放入有界队列，压缩线程按序取出；
+     * 队列写满时读取线程阻塞，形成下载与压缩之间的反压。
+     */
+    private final class EntryPrefetch implements Runnable {
+
+        private final String bucket;
+        private final String key;
+        private final BlockingQueue<byte[]> chunks;
+        private volatile boolean cancelled;
+        private volatile boolean finished;
+        private volatile Throwable error;
+        private volatile ResponseInputStream<GetObjectResponse> stream;
+
+        private EntryPrefetch(String bucket, String key, int queueChunks) {
+            this.bucket = bucket;
+            this.key = key;
+            // 额外预留一个位置给结束标记
+            this.chunks = new ArrayBlockingQueue<>(Math.max(1, queueChunks) + 1);
+        }
+
+        @Override
+        public void run() {
+            int chunkSize = s3Properties.getZipChunkSize();
+            try (ResponseInputStream<GetObjectResponse> in = s3Client.getObject(
+                    GetObjectRequest.builder().bucket(bucket).key(key).build())) {
+                stream = in;
+                if (cancelled) {
+                    in.abort();
+                    return;
+                }
+                while (true) {
+                    byte[] buffer = new byte[chunkSize];
+                    int n = readFully(in, buffer);
+                    if (n > 0) {
+                        put(n == chunkSize ? buffer : Arrays.copyOf(buffer, n));
+                    }
+                    if (n < chunkSize) {
+                        break;
+                    }
+                }
+                put(EOF);
+            } catch (CancellationException ignored) {
+                // 打包已结束或失败，放弃剩余数据
+            } catch (Throwable e) {
+                if (!cancelled) {
+                    error = e;
+                    chunks.clear();
+                    chunks.offer(EOF);
+                }
+            } finally {
+                finished = true;
+            }
+        }
+
+        /**
+         * 按序把对象数据写入 zip 条目
+         */
+        private void transferTo(OutputStream out) throws IOException {
+            try {
+                byte[] chunk;
+                while ((chunk = chunks.take()) != EOF) {
+                    out.write(chunk);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("S3流式打包被中断，key=" + key);
+            }
+            if (error != null) {
+                throw new IOException("S3流式打包读取对象失败，key=" + key, error);
+            }
+        }
+
+        private void put(byte[] chunk) throws InterruptedException {
+            while (!chunks.offer(chunk, OFFER_INTERVAL_MILLIS, TimeUnit.MILLISECONDS)) {
+                if (cancelled) {
+                    throw new CancellationException();
+                }
+            }
+        }
+
+        private void cancel() {
+            if (cancelled) {
+                return;
+            }
+            cancelled = true;
+            ResponseInputStream<GetObjectResponse> in = stream;
+            if (in != null && !finished) {
+                in.abort();
+            }
+            chunks.clear();
+        }
+    }
+
+    /**
+     * 将对象迭代器转换为 key 迭代器
+     */
+    private static final class KeyIterator implements Iterator<String> {
+
+        private final Iterator<S3Object> objects;
+
+        private KeyIterator(Iterator<S3Object> objects) {
+            this.objects = objects;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return objects.hasNext();
+        }
+
+        @Override
+        public String next() {
+            return objects.next().key();
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package local.ateng.java.awss3;
+
+import local.ateng.java.awss3.entity.BulkOperationResult;
+import local.ateng.java.awss3.service.S3Service;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * 前缀级批量操作测试
+ * <p>
+ * 使用 application.yml 中配置的本地 MinIO 作为 S3，
+ * 生成一批小对象后依次执行复制、移动、删除，打印吞吐。
+ */
+@SpringBootTest
+public class S3BulkOperationsTests {
+
+    private static final int OBJECT_COUNT = 20_000;
+
+    @Autowired
+    private S3Service s3Service;
+
+    @Test
+    public void copyMoveDelete() {
+        String source = "test/bulk/source/";
+        String copied = "test/bulk/copied/";
+        String moved = "test/bulk/moved/";
+        prepare(source);
+
+        BulkOperationResult copy = s3Service.copyPrefix(source, copied);
+        print(copy);
+        Assertions.assertEquals(OBJECT_COUNT, copy.getSucceeded());
+
+        BulkOperationResult move = s3Service.movePrefix(copied, moved);
+        print(move);
+        Assertions.assertEquals(OBJECT_COUNT, move.getSucceeded());
+        Assertions.assertEquals(0, s3Service.listFilesStr(copied).size());
+
+        print(s3Service.deletePrefix(moved));
+        BulkOperationResult delete = s3Service.deletePrefix(source);
+        print(delete);
+        Assertions.assertEquals(OBJECT_COUNT, delete.getSucceeded());
+        Assertions.assertEquals(0, delete.getFailed());
+    }
+
+    private void prepare(String prefix) {
+        byte[] data = "bulk-operation-test".getBytes(StandardCharsets.UTF_8);
+        ExecutorService pool = Executors.newFixedThreadPool(32);
+        List<CompletableFuture<Void>> futures = new ArrayList<>(OBJECT_COUNT);
+        for (int i = 0; i < OBJECT_COUNT; i++) {
+            String key = prefix + (i % 100) + "/" + i + ".txt";
+            futures.add(CompletableFuture.runAsync(() -> s3Service.uploadFile(key, data, "text/plain"), pool));
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+        pool.shutdown();
+    }
+
+    private static void print(BulkOperationResult result) {
+        System.out.printf("%s %s -> %s: listed=%d, succeeded=%d, failed=%d, cost=%dms, %.1f 对象/秒%n",
+                result.getOperation(),
+                result.getSourcePrefix(),
+                result.getTargetPrefix(),
+                result.getListed(),
+                result.getSucceeded(),
+                result.getFailed(),
+                result.getCostMillis(),
+                result.getObjectsPerSec());
+    }
+}
@@ -0,0 +1,108 @@
+package local.ateng.java.awss3;
+
+import local.ateng.java.awss3.config.S3Properties;
+import local.ateng.java.awss3.service.S3Service;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
+
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 流式分片上传测试
+ * <p>
+ * 使用 application.yml 中配置的本地 MinIO 作为 S3，
+ * 由 surefire 在独立 JVM 中以 -Xmx256m 运行，上传 5GB 合成数据流，不发生 OOM 即说明堆内存不随对象大小增长。
+ * 默认构建不运行，需 mvn test -Ps3-heap-tests 显式启用。
+ */
+@SpringBootTest
+public class S3StreamingUploadTests {
+
+    private static final long OBJECT_SIZE = 5L * 1024 * 1024 * 1024;
+    private static final long HEAP_LIMIT = 256L * 1024 * 1024;
+
+    @Autowired
+    private S3Service s3Service;
+    @Autowired
+    private S3Client s3Client;
+    @Autowired
+    private S3Properties s3Properties;
+
+    @Test
+    public void upload5GbWithBoundedHeap() {
+        Assertions.assertTrue(Runtime.getRuntime().maxMemory() <= HEAP_LIMIT, "需以 -Xmx256m 运行");
+        String key = "test/streaming-upload/5gb.bin";
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        AtomicLong peakHeap = new AtomicLong();
+
+        ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor();
+        sampler.scheduleAtFixedRate(
+                () -> peakHeap.accumulateAndGet(memory.getHeapMemoryUsage().getUsed(), Math::max),
+                0, 100, TimeUnit.MILLISECONDS);
+
+        long start = System.nanoTime();
+        try (InputStream in = new SyntheticInputStream(OBJECT_SIZE)) {
+            s3Service.uploadStream(key, in, "application/octet-stream");
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        } finally {
+            sampler.shutdownNow();
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        long size = s3Client.headObject(HeadObjectRequest.builder()
+                .bucket(s3Properties.getBucketName())
+                .key(key)
+                .build()).contentLength();
+
+        System.out.printf("size=%d, cost=%.1fs, throughput=%.1fMB/s, maxHeap=%dMB, peakHeapUsed=%dMB%n",
+                size,
+                seconds,
+                OBJECT_SIZE / 1024.0 / 1024.0 / seconds,
+                Runtime.getRuntime().maxMemory() / 1024 / 1024,
+                peakHeap.get() / 1024 / 1024);
+
+        Assertions.assertEquals(OBJECT_SIZE, size);
+        s3Service.deleteFile(key);
+    }
+
+    /**
+     * 不占用内存的合成数据流
+     */
+    private static final class SyntheticInputStream extends InputStream {
+
+        private final long size;
+        private long position;
+
+        private SyntheticInputStream(long size) {
+            this.size = size;
+        }
+
+        @Override
+        public int read() {
+            return position < size ? (int) (position++ & 0xFF) : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (position >= size) {
+                return -1;
+            }
+            int n = (int) Math.min(len, size - position);
+            for (int i = 0; i < n; i++) {
+                b[off + i] = (byte) (position + i);
+            }
+            position += n;
+            return n;
+        }
+    }
+}
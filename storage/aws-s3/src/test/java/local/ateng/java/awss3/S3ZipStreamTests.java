@@ -0,0 +1,132 @@
+package local.ateng.java.awss3;
+
+import local.ateng.java.awss3.service.S3Service;
+import local.ateng.java.awss3.transfer.S3ZipStreamer;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import software.amazon.awssdk.core.ResponseInputStream;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+/**
+ * 流式打包测试
+ * <p>
+ * 使用 application.yml 中配置的本地 MinIO 作为 S3，
+ * 生成 1 万个对象后分别打包到丢弃输出流和回传 S3，采样堆内存峰值。
+ * 由 surefire 在独立 JVM 中以 -Xmx128m 运行，约 2.5GB 源数据打包过程不发生 OOM 即说明内存占用与对象数量无关。
+ * 默认构建不运行，需 mvn test -Ps3-heap-tests 显式启用。
+ */
+@SpringBootTest
+public class S3ZipStreamTests {
+
+    private static final int OBJECT_COUNT = 10_000;
+    private static final int OBJECT_SIZE = 256 * 1024;
+    private static final long HEAP_LIMIT = 128L * 1024 * 1024;
+
+    @Autowired
+    private S3Service s3Service;
+
+    @Autowired
+    private S3ZipStreamer zipStreamer;
+
+    @Test
+    public void zipToStreamAndS3() throws Exception {
+        Assertions.assertTrue(Runtime.getRuntime().maxMemory() <= HEAP_LIMIT, "需以 -Xmx128m 运行");
+        String prefix = "test/zip-stream/source/";
+        String targetKey = "test/zip-stream/archive.zip";
+        prepare(prefix);
+
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        AtomicLong peakHeap = new AtomicLong();
+        ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor();
+        sampler.scheduleAtFixedRate(() -> peakHeap.accumulateAndGet(memory.getHeapMemoryUsage().getUsed(), Math::max),
+                0, 50, TimeUnit.MILLISECONDS);
+
+        try {
+            CountingOutputStream counting = new CountingOutputStream();
+            long start = System.nanoTime();
+            long entries = zipStreamer.zipPrefix(prefix, counting);
+            double seconds = (System.nanoTime() - start) / 1e9;
+            System.out.printf("zip->stream: entries=%d, zipBytes=%d, cost=%.1fs, %.1f 对象/秒, peakHeap=%dMB%n",
+                    entries, counting.count, seconds, entries / seconds, peakHeap.get() / 1024 / 1024);
+            Assertions.assertEquals(OBJECT_COUNT, entries);
+
+            start = System.nanoTime();
+            s3Service.zipPrefixToS3(prefix, targetKey);
+            seconds = (System.nanoTime() - start) / 1e9;
+            System.out.printf("zip->s3: cost=%.1fs, peakHeap=%dMB%n", seconds, peakHeap.get() / 1024 / 1024);
+        } finally {
+            sampler.shutdownNow();
+        }
+
+        Assertions.assertEquals(OBJECT_COUNT, countEntries(targetKey));
+
+        s3Service.deletePrefix(prefix);
+        s3Service.deleteFile(targetKey);
+    }
+
+    private void prepare(String prefix) {
+        // 半随机半重复的内容，兼顾压缩耗时与压缩率
+        byte[] data = new byte[OBJECT_SIZE];
+        new Random(42).nextBytes(data);
+        for (int i = OBJECT_SIZE / 2; i < OBJECT_SIZE; i++) {
+            data[i] = (byte) (i % 64);
+        }
+        ExecutorService pool = Executors.newFixedThreadPool(32);
+        List<CompletableFuture<Void>> futures = new ArrayList<>(OBJECT_COUNT);
+        for (int i = 0; i < OBJECT_COUNT; i++) {
+            String key = prefix + (i % 100) + "/" + i + ".bin";
+            futures.add(CompletableFuture.runAsync(() -> s3Service.uploadFile(key, data, "application/octet-stream"), pool));
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+        pool.shutdown();
+    }
+
+    private int countEntries(String key) throws Exception {
+        int count = 0;
+        try (ResponseInputStream<GetObjectResponse> in = s3Service.downloadFile(key);
+             ZipInputStream zis = new ZipInputStream(in)) {
+            ZipEntry entry;
+            while ((entry = zis.getNextEntry()) != null) {
+                if (!entry.isDirectory()) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * 只计数不保存的输出流
+     */
+    private static final class CountingOutputStream extends OutputStream {
+
+        private long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package io.github.atengk.task.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 批量认领调度配置
+ * <p>
+ * 通过 {@code task.dispatch.*} 前缀从配置文件中加载
+ *
+ * @author Ateng
+ * @since 2026-02-12
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "task.dispatch")
+public class TaskDispatchProperties {
+
+    /**
+     * 每次认领的任务数量
+     */
+    private int claimBatchSize = 200;
+
+    /**
+     * 工作线程数
+     * <p>
+     * 小于等于 0 时使用虚拟线程，每个任务一个虚拟线程
+     */
+    private int workerThreads = 0;
+
+    /**
+     * 业务类型默认并发上限
+     */
+    private int defaultBizConcurrency = 64;
+
+    /**
+     * 按业务类型单独配置的并发上限
+     * <p>
+     * key 为 bizType，value 为并发数
+     */
+    private Map<String, Integer> bizConcurrency = new HashMap<>();
+
+    /**
+     * 执行日志批量写入的条数
+     */
+    private int logFlushSize = 500;
+
+    /**
+     * 获取业务类型的并发上限
+     *
+     * @param bizType 业务类型
+     * @return 并发上限
+     */
+    public int resolveConcurrency(String bizType) {
+        return Math.max(1, bizConcurrency.getOrDefault(bizType, defaultBizConcurrency));
+    }
+}
@@ -0,0 +1,49 @@
+package io.github.atengk.task.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 时间轮到期索引配置
+ * <p>
+ * 通过 {@code task.wheel.*} 前缀从配置文件中加载
+ *
+ * @author Ateng
+ * @since 2026-02-12
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "task.wheel")
+public class TaskWheelProperties {
+
+    /**
+     * 是否启用时间轮
+     */
+    private boolean enabled = false;
+
+    /**
+     * 时间轮刻度（毫秒），即触发精度
+     */
+    private long tickMillis = 100;
+
+    /**
+     * 时间轮槽位数量
+     */
+    private int wheelSize = 512;
+
+    /**
+     * 预加载窗口（分钟），只把该时间范围内到期的任务放入内存
+     */
+    private int horizonMinutes = 5;
+
+    /**
+     * 增量刷新间隔（秒）
+     */
+    private int refreshIntervalSeconds = 30;
+
+    /**
+     * 每次从数据库加载的条数
+     */
+    private int loadBatchSize = 1000;
+}
@@ -1,9 +1,12 @@
 package io.github.atengk.task.controller;
 
 import io.github.atengk.task.entity.TaskJob;
+import io.github.atengk.task.event.TaskJobRescheduledEvent;
+import io.github.atengk.task.executor.TaskBatchDispatcher;
 import io.github.atengk.task.executor.TaskExecutor;
 import io.github.atengk.task.service.ITaskJobService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.web.bind.annotation.*;
 
 @RestController
@@ -12,7 +15,9 @@ import org.springframework.web.bind.annotation.*;
 public class TaskTestController {
 
     private final TaskExecutor taskExecutor;
+    private final TaskBatchDispatcher taskBatchDispatcher;
     private final ITaskJobService taskJobService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @GetMapping("/executeByCode")
     public String executeByCode(@RequestParam String code) {
@@ -26,6 +31,12 @@ public class TaskTestController {
         return "执行完成";
     }
 
+    @GetMapping("/dispatchByBizType")
+    public String dispatchByBizType() {
+        int total = taskBatchDispatcher.dispatchByBizType("TEST_BIZ_ORDER");
+        return "执行完成，数量=" + total;
+    }
+
     @PostMapping("/createJob")
     public String createJob() {
 
@@ -81,6 +92,9 @@ public class TaskTestController {
 
         taskJobService.save(taskJob);
 
+        // 通知到期索引（启用时间轮时生效）
+        eventPublisher.publishEvent(new TaskJobRescheduledEvent(this, taskJob.getId(), taskJob.getNextExecuteTime()));
+
         return "创建成功，jobCode=" + taskJob.getJobCode();
     }
 
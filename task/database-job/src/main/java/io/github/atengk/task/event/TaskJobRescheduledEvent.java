@@ -0,0 +1,34 @@
+package io.github.atengk.task.event;
+
+import org.springframework.context.ApplicationEvent;
+
+import java.time.LocalDateTime;
+
+/**
+ * 任务执行时间变更事件
+ * <p>
+ * 任务新建或失败重试后发布，用于刷新内存中的到期索引
+ *
+ * @author Ateng
+ * @since 2026-02-12
+ */
+public class TaskJobRescheduledEvent extends ApplicationEvent {
+
+    private final Long jobId;
+
+    private final LocalDateTime nextExecuteTime;
+
+    public TaskJobRescheduledEvent(Object source, Long jobId, LocalDateTime nextExecuteTime) {
+        super(source);
+        this.jobId = jobId;
+        this.nextExecuteTime = nextExecuteTime;
+    }
+
+    public Long getJobId() {
+        return jobId;
+    }
+
+    public LocalDateTime getNextExecuteTime() {
+        return nextExecuteTime;
+    }
+}
@@ -0,0 +1,262 @@
+package io.github.atengk.task.executor;
+
+import cn.hutool.core.collection.CollectionUtil;
+import cn.hutool.core.util.ObjectUtil;
+import io.github.atengk.task.config.TaskDispatchProperties;
+import io.github.atengk.task.entity.TaskJob;
+import io.github.atengk.task.entity.TaskJobLog;
+import io.github.atengk.task.service.ITaskJobLogService;
+import io.github.atengk.task.service.ITaskJobService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 批量认领调度器
+ * <p>
+ * 与 {@link TaskExecutor#executeByBizType(String)} 的逐条乐观锁抢占不同：
+ * 1. 一个事务内通过 SKIP LOCKED 认领一批到期任务，多节点互不阻塞
+ * 2. 认领到的任务交给有界工作线程池（默认虚拟线程）并发执行
+ * 3. 按 bizType 限制并发数，超出时调度线程阻塞等待，形成背压
+ * 4. 执行日志先收集，再批量写入
+ *
+ * @author Ateng
+ * @since 2026-02-12
+ */
+@Component
+@Slf4j
+public class TaskBatchDispatcher implements DisposableBean {
+
+    /**
+     * 日志前缀
+     */
+    private static final String LOG_PREFIX = "[TaskBatchDispatcher]";
+
+    private final ITaskJobService taskJobService;
+    private final ITaskJobLogService taskJobLogService;
+    private final TaskExecutor taskExecutor;
+    private final TaskDispatchProperties properties;
+
+    /**
+     * 工作线程池
+     */
+    private final ExecutorService workerPool;
+
+    /**
+     * 每个业务类型的并发许可
+     */
+    private final Map<String, Semaphore> bizPermits = new ConcurrentHashMap<>();
+
+    public TaskBatchDispatcher(ITaskJobService taskJobService,
+                               ITaskJobLogService taskJobLogService,
+                               TaskExecutor taskExecutor,
+                               TaskDispatchProperties properties) {
+        this.taskJobService = taskJobService;
+        this.taskJobLogService = taskJobLogService;
+        this.taskExecutor = taskExecutor;
+        this.properties = properties;
+        this.workerPool = createWorkerPool(properties.getWorkerThreads());
+    }
+
+    /* ========================================================= */
+    /* ======================= 对外方法 ========================= */
+    /* ========================================================= */
+
+    /**
+     * 认领并执行指定业务类型的全部到期任务
+     *
+     * @param bizType 业务类型
+     * @return 本次执行的任务数量
+     */
+    public int dispatchByBizType(String bizType) {
+
+        if (ObjectUtil.isEmpty(bizType)) {
+            log.warn("{} bizType 为空", LOG_PREFIX);
+            return 0;
+        }
+
+        final int batchSize = Math.max(1, properties.getClaimBatchSize());
+        final Semaphore permits = bizPermits.computeIfAbsent(bizType,
+                key -> new Semaphore(properties.resolveConcurrency(key)));
+        final Queue<TaskJobLog> logBuffer = new ConcurrentLinkedQueue<>();
+        final AtomicInteger pendingLogs = new AtomicInteger();
+
+        long startTime = System.currentTimeMillis();
+        int total = 0;
+
+        log.info("{} 开始认领 bizType={}, batchSize={}", LOG_PREFIX, bizType, batchSize);
+
+        while (true) {
+
+            List<TaskJob> jobs = taskJobService.claimDueJobs(bizType, batchSize);
+
+            if (CollectionUtil.isEmpty(jobs)) {
+                break;
+            }
+
+            CountDownLatch latch = new CountDownLatch(jobs.size());
+            int submitted = 0;
+            boolean rejected = false;
+
+            try {
+                for (TaskJob job : jobs) {
+                    acquire(permits);
+                    try {
+                        workerPool.execute(() -> {
+                            try {
+                                taskExecutor.executeClaimed(job, entity -> {
+                                    logBuffer.add(entity);
+                                    pendingLogs.incrementAndGet();
+                                });
+                            } catch (Exception ex) {
+                                log.error("{} 执行异常 jobCode={}", LOG_PREFIX, job.getJobCode(), ex);
+                            } finally {
+                                permits.release();
+                                latch.countDown();
+                            }
+                        });
+                    } catch (RejectedExecutionException ex) {
+                        // 线程池已关闭，剩余任务在 finally 中退回
+                        permits.release();
+                        rejected = true;
+                        log.error("{} 线程池拒绝任务 jobCode={}", LOG_PREFIX, job.getJobCode());
+                        break;
+                    }
+                    submitted++;
+
+                    if (pendingLogs.get() >= properties.getLogFlushSize()) {
+                        flushLogs(logBuffer, pendingLogs);
+                    }
+                }
+            } finally {
+                // 被拒绝或等待许可时被中断：未提交的任务已处于执行中，不退回将不会再被任何节点认领
+                if (submitted < jobs.size()) {
+                    releaseClaimed(jobs.subList(submitted, jobs.size()));
+                    for (int i = submitted; i < jobs.size(); i++) {
+                        latch.countDown();
+                    }
+                }
+            }
+
+            await(latch);
+            flushLogs(logBuffer, pendingLogs);
+
+            total += submitted;
+
+            if (rejected) {
+                break;
+            }
+
+            if (jobs.size() < batchSize) {
+                break;
+            }
+        }
+
+        long duration = System.currentTimeMillis() - startTime;
+
+        log.info("{} bizType={} 认领结束，总数={}, 耗时={}ms",
+                LOG_PREFIX,
+                bizType,
+                total,
+                duration);
+
+        return total;
+    }
+
+    @Override
+    public void destroy() {
+        workerPool.shutdown();
+        try {
+            if (!workerPool.awaitTermination(30, TimeUnit.SECONDS)) {
+                workerPool.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            workerPool.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /* ========================================================= */
+    /* ======================= 内部逻辑 ========================= */
+    /* ========================================================= */
+
+    /**
+     * 创建工作线程池
+     */
+    private static ExecutorService createWorkerPool(int workerThreads) {
+        if (workerThreads <= 0) {
+            return Executors.newThreadPerTaskExecutor(
+                    Thread.ofVirtual().name("task-worker-", 0).factory());
+        }
+        return Executors.newFixedThreadPool(workerThreads,
+                Thread.ofPlatform().name("task-worker-", 0).daemon(true).factory());
+    }
+
+    /**
+     * 批量写入执行日志
+     */
+    private void flushLogs(Queue<TaskJobLog> logBuffer, AtomicInteger pendingLogs) {
+
+        List<TaskJobLog> batch = new ArrayList<>();
+        TaskJobLog entity;
+        while ((entity = logBuffer.poll()) != null) {
+            batch.add(entity);
+        }
+
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        pendingLogs.addAndGet(-batch.size());
+
+        try {
+            taskJobLogService.saveBatch(batch, properties.getLogFlushSize());
+        } catch (Exception ex) {
+            log.error("{} 批量写入执行日志失败，数量={}", LOG_PREFIX, batch.size(), ex);
+        }
+    }
+
+    /**
+     * 退回未提交执行的已认领任务
+     */
+    private void releaseClaimed(List<TaskJob> jobs) {
+        try {
+            int released = taskJobService.releaseClaimedJobs(jobs);
+            log.warn("{} 退回未执行的已认领任务，数量={}, 成功={}", LOG_PREFIX, jobs.size(), released);
+        } catch (Exception ex) {
+            log.error("{} 退回已认领任务失败，数量={}", LOG_PREFIX, jobs.size(), ex);
+        }
+    }
+
+    private static void acquire(Semaphore permits) {
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("等待执行许可被中断", e);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("等待批次执行完成被中断", e);
+        }
+    }
+}
@@ -4,20 +4,23 @@ import cn.hutool.core.collection.CollectionUtil;
 import cn.hutool.core.exceptions.ExceptionUtil;
 import cn.hutool.core.util.ObjectUtil;
 import cn.hutool.extra.spring.SpringUtil;
-import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import io.github.atengk.task.entity.TaskJob;
 import io.github.atengk.task.entity.TaskJobLog;
 import io.github.atengk.task.enums.TaskExecuteStatusEnum;
+import io.github.atengk.task.event.TaskJobRescheduledEvent;
 import io.github.atengk.task.service.ITaskJobLogService;
 import io.github.atengk.task.service.ITaskJobService;
 import io.github.atengk.task.util.ReflectInvokeUtil;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Iterator;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * 数据库驱动任务执行器
@@ -53,6 +56,7 @@ public class TaskExecutor {
 
     private final ITaskJobService taskJobService;
     private final ITaskJobLogService taskJobLogService;
+    private final ApplicationEventPublisher eventPublisher;
 
     /* ========================================================= */
     /* ======================= 对外方法 ========================= */
@@ -97,23 +101,13 @@ public class TaskExecutor {
         log.info("{} 开始扫描 bizType={}", LOG_PREFIX, bizType);
 
         final int pageSize = 100;
-        int pageNo = 1;
 
-        while (true) {
+        Iterator<List<TaskJob>> pages =
+                taskJobService.scanDueJobs(bizType, LocalDateTime.now(), pageSize);
 
-            Page<TaskJob> page = new Page<>(pageNo, pageSize);
+        while (pages.hasNext()) {
 
-            Page<TaskJob> result = taskJobService.lambdaQuery()
-                    .eq(TaskJob::getBizType, bizType)
-                    .eq(TaskJob::getExecuteStatus, TaskExecuteStatusEnum.PENDING.getCode())
-                    .le(TaskJob::getNextExecuteTime, LocalDateTime.now())
-                    .page(page);
-
-            List<TaskJob> records = result.getRecords();
-
-            if (CollectionUtil.isEmpty(records)) {
-                break;
-            }
+            List<TaskJob> records = pages.next();
 
             log.info("{} 扫描到任务数量={}", LOG_PREFIX, records.size());
 
@@ -127,12 +121,6 @@ public class TaskExecutor {
                             ex);
                 }
             }
-
-            if (records.size() < pageSize) {
-                break;
-            }
-
-            pageNo++;
         }
 
         log.info("{} bizType={} 扫描结束", LOG_PREFIX, bizType);
@@ -216,7 +204,26 @@ public class TaskExecutor {
             return;
         }
 
-        doExecute(job);
+        doExecute(job, null);
+    }
+
+    /**
+     * 执行已认领的任务
+     * <p>
+     * 任务已由 {@link ITaskJobService#claimDueJobs(String, int)} 置为执行中，
+     * 这里不再做乐观锁抢占，执行日志交给调用方批量写入
+     *
+     * @param job          已认领的任务
+     * @param logCollector 执行日志收集器
+     */
+    public void executeClaimed(TaskJob job, Consumer<TaskJobLog> logCollector) {
+
+        if (job == null) {
+            log.warn("{} 传入任务为空", LOG_PREFIX);
+            return;
+        }
+
+        doExecute(job, logCollector);
     }
 
     /* ========================================================= */
@@ -275,8 +282,10 @@ public class TaskExecutor {
 
     /**
      * 真正执行任务
+     *
+     * @param logCollector 执行日志收集器，为空时直接写库
      */
-    private void doExecute(TaskJob job) {
+    private void doExecute(TaskJob job, Consumer<TaskJobLog> logCollector) {
 
         boolean success = false;
         String errorMsg = null;
@@ -323,7 +332,11 @@ public class TaskExecutor {
                 success,
                 duration);
 
-        saveLog(job, retryCount, success, duration, errorMsg);
+        if (logCollector == null) {
+            saveLog(job, retryCount, success, duration, errorMsg);
+        } else {
+            logCollector.accept(buildLog(job, retryCount, success, duration, errorMsg));
+        }
 
         if (success) {
             markSuccess(job);
@@ -391,6 +404,8 @@ public class TaskExecutor {
                     nextRetry,
                     maxRetry,
                     nextTime);
+
+            eventPublisher.publishEvent(new TaskJobRescheduledEvent(this, job.getId(), nextTime));
         }
     }
 
@@ -404,6 +419,25 @@ public class TaskExecutor {
                         long duration,
                         String errorMsg) {
 
+        TaskJobLog logEntity = buildLog(job, retryCount, success, duration, errorMsg);
+
+        taskJobLogService.save(logEntity);
+
+        log.info("{} 已记录执行日志 jobCode={}, success={}",
+                LOG_PREFIX,
+                job.getJobCode(),
+                success);
+    }
+
+    /**
+     * 构建执行日志
+     */
+    private TaskJobLog buildLog(TaskJob job,
+                                int retryCount,
+                                boolean success,
+                                long duration,
+                                String errorMsg) {
+
         TaskJobLog logEntity = new TaskJobLog();
         logEntity.setJobId(job.getId());
         logEntity.setJobCode(job.getJobCode());
@@ -414,11 +448,6 @@ public class TaskExecutor {
         logEntity.setExecuteDuration(duration);
         logEntity.setErrorMessage(errorMsg);
 
-        taskJobLogService.save(logEntity);
-
-        log.info("{} 已记录执行日志 jobCode={}, success={}",
-                LOG_PREFIX,
-                job.getJobCode(),
-                success);
+        return logEntity;
     }
 }
@@ -2,7 +2,11 @@ package io.github.atengk.task.mapper;
 
 import io.github.atengk.task.entity.TaskJob;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import org.apache.ibatis.annotations.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 
 
 /**
@@ -15,4 +19,36 @@ import com.baomidou.mybatisplus.core.mapper.BaseMapper;
  */
 public interface TaskJobMapper extends BaseMapper<TaskJob> {
 
+    /**
+     * 查询并锁定一批到期的待执行任务（FOR UPDATE SKIP LOCKED）
+     * <p>
+     * 必须在事务内调用，已被其他节点锁定的行会被跳过，不会阻塞等待
+     *
+     * @param bizType 业务类型
+     * @param now     当前时间
+     * @param limit   最大数量
+     * @return 到期任务列表
+     */
+    List<TaskJob> selectDueForClaim(@Param("bizType") String bizType,
+                                    @Param("now") LocalDateTime now,
+                                    @Param("limit") int limit);
+
+    /**
+     * 批量认领任务：置为执行中并写入锁定时间，版本号 +1
+     *
+     * @param ids      任务ID集合
+     * @param lockTime 锁定时间
+     * @return 认领成功的行数
+     */
+    int claimByIds(@Param("ids") Collection<Long> ids,
+                   @Param("lockTime") LocalDateTime lockTime);
+
+    /**
+     * 批量退回已认领的任务：执行中 -&gt; 待执行，清空锁定时间，版本号 +1
+     *
+     * @param ids 任务ID集合
+     * @return 退回成功的行数
+     */
+    int releaseClaimedByIds(@Param("ids") Collection<Long> ids);
+
 }
@@ -3,6 +3,10 @@ package io.github.atengk.task.service;
 import com.baomidou.mybatisplus.extension.service.IService;
 import io.github.atengk.task.entity.TaskJob;
 
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.List;
+
 /**
  * <p>
  * 任务定义表 服务类
@@ -13,4 +17,38 @@ import io.github.atengk.task.entity.TaskJob;
  */
 public interface ITaskJobService extends IService<TaskJob> {
 
+    /**
+     * 认领一批到期的待执行任务
+     * <p>
+     * 一个事务内完成 SKIP LOCKED 查询与批量 UPDATE，
+     * 返回的任务已处于执行中状态，多节点之间不会重复认领
+     *
+     * @param bizType 业务类型
+     * @param limit   最大认领数量
+     * @return 认领到的任务
+     */
+    List<TaskJob> claimDueJobs(String bizType, int limit);
+
+    /**
+     * 退回已认领但未执行的任务，使其可以被重新认领
+     *
+     * @param jobs 已认领的任务
+     * @return 退回成功的数量
+     */
+    int releaseClaimedJobs(List<TaskJob> jobs);
+
+    /**
+     * 按游标（keyset）分页扫描到期的待执行任务
+     * <p>
+     * 按 (next_execute_time, id) 排序，每页以上一页最后一条记录为起点，
+     * 不使用 OFFSET，扫描过程中修改已读记录的状态不会导致漏读，
+     * 每页成本与历史任务数量无关，依赖索引 idx_biz_status_time_id
+     *
+     * @param bizType  业务类型
+     * @param deadline 到期时间上限，扫描期间固定不变
+     * @param pageSize 每页数量
+     * @return 分页迭代器，每次返回一页任务
+     */
+    Iterator<List<TaskJob>> scanDueJobs(String bizType, LocalDateTime deadline, int pageSize);
+
 }
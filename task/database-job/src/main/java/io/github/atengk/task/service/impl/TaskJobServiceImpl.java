@@ -1,10 +1,19 @@
 package io.github.atengk.task.service.impl;
 
+import cn.hutool.core.collection.CollectionUtil;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
 import io.github.atengk.task.entity.TaskJob;
+import io.github.atengk.task.enums.TaskExecuteStatusEnum;
 import io.github.atengk.task.mapper.TaskJobMapper;
 import io.github.atengk.task.service.ITaskJobService;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
 
 /**
  * <p>
@@ -17,4 +26,112 @@ import org.springframework.stereotype.Service;
 @Service
 public class TaskJobServiceImpl extends ServiceImpl<TaskJobMapper, TaskJob> implements ITaskJobService {
 
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public List<TaskJob> claimDueJobs(String bizType, int limit) {
+
+        LocalDateTime now = LocalDateTime.now();
+
+        List<TaskJob> jobs = baseMapper.selectDueForClaim(bizType, now, limit);
+
+        if (CollectionUtil.isEmpty(jobs)) {
+            return Collections.emptyList();
+        }
+
+        List<Long> ids = jobs.stream().map(TaskJob::getId).toList();
+        baseMapper.claimByIds(ids, now);
+
+        // 行锁保证这里的状态与数据库一致，直接回填，避免再查一次
+        for (TaskJob job : jobs) {
+            job.setExecuteStatus(TaskExecuteStatusEnum.RUNNING.getCode());
+            job.setLockTime(now);
+            job.setExecuteStartTime(now);
+            job.setVersion(job.getVersion() == null ? 1 : job.getVersion() + 1);
+        }
+
+        return jobs;
+    }
+
+    @Override
+    public int releaseClaimedJobs(List<TaskJob> jobs) {
+
+        if (CollectionUtil.isEmpty(jobs)) {
+            return 0;
+        }
+
+        List<Long> ids = jobs.stream().map(TaskJob::getId).toList();
+        return baseMapper.releaseClaimedByIds(ids);
+    }
+
+    @Override
+    public Iterator<List<TaskJob>> scanDueJobs(String bizType, LocalDateTime deadline, int pageSize) {
+        return new KeysetIterator(bizType, deadline, Math.max(1, pageSize));
+    }
+
+    /**
+     * 游标分页迭代器
+     */
+    private class KeysetIterator implements Iterator<List<TaskJob>> {
+
+        private final String bizType;
+        private final LocalDateTime deadline;
+        private final int pageSize;
+
+        private LocalDateTime lastTime;
+        private Long lastId;
+        private List<TaskJob> nextPage;
+        private boolean finished;
+
+        KeysetIterator(String bizType, LocalDateTime deadline, int pageSize) {
+            this.bizType = bizType;
+            this.deadline = deadline;
+            this.pageSize = pageSize;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (nextPage == null && !finished) {
+                nextPage = fetch();
+                if (nextPage.isEmpty()) {
+                    finished = true;
+                    nextPage = null;
+                }
+            }
+            return nextPage != null;
+        }
+
+        @Override
+        public List<TaskJob> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            List<TaskJob> page = nextPage;
+            nextPage = null;
+
+            TaskJob last = page.get(page.size() - 1);
+            lastTime = last.getNextExecuteTime();
+            lastId = last.getId();
+
+            if (page.size() < pageSize) {
+                finished = true;
+            }
+            return page;
+        }
+
+        private List<TaskJob> fetch() {
+            return lambdaQuery()
+                    .eq(TaskJob::getBizType, bizType)
+                    .eq(TaskJob::getExecuteStatus, TaskExecuteStatusEnum.PENDING.getCode())
+                    .le(TaskJob::getNextExecuteTime, deadline)
+                    .and(lastId != null, w -> w
+                            .gt(TaskJob::getNextExecuteTime, lastTime)
+                            .or(o -> o
+                                    .eq(TaskJob::getNextExecuteTime, lastTime)
+                                    .gt(TaskJob::getId, lastId)))
+                    .orderByAsc(TaskJob::getNextExecuteTime, TaskJob::getId)
+                    .last("LIMIT " + pageSize)
+                    .list();
+        }
+    }
+
 }
@@ -0,0 +1,159 @@
+package io.github.atengk.task.wheel;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongConsumer;
+
+/**
+ * 哈希时间轮
+ * <p>
+ * 1. 单线程推进刻度，槽位只由推进线程访问，无需加锁
+ * 2. 其他线程的添加先进入待处理队列，下一个刻度再放入槽位
+ * 3. 同一个 ID 只保留最新的到期时间，旧的条目在到期时被丢弃
+ * 4. 超过一圈的条目留在槽位中，每圈检查一次
+ *
+ * @author Ateng
+ * @since 2026-02-12
+ */
+@Slf4j
+public class HashedTimingWheel implements AutoCloseable {
+
+    private final long tickMillis;
+    private final int mask;
+    private final ArrayDeque<Timeout>[] slots;
+    private final Queue<Timeout> pending = new ConcurrentLinkedQueue<>();
+
+    /**
+     * ID -> 最新的到期时间（毫秒）
+     */
+    private final Map<Long, Long> deadlines = new ConcurrentHashMap<>();
+
+    private final LongConsumer onExpire;
+    private final Thread worker;
+
+    private volatile boolean running = true;
+    private long startMillis;
+    private long tick;
+
+    /**
+     * @param name       推进线程名称
+     * @param tickMillis 刻度（毫秒）
+     * @param wheelSize  槽位数量，向上取整为 2 的幂
+     * @param onExpire   到期回调，在推进线程上执行，应尽快返回
+     */
+    @SuppressWarnings("unchecked")
+    public HashedTimingWheel(String name, long tickMillis, int wheelSize, LongConsumer onExpire) {
+        if (tickMillis <= 0) {
+            throw new IllegalArgumentException("tickMillis 必须大于 0");
+        }
+        int size = Integer.highestOneBit(Math.max(2, wheelSize) - 1) << 1;
+        this.tickMillis = tickMillis;
+        this.mask = size - 1;
+        this.slots = new ArrayDeque[size];
+        for (int i = 0; i < size; i++) {
+            slots[i] = new ArrayDeque<>();
+        }
+        this.onExpire = onExpire;
+        this.startMillis = System.currentTimeMillis();
+        this.worker = Thread.ofPlatform().name(name).daemon(true).start(this::run);
+    }
+
+    /**
+     * 添加或更新到期时间，已过期的会在下一个刻度触发
+     *
+     * @param id             任务ID
+     * @param deadlineMillis 到期时间（毫秒时间戳）
+     */
+    public void schedule(long id, long deadlineMillis) {
+        Long previous = deadlines.put(id, deadlineMillis);
+        if (previous == null || previous != deadlineMillis) {
+            pending.add(new Timeout(id, deadlineMillis));
+        }
+    }
+
+    /**
+     * 取消任务
+     *
+     * @param id 任务ID
+     */
+    public void cancel(long id) {
+        deadlines.remove(id);
+    }
+
+    /**
+     * 当前索引中的任务数量
+     */
+    public int size() {
+        return deadlines.size();
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        worker.interrupt();
+    }
+
+    private void run() {
+        while (running) {
+            long target = startMillis + (tick + 1) * tickMillis;
+            long sleep = target - System.currentTimeMillis();
+            if (sleep > 0) {
+                try {
+                    TimeUnit.MILLISECONDS.sleep(sleep);
+                } catch (InterruptedException e) {
+                    if (!running) {
+                        return;
+                    }
+                    continue;
+                }
+            }
+            transferPending();
+            expire(slots[(int) (tick & mask)], System.currentTimeMillis());
+            tick++;
+        }
+    }
+
+    private void transferPending() {
+        Timeout timeout;
+        while ((timeout = pending.poll()) != null) {
+            long ticks = Math.max((timeout.deadline - startMillis) / tickMillis, tick);
+            slots[(int) (ticks & mask)].add(timeout);
+        }
+    }
+
+    private void expire(ArrayDeque<Timeout> slot, long nowMillis) {
+        Iterator<Timeout> it = slot.iterator();
+        while (it.hasNext()) {
+            Timeout timeout = it.next();
+            Long current = deadlines.get(timeout.id);
+            if (current == null || current != timeout.deadline) {
+                // 已取消或已被重新调度
+                it.remove();
+                continue;
+            }
+            if (timeout.deadline > nowMillis) {
+                // 后面几圈才到期
+                continue;
+            }
+            it.remove();
+            if (!deadlines.remove(timeout.id, timeout.deadline)) {
+                continue;
+            }
+            try {
+                onExpire.accept(timeout.id);
+            } catch (Exception ex) {
+                log.error("[HashedTimingWheel] 到期回调异常 id={}", timeout.id, ex);
+            }
+        }
+    }
+
+    private record Timeout(long id, long deadline) {
+    }
+}
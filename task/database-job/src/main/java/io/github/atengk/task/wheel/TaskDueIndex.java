@@ -0,0 +1,216 @@
+package io.github.atengk.task.wheel;
+
+import cn.hutool.core.collection.CollectionUtil;
+import io.github.atengk.task.config.TaskWheelProperties;
+import io.github.atengk.task.entity.TaskJob;
+import io.github.atengk.task.enums.TaskExecuteStatusEnum;
+import io.github.atengk.task.event.TaskJobRescheduledEvent;
+import io.github.atengk.task.executor.TaskExecutor;
+import io.github.atengk.task.service.ITaskJobService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 任务到期索引
+ * <p>
+ * 用时间轮代替轮询 task_job 表：
+ * 1. 启动时加载未来 N 分钟内到期的待执行任务（只查 id、执行时间）
+ * 2. 定时增量刷新：窗口向前滑动的部分 + update_time 变化过的任务
+ * 3. 任务新建、失败重试时通过事件立即更新对应槽位
+ * 4. 到期后按 ID 加载任务，交给 {@link TaskExecutor#execute(TaskJob)}，
+ *    由乐观锁保证多节点只执行一次
+ *
+ * @author Ateng
+ * @since 2026-02-12
+ */
+@Component
+@ConditionalOnProperty(prefix = "task.wheel", name = "enabled", havingValue = "true")
+@Slf4j
+public class TaskDueIndex implements InitializingBean, DisposableBean {
+
+    /**
+     * 日志前缀
+     */
+    private static final String LOG_PREFIX = "[TaskDueIndex]";
+
+    private final ITaskJobService taskJobService;
+    private final TaskExecutor taskExecutor;
+    private final TaskWheelProperties properties;
+
+    private final ScheduledExecutorService refresher;
+    private final ExecutorService workerPool;
+    private final HashedTimingWheel wheel;
+
+    /**
+     * 已加载到的执行时间上限
+     */
+    private LocalDateTime loadedUntil;
+
+    /**
+     * 已见过的最大 update_time
+     */
+    private LocalDateTime updateWatermark;
+
+    public TaskDueIndex(ITaskJobService taskJobService,
+                        TaskExecutor taskExecutor,
+                        TaskWheelProperties properties) {
+        this.taskJobService = taskJobService;
+        this.taskExecutor = taskExecutor;
+        this.properties = properties;
+        this.refresher = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("task-wheel-refresh").daemon(true).factory());
+        this.workerPool = Executors.newThreadPerTaskExecutor(
+                Thread.ofVirtual().name("task-wheel-worker-", 0).factory());
+        this.wheel = new HashedTimingWheel("task-wheel-ticker",
+                properties.getTickMillis(),
+                properties.getWheelSize(),
+                this::fire);
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        refresher.scheduleWithFixedDelay(this::refreshSafely,
+                0,
+                properties.getRefreshIntervalSeconds(),
+                TimeUnit.SECONDS);
+    }
+
+    @Override
+    public void destroy() {
+        refresher.shutdownNow();
+        wheel.close();
+        workerPool.shutdown();
+    }
+
+    /**
+     * 任务新建或重试后更新索引
+     */
+    @EventListener
+    public void onRescheduled(TaskJobRescheduledEvent event) {
+
+        if (event.getJobId() == null) {
+            return;
+        }
+
+        LocalDateTime next = event.getNextExecuteTime();
+        LocalDateTime horizon = LocalDateTime.now().plusMinutes(properties.getHorizonMinutes());
+
+        if (next == null || next.isAfter(horizon)) {
+            // 不在窗口内，等窗口滑动时再加载
+            wheel.cancel(event.getJobId());
+            return;
+        }
+
+        wheel.schedule(event.getJobId(), toMillis(next));
+    }
+
+    /**
+     * 当前索引中的任务数量
+     */
+    public int size() {
+        return wheel.size();
+    }
+
+    /* ========================================================= */
+    /* ======================= 内部逻辑 ========================= */
+    /* ========================================================= */
+
+    private void refreshSafely() {
+        try {
+            refresh();
+        } catch (Exception ex) {
+            log.error("{} 刷新到期索引异常", LOG_PREFIX, ex);
+        }
+    }
+
+    /**
+     * 增量加载窗口内的待执行任务
+     */
+    private void refresh() {
+
+        LocalDateTime horizonEnd = LocalDateTime.now().plusMinutes(properties.getHorizonMinutes());
+        LocalDateTime from = loadedUntil;
+        LocalDateTime watermark = updateWatermark;
+        int batchSize = Math.max(1, properties.getLoadBatchSize());
+
+        Long lastId = null;
+        int loaded = 0;
+
+        while (true) {
+
+            Long cursor = lastId;
+
+            List<TaskJob> jobs = taskJobService.lambdaQuery()
+                    .select(TaskJob::getId, TaskJob::getNextExecuteTime, TaskJob::getUpdateTime)
+                    .eq(TaskJob::getExecuteStatus, TaskExecuteStatusEnum.PENDING.getCode())
+                    .le(TaskJob::getNextExecuteTime, horizonEnd)
+                    .and(from != null, w -> w
+                            .gt(TaskJob::getNextExecuteTime, from)
+                            .or(watermark != null)
+                            .ge(watermark != null, TaskJob::getUpdateTime, watermark))
+                    .gt(cursor != null, TaskJob::getId, cursor)
+                    .orderByAsc(TaskJob::getId)
+                    .last("LIMIT " + batchSize)
+                    .list();
+
+            if (CollectionUtil.isEmpty(jobs)) {
+                break;
+            }
+
+            for (TaskJob job : jobs) {
+                wheel.schedule(job.getId(), toMillis(job.getNextExecuteTime()));
+                if (job.getUpdateTime() != null
+                        && (updateWatermark == null || job.getUpdateTime().isAfter(updateWatermark))) {
+                    updateWatermark = job.getUpdateTime();
+                }
+            }
+
+            loaded += jobs.size();
+            lastId = jobs.get(jobs.size() - 1).getId();
+
+            if (jobs.size() < batchSize) {
+                break;
+            }
+        }
+
+        loadedUntil = horizonEnd;
+
+        log.debug("{} 刷新完成，本次加载={}, 索引大小={}, 窗口至={}",
+                LOG_PREFIX,
+                loaded,
+                wheel.size(),
+                horizonEnd);
+    }
+
+    /**
+     * 到期触发，在时间轮线程上调用，只做投递
+     */
+    private void fire(long jobId) {
+        workerPool.execute(() -> {
+            try {
+                TaskJob job = taskJobService.getById(jobId);
+                if (job != null) {
+                    taskExecutor.execute(job);
+                }
+            } catch (Exception ex) {
+                log.error("{} 执行异常 jobId={}", LOG_PREFIX, jobId, ex);
+            }
+        });
+    }
+
+    private static long toMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,113 @@
+package io.github.atengk.task;
+
+import cn.hutool.core.util.IdUtil;
+import com.baomidou.mybatisplus.core.toolkit.Wrappers;
+import io.github.atengk.task.config.TaskDispatchProperties;
+import io.github.atengk.task.entity.TaskJob;
+import io.github.atengk.task.enums.TaskExecuteStatusEnum;
+import io.github.atengk.task.executor.TaskBatchDispatcher;
+import io.github.atengk.task.executor.TaskExecutor;
+import io.github.atengk.task.service.ITaskJobLogService;
+import io.github.atengk.task.service.ITaskJobService;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 批量认领调度吞吐基准（H2 MySQL 模式）
+ * <p>
+ * 多个 {@link TaskBatchDispatcher} 实例模拟多节点，
+ * 统计不同节点数、线程数下的 jobs/s
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:task;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.sql.init.mode=always",
+        "spring.sql.init.schema-locations=classpath:db/task-schema-h2.sql"
+})
+public class TaskDispatchBenchmarkTests {
+
+    private static final String BIZ_TYPE = "BENCH_BIZ";
+    private static final int JOB_COUNT = 20000;
+
+    @Autowired
+    private ITaskJobService taskJobService;
+    @Autowired
+    private ITaskJobLogService taskJobLogService;
+    @Autowired
+    private TaskExecutor taskExecutor;
+
+    @Test
+    void benchmark() throws Exception {
+        int[][] cases = {{1, 1}, {1, 8}, {1, 32}, {2, 8}, {4, 8}, {4, 32}};
+        for (int[] c : cases) {
+            run(c[0], c[1]);
+        }
+    }
+
+    private void run(int nodes, int threads) throws Exception {
+        taskJobService.remove(Wrappers.emptyWrapper());
+        taskJobLogService.remove(Wrappers.emptyWrapper());
+        prepareJobs();
+
+        List<TaskBatchDispatcher> dispatchers = new ArrayList<>();
+        for (int i = 0; i < nodes; i++) {
+            TaskDispatchProperties properties = new TaskDispatchProperties();
+            properties.setWorkerThreads(threads);
+            properties.setDefaultBizConcurrency(threads);
+            dispatchers.add(new TaskBatchDispatcher(taskJobService, taskJobLogService, taskExecutor, properties));
+        }
+
+        long start = System.nanoTime();
+        List<CompletableFuture<Integer>> futures = dispatchers.stream()
+                .map(d -> CompletableFuture.supplyAsync(() -> d.dispatchByBizType(BIZ_TYPE)))
+                .toList();
+        int total = futures.stream().mapToInt(CompletableFuture::join).sum();
+        long elapsedMs = Math.max(1, (System.nanoTime() - start) / 1_000_000);
+
+        for (TaskBatchDispatcher d : dispatchers) {
+            d.destroy();
+        }
+
+        long success = taskJobService.lambdaQuery()
+                .eq(TaskJob::getExecuteStatus, TaskExecuteStatusEnum.SUCCESS.getCode())
+                .count();
+
+        System.out.printf("nodes=%d, threads=%d, jobs=%d, elapsed=%dms, jobs/s=%d%n",
+                nodes, threads, total, elapsedMs, total * 1000L / elapsedMs);
+
+        Assertions.assertEquals(JOB_COUNT, total, "任务被重复认领或遗漏");
+        Assertions.assertEquals(JOB_COUNT, success);
+        Assertions.assertEquals(JOB_COUNT, taskJobLogService.count());
+    }
+
+    private void prepareJobs() {
+        LocalDateTime now = LocalDateTime.now().minusSeconds(1);
+        List<TaskJob> jobs = new ArrayList<>(JOB_COUNT);
+        for (int i = 0; i < JOB_COUNT; i++) {
+            TaskJob job = new TaskJob();
+            job.setJobCode(IdUtil.fastSimpleUUID());
+            job.setJobName("基准任务");
+            job.setBizType(BIZ_TYPE);
+            job.setBeanName("orderTaskService");
+            job.setMethodName("noParamTask");
+            job.setExecuteStatus(TaskExecuteStatusEnum.PENDING.getCode());
+            job.setRetryCount(0);
+            job.setMaxRetryCount(3);
+            job.setRetryIntervalSeconds(60);
+            job.setNextExecuteTime(now);
+            job.setVersion(0);
+            jobs.add(job);
+        }
+        taskJobService.saveBatch(jobs, 1000);
+    }
+
+}
@@ -0,0 +1,45 @@
+DROP TABLE IF EXISTS task_job;
+CREATE TABLE task_job
+(
+    id                     BIGINT PRIMARY KEY AUTO_INCREMENT,
+    job_code               VARCHAR(64)  NOT NULL,
+    job_name               VARCHAR(128) NOT NULL,
+    job_desc               TEXT         NULL,
+    biz_type               VARCHAR(64)  NOT NULL,
+    biz_id                 VARCHAR(128) NULL,
+    bean_name              VARCHAR(128) NOT NULL,
+    method_name            VARCHAR(128) NOT NULL,
+    method_param_types     TEXT         NULL,
+    method_params          TEXT         NULL,
+    execute_status         TINYINT      NOT NULL DEFAULT 0,
+    retry_count            INT          NOT NULL DEFAULT 0,
+    max_retry_count        INT          NOT NULL DEFAULT 3,
+    retry_interval_seconds INT          NOT NULL DEFAULT 60,
+    next_execute_time      DATETIME     NULL DEFAULT CURRENT_TIMESTAMP,
+    execute_start_time     DATETIME     NULL,
+    lock_time              DATETIME     NULL,
+    fail_reason            TEXT         NULL,
+    version                INT          NOT NULL DEFAULT 0,
+    create_time            DATETIME     NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    update_time            DATETIME     NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT uk_job_code UNIQUE (job_code)
+);
+CREATE INDEX idx_status_time ON task_job (execute_status, next_execute_time);
+CREATE INDEX idx_next_execute_time ON task_job (next_execute_time);
+CREATE INDEX idx_biz_status_time_id ON task_job (biz_type, execute_status, next_execute_time, id);
+
+DROP TABLE IF EXISTS task_job_log;
+CREATE TABLE task_job_log
+(
+    id               BIGINT PRIMARY KEY AUTO_INCREMENT,
+    job_id           BIGINT      NOT NULL,
+    job_code         VARCHAR(64) NOT NULL,
+    biz_type         VARCHAR(64) NOT NULL,
+    execute_time     DATETIME    NOT NULL,
+    execute_status   TINYINT     NOT NULL,
+    retry_count      INT         NOT NULL,
+    execute_duration BIGINT      NULL,
+    error_message    TEXT        NULL,
+    create_time      DATETIME    NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+CREATE INDEX idx_job_execute_time ON task_job_log (job_id, execute_time);
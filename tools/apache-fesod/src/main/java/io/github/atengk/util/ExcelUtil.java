@@ -3,6 +3,15 @@ package io.github.atengk.util;
 import org.apache.fesod.sheet.ExcelReader;
 import org.apache.fesod.sheet.ExcelWriter;
 import org.apache.fesod.sheet.FesodSheet;
+import org.apache.fesod.sheet.annotation.ExcelIgnore;
+import org.apache.fesod.sheet.annotation.ExcelIgnoreUnannotated;
+import org.apache.fesod.sheet.annotation.ExcelProperty;
+import org.apache.fesod.sheet.context.AnalysisContext;
+import org.apache.fesod.sheet.converters.AutoConverter;
+import org.apache.fesod.sheet.converters.Converter;
+import org.apache.fesod.sheet.event.AnalysisEventListener;
+import org.apache.fesod.sheet.metadata.GlobalConfiguration;
+import org.apache.fesod.sheet.metadata.data.WriteCellData;
 import org.apache.fesod.sheet.read.builder.ExcelReaderSheetBuilder;
 import org.apache.fesod.sheet.read.listener.ReadListener;
 import org.apache.fesod.sheet.read.metadata.ReadSheet;
@@ -21,11 +30,18 @@ import org.springframework.web.multipart.MultipartFile;
 
 import javax.servlet.http.HttpServletResponse;
 import java.io.*;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
 import java.net.URL;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
 import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 /**
@@ -44,6 +60,21 @@ public class ExcelUtil {
 
     private static final Logger log = LoggerFactory.getLogger(ExcelUtil.class);
 
+    /**
+     * 流式导入默认批次队列容量
+     */
+    public static final int DEFAULT_IMPORT_QUEUE_CAPACITY = 4;
+
+    /**
+     * 流式导入保留的错误明细上限
+     */
+    public static final int MAX_IMPORT_ERRORS = 1000;
+
+    /**
+     * xlsx 单个 Sheet 最大行数（含表头）
+     */
+    public static final int EXCEL_MAX_ROWS = 1_048_576;
+
     private ExcelUtil() {
     }
 
@@ -220,6 +251,141 @@ public class ExcelUtil {
         log.info("[importExcelMultiSheet] 多 Sheet 导入完成");
     }
 
+    /**
+     * 流式实体导入（单 Sheet），按批次交给调用方入库
+     *
+     * @param in            Excel 输入流（不可为空）
+     * @param clazz         实体类型（不可为空）
+     * @param batchSize     每批行数（大于 0）
+     * @param batchConsumer 批次处理器，例如 MyBatis 批量插入（不可为空）
+     * @param <T>           实体泛型
+     * @return 导入结果
+     */
+    public static <T> StreamImportResult importExcelStreaming(InputStream in,
+                                                              Class<T> clazz,
+                                                              int batchSize,
+                                                              Consumer<List<T>> batchConsumer) {
+        return importExcelStreaming(in, clazz, batchSize, DEFAULT_IMPORT_QUEUE_CAPACITY, null, batchConsumer);
+    }
+
+    /**
+     * 流式实体导入（单 Sheet），读取与入库并行执行
+     *
+     * <p>
+     * 读取线程按 SAX 事件逐行解析并攒批，通过有界队列交给调用线程执行入库；
+     * 入库跟不上时读取线程在队列上阻塞，内存中最多保留
+     * {@code (queueCapacity + 2) * batchSize} 行，与文件总行数无关。
+     * </p>
+     *
+     * <p>
+     * 行级错误（类型转换失败、校验不通过、所在批次入库失败）被记录到结果中继续处理，
+     * 明细最多保留 {@value #MAX_IMPORT_ERRORS} 条，总数另行计数。
+     * </p>
+     *
+     * @param in            Excel 输入流（不可为空）
+     * @param clazz         实体类型（不可为空）
+     * @param batchSize     每批行数（大于 0）
+     * @param queueCapacity 读取与入库之间的批次队列容量（大于 0）
+     * @param rowValidator  行校验器，抛出异常表示该行不合法，可为空
+     * @param batchConsumer 批次处理器，例如 MyBatis 批量插入（不可为空）
+     * @param <T>           实体泛型
+     * @return 导入结果
+     */
+    public static <T> StreamImportResult importExcelStreaming(InputStream in,
+                                                              Class<T> clazz,
+                                                              int batchSize,
+                                                              int queueCapacity,
+                                                              Consumer<T> rowValidator,
+                                                              Consumer<List<T>> batchConsumer) {
+        if (in == null) {
+            log.error("[importExcelStreaming] 输入流不能为空");
+            throw new IllegalArgumentException("输入流不能为空");
+        }
+        if (clazz == null) {
+            log.error("[importExcelStreaming] 实体类型不能为空");
+            throw new IllegalArgumentException("实体类型不能为空");
+        }
+        if (batchConsumer == null) {
+            log.error("[importExcelStreaming] 批次处理器不能为空");
+            throw new IllegalArgumentException("批次处理器不能为空");
+        }
+        if (batchSize <= 0 || queueCapacity <= 0) {
+            log.error("[importExcelStreaming] 批次大小与队列容量必须大于 0，batchSize={}，queueCapacity={}", batchSize, queueCapacity);
+            throw new IllegalArgumentException("批次大小与队列容量必须大于 0");
+        }
+
+        log.info("[importExcelStreaming] 开始流式导入，entity={}，batchSize={}，queueCapacity={}",
+                clazz.getSimpleName(), batchSize, queueCapacity);
+
+        long start = System.nanoTime();
+        StreamImportResult result = new StreamImportResult();
+        BlockingQueue<ImportBatch<T>> queue = new ArrayBlockingQueue<>(queueCapacity);
+        StreamingImportListener<T> listener = new StreamingImportListener<>(queue, batchSize, rowValidator, result);
+
+        Thread reader = new Thread(() -> {
+            try {
+                FesodSheet.read(in, listener)
+                        .head(clazz)
+                        .sheet()
+                        .doRead();
+            } catch (Throwable e) {
+                if (!listener.cancelled) {
+                    listener.failure = e;
+                }
+            } finally {
+                listener.finish();
+            }
+        }, "excel-import-reader");
+        reader.setDaemon(true);
+        reader.start();
+
+        boolean completed = false;
+        try {
+            while (true) {
+                ImportBatch<T> batch = queue.take();
+                if (batch.rows == null) {
+                    break;
+                }
+                try {
+                    batchConsumer.accept(batch.rows);
+                    result.successRows.addAndGet(batch.rows.size());
+                } catch (Exception e) {
+                    int lastRow = batch.firstRow + batch.rows.size() - 1;
+                    log.warn("[importExcelStreaming] 第 {}-{} 行入库失败：{}", batch.firstRow, lastRow, e.getMessage());
+                    for (int i = 0; i < batch.rows.size(); i++) {
+                        result.addError(batch.firstRow + i, "批量入库失败：" + e.getMessage());
+                    }
+                }
+                result.batches.incrementAndGet();
+            }
+            reader.join();
+            completed = true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.error("[importExcelStreaming] 流式导入被中断");
+            throw new IllegalStateException("流式导入被中断", e);
+        } finally {
+            if (!completed) {
+                // 消费端异常退出（中断或 batchConsumer 抛出 Error 等），通知读取线程停止，
+                // 清空队列并中断，避免其阻塞在满队列上
+                listener.cancelled = true;
+                queue.clear();
+                reader.interrupt();
+            }
+        }
+
+        if (listener.failure != null) {
+            log.error("[importExcelStreaming] 流式导入读取失败，已读取 {} 行", result.getTotalRows(), listener.failure);
+            throw new IllegalStateException("流式导入读取失败", listener.failure);
+        }
+
+        result.costMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        log.info("[importExcelStreaming] 流式导入完成，total={}，success={}，errors={}，cost={}ms，{} 行/秒",
+                result.getTotalRows(), result.getSuccessRows(), result.getErrorCount(),
+                result.getCostMillis(), String.format("%.0f", result.getRowsPerSecond()));
+        return result;
+    }
+
     /*---------------------------------------------
      * Excel 图片读取工具方法
      *---------------------------------------------*/
@@ -1116,20 +1282,7 @@ public class ExcelUtil {
             throw new IllegalArgumentException("表头不能为空，无法构建数据行");
         }
 
-        // 提取字段列表（headers -> field）
-        List<String> fields = headers.stream()
-                .peek(h -> {
-                    if (h == null) {
-                        log.error("[buildRows] HeaderItem 为空");
-                        throw new IllegalArgumentException("表头项不能为空");
-                    }
-                    if (h.getField() == null) {
-                        log.error("[buildRows] HeaderItem.field 为空，path={}", h.getPath());
-                        throw new IllegalArgumentException("HeaderItem.field 不能为空");
-                    }
-                })
-                .map(HeaderItem::getField)
-                .collect(Collectors.toList());
+        String[] fields = resolveFields(headers);
 
         // dataList 为空时直接返回空集合，不抛异常
         if (dataList == null || dataList.isEmpty()) {
@@ -1137,6 +1290,40 @@ public class ExcelUtil {
             return Collections.emptyList();
         }
 
+        return toRows(fields, dataList);
+    }
+
+    /**
+     * 提取表头对应的字段列表（headers -> field）
+     *
+     * @param headers 表头描述集合（不可为空）
+     * @return 按列顺序排列的字段数组
+     */
+    private static String[] resolveFields(List<HeaderItem> headers) {
+        String[] fields = new String[headers.size()];
+        for (int i = 0; i < fields.length; i++) {
+            HeaderItem h = headers.get(i);
+            if (h == null) {
+                log.error("[buildRows] HeaderItem 为空");
+                throw new IllegalArgumentException("表头项不能为空");
+            }
+            if (h.getField() == null) {
+                log.error("[buildRows] HeaderItem.field 为空，path={}", h.getPath());
+                throw new IllegalArgumentException("HeaderItem.field 不能为空");
+            }
+            fields[i] = h.getField();
+        }
+        return fields;
+    }
+
+    /**
+     * 按字段顺序将 Map 数据转换为数据行
+     *
+     * @param fields   字段数组
+     * @param dataList 数据源列表
+     * @return 二维数据行
+     */
+    private static List<List<Object>> toRows(String[] fields, List<Map<String, Object>> dataList) {
         List<List<Object>> rows = new ArrayList<>(dataList.size());
 
         for (Map<String, Object> data : dataList) {
@@ -1145,10 +1332,10 @@ public class ExcelUtil {
                 continue;
             }
 
-            List<Object> row = new ArrayList<>(fields.size());
+            List<Object> row = new ArrayList<>(fields.length);
             for (String field : fields) {
                 // 若 field 不存在，返回 null（Excel 可接受）
-                row.add(data.getOrDefault(field, null));
+                row.add(data.get(field));
             }
             rows.add(row);
         }
@@ -1320,6 +1507,285 @@ public class ExcelUtil {
         log.info("[exportExcelDynamicMultiSheet] 全部 Sheet 导出完成");
     }
 
+    /**
+     * 分页流式导出（单 Sheet 写满后自动续写新 Sheet）
+     *
+     * <p>
+     * 数据由 {@link PageSupplier} 逐页提供（例如按主键游标分页查询），每页转换后立即写入，
+     * 写入完成即可被回收；底层使用 SXSSF 滑动窗口，已写出的行会刷到临时文件，
+     * 因此内存峰值只与单页大小有关，与总行数无关。
+     * </p>
+     *
+     * <p>
+     * 单个 Sheet 达到 {@code maxRowsPerSheet}（不含表头）后续写到新 Sheet，
+     * 名称依次为 sheetName、sheetName_2、sheetName_3……
+     * </p>
+     *
+     * @param out             输出流（不可为空）
+     * @param headers         表头定义（不可为空）
+     * @param pageSupplier    分页数据提供者（不可为空）
+     * @param sheetName       Sheet 名称前缀（不可为空）
+     * @param maxRowsPerSheet 单个 Sheet 最大数据行数，超出 Excel 上限时按上限处理
+     * @param handlers        可选 WriteHandler
+     * @return 写入的数据总行数
+     */
+    public static long exportExcelDynamicPaged(OutputStream out,
+                                               List<HeaderItem> headers,
+                                               PageSupplier pageSupplier,
+                                               String sheetName,
+                                               int maxRowsPerSheet,
+                                               WriteHandler... handlers) {
+
+        if (out == null) {
+            log.error("[exportExcelDynamicPaged] 输出流不能为空");
+            throw new IllegalArgumentException("输出流不能为空");
+        }
+        if (pageSupplier == null) {
+            log.error("[exportExcelDynamicPaged] 分页数据提供者不能为空");
+            throw new IllegalArgumentException("分页数据提供者不能为空");
+        }
+        if (maxRowsPerSheet <= 0) {
+            log.error("[exportExcelDynamicPaged] 单 Sheet 最大行数必须大于 0，maxRowsPerSheet={}", maxRowsPerSheet);
+            throw new IllegalArgumentException("单 Sheet 最大行数必须大于 0");
+        }
+
+        // 表头与字段映射只解析一次，所有 Sheet、所有页共用
+        List<List<String>> head = buildHead(headers);
+        String[] fields = resolveFields(headers);
+        int headDepth = head.stream().mapToInt(List::size).max().orElse(1);
+        int sheetCapacity = Math.min(maxRowsPerSheet, EXCEL_MAX_ROWS - headDepth);
+
+        log.info("[exportExcelDynamicPaged] 开始分页导出，headers={}，sheetCapacity={}", headers.size(), sheetCapacity);
+
+        ExcelWriterBuilder builder = FesodSheet.write(out);
+
+        // 注册用户扩展 handler（全局）
+        if (handlers != null && handlers.length > 0) {
+            for (WriteHandler handler : handlers) {
+                if (handler != null) {
+                    builder.registerWriteHandler(handler);
+                }
+            }
+        }
+
+        long total = 0;
+        int pages = 0;
+        int sheetNo = 0;
+        int sheetRows = 0;
+        WriteSheet sheet = null;
+
+        try (ExcelWriter excelWriter = builder.build()) {
+            Map<String, Object> lastRow = null;
+            while (true) {
+                List<Map<String, Object>> page = pageSupplier.nextPage(lastRow);
+                if (page == null || page.isEmpty()) {
+                    break;
+                }
+                pages++;
+
+                int offset = 0;
+                while (offset < page.size()) {
+                    if (sheet == null || sheetRows >= sheetCapacity) {
+                        String name = sheetNo == 0 ? sheetName : sheetName + "_" + (sheetNo + 1);
+                        sheet = FesodSheet.writerSheet(sheetNo, name).head(head).build();
+                        sheetNo++;
+                        sheetRows = 0;
+                        log.info("[exportExcelDynamicPaged] 开始写入 Sheet[{}]，名称='{}'", sheetNo - 1, name);
+                    }
+                    int end = Math.min(page.size(), offset + sheetCapacity - sheetRows);
+                    excelWriter.write(toRows(fields, page.subList(offset, end)), sheet);
+                    sheetRows += end - offset;
+                    total += end - offset;
+                    offset = end;
+                }
+                lastRow = page.get(page.size() - 1);
+            }
+
+            // 无数据时仍输出带表头的空 Sheet
+            if (sheet == null) {
+                excelWriter.write(Collections.emptyList(), FesodSheet.writerSheet(0, sheetName).head(head).build());
+            }
+        }
+
+        log.info("[exportExcelDynamicPaged] 分页导出完成，rows={}，pages={}，sheets={}", total, pages, Math.max(sheetNo, 1));
+        return total;
+    }
+
+    /*---------------------------------------------
+     * 并行多 Sheet 导出区域
+     *---------------------------------------------*/
+
+    /**
+     * 并行多 Sheet 导出（动态表头）
+     *
+     * <p>
+     * 各 Sheet 的数据查询与行转换在线程池中并发执行，调用线程作为唯一写线程按 Sheet 顺序写入，
+     * 适用于每个 Sheet 都依赖一次慢查询的场景。
+     * </p>
+     *
+     * <p>
+     * 已提交但尚未写入的 Sheet 最多 {@code queueCapacity} 个，
+     * 内存占用以此为上限而不是 Sheet 总数；建议 queueCapacity 不小于 parallelism。
+     * </p>
+     *
+     * @param out           输出流（不可为空）
+     * @param sheetTasks    Sheet 任务列表（不可为空/空列表）
+     * @param parallelism   准备数据的并发线程数（大于 0）
+     * @param queueCapacity 已准备未写入 Sheet 的上限（大于 0）
+     * @param handlers      可选全局 handler
+     */
+    public static void exportExcelDynamicMultiSheetParallel(OutputStream out,
+                                                            List<SheetTask> sheetTasks,
+                                                            int parallelism,
+                                                            int queueCapacity,
+                                                            WriteHandler... handlers) {
+        if (sheetTasks == null || sheetTasks.isEmpty()) {
+            log.error("[exportExcelDynamicMultiSheetParallel] Sheet 任务不能为空");
+            throw new IllegalArgumentException("Sheet 任务不能为空");
+        }
+
+        List<Callable<PreparedSheet>> preparers = new ArrayList<>(sheetTasks.size());
+        for (int i = 0; i < sheetTasks.size(); i++) {
+            SheetTask task = sheetTasks.get(i);
+            if (task == null || task.getHeaders() == null || task.getHeaders().isEmpty() || task.getDataLoader() == null) {
+                log.error("[exportExcelDynamicMultiSheetParallel] 第 {} 个 Sheet 任务的表头或数据加载器为空", i);
+                throw new IllegalArgumentException("多 Sheet 导出时，Sheet 表头与数据加载器不能为空");
+            }
+            preparers.add(() -> {
+                List<Map<String, Object>> dataList = task.getDataLoader().get();
+                List<List<Object>> rows = dataList == null || dataList.isEmpty()
+                        ? Collections.emptyList()
+                        : toRows(resolveFields(task.getHeaders()), dataList);
+                return new PreparedSheet(task.getSheetName(), buildHead(task.getHeaders()), null, rows);
+            });
+        }
+
+        writeSheetsInOrder("exportExcelDynamicMultiSheetParallel", out, preparers, parallelism, queueCapacity, handlers);
+    }
+
+    /**
+     * 并行多 Sheet 导出（实体）
+     *
+     * <p>
+     * 各 Sheet 的数据查询与实体到行数据的转换（反射取值、字段上声明的自定义转换器）在线程池中并发执行，
+     * 调用线程只按 Sheet 顺序写入；表头仍取自实体类，样式与格式注解照常生效，
+     * 并发与内存约束同 {@link #exportExcelDynamicMultiSheetParallel}。
+     * </p>
+     *
+     * @param out           输出流（不可为空）
+     * @param sheetTasks    实体 Sheet 任务列表（不可为空/空列表）
+     * @param parallelism   准备数据的并发线程数（大于 0）
+     * @param queueCapacity 已准备未写入 Sheet 的上限（大于 0）
+     * @param handlers      可选全局 handler
+     */
+    public static void exportExcelMultiSheetParallel(OutputStream out,
+                                                     List<EntitySheetTask<?>> sheetTasks,
+                                                     int parallelism,
+                                                     int queueCapacity,
+                                                     WriteHandler... handlers) {
+        if (sheetTasks == null || sheetTasks.isEmpty()) {
+            log.error("[exportExcelMultiSheetParallel] Sheet 任务不能为空");
+            throw new IllegalArgumentException("Sheet 任务不能为空");
+        }
+
+        List<Callable<PreparedSheet>> preparers = new ArrayList<>(sheetTasks.size());
+        for (int i = 0; i < sheetTasks.size(); i++) {
+            EntitySheetTask<?> task = sheetTasks.get(i);
+            if (task == null || task.getClazz() == null || task.getDataLoader() == null) {
+                log.error("[exportExcelMultiSheetParallel] 第 {} 个 Sheet 任务的实体类型或数据加载器为空", i);
+                throw new IllegalArgumentException("Sheet 实体类型与数据加载器不能为空");
+            }
+            preparers.add(() -> {
+                List<?> dataList = task.getDataLoader().get();
+                List<List<Object>> rows = dataList == null || dataList.isEmpty()
+                        ? Collections.emptyList()
+                        : new EntityRowConverter(task.getClazz()).toRows(dataList);
+                return new PreparedSheet(task.getSheetName(), null, task.getClazz(), rows);
+            });
+        }
+
+        writeSheetsInOrder("exportExcelMultiSheetParallel", out, preparers, parallelism, queueCapacity, handlers);
+    }
+
+    /**
+     * 滑动窗口方式并发准备 Sheet，并由调用线程按顺序写入
+     *
+     * @param method        调用方方法名，用于日志
+     * @param out           输出流
+     * @param preparers     按 Sheet 顺序排列的数据准备任务
+     * @param parallelism   并发线程数
+     * @param queueCapacity 窗口大小
+     * @param handlers      可选全局 handler
+     */
+    private static void writeSheetsInOrder(String method,
+                                           OutputStream out,
+                                           List<Callable<PreparedSheet>> preparers,
+                                           int parallelism,
+                                           int queueCapacity,
+                                           WriteHandler... handlers) {
+        if (out == null) {
+            log.error("[{}] 输出流不能为空", method);
+            throw new IllegalArgumentException("输出流不能为空");
+        }
+        if (parallelism <= 0 || queueCapacity <= 0) {
+            log.error("[{}] 并发数与队列容量必须大于 0，parallelism={}，queueCapacity={}", method, parallelism, queueCapacity);
+            throw new IllegalArgumentException("并发数与队列容量必须大于 0");
+        }
+
+        log.info("[{}] 开始并行多 Sheet 导出，共 {} 个 Sheet，parallelism={}，queueCapacity={}",
+                method, preparers.size(), parallelism, queueCapacity);
+
+        AtomicInteger threadNo = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism, r -> {
+            Thread thread = new Thread(r, "excel-sheet-prepare-" + threadNo.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        ExcelWriterBuilder builder = FesodSheet.write(out);
+        if (handlers != null && handlers.length > 0) {
+            for (WriteHandler handler : handlers) {
+                if (handler != null) {
+                    builder.registerWriteHandler(handler);
+                }
+            }
+        }
+
+        Deque<Future<PreparedSheet>> window = new ArrayDeque<>(queueCapacity);
+        int submitted = 0;
+        try (ExcelWriter excelWriter = builder.build()) {
+            for (int i = 0; i < preparers.size(); i++) {
+                while (submitted < preparers.size() && window.size() < queueCapacity) {
+                    window.addLast(executor.submit(preparers.get(submitted++)));
+                }
+
+                PreparedSheet prepared = window.removeFirst().get();
+                ExcelWriterSheetBuilder sheetBuilder = FesodSheet.writerSheet(i, prepared.sheetName);
+                if (prepared.headClass != null) {
+                    sheetBuilder.head(prepared.headClass);
+                } else {
+                    sheetBuilder.head(prepared.head);
+                }
+                excelWriter.write(prepared.rows, sheetBuilder.build());
+                log.info("[{}] Sheet[{}] 导出成功，名称='{}'，行数={}", method, i, prepared.sheetName, prepared.rows.size());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.error("[{}] 并行多 Sheet 导出被中断", method);
+            throw new IllegalStateException("并行多 Sheet 导出被中断", e);
+        } catch (ExecutionException e) {
+            log.error("[{}] Sheet 数据准备失败", method, e.getCause());
+            throw new IllegalStateException("Sheet 数据准备失败", e.getCause());
+        } finally {
+            for (Future<PreparedSheet> future : window) {
+                future.cancel(true);
+            }
+            executor.shutdownNow();
+        }
+
+        log.info("[{}] 并行多 Sheet 导出完成", method);
+    }
+
     /*---------------------------------------------
      * 浏览器下载方法（Spring Boot Response）区域
      *---------------------------------------------*/
@@ -1436,6 +1902,40 @@ public class ExcelUtil {
         }
     }
 
+    /**
+     * 将分页流式导出的 Excel 输出到浏览器
+     *
+     * <p>使用场景：
+     * - 数据量大、无法一次性加载到内存的报表下载
+     * - 数据按页查询，单 Sheet 写满后自动续写新 Sheet
+     *
+     * @param response        HttpServletResponse 对象（不可为空）
+     * @param fileName        下载文件名，例如 "订单明细.xlsx"（不可为空）
+     * @param headers         表头定义列表（不可为空）
+     * @param pageSupplier    分页数据提供者（不可为空）
+     * @param sheetName       Sheet 名称前缀（不可为空）
+     * @param maxRowsPerSheet 单个 Sheet 最大数据行数
+     * @param handlers        可选的 WriteHandler 扩展参数，可为空
+     * @throws IllegalStateException 导出或流操作失败时抛出
+     */
+    public static void exportExcelDynamicPagedToResponse(HttpServletResponse response,
+                                                         String fileName,
+                                                         List<HeaderItem> headers,
+                                                         PageSupplier pageSupplier,
+                                                         String sheetName,
+                                                         int maxRowsPerSheet,
+                                                         WriteHandler... handlers) {
+        Objects.requireNonNull(response, "HttpServletResponse 不能为空");
+        try (OutputStream out = prepareResponseOutputStream(response, fileName)) {
+            long rows = exportExcelDynamicPaged(out, headers, pageSupplier, sheetName, maxRowsPerSheet, handlers);
+            out.flush();
+            log.info("[exportExcelDynamicPagedToResponse] 浏览器分页下载成功，文件名={}，行数={}", fileName, rows);
+        } catch (Exception e) {
+            log.error("[exportExcelDynamicPagedToResponse] Excel 分页导出到浏览器失败，文件名={}", fileName, e);
+            throw new IllegalStateException("Excel 分页导出到浏览器失败: " + fileName, e);
+        }
+    }
+
     /*---------------------------------------------
      * 内部数据结构
      *---------------------------------------------*/
@@ -1482,6 +1982,26 @@ public class ExcelUtil {
         }
     }
 
+    /**
+     * 分页数据提供者，用于分页流式导出
+     *
+     * <p>
+     * 推荐使用游标（keyset）分页：根据上一页最后一行的主键查询下一页，
+     * 避免深分页 OFFSET 带来的性能下降。
+     * </p>
+     */
+    @FunctionalInterface
+    public interface PageSupplier {
+
+        /**
+         * 获取下一页数据
+         *
+         * @param lastRow 上一页的最后一行，首次调用为 null
+         * @return 下一页数据，返回 null 或空列表表示数据结束
+         */
+        List<Map<String, Object>> nextPage(Map<String, Object> lastRow);
+    }
+
     /**
      * Sheet 数据载体，用于多 Sheet 导出场景
      */
@@ -1566,6 +2086,211 @@ public class ExcelUtil {
         }
     }
 
+    /**
+     * 动态表头 Sheet 任务，用于并行多 Sheet 导出场景
+     */
+    public static class SheetTask {
+
+        /**
+         * Sheet 名称
+         */
+        private final String sheetName;
+
+        /**
+         * 表头定义列表
+         */
+        private final List<HeaderItem> headers;
+
+        /**
+         * 数据加载器，在线程池中执行（例如一次慢查询）
+         */
+        private final Supplier<List<Map<String, Object>>> dataLoader;
+
+        public SheetTask(String sheetName,
+                         List<HeaderItem> headers,
+                         Supplier<List<Map<String, Object>>> dataLoader) {
+            this.sheetName = sheetName;
+            this.headers = headers;
+            this.dataLoader = dataLoader;
+        }
+
+        public String getSheetName() {
+            return sheetName;
+        }
+
+        public List<HeaderItem> getHeaders() {
+            return headers;
+        }
+
+        public Supplier<List<Map<String, Object>>> getDataLoader() {
+            return dataLoader;
+        }
+    }
+
+    /**
+     * 实体 Sheet 任务，用于并行多 Sheet 实体导出场景
+     *
+     * @param <T> 实体类型
+     */
+    public static class EntitySheetTask<T> {
+
+        /**
+         * Sheet 名称
+         */
+        private final String sheetName;
+
+        /**
+         * 实体类型
+         */
+        private final Class<T> clazz;
+
+        /**
+         * 数据加载器，在线程池中执行（例如一次慢查询）
+         */
+        private final Supplier<List<T>> dataLoader;
+
+        public EntitySheetTask(String sheetName,
+                               Class<T> clazz,
+                               Supplier<List<T>> dataLoader) {
+            this.sheetName = sheetName;
+            this.clazz = clazz;
+            this.dataLoader = dataLoader;
+        }
+
+        public String getSheetName() {
+            return sheetName;
+        }
+
+        public Class<T> getClazz() {
+            return clazz;
+        }
+
+        public Supplier<List<T>> getDataLoader() {
+            return dataLoader;
+        }
+    }
+
+    /**
+     * 实体行转换器
+     *
+     * <p>
+     * 按 Fesod 解析实体表头的规则确定列顺序：指定 index 的字段占用对应列，其余字段按 order 与声明顺序依次补位；
+     * 忽略 {@link ExcelIgnore} 字段、未注解的 static final / transient 字段，
+     * 以及 {@link ExcelIgnoreUnannotated} 实体中未注解的字段。
+     * </p>
+     *
+     * <p>
+     * 每个实体转换为按列排列的单元格值，字段上声明了自定义转换器时直接输出转换后的 {@link WriteCellData}；
+     * 写入时以实体类作为表头，列表数据按表头列顺序依次写入。
+     * </p>
+     */
+    private static final class EntityRowConverter {
+
+        private final List<Field> fields;
+        private final List<Converter<Object>> converters;
+        private final GlobalConfiguration globalConfiguration = new GlobalConfiguration();
+
+        @SuppressWarnings("unchecked")
+        EntityRowConverter(Class<?> clazz) throws ReflectiveOperationException {
+            this.fields = resolveColumns(clazz);
+            this.converters = new ArrayList<>(fields.size());
+            for (Field field : fields) {
+                field.setAccessible(true);
+                ExcelProperty property = field.getAnnotation(ExcelProperty.class);
+                Class<? extends Converter<?>> converterClass = property == null ? null : property.converter();
+                converters.add(converterClass == null || converterClass == AutoConverter.class
+                        ? null
+                        : (Converter<Object>) converterClass.getDeclaredConstructor().newInstance());
+            }
+        }
+
+        List<List<Object>> toRows(List<?> entities) throws Exception {
+            List<List<Object>> rows = new ArrayList<>(entities.size());
+            for (Object entity : entities) {
+                List<Object> row = new ArrayList<>(fields.size());
+                for (int i = 0; i < fields.size(); i++) {
+                    Object value = entity == null ? null : fields.get(i).get(entity);
+                    row.add(convert(i, value));
+                }
+                rows.add(row);
+            }
+            return rows;
+        }
+
+        private Object convert(int column, Object value) throws Exception {
+            Converter<Object> converter = converters.get(column);
+            if (converter == null || value == null) {
+                return value;
+            }
+            try {
+                return converter.convertToExcelData(value, null, globalConfiguration);
+            } catch (UnsupportedOperationException e) {
+                // 仅实现了 WriteConverterContext 版本的转换器，交由写线程按表头转换
+                converters.set(column, null);
+                return value;
+            }
+        }
+
+        private static List<Field> resolveColumns(Class<?> clazz) {
+            boolean ignoreUnannotated = clazz.isAnnotationPresent(ExcelIgnoreUnannotated.class);
+            Map<Integer, Field> columns = new TreeMap<>();
+            Map<Integer, List<Field>> ordered = new TreeMap<>();
+            Set<String> names = new HashSet<>();
+
+            // 子类字段在前，同名字段以子类为准
+            for (Class<?> current = clazz; current != null && current != Object.class; current = current.getSuperclass()) {
+                for (Field field : current.getDeclaredFields()) {
+                    if (field.isSynthetic() || !names.add(field.getName())) {
+                        continue;
+                    }
+                    ExcelProperty property = field.getAnnotation(ExcelProperty.class);
+                    int modifiers = field.getModifiers();
+                    boolean staticFinalOrTransient = (Modifier.isStatic(modifiers) && Modifier.isFinal(modifiers))
+                            || Modifier.isTransient(modifiers);
+                    if (field.isAnnotationPresent(ExcelIgnore.class)
+                            || (property == null && (ignoreUnannotated || staticFinalOrTransient))) {
+                        continue;
+                    }
+                    if (property != null && property.index() >= 0) {
+                        columns.put(property.index(), field);
+                    } else {
+                        int order = property == null ? Integer.MAX_VALUE : property.order();
+                        ordered.computeIfAbsent(order, key -> new ArrayList<>()).add(field);
+                    }
+                }
+            }
+
+            int index = 0;
+            for (List<Field> group : ordered.values()) {
+                for (Field field : group) {
+                    while (columns.containsKey(index)) {
+                        index++;
+                    }
+                    columns.put(index, field);
+                }
+            }
+            return new ArrayList<>(columns.values());
+        }
+    }
+
+    /**
+     * 已准备好待写入的 Sheet，head 与 headClass 二选一
+     */
+    private static class PreparedSheet {
+
+        private final String sheetName;
+        private final List<List<String>> head;
+        private final Class<?> headClass;
+        private final List<?> rows;
+
+        PreparedSheet(String sheetName, List<List<String>> head, Class<?> headClass, List<?> rows) {
+            this.sheetName = sheetName;
+            this.head = head;
+            this.headClass = headClass;
+            this.rows = rows;
+        }
+    }
+
     /**
      * 模板 Sheet 数据模型
      *
@@ -1753,4 +2478,227 @@ public class ExcelUtil {
         }
     }
 
+    /**
+     * 流式导入监听器：逐行攒批并写入有界队列，队列满时阻塞读取线程
+     */
+    private static class StreamingImportListener<T> extends AnalysisEventListener<T> {
+
+        private final BlockingQueue<ImportBatch<T>> queue;
+        private final int batchSize;
+        private final Consumer<T> rowValidator;
+        private final StreamImportResult result;
+
+        private List<T> rows;
+        private int firstRow;
+
+        private volatile boolean cancelled;
+        private volatile Throwable failure;
+
+        StreamingImportListener(BlockingQueue<ImportBatch<T>> queue,
+                                int batchSize,
+                                Consumer<T> rowValidator,
+                                StreamImportResult result) {
+            this.queue = queue;
+            this.batchSize = batchSize;
+            this.rowValidator = rowValidator;
+            this.result = result;
+            this.rows = new ArrayList<>(batchSize);
+        }
+
+        @Override
+        public void invoke(T data, AnalysisContext context) {
+            if (cancelled) {
+                throw new ImportCancelledException();
+            }
+            int excelRowNum = context.readRowHolder().getRowIndex() + 1;
+            result.totalRows.incrementAndGet();
+
+            if (rowValidator != null) {
+                try {
+                    rowValidator.accept(data);
+                } catch (Exception e) {
+                    result.addError(excelRowNum, e.getMessage());
+                    return;
+                }
+            }
+
+            if (rows.isEmpty()) {
+                firstRow = excelRowNum;
+            }
+            rows.add(data);
+            if (rows.size() >= batchSize) {
+                flush();
+            }
+        }
+
+        @Override
+        public void onException(Exception exception, AnalysisContext context) throws Exception {
+            if (exception instanceof ImportCancelledException) {
+                throw exception;
+            }
+            // 类型转换等行级异常：记录后继续读取
+            int excelRowNum = context.readRowHolder().getRowIndex() + 1;
+            result.totalRows.incrementAndGet();
+            result.addError(excelRowNum, "数据解析失败：" + exception.getMessage());
+        }
+
+        @Override
+        public void doAfterAllAnalysed(AnalysisContext context) {
+            if (!rows.isEmpty()) {
+                flush();
+            }
+        }
+
+        private void flush() {
+            put(new ImportBatch<>(firstRow, rows));
+            rows = new ArrayList<>(batchSize);
+        }
+
+        /**
+         * 读取结束（正常或异常）后写入结束标记
+         */
+        private void finish() {
+            if (!cancelled) {
+                put(new ImportBatch<>(0, null));
+            }
+        }
+
+        private void put(ImportBatch<T> batch) {
+            try {
+                while (!queue.offer(batch, 200, TimeUnit.MILLISECONDS)) {
+                    if (cancelled) {
+                        throw new ImportCancelledException();
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ImportCancelledException();
+            }
+        }
+    }
+
+    /**
+     * 流式导入批次，rows 为 null 表示读取结束
+     */
+    private static class ImportBatch<T> {
+
+        private final int firstRow;
+        private final List<T> rows;
+
+        ImportBatch(int firstRow, List<T> rows) {
+            this.firstRow = firstRow;
+            this.rows = rows;
+        }
+    }
+
+    /**
+     * 导入被取消时用于中止读取线程
+     */
+    private static class ImportCancelledException extends RuntimeException {
+
+        ImportCancelledException() {
+            super("流式导入已取消", null, false, false);
+        }
+    }
+
+    /**
+     * 流式导入结果
+     */
+    public static class StreamImportResult {
+
+        private final AtomicLong totalRows = new AtomicLong();
+        private final AtomicLong successRows = new AtomicLong();
+        private final AtomicLong errorCount = new AtomicLong();
+        private final AtomicLong batches = new AtomicLong();
+        private final List<RowError> errors = Collections.synchronizedList(new ArrayList<>());
+        private volatile long costMillis;
+
+        private void addError(int rowNum, String message) {
+            if (errorCount.incrementAndGet() <= MAX_IMPORT_ERRORS) {
+                errors.add(new RowError(rowNum, message));
+            }
+        }
+
+        /**
+         * 读取到的数据行数（含错误行）
+         */
+        public long getTotalRows() {
+            return totalRows.get();
+        }
+
+        /**
+         * 成功入库的行数
+         */
+        public long getSuccessRows() {
+            return successRows.get();
+        }
+
+        /**
+         * 错误总数
+         */
+        public long getErrorCount() {
+            return errorCount.get();
+        }
+
+        /**
+         * 已处理批次数
+         */
+        public long getBatches() {
+            return batches.get();
+        }
+
+        /**
+         * 错误明细（最多 MAX_IMPORT_ERRORS 条）
+         */
+        public List<RowError> getErrors() {
+            return errors;
+        }
+
+        public long getCostMillis() {
+            return costMillis;
+        }
+
+        public double getRowsPerSecond() {
+            return costMillis == 0 ? 0 : totalRows.get() * 1000.0 / costMillis;
+        }
+
+        public boolean hasError() {
+            return errorCount.get() > 0;
+        }
+    }
+
+    /**
+     * 行级错误
+     */
+    public static class RowError {
+
+        /**
+         * Excel 行号（1-based）
+         */
+        private final int rowNum;
+
+        /**
+         * 错误信息
+         */
+        private final String message;
+
+        public RowError(int rowNum, String message) {
+            this.rowNum = rowNum;
+            this.message = message;
+        }
+
+        public int getRowNum() {
+            return rowNum;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+
+        @Override
+        public String toString() {
+            return "第" + rowNum + "行：" + message;
+        }
+    }
+
 }
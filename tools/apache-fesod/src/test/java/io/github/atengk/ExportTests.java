@@ -1,5 +1,6 @@
 package io.github.atengk;
 
+import cn.hutool.core.thread.ThreadUtil;
 import cn.hutool.core.util.RandomUtil;
 import cn.hutool.http.HttpUtil;
 import cn.hutool.json.JSONUtil;
@@ -395,6 +396,75 @@ public class ExportTests {
         );
     }
 
+    @Test
+    void testExportDynamicMultiSheetParallel() {
+        List<ExcelUtil.HeaderItem> headers = Arrays.asList(
+                new ExcelUtil.HeaderItem(Collections.singletonList("姓名"), "name"),
+                new ExcelUtil.HeaderItem(Collections.singletonList("年龄"), "age"),
+                new ExcelUtil.HeaderItem(Collections.singletonList("登录次数"), "loginCount")
+        );
+        // 每个 Sheet 模拟一次耗时 500ms 的慢查询
+        List<ExcelUtil.SheetTask> tasks = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            int sheetNo = i;
+            tasks.add(new ExcelUtil.SheetTask("月报" + (i + 1), headers, () -> {
+                ThreadUtil.sleep(500);
+                List<Map<String, Object>> rows = new ArrayList<>();
+                for (int j = 0; j < 1000; j++) {
+                    Map<String, Object> row = new HashMap<>();
+                    row.put("name", "用户" + sheetNo + "-" + j);
+                    row.put("age", 20 + j % 50);
+                    row.put("loginCount", j);
+                    rows.add(row);
+                }
+                return rows;
+            }));
+        }
+
+        long start = System.currentTimeMillis();
+        ExcelUtil.exportExcelDynamicMultiSheetParallel(
+                ExcelUtil.toOutputStream("target/export_dynamic_multi_sheet_parallel.xlsx"),
+                tasks,
+                8,
+                8
+        );
+        System.out.println("耗时：" + (System.currentTimeMillis() - start) + "ms");
+    }
+
+    @Test
+    void testExportDynamicPaged() {
+        List<ExcelUtil.HeaderItem> headers = Arrays.asList(
+                new ExcelUtil.HeaderItem(Arrays.asList("订单信息", "订单号"), "id"),
+                new ExcelUtil.HeaderItem(Arrays.asList("订单信息", "客户"), "customer"),
+                new ExcelUtil.HeaderItem(Collections.singletonList("金额"), "amount")
+        );
+        long totalRows = 300_000;
+        int pageSize = 5_000;
+
+        // 模拟按主键游标分页查询：WHERE id > #{lastId} ORDER BY id LIMIT #{pageSize}
+        ExcelUtil.PageSupplier pageSupplier = lastRow -> {
+            long lastId = lastRow == null ? 0 : (Long) lastRow.get("id");
+            List<Map<String, Object>> page = new ArrayList<>(pageSize);
+            for (long id = lastId + 1; id <= Math.min(lastId + pageSize, totalRows); id++) {
+                Map<String, Object> row = new HashMap<>();
+                row.put("id", id);
+                row.put("customer", "客户" + id % 1000);
+                row.put("amount", id * 0.01);
+                page.add(row);
+            }
+            return page;
+        };
+
+        long rows = ExcelUtil.exportExcelDynamicPaged(
+                ExcelUtil.toOutputStream("target/export_dynamic_paged.xlsx"),
+                headers,
+                pageSupplier,
+                "订单明细",
+                100_000
+        );
+        System.out.println("导出行数：" + rows);
+    }
+
     @Test
     void testExportDynamicRowColumn() {
         // 动态生成一级表头
@@ -0,0 +1,84 @@
+package io.github.atengk;
+
+import io.github.atengk.entity.MyUser;
+import io.github.atengk.init.InitData;
+import io.github.atengk.util.ExcelUtil;
+import org.apache.fesod.sheet.ExcelWriter;
+import org.apache.fesod.sheet.FesodSheet;
+import org.apache.fesod.sheet.write.metadata.WriteSheet;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 流式导入基准测试
+ * <p>
+ * 生成 100 万行的 xlsx 文件，通过 ExcelUtil.importExcelStreaming 分批导入，
+ * 打印 行/秒 与堆内存峰值增长。
+ */
+public class StreamingImportTests {
+
+    private static final int ROW_COUNT = 1_000_000;
+    private static final int PAGE_SIZE = 10_000;
+    private static final String FILE_NAME = "target/import_streaming_users.xlsx";
+
+    @Test
+    public void testImportStreaming() throws Exception {
+        File file = new File(FILE_NAME);
+        if (!file.exists()) {
+            generateFile(file);
+        }
+
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        System.gc();
+        long baseline = memory.getHeapMemoryUsage().getUsed();
+        AtomicLong peakHeap = new AtomicLong(baseline);
+        ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor();
+        sampler.scheduleAtFixedRate(() -> peakHeap.accumulateAndGet(memory.getHeapMemoryUsage().getUsed(), Math::max),
+                0, 20, TimeUnit.MILLISECONDS);
+
+        AtomicLong persisted = new AtomicLong();
+        ExcelUtil.StreamImportResult result;
+        try (InputStream in = new FileInputStream(file)) {
+            result = ExcelUtil.importExcelStreaming(in, MyUser.class, 2000, ExcelUtil.DEFAULT_IMPORT_QUEUE_CAPACITY,
+                    user -> {
+                        if (user.getName() == null) {
+                            throw new IllegalArgumentException("姓名不能为空");
+                        }
+                    },
+                    batch -> persisted.addAndGet(batch.size()));
+        } finally {
+            sampler.shutdownNow();
+        }
+
+        System.out.printf("rows=%d, success=%d, errors=%d, batches=%d, cost=%dms, %.0f 行/秒, heapGrowth=%dMB%n",
+                result.getTotalRows(), result.getSuccessRows(), result.getErrorCount(), result.getBatches(),
+                result.getCostMillis(), result.getRowsPerSecond(), (peakHeap.get() - baseline) / 1024 / 1024);
+        result.getErrors().stream().limit(10).forEach(System.out::println);
+
+        Assertions.assertEquals(ROW_COUNT, result.getTotalRows());
+        Assertions.assertEquals(persisted.get(), result.getSuccessRows());
+    }
+
+    private static void generateFile(File file) {
+        file.getParentFile().mkdirs();
+        // Faker 生成较慢，复用同一页数据分页写入
+        List<MyUser> page = InitData.getDataList(PAGE_SIZE);
+        try (ExcelWriter excelWriter = FesodSheet.write(file.getPath(), MyUser.class).build()) {
+            WriteSheet writeSheet = FesodSheet.writerSheet("用户列表").build();
+            for (int offset = 0; offset < ROW_COUNT; offset += PAGE_SIZE) {
+                excelWriter.write(page, writeSheet);
+            }
+        }
+    }
+}